@@ -0,0 +1,154 @@
+package com.petstore.backend.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.petstore.backend.PetstoreFeature5BackendApplication;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.SortDirection;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.service.ProductPriceIndex;
+import com.petstore.backend.service.ProductPriceRangeService;
+
+/**
+ * Compara la consulta por rango de precios del repositorio ({@code base_price} sin índice)
+ * con el índice de precios en memoria, sobre 1M de productos generados en H2 (perfil test).
+ *
+ * Precios uniformes entre 0 y 1.000 con dos decimales: cada rango de {@value #RANGE_WIDTH} devuelve
+ * unas 200 filas. El rango se corre en cada invocación para que H2 no responda desde su caché de
+ * resultados (que reutiliza el resultado de una consulta idéntica si la tabla no cambió).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx2g"})
+public class ProductPriceRangeBenchmark {
+
+    private static final int PRODUCTS = 1_000_000;
+    private static final int CATEGORIES = 10;
+    private static final int BATCH_SIZE = 10_000;
+
+    private static final double RANGE_WIDTH = 0.20;
+    private static final int RANGES = 8_000;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private ProductPriceRangeService productPriceRangeService;
+    private ProductPriceIndex index;
+    private int categoryId;
+    private int step;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(PetstoreFeature5BackendApplication.class)
+                // Como argumentos: application.properties activa "dev" por defecto. Sin el resumen de
+                // estadísticas que Hibernate registra al cerrar cada sesión
+                .run("--spring.profiles.active=test", "--server.port=0",
+                        "--logging.level.com.petstore.backend=INFO",
+                        "--logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN");
+        productRepository = context.getBean(ProductRepository.class);
+        productPriceRangeService = context.getBean(ProductPriceRangeService.class);
+        generateProducts(context.getBean(JdbcTemplate.class));
+
+        List<ProductPriceIndex.Entry> entries = new ArrayList<>(PRODUCTS);
+        for (Object[] row : productRepository.findPriceRows()) {
+            entries.add(new ProductPriceIndex.Entry((Integer) row[0], (Double) row[1], (Integer) row[2]));
+        }
+        index = ProductPriceIndex.of(entries);
+        productPriceRangeService.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Línea base: {@code findByBasePriceBetween}, recorre toda la tabla
+     */
+    @Benchmark
+    public List<Product> repositoryBetween() {
+        double min = nextMinPrice();
+        return productRepository.findByBasePriceBetween(min, min + RANGE_WIDTH);
+    }
+
+    /**
+     * Solo el índice: dos búsquedas binarias y la copia de hasta 100 posiciones
+     */
+    @Benchmark
+    public ProductPriceIndex.Page indexPage() {
+        double min = nextMinPrice();
+        return index.page(min, min + RANGE_WIDTH, null, SortDirection.ASC, null, null, 100);
+    }
+
+    @Benchmark
+    public ProductPriceIndex.Page indexPageByCategory() {
+        double min = nextMinPrice();
+        return index.page(min, min + RANGE_WIDTH, categoryId, SortDirection.ASC, null, null, 100);
+    }
+
+    /**
+     * Lo que hace el endpoint: índice más la carga por ID de los productos de la página
+     */
+    @Benchmark
+    public CursorPage<Product> servicePage() {
+        double min = nextMinPrice();
+        return productPriceRangeService.findPage(min, min + RANGE_WIDTH, null, SortDirection.ASC, 100, null);
+    }
+
+    // Entre 100 y 900, de a 0,1
+    private double nextMinPrice() {
+        step = (step + 1) % RANGES;
+        return 100 + step / 10.0;
+    }
+
+    private void generateProducts(JdbcTemplate jdbc) {
+        for (int c = 1; c <= CATEGORIES; c++) {
+            jdbc.update("INSERT INTO categories (category_name, description) VALUES (?, ?)",
+                    "Benchmark " + c, "Categoría generada");
+        }
+        List<Integer> categoryIds = jdbc.queryForList("SELECT category_id FROM categories ORDER BY category_id",
+                Integer.class);
+        categoryId = categoryIds.get(0);
+
+        Random random = new Random(42);
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 1; i <= PRODUCTS; i++) {
+            double price = random.nextInt(100_000) / 100.0;
+            batch.add(new Object[] {"Producto " + i, price, 1_000_000 + i, categoryIds.get(i % CATEGORIES)});
+            if (batch.size() == BATCH_SIZE) {
+                insert(jdbc, batch);
+            }
+        }
+        insert(jdbc, batch);
+    }
+
+    private static void insert(JdbcTemplate jdbc, List<Object[]> batch) {
+        if (!batch.isEmpty()) {
+            jdbc.batchUpdate("INSERT INTO products (product_name, base_price, sku, category_id) VALUES (?, ?, ?, ?)",
+                    batch);
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.petstore.backend.config;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import graphql.ErrorType;
+import graphql.ExecutionInput;
+import graphql.GraphqlErrorBuilder;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.PreparsedDocumentProvider;
+import graphql.execution.preparsed.persisted.ApolloPersistedQuerySupport;
+import graphql.execution.preparsed.persisted.PersistedQueryCache;
+import graphql.execution.preparsed.persisted.PersistedQueryCacheMiss;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.language.Document;
+import graphql.language.OperationDefinition;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caché acotada (LRU aproximado) de documentos GraphQL ya parseados y validados.
+ *
+ * Las peticiones normales se indexan por el texto de la query; las Automatic Persisted
+ * Queries (extensión "persistedQuery") se indexan por su hash SHA-256 usando el protocolo
+ * de Apollo que trae graphql-java. Solo se guardan documentos válidos.
+ */
+public class CachingPreparsedDocumentProvider implements PreparsedDocumentProvider {
+
+    /**
+     * Marca en el GraphQLContext de las peticiones HTTP GET: solo pueden ejecutar queries
+     */
+    public static final String HTTP_GET_CONTEXT_KEY = "petstore.graphql.httpGet";
+
+    public static final String CACHE_NAME = "graphql.documents";
+
+    private static final String PERSISTED_QUERY_EXTENSION = "persistedQuery";
+    private static final String PERSISTED_KEY_PREFIX = "sha256:";
+
+    private final Cache<String, CachedDocument> documents;
+    private final PreparsedDocumentProvider persistedQueries;
+    private final Timer parseTimer;
+    private final Counter parseTimeSaved;
+    private final Counter persistedHits;
+    private final Counter persistedRegistered;
+    private final Counter persistedNotFound;
+
+    public CachingPreparsedDocumentProvider(long maxEntries, MeterRegistry registry) {
+        this.documents = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        this.persistedQueries = new ApolloPersistedQuerySupport(new PersistedQueryAdapter());
+
+        CaffeineCacheMetrics.monitor(registry, documents, CACHE_NAME);
+        Gauge.builder(CACHE_NAME + ".hit.ratio", documents, cache -> cache.stats().hitRate())
+                .description("Proporción de peticiones GraphQL servidas sin parsear ni validar")
+                .register(registry);
+        this.parseTimer = Timer.builder(CACHE_NAME + ".parse")
+                .description("Tiempo de parseo y validación en los fallos de caché")
+                .register(registry);
+        this.parseTimeSaved = Counter.builder(CACHE_NAME + ".parse.saved")
+                .baseUnit("seconds")
+                .description("Tiempo de parseo y validación ahorrado por los aciertos de caché")
+                .register(registry);
+        this.persistedHits = persistedCounter(registry, "hit");
+        this.persistedRegistered = persistedCounter(registry, "registered");
+        this.persistedNotFound = persistedCounter(registry, "not_found");
+    }
+
+    @Override
+    public CompletableFuture<PreparsedDocumentEntry> getDocumentAsync(ExecutionInput executionInput,
+            Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidateFunction) {
+        CompletableFuture<PreparsedDocumentEntry> entry;
+        if (executionInput.getExtensions().containsKey(PERSISTED_QUERY_EXTENSION)) {
+            entry = persistedQueries.getDocumentAsync(executionInput, parseAndValidateFunction);
+        } else {
+            entry = CompletableFuture.completedFuture(
+                    lookup(executionInput.getQuery(), () -> parseAndValidateFunction.apply(executionInput)));
+        }
+        return entry.thenApply(document -> rejectNonQueryOverGet(executionInput, document));
+    }
+
+    public long size() {
+        documents.cleanUp();
+        return documents.estimatedSize();
+    }
+
+    private PreparsedDocumentEntry lookup(String key, Supplier<PreparsedDocumentEntry> parseAndValidate) {
+        CachedDocument cached = documents.getIfPresent(key);
+        if (cached != null) {
+            parseTimeSaved.increment(cached.parseNanos() / 1e9);
+            return cached.entry();
+        }
+        long start = System.nanoTime();
+        PreparsedDocumentEntry entry = parseAndValidate.get();
+        long elapsed = System.nanoTime() - start;
+        parseTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        // Los documentos con errores no se guardan para no desplazar a los válidos
+        if (!entry.hasErrors()) {
+            documents.put(key, new CachedDocument(entry, elapsed));
+        }
+        return entry;
+    }
+
+    // GET debe ser seguro e idempotente: las mutaciones y suscripciones van por POST / WebSocket
+    private static PreparsedDocumentEntry rejectNonQueryOverGet(ExecutionInput executionInput,
+            PreparsedDocumentEntry entry) {
+        if (entry.hasErrors() || !Boolean.TRUE.equals(executionInput.getGraphQLContext().get(HTTP_GET_CONTEXT_KEY))) {
+            return entry;
+        }
+        OperationDefinition operation = selectOperation(entry.getDocument(), executionInput.getOperationName());
+        if (operation == null || operation.getOperation() == OperationDefinition.Operation.QUERY) {
+            return entry;
+        }
+        return new PreparsedDocumentEntry(GraphqlErrorBuilder.newError()
+                .errorType(ErrorType.OperationNotSupported)
+                .message("Only query operations can be sent with HTTP GET")
+                .build());
+    }
+
+    private static OperationDefinition selectOperation(Document document, String operationName) {
+        List<OperationDefinition> operations = document.getDefinitionsOfType(OperationDefinition.class);
+        if (operationName == null) {
+            return operations.size() == 1 ? operations.get(0) : null;
+        }
+        return operations.stream()
+                .filter(operation -> operationName.equals(operation.getName()))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static Counter persistedCounter(MeterRegistry registry, String outcome) {
+        return Counter.builder("graphql.persisted.queries")
+                .tag("outcome", outcome)
+                .description("Peticiones con Automatic Persisted Queries por resultado")
+                .register(registry);
+    }
+
+    private record CachedDocument(PreparsedDocumentEntry entry, long parseNanos) {
+    }
+
+    /**
+     * Almacén de APQ sobre la misma caché acotada, indexado por el hash de la query
+     */
+    private final class PersistedQueryAdapter implements PersistedQueryCache {
+
+        @Override
+        public CompletableFuture<PreparsedDocumentEntry> getPersistedQueryDocumentAsync(Object persistedQueryId,
+                ExecutionInput executionInput, PersistedQueryCacheMiss onCacheMiss) {
+            String key = PERSISTED_KEY_PREFIX + persistedQueryId;
+            String query = executionInput.getQuery();
+            // Solo se envió el hash: sin texto, un fallo de caché responde PersistedQueryNotFound
+            String queryText = PersistedQuerySupport.PERSISTED_QUERY_MARKER.equals(query) ? null : query;
+            boolean known = documents.asMap().containsKey(key);
+            if (!known && queryText == null) {
+                persistedNotFound.increment();
+            }
+            PreparsedDocumentEntry entry = lookup(key, () -> onCacheMiss.apply(queryText));
+            (known ? persistedHits : persistedRegistered).increment();
+            return CompletableFuture.completedFuture(entry);
+        }
+    }
+}
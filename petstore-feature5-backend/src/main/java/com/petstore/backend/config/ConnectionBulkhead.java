@@ -0,0 +1,104 @@
+package com.petstore.backend.config;
+
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulkhead (semáforo) del tamaño del pool de conexiones. Con hilos virtuales la concurrencia ya
+ * no la limita Tomcat: el semáforo deja pasar a la base tantas tareas como conexiones hay y el
+ * resto espera aquí (barato en un hilo virtual) en lugar de agotar el timeout de Hikari.
+ *
+ * Se aplica a los data fetchers / batch loaders de GraphQL ({@link #decorate}) y a las
+ * peticiones REST ({@link ConnectionBulkheadFilter}).
+ */
+@Component
+public class ConnectionBulkhead {
+
+    private final Semaphore permits;
+    private final int size;
+    private final Duration acquireTimeout;
+
+    public ConnectionBulkhead(
+            @Value("${app.bulkhead.permits:${spring.datasource.hikari.maximum-pool-size:10}}") int size,
+            @Value("${app.bulkhead.acquire-timeout:PT5S}") Duration acquireTimeout) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Bulkhead permits must be positive: " + size);
+        }
+        this.permits = new Semaphore(size, true);
+        this.size = size;
+        this.acquireTimeout = acquireTimeout;
+    }
+
+    /**
+     * Executor que ejecuta cada tarea con un permiso. El permiso se pide dentro de la tarea (en el
+     * hilo del delegado), así quien envía nunca se bloquea y una tarea que encadena otras no puede
+     * quedarse esperando un permiso que ella misma retiene.
+     */
+    public Executor decorate(Executor delegate) {
+        return new BulkheadExecutor(delegate);
+    }
+
+    /**
+     * Pide un permiso esperando como máximo {@code app.bulkhead.acquire-timeout}
+     * @return false si no se liberó ninguno a tiempo
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        return permits.tryAcquire(acquireTimeout.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int availablePermits() {
+        return permits.availablePermits();
+    }
+
+    /**
+     * Tareas esperando un permiso (aproximado)
+     */
+    public int queueLength() {
+        return permits.getQueueLength();
+    }
+
+    final class BulkheadExecutor implements Executor {
+
+        private final Executor delegate;
+
+        private BulkheadExecutor(Executor delegate) {
+            this.delegate = delegate;
+        }
+
+        Executor getDelegate() {
+            return delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            delegate.execute(() -> {
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    // Se ejecuta igual: el campo tiene que completarse (con error) y no quedar colgado
+                    Thread.currentThread().interrupt();
+                    task.run();
+                    return;
+                }
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        }
+    }
+}
@@ -56,7 +56,9 @@ public class CorsConfig {
             "Accept",
             "Origin",
             "Access-Control-Request-Method",
-            "Access-Control-Request-Headers"
+            "Access-Control-Request-Headers",
+            "Link",
+            "X-Next-Cursor"
         ));
         
         // Configurar tiempo de cache de preflight
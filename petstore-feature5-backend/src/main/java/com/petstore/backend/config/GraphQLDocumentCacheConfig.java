@@ -0,0 +1,67 @@
+package com.petstore.backend.config;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.graphql.GraphQlSourceBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.webmvc.GraphQlHttpHandler;
+import org.springframework.web.servlet.function.RequestPredicates;
+import org.springframework.web.servlet.function.RouterFunction;
+import org.springframework.web.servlet.function.RouterFunctions;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.backend.service.CatalogVersions;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Automatic Persisted Queries y caché de documentos parseados para /graphql.
+ *
+ * - POST acepta peticiones con solo el hash (extensions.persistedQuery.sha256Hash).
+ * - GET /graphql?query=...|extensions=... ejecuta queries y permite cachear en CDN.
+ */
+@Configuration
+public class GraphQLDocumentCacheConfig {
+
+    @Bean
+    public CachingPreparsedDocumentProvider cachingPreparsedDocumentProvider(
+            @Value("${app.graphql.document-cache.max-entries:500}") long maxEntries,
+            MeterRegistry meterRegistry) {
+        return new CachingPreparsedDocumentProvider(maxEntries, meterRegistry);
+    }
+
+    @Bean
+    public GraphQlSourceBuilderCustomizer preparsedDocumentCustomizer(CachingPreparsedDocumentProvider provider) {
+        return builder -> builder.configureGraphQl(graphQl -> graphQl.preparsedDocumentProvider(provider));
+    }
+
+    /**
+     * Reemplaza el handler HTTP por defecto para aceptar peticiones APQ sin texto de query
+     */
+    @Bean
+    public GraphQlHttpHandler graphQlHttpHandler(WebGraphQlHandler webGraphQlHandler, ObjectMapper objectMapper) {
+        return new GraphQlHttpHandler(webGraphQlHandler, new PersistedQueryRequestConverter(objectMapper));
+    }
+
+    /**
+     * GET /graphql con parámetros; va antes de la ruta de Spring, que responde 405 a los GET
+     */
+    @Bean
+    @Order(-1)
+    public RouterFunction<ServerResponse> graphQlGetRouterFunction(
+            WebGraphQlHandler webGraphQlHandler, ObjectMapper objectMapper,
+            @Value("${spring.graphql.http.path:/graphql}") String path,
+            @Value("${app.graphql.get.cache-max-age:PT60S}") Duration publicMaxAge,
+            CatalogVersions catalogVersions) {
+        GraphQLGetHandler handler = new GraphQLGetHandler(webGraphQlHandler, objectMapper, publicMaxAge, catalogVersions);
+        return RouterFunctions.route()
+                .GET(path, RequestPredicates.param("query", value -> true)
+                        .or(RequestPredicates.param("extensions", value -> true)), handler::handleRequest)
+                .build();
+    }
+}
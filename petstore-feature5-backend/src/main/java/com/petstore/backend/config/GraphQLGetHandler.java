@@ -0,0 +1,123 @@
+package com.petstore.backend.config;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.graphql.server.WebGraphQlHandler;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.graphql.support.DefaultGraphQlRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpCookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.servlet.function.ServerRequest;
+import org.springframework.web.servlet.function.ServerResponse;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.backend.service.CatalogVersions;
+
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+/**
+ * Ejecuta queries GraphQL recibidas por HTTP GET (query, operationName, variables y
+ * extensions como parámetros de la URL). Junto con las persisted queries la URL es corta
+ * y estable, por lo que las respuestas públicas se pueden cachear en una CDN.
+ *
+ * Las respuestas anónimas llevan además un ETag con las versiones de todo el catálogo: una
+ * revalidación con If-None-Match que coincide responde 304 sin ejecutar la query.
+ */
+public class GraphQLGetHandler {
+
+    private static final TypeReference<Map<String, Object>> JSON_OBJECT = new TypeReference<>() {};
+
+    private final WebGraphQlHandler graphQlHandler;
+    private final ObjectMapper objectMapper;
+    private final Duration publicMaxAge;
+    private final CatalogVersions catalogVersions;
+
+    public GraphQLGetHandler(WebGraphQlHandler graphQlHandler, ObjectMapper objectMapper, Duration publicMaxAge,
+                             CatalogVersions catalogVersions) {
+        this.graphQlHandler = graphQlHandler;
+        this.objectMapper = objectMapper;
+        this.publicMaxAge = publicMaxAge;
+        this.catalogVersions = catalogVersions;
+    }
+
+    public ServerResponse handleRequest(ServerRequest request) {
+        Map<String, Object> variables;
+        Map<String, Object> extensions;
+        try {
+            variables = readJsonParam(request, "variables");
+            extensions = readJsonParam(request, "extensions");
+        } catch (JsonProcessingException e) {
+            return ServerResponse.badRequest().body(Map.of("error", "Invalid JSON in GraphQL request parameters"));
+        }
+
+        String query = request.param("query").orElse(null);
+        if (query == null) {
+            if (!PersistedQueryRequestConverter.isPersistedQuery(extensions)) {
+                return ServerResponse.badRequest().body(Map.of("error", "Missing 'query' or persisted query hash"));
+            }
+            query = PersistedQuerySupport.PERSISTED_QUERY_MARKER;
+        }
+
+        WebGraphQlRequest graphQlRequest = new WebGraphQlRequest(
+                request.uri(), request.headers().asHttpHeaders(), cookies(request),
+                request.remoteAddress().orElse(null), request.attributes(),
+                new DefaultGraphQlRequest(query, request.param("operationName").orElse(null), variables, extensions),
+                UUID.randomUUID().toString(), Locale.getDefault());
+        graphQlRequest.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(CachingPreparsedDocumentProvider.HTTP_GET_CONTEXT_KEY, true);
+            return input;
+        });
+
+        boolean authenticated = request.headers().firstHeader(HttpHeaders.AUTHORIZATION) != null;
+        // La misma URL con las mismas versiones produce la misma respuesta: se calcula antes de ejecutar
+        String etag = authenticated ? null : catalogVersions.etag(CatalogVersions.Aggregate.values());
+        if (etag != null && CatalogVersions.matches(request.headers().firstHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            return ServerResponse.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(etag)
+                    .cacheControl(CacheControl.maxAge(publicMaxAge).cachePublic())
+                    .build();
+        }
+        return ServerResponse.async(graphQlHandler.handleRequest(graphQlRequest)
+                .map(response -> {
+                    ServerResponse.BodyBuilder builder = ServerResponse.ok()
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .cacheControl(cacheControl(response, authenticated));
+                    if (etag != null && response.getErrors().isEmpty()) {
+                        builder.eTag(etag);
+                    }
+                    return builder.body(response.toMap());
+                }));
+    }
+
+    // Solo las respuestas anónimas y sin errores son públicas; el resto no se guarda en caches compartidas
+    private CacheControl cacheControl(WebGraphQlResponse response, boolean authenticated) {
+        if (authenticated || !response.getErrors().isEmpty()) {
+            return CacheControl.noStore();
+        }
+        return CacheControl.maxAge(publicMaxAge).cachePublic();
+    }
+
+    private Map<String, Object> readJsonParam(ServerRequest request, String name) throws JsonProcessingException {
+        Optional<String> value = request.param(name).filter(v -> !v.isBlank());
+        return value.isPresent() ? objectMapper.readValue(value.get(), JSON_OBJECT) : null;
+    }
+
+    private static MultiValueMap<String, HttpCookie> cookies(ServerRequest request) {
+        MultiValueMap<String, HttpCookie> cookies = new LinkedMultiValueMap<>();
+        request.cookies().forEach((name, values) ->
+                values.forEach(cookie -> cookies.add(name, new HttpCookie(name, cookie.getValue()))));
+        return cookies;
+    }
+}
@@ -0,0 +1,52 @@
+package com.petstore.backend.config;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Límites de profundidad y costo para /graphql, que es público y tiene ciclos en el esquema
+ * (Category.products → Product.promotion → Promotion.products → Product.category ...).
+ */
+@Configuration
+public class GraphQLQueryLimitsConfig {
+
+    // Pesos propios: los demás campos de objeto pesan 1 y los escalares 0
+    private static final Map<String, Integer> FIELD_WEIGHTS = Map.of(
+            "Product.effectivePrice", 1,  // Consulta la tabla de precios
+            "Mutation.login", 10);        // Verificación BCrypt
+
+    @Bean
+    public QueryCostAnalyzer queryCostAnalyzer(@Value("${app.graphql.cost.default-list-size:50}") int defaultListSize) {
+        return new QueryCostAnalyzer(FIELD_WEIGHTS, defaultListSize);
+    }
+
+    @Bean
+    public QueryCostInstrumentation queryCostInstrumentation(QueryCostAnalyzer analyzer, MeterRegistry meterRegistry,
+            @Value("${app.graphql.limits.anonymous.max-depth:10}") int anonymousMaxDepth,
+            @Value("${app.graphql.limits.anonymous.max-cost:20000}") long anonymousMaxCost,
+            @Value("${app.graphql.limits.admin.max-depth:15}") int adminMaxDepth,
+            @Value("${app.graphql.limits.admin.max-cost:200000}") long adminMaxCost) {
+        return new QueryCostInstrumentation(analyzer,
+                new QueryCostInstrumentation.QueryLimits(anonymousMaxDepth, anonymousMaxCost),
+                new QueryCostInstrumentation.QueryLimits(adminMaxDepth, adminMaxCost),
+                meterRegistry);
+    }
+
+    // Como bean, Spring Boot lo registra antes de crear cualquier medidor
+    @Bean
+    public MeterFilter queryCostOperationTagLimit(@Value("${app.metrics.max-operation-tags:200}") int maxOperationTags) {
+        return MeterFilter.maximumAllowableTags(
+                QueryCostInstrumentation.COST_METRIC, "operation", maxOperationTags, MeterFilter.deny());
+    }
+
+    @Bean
+    public QueryCostRoleInterceptor queryCostRoleInterceptor() {
+        return new QueryCostRoleInterceptor();
+    }
+}
@@ -6,13 +6,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import com.petstore.backend.service.AuthService;
+import com.petstore.backend.util.JwtPrincipal;
+import com.petstore.backend.util.JwtPrincipalCache;
 import com.petstore.backend.util.JwtUtil;
 
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -22,13 +29,20 @@ import jakarta.servlet.http.HttpServletResponse;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private static final Logger jwtLogger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
-    
+
+    public static final String VERIFY_METRIC = "security.jwt.verify";
+
     private final JwtUtil jwtUtil;
     private final AuthService authService;
+    private final JwtPrincipalCache principalCache;
+    private final MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(JwtUtil jwtUtil, AuthService authService) {
+    public JwtAuthenticationFilter(JwtUtil jwtUtil, AuthService authService, JwtPrincipalCache principalCache,
+                                   MeterRegistry meterRegistry) {
         this.jwtUtil = jwtUtil;
         this.authService = authService;
+        this.principalCache = principalCache;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
@@ -37,30 +51,69 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         final String authHeader = request.getHeader("Authorization");
-        String email = null;
-        String token = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            if (jwtUtil.validateToken(token)) {
-                email = jwtUtil.extractEmail(token);
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            JwtPrincipal principal = resolvePrincipal(authHeader.substring(7));
+            if (principal != null) {
+                UserDetails userDetails = User.withUsername(principal.getEmail())
+                        .password("")
+                        .roles(principal.getRole().replace(" ", "_")) // Convertir "Marketing Admin" a "Marketing_Admin"
+                        .build();
+                var authToken = new UsernamePasswordAuthenticationToken(
+                        userDetails, null, userDetails.getAuthorities());
+                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
 
-        if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Obtiene el principal del token: primero de la caché; si no, verificando el token una sola vez.
+     * Solo los tokens antiguos (sin claim de rol) requieren consultar el usuario en la base de datos.
+     */
+    private JwtPrincipal resolvePrincipal(String token) {
+        JwtPrincipal cached = principalCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        JwtPrincipal principal = verify(token);
+        sample.stop(Timer.builder(VERIFY_METRIC)
+                .description("Verificación de JWT que no estaban en caché")
+                .tag("outcome", principal != null ? "valid" : "invalid")
+                .register(meterRegistry));
+        return principal;
+    }
+
+    private JwtPrincipal verify(String token) {
+        Claims claims = jwtUtil.parseClaimsIfValid(token);
+        if (claims == null || claims.getSubject() == null) {
+            return null;
+        }
+
+        String email = claims.getSubject();
+        String role = claims.get(JwtUtil.CLAIM_ROLE, String.class);
+        Integer userId = claims.get(JwtUtil.CLAIM_USER_ID, Integer.class);
+        if (role == null) {
             try {
                 // Usar el método loadUserByUsername que ya existe en AuthService
-                var userDetails = authService.loadUserByUsername(email);
-                var authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
-                authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                SecurityContextHolder.getContext().setAuthentication(authToken);
+                UserDetails userDetails = authService.loadUserByUsername(email);
+                role = userDetails.getAuthorities().iterator().next().getAuthority()
+                        .replaceFirst("^ROLE_", "").replace("_", " ");
             } catch (Exception e) {
                 // Si hay error al cargar el usuario, continuar sin autenticar
                 jwtLogger.debug("No se pudo autenticar el usuario: {}", e.getMessage());
+                return null;
             }
         }
 
-        filterChain.doFilter(request, response);
+        JwtPrincipal principal = new JwtPrincipal(email, userId, role,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null);
+        principalCache.put(token, principal);
+        return principal;
     }
 }
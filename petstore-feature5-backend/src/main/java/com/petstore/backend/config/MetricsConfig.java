@@ -0,0 +1,54 @@
+package com.petstore.backend.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.util.function.SingletonSupplier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+
+/**
+ * Métricas de latencia por capa, exportadas en /actuator/prometheus:
+ * resolvers GraphQL ({@code graphql.resolver} y, por operación, {@code graphql.operation.resolver}),
+ * filas por método de repositorio ({@code spring.data.repository.rows}) y, desde Spring Boot, el
+ * tiempo de los repositorios ({@code spring.data.repository.invocations}) y la espera por conexión
+ * de Hikari ({@code hikaricp.connections.acquire}). Los histogramas de latencia se activan en application.properties.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public ResolverTimingInstrumentation resolverTimingInstrumentation(MeterRegistry meterRegistry) {
+        return new ResolverTimingInstrumentation(meterRegistry);
+    }
+
+    // Pasado el tope se descartan solo las series por operación; graphql.resolver sigue midiendo todo.
+    // Como bean, Spring Boot lo registra antes de crear cualquier medidor
+    @Bean
+    public MeterFilter resolverOperationTagLimit(@Value("${app.metrics.max-operation-tags:200}") int maxOperationTags) {
+        return MeterFilter.maximumAllowableTags(
+                ResolverTimingInstrumentation.OPERATION_METRIC, "operation", maxOperationTags, MeterFilter.deny());
+    }
+
+    @Bean
+    static BeanPostProcessor repositoryRowCountMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                // El registro se resuelve en la primera invocación: los repositorios se crean antes
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, information) -> proxyFactory.addAdvice(new RepositoryRowCountInterceptor(
+                                    information.getRepositoryInterface(),
+                                    SingletonSupplier.of(meterRegistry::getObject)))));
+                }
+                return bean;
+            }
+        };
+    }
+}
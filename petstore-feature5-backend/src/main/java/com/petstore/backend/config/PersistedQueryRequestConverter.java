@@ -0,0 +1,39 @@
+package com.petstore.backend.config;
+
+import java.io.IOException;
+import java.util.Map;
+
+import org.springframework.graphql.server.support.SerializableGraphQlRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+
+/**
+ * Conversor JSON del endpoint /graphql que acepta peticiones APQ con solo el hash.
+ * Spring exige el texto de la query; si falta y viene la extensión "persistedQuery"
+ * se usa el marcador de graphql-java y el documento se resuelve desde la caché.
+ */
+public class PersistedQueryRequestConverter extends MappingJackson2HttpMessageConverter {
+
+    public PersistedQueryRequestConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        Object body = super.readInternal(clazz, inputMessage);
+        if (body instanceof SerializableGraphQlRequest request
+                && request.getQuery() == null
+                && isPersistedQuery(request.getExtensions())) {
+            request.setQuery(PersistedQuerySupport.PERSISTED_QUERY_MARKER);
+        }
+        return body;
+    }
+
+    static boolean isPersistedQuery(Map<String, Object> extensions) {
+        return extensions != null && extensions.get("persistedQuery") instanceof Map;
+    }
+}
@@ -0,0 +1,81 @@
+package com.petstore.backend.config;
+
+import java.util.Map;
+
+import graphql.normalized.ExecutableNormalizedField;
+import graphql.normalized.ExecutableNormalizedOperation;
+import graphql.schema.GraphQLOutputType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+
+/**
+ * Modelo de costo estático de una operación GraphQL, calculado antes de ejecutarla.
+ *
+ * costo(campo) = peso(campo) + multiplicador(campo) * Σ costo(hijos)
+ *
+ * - Los escalares pesan 0 y los campos de objeto 1 (una consulta, gracias al batch loading),
+ *   salvo que se indique otro peso para "Tipo.campo".
+ * - Los campos lista multiplican a sus hijos por el argumento "first" (propio o de la conexión
+ *   padre, para "edges"); si no está paginada se asume {@code defaultListSize} elementos.
+ */
+public class QueryCostAnalyzer {
+
+    private static final String PAGE_SIZE_ARGUMENT = "first";
+
+    private final Map<String, Integer> fieldWeights;
+    private final int defaultListSize;
+
+    public QueryCostAnalyzer(Map<String, Integer> fieldWeights, int defaultListSize) {
+        this.fieldWeights = Map.copyOf(fieldWeights);
+        this.defaultListSize = defaultListSize;
+    }
+
+    public QueryCost analyze(ExecutableNormalizedOperation operation, GraphQLSchema schema) {
+        long cost = 0;
+        for (ExecutableNormalizedField field : operation.getTopLevelFields()) {
+            cost = saturatedAdd(cost, fieldCost(field, schema, null));
+        }
+        return new QueryCost(operation.getOperationDepth(), cost);
+    }
+
+    private long fieldCost(ExecutableNormalizedField field, GraphQLSchema schema, Integer parentPageSize) {
+        GraphQLOutputType type = field.getType(schema);
+        Integer weight = fieldWeights.get(field.getSingleObjectTypeName() + "." + field.getName());
+        if (GraphQLTypeUtil.isLeaf(GraphQLTypeUtil.unwrapAll(type))) {
+            return weight != null ? weight : 0;
+        }
+
+        Integer pageSize = pageSize(field);
+        long childrenCost = 0;
+        for (ExecutableNormalizedField child : field.getChildren()) {
+            childrenCost = saturatedAdd(childrenCost, fieldCost(child, schema, pageSize));
+        }
+
+        long multiplier = 1;
+        if (GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(type))) {
+            multiplier = pageSize != null ? pageSize : parentPageSize != null ? parentPageSize : defaultListSize;
+        }
+        return saturatedAdd(weight != null ? weight : 1, saturatedMultiply(multiplier, childrenCost));
+    }
+
+    private static Integer pageSize(ExecutableNormalizedField field) {
+        Object first = field.getResolvedArguments().get(PAGE_SIZE_ARGUMENT);
+        return first instanceof Number number ? Math.max(number.intValue(), 0) : null;
+    }
+
+    // Los ciclos del esquema hacen crecer el costo exponencialmente: se satura en vez de desbordar
+    private static long saturatedAdd(long a, long b) {
+        long result = a + b;
+        return result < 0 ? Long.MAX_VALUE : result;
+    }
+
+    private static long saturatedMultiply(long a, long b) {
+        return b != 0 && a > Long.MAX_VALUE / b ? Long.MAX_VALUE : a * b;
+    }
+
+    /**
+     * Profundidad y costo estimado de una operación
+     */
+    public record QueryCost(int depth, long cost) {
+    }
+}
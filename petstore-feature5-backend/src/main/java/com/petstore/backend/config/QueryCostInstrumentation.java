@@ -0,0 +1,71 @@
+package com.petstore.backend.config;
+
+import graphql.ExecutionResult;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Rechaza antes de ejecutarlas las operaciones que superan la profundidad o el costo
+ * permitido para el rol del solicitante, y registra el costo calculado por operación.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    /**
+     * Clave del GraphQLContext que indica que el solicitante es Marketing Admin
+     */
+    public static final String ADMIN_CONTEXT_KEY = "petstore.graphql.admin";
+
+    public static final String COST_METRIC = "graphql.query.cost";
+
+    private final QueryCostAnalyzer analyzer;
+    private final QueryLimits anonymousLimits;
+    private final QueryLimits adminLimits;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCostInstrumentation(QueryCostAnalyzer analyzer, QueryLimits anonymousLimits,
+                                    QueryLimits adminLimits, MeterRegistry meterRegistry) {
+        this.analyzer = analyzer;
+        this.anonymousLimits = anonymousLimits;
+        this.adminLimits = adminLimits;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+            InstrumentationExecuteOperationParameters parameters, InstrumentationState state) {
+        ExecutionContext context = parameters.getExecutionContext();
+        QueryCostAnalyzer.QueryCost queryCost =
+                analyzer.analyze(context.getNormalizedQueryTree().get(), context.getGraphQLSchema());
+
+        String operationName = context.getOperationDefinition().getName();
+        DistributionSummary.builder(COST_METRIC)
+                .description("Costo estático calculado de las operaciones GraphQL")
+                .tag("operation", operationName != null ? operationName : "anonymous")
+                .register(meterRegistry)
+                .record(queryCost.cost());
+
+        boolean admin = Boolean.TRUE.equals(context.getGraphQLContext().get(ADMIN_CONTEXT_KEY));
+        QueryLimits limits = admin ? adminLimits : anonymousLimits;
+        if (queryCost.depth() > limits.maxDepth()) {
+            throw new AbortExecutionException("Query depth " + queryCost.depth()
+                    + " exceeds the maximum allowed depth of " + limits.maxDepth());
+        }
+        if (queryCost.cost() > limits.maxCost()) {
+            throw new AbortExecutionException("Query cost " + queryCost.cost()
+                    + " exceeds the maximum allowed cost of " + limits.maxCost());
+        }
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    /**
+     * Límites de profundidad y costo para un rol
+     */
+    public record QueryLimits(int maxDepth, long maxCost) {
+    }
+}
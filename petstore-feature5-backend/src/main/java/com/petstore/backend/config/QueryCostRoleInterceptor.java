@@ -0,0 +1,34 @@
+package com.petstore.backend.config;
+
+import org.springframework.graphql.server.WebGraphQlInterceptor;
+import org.springframework.graphql.server.WebGraphQlRequest;
+import org.springframework.graphql.server.WebGraphQlResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Marca en el GraphQLContext si el solicitante es Marketing Admin, para que
+ * {@link QueryCostInstrumentation} aplique sus límites en lugar de los anónimos.
+ */
+public class QueryCostRoleInterceptor implements WebGraphQlInterceptor {
+
+    private static final String ADMIN_AUTHORITY = "ROLE_Marketing_Admin";
+
+    @Override
+    public Mono<WebGraphQlResponse> intercept(WebGraphQlRequest request, Chain chain) {
+        boolean admin = isAdmin(SecurityContextHolder.getContext().getAuthentication());
+        request.configureExecutionInput((input, builder) -> {
+            input.getGraphQLContext().put(QueryCostInstrumentation.ADMIN_CONTEXT_KEY, admin);
+            return input;
+        });
+        return chain.next(request);
+    }
+
+    private static boolean isAdmin(Authentication authentication) {
+        return authentication != null && authentication.isAuthenticated()
+                && authentication.getAuthorities().stream()
+                        .anyMatch(authority -> ADMIN_AUTHORITY.equals(authority.getAuthority()));
+    }
+}
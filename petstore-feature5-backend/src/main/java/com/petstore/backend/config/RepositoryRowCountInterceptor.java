@@ -0,0 +1,92 @@
+package com.petstore.backend.config;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Registra cuántas filas devuelve cada método de un repositorio Spring Data, con las mismas
+ * etiquetas ({@code repository}, {@code method}) que el timer
+ * {@code spring.data.repository.invocations} de Spring Boot. Solo se registran las lecturas
+ * (find/get/read/query/search o {@code @Query} sin {@code @Modifying}) que devuelven entidades:
+ * save, delete, count, exists y streams no cuentan.
+ */
+public class RepositoryRowCountInterceptor implements MethodInterceptor {
+
+    public static final String ROWS_METRIC = "spring.data.repository.rows";
+
+    // Buckets fijos: pocas series y suficientes para ver listados que crecen sin paginar
+    private static final double[] ROW_BUCKETS = {1, 10, 50, 100, 500, 1000, 5000};
+
+    private static final List<String> QUERY_PREFIXES = List.of("find", "get", "read", "query", "search");
+
+    private final String repository;
+    private final Supplier<MeterRegistry> meterRegistry;
+
+    public RepositoryRowCountInterceptor(Class<?> repositoryInterface, Supplier<MeterRegistry> meterRegistry) {
+        this.repository = repositoryInterface.getSimpleName();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        if (!isQuery(invocation.getMethod())) {
+            return result;
+        }
+        long rows = rows(invocation.getMethod().getReturnType(), result);
+        if (rows >= 0) {
+            DistributionSummary.builder(ROWS_METRIC)
+                    .description("Filas devueltas por los métodos de los repositorios")
+                    .baseUnit("rows")
+                    .serviceLevelObjectives(ROW_BUCKETS)
+                    .tag("repository", repository)
+                    .tag("method", invocation.getMethod().getName())
+                    .register(meterRegistry.get())
+                    .record(rows);
+        }
+        return result;
+    }
+
+    static boolean isQuery(Method method) {
+        if (method.isAnnotationPresent(Modifying.class)) {
+            return false;
+        }
+        String name = method.getName();
+        return method.isAnnotationPresent(Query.class) || QUERY_PREFIXES.stream().anyMatch(name::startsWith);
+    }
+
+    // -1 cuando el resultado no son filas
+    static long rows(Class<?> returnType, Object result) {
+        if (returnType == void.class || returnType.isPrimitive() || Number.class.isAssignableFrom(returnType)
+                || returnType == Boolean.class || BaseStream.class.isAssignableFrom(returnType)) {
+            return -1;
+        }
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        // Otros Iterable pueden ser de un solo recorrido: no se consumen aquí
+        return result instanceof Iterable<?> ? -1 : 1;
+    }
+}
@@ -0,0 +1,76 @@
+package com.petstore.backend.config;
+
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.TimeUnit;
+
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationFieldFetchParameters;
+import graphql.language.OperationDefinition;
+import graphql.schema.DataFetcher;
+import graphql.schema.DataFetchingEnvironment;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Mide cada resolver GraphQL (los data fetchers triviales de propiedades se omiten) con dos timers:
+ * {@code graphql.resolver}, con histograma, etiquetado por {@code Tipo.campo} y resultado, y
+ * {@code graphql.operation.resolver}, sin histograma, que además separa por nombre de operación.
+ * Si el resolver devuelve un CompletionStage (executor de hilos virtuales, DataLoader) se mide
+ * hasta que se completa, así que un campo @BatchMapping incluye la espera del lote.
+ */
+public class ResolverTimingInstrumentation extends SimplePerformantInstrumentation {
+
+    public static final String RESOLVER_METRIC = "graphql.resolver";
+    // Otro prefijo: los histogramas de graphql.resolver también aplicarían a graphql.resolver.*
+    public static final String OPERATION_METRIC = "graphql.operation.resolver";
+
+    private final MeterRegistry meterRegistry;
+
+    public ResolverTimingInstrumentation(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public DataFetcher<?> instrumentDataFetcher(DataFetcher<?> dataFetcher,
+            InstrumentationFieldFetchParameters parameters, InstrumentationState state) {
+        if (parameters.isTrivialDataFetcher()) {
+            return dataFetcher;
+        }
+        return environment -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            Object result;
+            try {
+                result = dataFetcher.get(environment);
+            } catch (Exception e) {
+                stop(sample, environment, "ERROR");
+                throw e;
+            }
+            if (result instanceof CompletionStage<?> stage) {
+                return stage.whenComplete((value, error) -> stop(sample, environment, error == null ? "SUCCESS" : "ERROR"));
+            }
+            stop(sample, environment, "SUCCESS");
+            return result;
+        };
+    }
+
+    private void stop(Timer.Sample sample, DataFetchingEnvironment environment, String outcome) {
+        String field = environment.getExecutionStepInfo().getObjectType().getName()
+                + "." + environment.getFieldDefinition().getName();
+        long nanos = sample.stop(Timer.builder(RESOLVER_METRIC)
+                .description("Tiempo de los resolvers GraphQL por campo")
+                .tags(Tags.of("field", field, "outcome", outcome))
+                .register(meterRegistry));
+        Timer.builder(OPERATION_METRIC)
+                .description("Tiempo de los resolvers GraphQL por campo y operación")
+                .tags(Tags.of("field", field, "operation", operationName(environment.getOperationDefinition()),
+                        "outcome", outcome))
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String operationName(OperationDefinition operation) {
+        return operation != null && operation.getName() != null ? operation.getName() : "anonymous";
+    }
+}
@@ -0,0 +1,26 @@
+package com.petstore.backend.config;
+
+import java.time.Clock;
+import java.time.ZoneId;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita las tareas programadas (@Scheduled) de la aplicación
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * Reloj de las fechas de promociones: el motor de transiciones y las consultas de vigencia
+     * cambian de día en la misma zona (la del sistema si no se configura)
+     */
+    @Bean
+    public Clock promotionClock(@Value("${app.promotions.transitions.zone:}") String zone) {
+        return zone.isBlank() ? Clock.systemDefaultZone() : Clock.system(ZoneId.of(zone));
+    }
+}
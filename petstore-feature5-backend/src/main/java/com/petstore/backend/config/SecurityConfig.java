@@ -136,6 +136,9 @@ public class SecurityConfig {
                     authz.requestMatchers("GET", "/api/promotions", "/api/promotions/status").permitAll(); // Lectura pública
                     authz.requestMatchers("/api/promotions/**").authenticated(); // El resto requiere auth
                     
+                    // Cotización de precios pública (solo lectura de precios)
+                    authz.requestMatchers("POST", "/api/pricing/quote").permitAll();
+                    
                     // Categorías: permitir lectura, auth para modificaciones
                     authz.requestMatchers("GET", "/api/categories", "/api/categories/*", "/api/categories/info").permitAll();
                     authz.requestMatchers("/api/categories/**").authenticated();
@@ -0,0 +1,55 @@
+package com.petstore.backend.config;
+
+import java.util.concurrent.Executor;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.core.task.support.ContextPropagatingTaskDecorator;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.scheduling.annotation.EnableAsync;
+
+/**
+ * Modo de ejecución con hilos virtuales ({@code spring.threads.virtual.enabled}).
+ *
+ * Con la propiedad activa Spring Boot usa hilos virtuales en el executor de Tomcat y en
+ * {@code applicationTaskExecutor}, que atiende el trabajo @Async y los data fetchers de GraphQL
+ * (métodos bloqueantes de los controladores y @BatchMapping): los campos raíz independientes y
+ * los batch loaders se ejecutan en paralelo. Aquí ese executor de GraphQL pasa por
+ * {@link ConnectionBulkhead}, para que el paralelismo no supere las conexiones del pool.
+ * Las tareas llevan consigo los ThreadLocal del hilo que las lanza (contexto de seguridad,
+ * observaciones), así que la autenticación de la petición sigue vigente en cada fetcher.
+ * Sin hilos virtuales los fetchers siguen en el hilo de la petición y no se decora nada.
+ */
+@Configuration
+@EnableAsync
+public class VirtualThreadConfig {
+
+    // Spring Boot lo aplica a applicationTaskExecutor
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public TaskDecorator contextPropagatingTaskDecorator() {
+        return new ContextPropagatingTaskDecorator();
+    }
+
+    @Bean
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    static BeanPostProcessor graphQlExecutorBulkhead(ObjectProvider<ConnectionBulkhead> bulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) throws BeansException {
+                // Spring Boot asigna applicationTaskExecutor al crear el configurer
+                if (bean instanceof AnnotatedControllerConfigurer configurer && configurer.getExecutor() != null) {
+                    Executor executor = configurer.getExecutor();
+                    configurer.setExecutor(bulkhead.getObject().decorate(executor));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -3,6 +3,7 @@ package com.petstore.backend.controller;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -12,11 +13,13 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.petstore.backend.dto.CategoryDTO;
 import com.petstore.backend.entity.Category;
+import com.petstore.backend.service.CatalogVersions;
 import com.petstore.backend.service.CategoryService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -46,14 +49,17 @@ public class CategoryController {
 
     
     private final CategoryService categoryService; // Inyección de dependencia del servicio de categorías
+    private final CatalogVersions catalogVersions; // Versiones del catálogo para ETag / If-None-Match
 
-    public CategoryController(CategoryService categoryService) {
+    public CategoryController(CategoryService categoryService, CatalogVersions catalogVersions) {
         this.categoryService = categoryService;
+        this.catalogVersions = catalogVersions;
     }
 
     @Operation(
             summary = "Obtener todas las categorías",
-            description = "Retorna una lista completa de todas las categorías de productos disponibles"
+            description = "Retorna una lista completa de todas las categorías de productos disponibles. "
+                    + "Incluye ETag: con If-None-Match responde 304 sin consultar la base si nada cambió"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -64,6 +70,11 @@ public class CategoryController {
                             array = @ArraySchema(schema = @Schema(implementation = CategoryDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", 
+                    description = "Sin cambios desde el ETag enviado en If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500", 
                     description = "Error interno del servidor",
@@ -71,14 +82,19 @@ public class CategoryController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<CategoryDTO>> getAllCategories() {
+    public ResponseEntity<List<CategoryDTO>> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = catalogVersions.etag(CatalogVersions.Aggregate.CATEGORIES);
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             List<Category> categories = categoryService.findAll();
             List<CategoryDTO> categoryDTOs = categories.stream()
                     .map(this::convertToDTO)
                     .toList();
             
-            return ResponseEntity.ok(categoryDTOs);
+            return ConditionalResponses.ok(etag).body(categoryDTOs);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -97,6 +113,11 @@ public class CategoryController {
                             schema = @Schema(implementation = CategoryDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", 
+                    description = "Sin cambios desde el ETag enviado en If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404", 
                     description = "Categoría no encontrada",
@@ -111,13 +132,18 @@ public class CategoryController {
     @GetMapping("/{id}")
     public ResponseEntity<CategoryDTO> getCategoryById(
             @Parameter(description = "ID de la categoría", example = "1", required = true)
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = catalogVersions.etag(CatalogVersions.Aggregate.CATEGORIES);
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             Optional<Category> categoryOpt = categoryService.findById(id);
             
             if (categoryOpt.isPresent()) {
                 CategoryDTO categoryDTO = convertToDTO(categoryOpt.get());
-                return ResponseEntity.ok(categoryDTO);
+                return ConditionalResponses.ok(etag).body(categoryDTO);
             } else {
                 return ResponseEntity.notFound().build();
             }
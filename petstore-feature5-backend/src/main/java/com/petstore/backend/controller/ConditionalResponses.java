@@ -0,0 +1,37 @@
+package com.petstore.backend.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Respuestas condicionales para las lecturas públicas del catálogo (ETag de
+ * {@link com.petstore.backend.service.CatalogVersions})
+ */
+final class ConditionalResponses {
+
+    // Clientes y proxies pueden guardar la respuesta, pero la revalidan siempre con If-None-Match
+    static final CacheControl CATALOG_CACHE_CONTROL = CacheControl.noCache().cachePublic();
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * 304 sin cuerpo, con el mismo ETag y Cache-Control que la respuesta completa
+     */
+    static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CATALOG_CACHE_CONTROL)
+                .build();
+    }
+
+    /**
+     * 200 con ETag y Cache-Control
+     */
+    static ResponseEntity.BodyBuilder ok(String etag) {
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CATALOG_CACHE_CONTROL);
+    }
+}
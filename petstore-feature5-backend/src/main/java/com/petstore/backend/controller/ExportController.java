@@ -0,0 +1,160 @@
+package com.petstore.backend.controller;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.petstore.backend.service.CatalogExportService;
+import com.petstore.backend.service.CatalogFormat;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Exportación", description = "Descarga completa del catálogo por streaming (NDJSON o CSV)")
+@RestController
+@RequestMapping("/api/export")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "https://petstore-feature5-backend.onrender.com", "https://fluffy-deals-hub.vercel.app"})
+public class ExportController {
+
+    private static final int GZIP_BUFFER_SIZE = 8 * 1024;
+
+    private final CatalogExportService catalogExportService; // Inyección de dependencia del servicio de exportación
+
+    public ExportController(CatalogExportService catalogExportService) {
+        this.catalogExportService = catalogExportService;
+    }
+
+    @Operation(
+            summary = "Exportar productos",
+            description = "Descarga todos los productos como NDJSON (un objeto por línea) o CSV. Las filas se escriben "
+                    + "a medida que se leen de la base de datos, con memoria constante; si el cliente envía "
+                    + "Accept-Encoding: gzip, la respuesta se comprime al vuelo"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exportación en curso",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no soportado",
+                    content = @Content
+            )
+    })
+    @GetMapping("/products")
+    public ResponseEntity<StreamingResponseBody> exportProducts(
+            @Parameter(description = "Formato: ndjson (por defecto) o csv", example = "csv")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            CatalogFormat catalogFormat = CatalogFormat.parse(format);
+            return stream("products", catalogFormat, acceptEncoding,
+                    out -> catalogExportService.exportProducts(catalogFormat, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    @Operation(
+            summary = "Exportar promociones",
+            description = "Descarga todas las promociones como NDJSON (un objeto por línea) o CSV. Las filas se "
+                    + "escriben a medida que se leen de la base de datos, con memoria constante; si el cliente envía "
+                    + "Accept-Encoding: gzip, la respuesta se comprime al vuelo"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Exportación en curso",
+                    content = {
+                            @Content(mediaType = "application/x-ndjson"),
+                            @Content(mediaType = "text/csv")
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no soportado",
+                    content = @Content
+            )
+    })
+    @GetMapping("/promotions")
+    public ResponseEntity<StreamingResponseBody> exportPromotions(
+            @Parameter(description = "Formato: ndjson (por defecto) o csv", example = "ndjson")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        try {
+            CatalogFormat catalogFormat = CatalogFormat.parse(format);
+            return stream("promotions", catalogFormat, acceptEncoding,
+                    out -> catalogExportService.exportPromotions(catalogFormat, out));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Escritura de la exportación sobre el stream de la respuesta
+     */
+    @FunctionalInterface
+    private interface ExportWriter {
+        void write(OutputStream out) throws IOException;
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String name, CatalogFormat format,
+                                                                String acceptEncoding, ExportWriter writer) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType(format.getContentType() + ";charset=UTF-8"));
+        headers.setContentDisposition(ContentDisposition.attachment()
+                .filename(name + "." + format.getExtension())
+                .build());
+        headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            headers.add(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                // syncFlush: cada flush del exportador llega comprimido al cliente sin esperar al final
+                GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE, true);
+                writer.write(compressed);
+                compressed.finish();
+            } else {
+                writer.write(out);
+            }
+        };
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                // gzip;q=0 significa "no aceptado"
+                return parts.length < 2 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,118 @@
+package com.petstore.backend.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.petstore.backend.dto.CatalogImportReport;
+import com.petstore.backend.service.CatalogFormat;
+import com.petstore.backend.service.CatalogImportService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Importación", description = "Carga masiva del catálogo desde CSV o NDJSON, con reporte por fila")
+@RestController
+@RequestMapping("/api/import")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "https://petstore-feature5-backend.onrender.com", "https://fluffy-deals-hub.vercel.app"})
+public class ImportController {
+
+    private final CatalogImportService catalogImportService; // Inyección de dependencia del servicio de importación
+
+    public ImportController(CatalogImportService catalogImportService) {
+        this.catalogImportService = catalogImportService;
+    }
+
+    @Operation(
+            summary = "Importar promociones",
+            description = "Inserta las promociones del cuerpo (CSV con encabezados o NDJSON, mismas columnas que la "
+                    + "exportación, con statusName o statusId y userId opcional). El archivo se procesa fila por fila; "
+                    + "las filas inválidas no se insertan y se informan con su línea. Acepta Content-Encoding: gzip"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Importación terminada (puede incluir filas rechazadas)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CatalogImportReport.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no soportado o archivo ilegible; no se importa nada",
+                    content = @Content
+            )
+    })
+    @PostMapping(value = "/promotions", consumes = {"text/csv", "application/x-ndjson", "application/json", "application/octet-stream"})
+    public ResponseEntity<CatalogImportReport> importPromotions(
+            @Parameter(description = "Formato: ndjson o csv; si falta se deduce del Content-Type", example = "csv")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) {
+        try {
+            CatalogFormat catalogFormat = CatalogFormat.resolve(format, contentType);
+            return ResponseEntity.ok(catalogImportService.importPromotions(catalogFormat, decode(body, contentEncoding)));
+        } catch (IllegalArgumentException | ZipException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+            summary = "Importar productos",
+            description = "Inserta los productos del cuerpo (CSV con encabezados o NDJSON, mismas columnas que la "
+                    + "exportación, con categoryId o categoryName). El SKU no puede existir ni repetirse en el archivo. "
+                    + "Las filas inválidas no se insertan y se informan con su línea. Acepta Content-Encoding: gzip"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Importación terminada (puede incluir filas rechazadas)",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = CatalogImportReport.class))
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Formato no soportado o archivo ilegible; no se importa nada",
+                    content = @Content
+            )
+    })
+    @PostMapping(value = "/products", consumes = {"text/csv", "application/x-ndjson", "application/json", "application/octet-stream"})
+    public ResponseEntity<CatalogImportReport> importProducts(
+            @Parameter(description = "Formato: ndjson o csv; si falta se deduce del Content-Type", example = "ndjson")
+            @RequestParam(required = false) String format,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            @RequestHeader(value = HttpHeaders.CONTENT_ENCODING, required = false) String contentEncoding,
+            InputStream body) {
+        try {
+            CatalogFormat catalogFormat = CatalogFormat.resolve(format, contentType);
+            return ResponseEntity.ok(catalogImportService.importProducts(catalogFormat, decode(body, contentEncoding)));
+        } catch (IllegalArgumentException | ZipException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    // Cuerpo comprimido por el cliente: se descomprime al vuelo, sin pasar por un archivo temporal
+    private static InputStream decode(InputStream body, String contentEncoding) throws IOException {
+        if (contentEncoding != null && contentEncoding.trim().equalsIgnoreCase("gzip")) {
+            return new GZIPInputStream(body);
+        }
+        return body;
+    }
+}
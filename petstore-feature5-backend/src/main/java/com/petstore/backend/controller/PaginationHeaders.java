@@ -0,0 +1,34 @@
+package com.petstore.backend.controller;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+import com.petstore.backend.pagination.CursorPage;
+
+/**
+ * Cabeceras de navegación para los listados REST paginados por cursor
+ */
+final class PaginationHeaders {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private PaginationHeaders() {
+    }
+
+    /**
+     * Genera {@code Link: <...&after=cursor>; rel="next"} y {@code X-Next-Cursor} si hay más páginas
+     */
+    static HttpHeaders of(CursorPage<?> page) {
+        HttpHeaders headers = new HttpHeaders();
+        if (page.getPageInfo().isHasNextPage()) {
+            String cursor = page.getPageInfo().getEndCursor();
+            String next = ServletUriComponentsBuilder.fromCurrentRequest()
+                    .replaceQueryParam("after", cursor)
+                    .build()
+                    .toUriString();
+            headers.add(HttpHeaders.LINK, "<" + next + ">; rel=\"next\"");
+            headers.add(NEXT_CURSOR_HEADER, cursor);
+        }
+        return headers;
+    }
+}
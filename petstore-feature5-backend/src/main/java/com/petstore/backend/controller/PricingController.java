@@ -0,0 +1,69 @@
+package com.petstore.backend.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.petstore.backend.dto.PriceQuoteRequest;
+import com.petstore.backend.dto.PriceQuoteResponse;
+import com.petstore.backend.service.PricingService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Tag(name = "Precios", description = "Cotización de precios con promociones aplicadas")
+@RestController
+@RequestMapping("/api/pricing")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:8080", "https://petstore-feature5-backend.onrender.com", "https://fluffy-deals-hub.vercel.app"})
+public class PricingController {
+
+    private final PricingService pricingService; // Inyección de dependencia del servicio de precios
+
+    public PricingController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    @Operation(
+            summary = "Cotizar productos o carrito",
+            description = "Recibe una lista de IDs de producto o un carrito (productId × quantity) y retorna, "
+                    + "en una sola llamada, el precio unitario y de línea con la promoción vigente aplicada. "
+                    + "Máximo " + PricingService.MAX_QUOTE_LINES + " líneas por solicitud"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cotización calculada exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = PriceQuoteResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Solicitud vacía, con cantidades inválidas o demasiadas líneas",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500",
+                    description = "Error interno del servidor",
+                    content = @Content
+            )
+    })
+    @PostMapping("/quote")
+    public ResponseEntity<PriceQuoteResponse> quote(@RequestBody PriceQuoteRequest request) {
+        try {
+            return ResponseEntity.ok(pricingService.quote(request));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+}
@@ -5,17 +5,24 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.petstore.backend.dto.CategoryDTO;
 import com.petstore.backend.dto.ProductDTO;
+import com.petstore.backend.dto.ProductSuggestionDTO;
 import com.petstore.backend.entity.Product;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.ProductSortField;
+import com.petstore.backend.pagination.SortOrder;
+import com.petstore.backend.service.CatalogVersions;
 import com.petstore.backend.service.ProductService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -34,24 +41,38 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 public class ProductController {
 
     private final ProductService productService; // Inyección de dependencia del servicio de productos
+    private final CatalogVersions catalogVersions; // Versiones del catálogo para ETag / If-None-Match
 
-    public ProductController(ProductService productService) {
+    public ProductController(ProductService productService, CatalogVersions catalogVersions) {
         this.productService = productService;
+        this.catalogVersions = catalogVersions;
     }
 
     @Operation(
             summary = "Obtener todos los productos",
-            description = "Retorna una lista completa de todos los productos disponibles en la tienda"
+            description = "Retorna los productos de la tienda paginados por cursor (keyset). "
+                    + "Si hay más resultados, la respuesta incluye las cabeceras Link (rel=\"next\") y X-Next-Cursor. "
+                    + "Incluye ETag: con If-None-Match responde 304 sin consultar la base si nada cambió"
     )
     @ApiResponses(value = {
             @ApiResponse(
                     responseCode = "200", 
-                    description = "Lista de productos obtenida exitosamente",
+                    description = "Página de productos obtenida exitosamente",
                     content = @Content(
                             mediaType = "application/json",
                             array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", 
+                    description = "Sin cambios desde el ETag enviado en If-None-Match",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "400", 
+                    description = "Parámetros de paginación inválidos (limit, after o sort)",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500", 
                     description = "Error interno del servidor",
@@ -59,13 +80,27 @@ public class ProductController {
             )
     })
     @GetMapping
-    public ResponseEntity<List<ProductDTO>> getAllProducts() {
+    public ResponseEntity<List<ProductDTO>> getAllProducts(
+            @Parameter(description = "Tamaño de página (por defecto 20, máximo 100)", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página anterior (cabecera X-Next-Cursor)")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Orden: id, name o price; prefijo '-' para descendente", example = "-price")
+            @RequestParam(required = false) String sort,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
-            List<Product> products = productService.findAll();
-            List<ProductDTO> productDTOs = products.stream()
+            SortOrder<ProductSortField> order = SortOrder.parse(sort, ProductSortField.class, ProductSortField.ID);
+            String etag = productsEtag();
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
+            CursorPage<Product> page = productService.findPage(order.getField(), order.getDirection(), null, limit, after);
+            List<ProductDTO> productDTOs = page.getItems().stream()
                     .map(this::convertToDTO)
                     .toList();
-            return ResponseEntity.ok(productDTOs);
+            return ConditionalResponses.ok(etag).headers(PaginationHeaders.of(page)).body(productDTOs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -84,6 +119,11 @@ public class ProductController {
                             array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", 
+                    description = "Sin cambios desde el ETag enviado en If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500", 
                     description = "Error interno del servidor",
@@ -93,13 +133,18 @@ public class ProductController {
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<List<ProductDTO>> getProductsByCategory(
             @Parameter(description = "ID de la categoría", example = "1", required = true)
-            @PathVariable Integer categoryId) {
+            @PathVariable Integer categoryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = productsEtag();
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             List<Product> products = productService.findByCategoryId(categoryId);
             List<ProductDTO> productDTOs = products.stream()
                     .map(this::convertToDTO)
                     .toList();
-            return ResponseEntity.ok(productDTOs);
+            return ConditionalResponses.ok(etag).body(productDTOs);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -118,6 +163,11 @@ public class ProductController {
                             schema = @Schema(implementation = ProductDTO.class)
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", 
+                    description = "Sin cambios desde el ETag enviado en If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "404", 
                     description = "Producto no encontrado",
@@ -132,12 +182,17 @@ public class ProductController {
     @GetMapping("/{id}")
     public ResponseEntity<ProductDTO> getProductById(
             @Parameter(description = "ID del producto", example = "1", required = true)
-            @PathVariable Integer id) {
+            @PathVariable Integer id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = productsEtag();
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             Optional<Product> product = productService.findById(id);
             if (product.isPresent()) {
                 ProductDTO productDTO = convertToDTO(product.get());
-                return ResponseEntity.ok(productDTO);
+                return ConditionalResponses.ok(etag).body(productDTO);
             } else {
                 return ResponseEntity.notFound().build();
             }
@@ -148,7 +203,9 @@ public class ProductController {
 
     @Operation(
             summary = "Buscar productos por nombre",
-            description = "Busca productos cuyo nombre contenga el texto especificado (búsqueda parcial)"
+            description = "Busca productos cuyo nombre contenga el texto especificado (sin distinguir mayúsculas ni tildes) "
+                    + "o cuyo SKU empiece por él. Resultados ordenados por relevancia: coincidencia exacta, "
+                    + "inicio del nombre, inicio de una palabra y luego el resto"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -159,6 +216,11 @@ public class ProductController {
                             array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400", 
+                    description = "Límite inválido",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500", 
                     description = "Error interno del servidor",
@@ -167,14 +229,58 @@ public class ProductController {
     })
     @GetMapping("/search")
     public ResponseEntity<List<ProductDTO>> searchProducts(
-            @Parameter(description = "Texto a buscar en el nombre del producto", example = "collar", required = true)
-            @RequestParam String name) {
+            @Parameter(description = "Texto a buscar en el nombre o SKU del producto", example = "collar", required = true)
+            @RequestParam String name,
+            @Parameter(description = "Cantidad máxima de resultados (por defecto 20, máximo 100)", example = "20")
+            @RequestParam(required = false) Integer limit) {
         try {
-            List<Product> products = productService.findByNameContaining(name);
+            List<Product> products = productService.search(name, limit);
             List<ProductDTO> productDTOs = products.stream()
                 .map(this::convertToDTO)
                 .toList();
             return ResponseEntity.ok(productDTOs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().build();
+        }
+    }
+
+    @Operation(
+            summary = "Autocompletar productos",
+            description = "Sugiere productos con alguna palabra del nombre (o el SKU) que empiece por el prefijo; "
+                    + "se resuelve con el índice en memoria, sin consultar la base de datos"
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200", 
+                    description = "Sugerencias obtenidas exitosamente",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = ProductSuggestionDTO.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400", 
+                    description = "Límite inválido",
+                    content = @Content
+            ),
+            @ApiResponse(
+                    responseCode = "500", 
+                    description = "Error interno del servidor",
+                    content = @Content
+            )
+    })
+    @GetMapping("/autocomplete")
+    public ResponseEntity<List<ProductSuggestionDTO>> autocompleteProducts(
+            @Parameter(description = "Prefijo escrito por el usuario", example = "coll", required = true)
+            @RequestParam String prefix,
+            @Parameter(description = "Cantidad máxima de sugerencias (por defecto 20, máximo 100)", example = "10")
+            @RequestParam(required = false) Integer limit) {
+        try {
+            return ResponseEntity.ok(productService.autocomplete(prefix, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -182,7 +288,9 @@ public class ProductController {
 
     @Operation(
             summary = "Obtener productos por rango de precios",
-            description = "Retorna productos cuyo precio esté dentro del rango especificado (inclusive)"
+            description = "Retorna productos cuyo precio esté dentro del rango especificado (inclusive), ordenados "
+                    + "por precio y paginados por cursor. Se resuelve con el índice de precios en memoria; si hay más "
+                    + "resultados, el cursor siguiente llega en las cabeceras Link y X-Next-Cursor"
     )
     @ApiResponses(value = {
             @ApiResponse(
@@ -193,6 +301,11 @@ public class ProductController {
                             array = @ArraySchema(schema = @Schema(implementation = ProductDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "400", 
+                    description = "Rango invertido o parámetros de paginación inválidos (limit, after o sort)",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500", 
                     description = "Error interno del servidor",
@@ -204,13 +317,28 @@ public class ProductController {
             @Parameter(description = "Precio mínimo", example = "10.0", required = true)
             @RequestParam Double minPrice, 
             @Parameter(description = "Precio máximo", example = "50.0", required = true)
-            @RequestParam Double maxPrice) {
+            @RequestParam Double maxPrice,
+            @Parameter(description = "Filtra por categoría", example = "1")
+            @RequestParam(required = false) Integer categoryId,
+            @Parameter(description = "Tamaño de página (por defecto 20, máximo 100)", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página anterior (cabecera X-Next-Cursor)")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Orden: price o -price (descendente)", example = "-price")
+            @RequestParam(required = false) String sort) {
         try {
-            List<Product> products = productService.findByPriceBetween(minPrice, maxPrice);
-            List<ProductDTO> productDTOs = products.stream()
+            SortOrder<ProductSortField> order = SortOrder.parse(sort, ProductSortField.class, ProductSortField.PRICE);
+            if (order.getField() != ProductSortField.PRICE) {
+                throw new IllegalArgumentException("Unsupported sort field for price range: " + sort);
+            }
+            CursorPage<Product> page = productService.findPriceRangePage(
+                    minPrice, maxPrice, categoryId, order.getDirection(), limit, after);
+            List<ProductDTO> productDTOs = page.getItems().stream()
                 .map(this::convertToDTO)
                 .toList();
-            return ResponseEntity.ok(productDTOs);
+            return ResponseEntity.ok().headers(PaginationHeaders.of(page)).body(productDTOs);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -250,6 +378,11 @@ public class ProductController {
         }
     }
 
+    // ProductDTO incluye la categoría: cambia con productos o con categorías
+    private String productsEtag() {
+        return catalogVersions.etag(CatalogVersions.Aggregate.PRODUCTS, CatalogVersions.Aggregate.CATEGORIES);
+    }
+
     /**
      * Convierte una entidad Product a ProductDTO
      */
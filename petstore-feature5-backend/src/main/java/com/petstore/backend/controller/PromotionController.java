@@ -3,18 +3,26 @@ package com.petstore.backend.controller;
 import java.util.List;
 import java.util.Map;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.petstore.backend.dto.ProductAssociationResult;
 import com.petstore.backend.dto.PromotionDTO;
 import com.petstore.backend.dto.PromotionDeletedDTO;
+import com.petstore.backend.dto.PromotionTrashBulkResult;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.PromotionSortField;
+import com.petstore.backend.pagination.SortOrder;
+import com.petstore.backend.service.CatalogVersions;
 import com.petstore.backend.service.PromotionService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -37,9 +45,11 @@ public class PromotionController {
     private static final String SUCCESS_STATUS = "success"; // Constante para estado de éxito
 
     private final PromotionService promotionService; // Inyección de dependencia del servicio de promociones
+    private final CatalogVersions catalogVersions; // Versiones del catálogo para ETag / If-None-Match
 
-    public PromotionController(PromotionService promotionService) {
+    public PromotionController(PromotionService promotionService, CatalogVersions catalogVersions) {
         this.promotionService = promotionService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
@@ -48,42 +58,60 @@ public class PromotionController {
      */
     @Operation(
         summary = "Obtener promociones activas",
-        description = "Obtiene todas las promociones activas y vigentes disponibles para los clientes"
+        description = "Obtiene todas las promociones activas y vigentes disponibles para los clientes. "
+                + "Incluye ETag: con If-None-Match responde 304 sin consultar la base si nada cambió"
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Lista de promociones activas obtenida exitosamente",
                 content = @Content(mediaType = "application/json", 
                           schema = @Schema(implementation = PromotionDTO.class))),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping
-    public ResponseEntity<List<PromotionDTO>> getAllActivePromotions() {
+    public ResponseEntity<List<PromotionDTO>> getAllActivePromotions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = promotionsEtag();
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             List<PromotionDTO> promotions = promotionService.getAllActivePromotions();
-            return ResponseEntity.ok(promotions);
+            return ConditionalResponses.ok(etag).body(promotions);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
     }
 
     /**
-     * Obtiene todas las promociones (para administración)
-     * GET /api/promotions/all
+     * Obtiene todas las promociones (para administración), paginadas por cursor
+     * GET /api/promotions/all?limit=20&after={cursor}&sort=-startDate
      */
     @Operation(
         summary = "Obtener todas las promociones",
-        description = "Obtiene todas las promociones del sistema (para administradores)"
+        description = "Obtiene las promociones del sistema (para administradores) paginadas por cursor (keyset). "
+                + "Si hay más resultados, la respuesta incluye las cabeceras Link (rel=\"next\") y X-Next-Cursor"
     )
     @ApiResponses(value = {
-        @ApiResponse(responseCode = "200", description = "Lista completa de promociones obtenida exitosamente"),
+        @ApiResponse(responseCode = "200", description = "Página de promociones obtenida exitosamente"),
+        @ApiResponse(responseCode = "400", description = "Parámetros de paginación inválidos (limit, after o sort)"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @SecurityRequirement(name = "bearerAuth")
     @GetMapping("/all")
-    public ResponseEntity<List<PromotionDTO>> getAllPromotions() {
+    public ResponseEntity<List<PromotionDTO>> getAllPromotions(
+            @Parameter(description = "Tamaño de página (por defecto 20, máximo 100)", example = "20")
+            @RequestParam(required = false) Integer limit,
+            @Parameter(description = "Cursor de la página anterior (cabecera X-Next-Cursor)")
+            @RequestParam(required = false) String after,
+            @Parameter(description = "Orden: id, name, startDate, endDate o discount; prefijo '-' para descendente", example = "-startDate")
+            @RequestParam(required = false) String sort) {
         try {
-            List<PromotionDTO> promotions = promotionService.getAllPromotions();
-            return ResponseEntity.ok(promotions);
+            SortOrder<PromotionSortField> order = SortOrder.parse(sort, PromotionSortField.class, PromotionSortField.ID);
+            CursorPage<PromotionDTO> page = promotionService.getPromotionsPage(order.getField(), order.getDirection(), limit, after);
+            return ResponseEntity.ok().headers(PaginationHeaders.of(page)).body(page.getItems());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -99,16 +127,22 @@ public class PromotionController {
     )
     @ApiResponses(value = {
         @ApiResponse(responseCode = "200", description = "Promociones de la categoría obtenidas exitosamente"),
+        @ApiResponse(responseCode = "304", description = "Sin cambios desde el ETag enviado en If-None-Match"),
         @ApiResponse(responseCode = "400", description = "ID de categoría inválido"),
         @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping("/category/{categoryId}")
     public ResponseEntity<List<PromotionDTO>> getPromotionsByCategory(
             @Parameter(description = "ID de la categoría", required = true, example = "1")
-            @PathVariable Integer categoryId) {
+            @PathVariable Integer categoryId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = promotionsEtag();
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             List<PromotionDTO> promotions = promotionService.getPromotionsByCategory(categoryId);
-            return ResponseEntity.ok(promotions);
+            return ConditionalResponses.ok(etag).body(promotions);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -127,6 +161,11 @@ public class PromotionController {
                             array = @ArraySchema(schema = @Schema(implementation = PromotionDTO.class))
                     )
             ),
+            @ApiResponse(
+                    responseCode = "304", 
+                    description = "Sin cambios desde el ETag enviado en If-None-Match",
+                    content = @Content
+            ),
             @ApiResponse(
                     responseCode = "500", 
                     description = "Error interno del servidor",
@@ -134,10 +173,15 @@ public class PromotionController {
             )
     })
     @GetMapping("/valid")
-    public ResponseEntity<List<PromotionDTO>> getValidPromotions() {
+    public ResponseEntity<List<PromotionDTO>> getValidPromotions(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
         try {
+            String etag = promotionsEtag();
+            if (CatalogVersions.matches(ifNoneMatch, etag)) {
+                return ConditionalResponses.notModified(etag);
+            }
             List<PromotionDTO> promotions = promotionService.getValidPromotions();
-            return ResponseEntity.ok(promotions);
+            return ConditionalResponses.ok(etag).body(promotions);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
         }
@@ -168,6 +212,8 @@ public class PromotionController {
                 "DELETE /api/promotions/{id}?userId={userId} - Eliminar promoción (papelera temporal)",
                 "GET /api/promotions/trash - Ver papelera temporal",
                 "POST /api/promotions/{id}/restore?userId={userId} - Restaurar promoción",
+                "POST /api/promotions/trash/restore?ids={ids} - Restaurar varias promociones",
+                "DELETE /api/promotions/trash?ids={ids} - Eliminar permanentemente varias promociones",
                 "GET /api/promotions/status - Estado del servicio"
             )
         ));
@@ -244,7 +290,7 @@ public class PromotionController {
     @GetMapping("/trash")
     public ResponseEntity<List<PromotionDeletedDTO>> getDeletedPromotions() {
         try {
-            List<PromotionDeletedDTO> deletedPromotions = promotionService.getDeletedPromotions();
+            List<PromotionDeletedDTO> deletedPromotions = promotionService.getDeletedPromotionSummaries();
             return ResponseEntity.ok(deletedPromotions);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -275,7 +321,7 @@ public class PromotionController {
             @Parameter(description = "ID del usuario", example = "1", required = true)
             @PathVariable Integer userId) {
         try {
-            List<PromotionDeletedDTO> deletedPromotions = promotionService.getDeletedPromotionsByUser(userId);
+            List<PromotionDeletedDTO> deletedPromotions = promotionService.getDeletedPromotionSummariesByUser(userId);
             return ResponseEntity.ok(deletedPromotions);
         } catch (Exception e) {
             return ResponseEntity.internalServerError().build();
@@ -366,20 +412,97 @@ public class PromotionController {
     }
 
     /**
-     * Asocia productos a una promoción
+     * Restaura varias promociones desde la papelera (una transacción, resultado por promoción)
+     * POST /api/promotions/trash/restore
+     */
+    @Operation(
+            summary = "Restaurar varias promociones desde papelera",
+            description = "Restaura en lote las promociones indicadas. Cada ID informa RESTORED, NOT_FOUND, RETENTION_EXPIRED o ALREADY_EXISTS"
+    )
+    @PostMapping("/trash/restore")
+    public ResponseEntity<Map<String, Object>> restorePromotions(
+            @Parameter(description = "IDs de las promociones a restaurar", required = true)
+            @RequestParam List<Integer> ids,
+            @Parameter(description = "ID del usuario que realiza la restauración", example = "1")
+            @RequestParam(required = false) Integer userId) {
+        try {
+            PromotionTrashBulkResult result = promotionService.restorePromotions(ids, userId);
+            return ResponseEntity.ok(java.util.Map.of(
+                SUCCESS_STATUS, true,
+                MESSAGE_KEY, result.count(PromotionTrashBulkResult.Status.RESTORED) + " promociones restauradas desde la papelera",
+                "results", result.getResults()
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of(
+                SUCCESS_STATUS, false,
+                MESSAGE_KEY, e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(java.util.Map.of(
+                SUCCESS_STATUS, false,
+                MESSAGE_KEY, "Error interno del servidor: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Elimina permanentemente varias promociones de la papelera (un solo DELETE, resultado por promoción)
+     * DELETE /api/promotions/trash
+     */
+    @Operation(
+            summary = "Eliminar permanentemente varias promociones",
+            description = "Elimina en lote de la papelera las promociones indicadas. Cada ID informa DELETED o NOT_FOUND"
+    )
+    @DeleteMapping("/trash")
+    public ResponseEntity<Map<String, Object>> permanentDeletePromotions(
+            @Parameter(description = "IDs de las promociones a eliminar", required = true)
+            @RequestParam List<Integer> ids,
+            @Parameter(description = "ID del usuario que realiza la eliminación", example = "1")
+            @RequestParam(required = false) Integer userId) {
+        try {
+            PromotionTrashBulkResult result = promotionService.permanentDeletePromotions(ids, userId);
+            return ResponseEntity.ok(java.util.Map.of(
+                SUCCESS_STATUS, true,
+                MESSAGE_KEY, result.count(PromotionTrashBulkResult.Status.DELETED) + " promociones eliminadas permanentemente",
+                "results", result.getResults()
+            ));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of(
+                SUCCESS_STATUS, false,
+                MESSAGE_KEY, e.getMessage()
+            ));
+        } catch (Exception e) {
+            return ResponseEntity.internalServerError().body(java.util.Map.of(
+                SUCCESS_STATUS, false,
+                MESSAGE_KEY, "Error interno del servidor: " + e.getMessage()
+            ));
+        }
+    }
+
+    /**
+     * Asocia productos a una promoción (operación por lote, resultado por producto).
+     * Por compatibilidad mueve los productos de otra promoción; con reassign=false los reporta
+     * OWNED_BY_OTHER_PROMOTION sin tocarlos.
      * POST /api/promotions/{promotionId}/products
      */
     @PostMapping("/{promotionId}/products")
     public ResponseEntity<Map<String, Object>> associateProductsToPromotion(
             @PathVariable Integer promotionId,
-            @RequestParam List<Integer> productIds) {
+            @RequestParam List<Integer> productIds,
+            @Parameter(description = "Mover a esta promoción los productos que pertenecen a otra", example = "true")
+            @RequestParam(defaultValue = "true") boolean reassign) {
         try {
-            boolean associated = promotionService.associateProductsToPromotion(promotionId, productIds);
+            ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, productIds,
+                    reassign);
             
-            if (associated) {
+            if (result != null) {
                 return ResponseEntity.ok(java.util.Map.of(
                     SUCCESS_STATUS, true,
-                    MESSAGE_KEY, "Productos asociados a la promoción con éxito"
+                    MESSAGE_KEY, result.count(ProductAssociationResult.Status.ASSOCIATED) + " productos asociados a la promoción",
+                    "promotionId", promotionId,
+                    "results", result.getResults()
                 ));
             } else {
                 return ResponseEntity.badRequest().body(java.util.Map.of(
@@ -388,6 +511,11 @@ public class PromotionController {
                 ));
             }
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of(
+                SUCCESS_STATUS, false,
+                MESSAGE_KEY, e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(java.util.Map.of(
                 SUCCESS_STATUS, false,
@@ -397,7 +525,7 @@ public class PromotionController {
     }
 
     /**
-     * Remueve productos de una promoción
+     * Remueve productos de una promoción (operación por lote, resultado por producto)
      * DELETE /api/promotions/{promotionId}/products
      */
     @DeleteMapping("/{promotionId}/products")
@@ -405,12 +533,14 @@ public class PromotionController {
             @PathVariable Integer promotionId,
             @RequestParam List<Integer> productIds) {
         try {
-            boolean removed = promotionService.removeProductsFromPromotion(promotionId, productIds);
+            ProductAssociationResult result = promotionService.removeProductsFromPromotion(promotionId, productIds);
             
-            if (removed) {
+            if (result != null) {
                 return ResponseEntity.ok(java.util.Map.of(
                     SUCCESS_STATUS, true,
-                    MESSAGE_KEY, "Productos removidos de la promoción con éxito"
+                    MESSAGE_KEY, result.count(ProductAssociationResult.Status.REMOVED) + " productos removidos de la promoción",
+                    "promotionId", promotionId,
+                    "results", result.getResults()
                 ));
             } else {
                 return ResponseEntity.badRequest().body(java.util.Map.of(
@@ -419,6 +549,11 @@ public class PromotionController {
                 ));
             }
             
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(java.util.Map.of(
+                SUCCESS_STATUS, false,
+                MESSAGE_KEY, e.getMessage()
+            ));
         } catch (Exception e) {
             return ResponseEntity.internalServerError().body(java.util.Map.of(
                 SUCCESS_STATUS, false,
@@ -426,4 +561,9 @@ public class PromotionController {
             ));
         }
     }
+
+    // PromotionDTO incluye la categoría: cambia con promociones o con categorías
+    private String promotionsEtag() {
+        return catalogVersions.etag(CatalogVersions.Aggregate.PROMOTIONS, CatalogVersions.Aggregate.CATEGORIES);
+    }
 }
@@ -0,0 +1,138 @@
+package com.petstore.backend.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Reporte de una importación masiva: filas leídas, insertadas y rechazadas con su motivo")
+public class CatalogImportReport {
+
+    @Schema(description = "Filas leídas del archivo (sin encabezado ni líneas vacías)", example = "1200")
+    private long totalRows;
+
+    @Schema(description = "Filas insertadas", example = "1195")
+    private long importedRows;
+
+    @Schema(description = "Filas rechazadas por validación", example = "5")
+    private long rejectedRows;
+
+    @Schema(description = "Forma de inserción: COPY (PostgreSQL) o JDBC_BATCH", example = "COPY")
+    private String insertMode;
+
+    @Schema(description = "Errores por fila, en orden de aparición (como máximo maxErrors)")
+    private List<RowError> errors = new ArrayList<>();
+
+    @Schema(description = "true si hubo más errores de los que se listan", example = "false")
+    private boolean errorsTruncated;
+
+    // Constructors
+    public CatalogImportReport() {}
+
+    public CatalogImportReport(String insertMode) {
+        this.insertMode = insertMode;
+    }
+
+    /**
+     * Registra una fila insertada
+     */
+    public void imported() {
+        totalRows++;
+        importedRows++;
+    }
+
+    /**
+     * Registra una fila rechazada; el detalle se guarda mientras no se supere {@code maxErrors}
+     */
+    public void rejected(long line, String message, int maxErrors) {
+        totalRows++;
+        rejectedRows++;
+        if (errors.size() < maxErrors) {
+            errors.add(new RowError(line, message));
+        } else {
+            errorsTruncated = true;
+        }
+    }
+
+    // Getters and Setters
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public void setTotalRows(long totalRows) {
+        this.totalRows = totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public void setImportedRows(long importedRows) {
+        this.importedRows = importedRows;
+    }
+
+    public long getRejectedRows() {
+        return rejectedRows;
+    }
+
+    public void setRejectedRows(long rejectedRows) {
+        this.rejectedRows = rejectedRows;
+    }
+
+    public String getInsertMode() {
+        return insertMode;
+    }
+
+    public void setInsertMode(String insertMode) {
+        this.insertMode = insertMode;
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<RowError> errors) {
+        this.errors = errors;
+    }
+
+    public boolean isErrorsTruncated() {
+        return errorsTruncated;
+    }
+
+    public void setErrorsTruncated(boolean errorsTruncated) {
+        this.errorsTruncated = errorsTruncated;
+    }
+
+    @Schema(description = "Fila rechazada")
+    public static class RowError {
+
+        @Schema(description = "Línea del archivo donde empieza la fila", example = "42")
+        private long line;
+
+        @Schema(description = "Motivo del rechazo", example = "Unknown status: ACTIVO")
+        private String message;
+
+        public RowError() {}
+
+        public RowError(long line, String message) {
+            this.line = line;
+            this.message = message;
+        }
+
+        public long getLine() {
+            return line;
+        }
+
+        public void setLine(long line) {
+            this.line = line;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+    }
+}
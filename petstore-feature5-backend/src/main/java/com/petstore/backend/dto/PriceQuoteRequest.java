@@ -0,0 +1,73 @@
+package com.petstore.backend.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Solicitud de cotización: lista de IDs de producto o carrito de producto × cantidad")
+public class PriceQuoteRequest {
+
+    @Schema(description = "IDs de productos a cotizar (cantidad 1 cada uno)", example = "[1, 2, 3]")
+    private List<Integer> productIds;
+
+    @Schema(description = "Líneas del carrito a cotizar")
+    private List<Item> items;
+
+    // Constructors
+    public PriceQuoteRequest() {}
+
+    public PriceQuoteRequest(List<Integer> productIds, List<Item> items) {
+        this.productIds = productIds;
+        this.items = items;
+    }
+
+    // Getters and Setters
+    public List<Integer> getProductIds() {
+        return productIds;
+    }
+
+    public void setProductIds(List<Integer> productIds) {
+        this.productIds = productIds;
+    }
+
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Item> items) {
+        this.items = items;
+    }
+
+    @Schema(description = "Línea del carrito")
+    public static class Item {
+
+        @Schema(description = "ID del producto", example = "1", required = true)
+        private Integer productId;
+
+        @Schema(description = "Cantidad (por defecto 1)", example = "2")
+        private Integer quantity;
+
+        public Item() {}
+
+        public Item(Integer productId, Integer quantity) {
+            this.productId = productId;
+            this.quantity = quantity;
+        }
+
+        public Integer getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Integer productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+    }
+}
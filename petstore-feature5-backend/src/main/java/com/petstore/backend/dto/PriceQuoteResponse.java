@@ -0,0 +1,160 @@
+package com.petstore.backend.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Cotización con precios unitarios y de línea ya descontados")
+public class PriceQuoteResponse {
+
+    @Schema(description = "Líneas cotizadas, en el mismo orden de la solicitud")
+    private List<Line> lines;
+
+    @Schema(description = "Suma de las líneas a precio base", example = "59.97")
+    private BigDecimal subtotal;
+
+    @Schema(description = "Total descontado por promociones", example = "6.00")
+    private BigDecimal discountTotal;
+
+    @Schema(description = "Total a pagar", example = "53.97")
+    private BigDecimal total;
+
+    @Schema(description = "IDs solicitados que no existen (no se incluyen en los totales)", example = "[99]")
+    private List<Integer> missingProductIds;
+
+    // Constructors
+    public PriceQuoteResponse() {}
+
+    public PriceQuoteResponse(List<Line> lines, BigDecimal subtotal, BigDecimal discountTotal,
+                              BigDecimal total, List<Integer> missingProductIds) {
+        this.lines = lines;
+        this.subtotal = subtotal;
+        this.discountTotal = discountTotal;
+        this.total = total;
+        this.missingProductIds = missingProductIds;
+    }
+
+    // Getters and Setters
+    public List<Line> getLines() {
+        return lines;
+    }
+
+    public void setLines(List<Line> lines) {
+        this.lines = lines;
+    }
+
+    public BigDecimal getSubtotal() {
+        return subtotal;
+    }
+
+    public void setSubtotal(BigDecimal subtotal) {
+        this.subtotal = subtotal;
+    }
+
+    public BigDecimal getDiscountTotal() {
+        return discountTotal;
+    }
+
+    public void setDiscountTotal(BigDecimal discountTotal) {
+        this.discountTotal = discountTotal;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public List<Integer> getMissingProductIds() {
+        return missingProductIds;
+    }
+
+    public void setMissingProductIds(List<Integer> missingProductIds) {
+        this.missingProductIds = missingProductIds;
+    }
+
+    @Schema(description = "Línea cotizada")
+    public static class Line {
+
+        @Schema(description = "ID del producto", example = "1")
+        private Integer productId;
+
+        @Schema(description = "Cantidad", example = "3")
+        private Integer quantity;
+
+        @Schema(description = "Precio base unitario", example = "19.99")
+        private BigDecimal basePrice;
+
+        @Schema(description = "Porcentaje de descuento aplicado (0 si no hay promoción vigente)", example = "10.0")
+        private Double discountPercentage;
+
+        @Schema(description = "Precio unitario con descuento", example = "17.99")
+        private BigDecimal unitPrice;
+
+        @Schema(description = "Precio de la línea (unitario × cantidad)", example = "53.97")
+        private BigDecimal lineTotal;
+
+        public Line() {}
+
+        public Line(Integer productId, Integer quantity, BigDecimal basePrice, Double discountPercentage,
+                    BigDecimal unitPrice, BigDecimal lineTotal) {
+            this.productId = productId;
+            this.quantity = quantity;
+            this.basePrice = basePrice;
+            this.discountPercentage = discountPercentage;
+            this.unitPrice = unitPrice;
+            this.lineTotal = lineTotal;
+        }
+
+        public Integer getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Integer productId) {
+            this.productId = productId;
+        }
+
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        public void setQuantity(Integer quantity) {
+            this.quantity = quantity;
+        }
+
+        public BigDecimal getBasePrice() {
+            return basePrice;
+        }
+
+        public void setBasePrice(BigDecimal basePrice) {
+            this.basePrice = basePrice;
+        }
+
+        public Double getDiscountPercentage() {
+            return discountPercentage;
+        }
+
+        public void setDiscountPercentage(Double discountPercentage) {
+            this.discountPercentage = discountPercentage;
+        }
+
+        public BigDecimal getUnitPrice() {
+            return unitPrice;
+        }
+
+        public void setUnitPrice(BigDecimal unitPrice) {
+            this.unitPrice = unitPrice;
+        }
+
+        public BigDecimal getLineTotal() {
+            return lineTotal;
+        }
+
+        public void setLineTotal(BigDecimal lineTotal) {
+            this.lineTotal = lineTotal;
+        }
+    }
+}
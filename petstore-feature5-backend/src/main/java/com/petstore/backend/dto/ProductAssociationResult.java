@@ -0,0 +1,100 @@
+package com.petstore.backend.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado por producto de una asociación o remoción masiva producto-promoción")
+public class ProductAssociationResult {
+
+    public enum Status {
+        ASSOCIATED,
+        REMOVED,
+        NOT_FOUND,
+        OWNED_BY_OTHER_PROMOTION,
+        NOT_ASSOCIATED
+    }
+
+    @Schema(description = "ID de la promoción", example = "1")
+    private Integer promotionId;
+
+    @Schema(description = "Resultado de cada ID solicitado, en el mismo orden (sin duplicados)")
+    private List<Outcome> results;
+
+    // Constructors
+    public ProductAssociationResult() {}
+
+    public ProductAssociationResult(Integer promotionId, List<Outcome> results) {
+        this.promotionId = promotionId;
+        this.results = results;
+    }
+
+    /**
+     * Cantidad de productos con el resultado indicado
+     */
+    public long count(Status status) {
+        return results.stream().filter(outcome -> outcome.getStatus() == status).count();
+    }
+
+    // Getters and Setters
+    public Integer getPromotionId() {
+        return promotionId;
+    }
+
+    public void setPromotionId(Integer promotionId) {
+        this.promotionId = promotionId;
+    }
+
+    public List<Outcome> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Outcome> results) {
+        this.results = results;
+    }
+
+    @Schema(description = "Resultado para un producto")
+    public static class Outcome {
+
+        @Schema(description = "ID del producto", example = "10")
+        private Integer productId;
+
+        @Schema(description = "Resultado", example = "ASSOCIATED")
+        private Status status;
+
+        @Schema(description = "Promoción que tenía el producto antes (ASSOCIATED) o que lo tiene (OWNED_BY_OTHER_PROMOTION)", example = "3")
+        private Integer previousPromotionId;
+
+        public Outcome() {}
+
+        public Outcome(Integer productId, Status status, Integer previousPromotionId) {
+            this.productId = productId;
+            this.status = status;
+            this.previousPromotionId = previousPromotionId;
+        }
+
+        public Integer getProductId() {
+            return productId;
+        }
+
+        public void setProductId(Integer productId) {
+            this.productId = productId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+
+        public Integer getPreviousPromotionId() {
+            return previousPromotionId;
+        }
+
+        public void setPreviousPromotionId(Integer previousPromotionId) {
+            this.previousPromotionId = previousPromotionId;
+        }
+    }
+}
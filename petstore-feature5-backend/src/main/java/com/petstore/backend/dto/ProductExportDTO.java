@@ -0,0 +1,99 @@
+package com.petstore.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Fila plana de la exportación del catálogo de productos")
+public class ProductExportDTO {
+
+    @Schema(description = "ID del producto", example = "1")
+    private Integer productId;
+
+    @Schema(description = "Nombre del producto", example = "Collar antipulgas")
+    private String productName;
+
+    @Schema(description = "SKU del producto", example = "100234")
+    private Integer sku;
+
+    @Schema(description = "Precio base", example = "25.5")
+    private Double basePrice;
+
+    @Schema(description = "ID de la categoría", example = "1")
+    private Integer categoryId;
+
+    @Schema(description = "Nombre de la categoría", example = "Accesorios")
+    private String categoryName;
+
+    @Schema(description = "ID de la promoción asociada (si tiene)", example = "3")
+    private Integer promotionId;
+
+    // Constructors
+    public ProductExportDTO() {}
+
+    public ProductExportDTO(Integer productId, String productName, Integer sku, Double basePrice,
+                            Integer categoryId, String categoryName, Integer promotionId) {
+        this.productId = productId;
+        this.productName = productName;
+        this.sku = sku;
+        this.basePrice = basePrice;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+        this.promotionId = promotionId;
+    }
+
+    // Getters and Setters
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Integer getSku() {
+        return sku;
+    }
+
+    public void setSku(Integer sku) {
+        this.sku = sku;
+    }
+
+    public Double getBasePrice() {
+        return basePrice;
+    }
+
+    public void setBasePrice(Double basePrice) {
+        this.basePrice = basePrice;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+
+    public Integer getPromotionId() {
+        return promotionId;
+    }
+
+    public void setPromotionId(Integer promotionId) {
+        this.promotionId = promotionId;
+    }
+}
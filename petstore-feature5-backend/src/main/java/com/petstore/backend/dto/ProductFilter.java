@@ -0,0 +1,55 @@
+package com.petstore.backend.dto;
+
+/**
+ * Filtro GraphQL de {@code products} (input ProductFilter); los campos nulos no filtran
+ */
+public class ProductFilter {
+
+    private Integer categoryId;
+    private Double minPrice;
+    private Double maxPrice;
+    private Boolean onPromotion;
+
+    // Constructors
+    public ProductFilter() {}
+
+    public ProductFilter(Integer categoryId, Double minPrice, Double maxPrice, Boolean onPromotion) {
+        this.categoryId = categoryId;
+        this.minPrice = minPrice;
+        this.maxPrice = maxPrice;
+        this.onPromotion = onPromotion;
+    }
+
+    // Getters and Setters
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Double getMinPrice() {
+        return minPrice;
+    }
+
+    public void setMinPrice(Double minPrice) {
+        this.minPrice = minPrice;
+    }
+
+    public Double getMaxPrice() {
+        return maxPrice;
+    }
+
+    public void setMaxPrice(Double maxPrice) {
+        this.maxPrice = maxPrice;
+    }
+
+    public Boolean getOnPromotion() {
+        return onPromotion;
+    }
+
+    public void setOnPromotion(Boolean onPromotion) {
+        this.onPromotion = onPromotion;
+    }
+}
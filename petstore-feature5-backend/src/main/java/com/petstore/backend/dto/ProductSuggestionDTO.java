@@ -0,0 +1,50 @@
+package com.petstore.backend.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Sugerencia de autocompletado de productos")
+public class ProductSuggestionDTO {
+
+    @Schema(description = "ID del producto", example = "1")
+    private Integer productId;
+
+    @Schema(description = "Nombre del producto", example = "Collar antipulgas")
+    private String productName;
+
+    @Schema(description = "SKU del producto", example = "100234")
+    private Integer sku;
+
+    // Constructors
+    public ProductSuggestionDTO() {}
+
+    public ProductSuggestionDTO(Integer productId, String productName, Integer sku) {
+        this.productId = productId;
+        this.productName = productName;
+        this.sku = sku;
+    }
+
+    // Getters and Setters
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public String getProductName() {
+        return productName;
+    }
+
+    public void setProductName(String productName) {
+        this.productName = productName;
+    }
+
+    public Integer getSku() {
+        return sku;
+    }
+
+    public void setSku(Integer sku) {
+        this.sku = sku;
+    }
+}
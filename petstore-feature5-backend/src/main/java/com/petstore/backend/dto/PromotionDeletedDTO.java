@@ -86,6 +86,25 @@ public class PromotionDeletedDTO {
         }
     }
     
+    // Constructor de proyección: solo columnas, con los días hasta la purga calculados en la consulta
+    public PromotionDeletedDTO(Integer promotionId, String promotionName, String description,
+                              LocalDate startDate, LocalDate endDate, Double discountValue,
+                              String statusName, String userName, String categoryName,
+                              ZonedDateTime deletedAt, String deletedByUserName, Integer daysUntilPurge) {
+        this.promotionId = promotionId;
+        this.promotionName = promotionName;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.discountValue = discountValue;
+        this.statusName = statusName;
+        this.userName = userName;
+        this.categoryName = categoryName;
+        this.deletedAt = deletedAt;
+        this.deletedByUserName = deletedByUserName;
+        this.daysUntilPurge = daysUntilPurge;
+    }
+    
     // Constructor con objetos completos para GraphQL
     public PromotionDeletedDTO(Integer promotionId, String promotionName, String description,
                               LocalDate startDate, LocalDate endDate, Double discountValue,
@@ -0,0 +1,126 @@
+package com.petstore.backend.dto;
+
+import java.time.LocalDate;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Fila plana de la exportación de promociones")
+public class PromotionExportDTO {
+
+    @Schema(description = "ID de la promoción", example = "1")
+    private Integer promotionId;
+
+    @Schema(description = "Nombre de la promoción", example = "Black Friday")
+    private String promotionName;
+
+    @Schema(description = "Descripción", example = "Descuento en accesorios")
+    private String description;
+
+    @Schema(description = "Fecha de inicio", example = "2025-11-28")
+    private LocalDate startDate;
+
+    @Schema(description = "Fecha de fin", example = "2025-11-30")
+    private LocalDate endDate;
+
+    @Schema(description = "Porcentaje de descuento", example = "20.0")
+    private Double discountValue;
+
+    @Schema(description = "Estado", example = "ACTIVE")
+    private String statusName;
+
+    @Schema(description = "ID de la categoría (si tiene)", example = "1")
+    private Integer categoryId;
+
+    @Schema(description = "Nombre de la categoría (si tiene)", example = "Accesorios")
+    private String categoryName;
+
+    // Constructors
+    public PromotionExportDTO() {}
+
+    public PromotionExportDTO(Integer promotionId, String promotionName, String description,
+                              LocalDate startDate, LocalDate endDate, Double discountValue,
+                              String statusName, Integer categoryId, String categoryName) {
+        this.promotionId = promotionId;
+        this.promotionName = promotionName;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.discountValue = discountValue;
+        this.statusName = statusName;
+        this.categoryId = categoryId;
+        this.categoryName = categoryName;
+    }
+
+    // Getters and Setters
+    public Integer getPromotionId() {
+        return promotionId;
+    }
+
+    public void setPromotionId(Integer promotionId) {
+        this.promotionId = promotionId;
+    }
+
+    public String getPromotionName() {
+        return promotionName;
+    }
+
+    public void setPromotionName(String promotionName) {
+        this.promotionName = promotionName;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public LocalDate getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(LocalDate startDate) {
+        this.startDate = startDate;
+    }
+
+    public LocalDate getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(LocalDate endDate) {
+        this.endDate = endDate;
+    }
+
+    public Double getDiscountValue() {
+        return discountValue;
+    }
+
+    public void setDiscountValue(Double discountValue) {
+        this.discountValue = discountValue;
+    }
+
+    public String getStatusName() {
+        return statusName;
+    }
+
+    public void setStatusName(String statusName) {
+        this.statusName = statusName;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public String getCategoryName() {
+        return categoryName;
+    }
+
+    public void setCategoryName(String categoryName) {
+        this.categoryName = categoryName;
+    }
+}
@@ -0,0 +1,76 @@
+package com.petstore.backend.dto;
+
+/**
+ * Filtro GraphQL de {@code promotions} (input PromotionFilter); los campos nulos no filtran.
+ * Las fechas llegan en formato ISO (yyyy-MM-dd), igual que startDate/endDate en el esquema.
+ */
+public class PromotionFilter {
+
+    private String statusName;
+    private Integer categoryId;
+    private Double minDiscount;
+    private Double maxDiscount;
+    private String activeOn;
+    private String startFrom;
+    private String endTo;
+
+    // Constructors
+    public PromotionFilter() {}
+
+    // Getters and Setters
+    public String getStatusName() {
+        return statusName;
+    }
+
+    public void setStatusName(String statusName) {
+        this.statusName = statusName;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public void setCategoryId(Integer categoryId) {
+        this.categoryId = categoryId;
+    }
+
+    public Double getMinDiscount() {
+        return minDiscount;
+    }
+
+    public void setMinDiscount(Double minDiscount) {
+        this.minDiscount = minDiscount;
+    }
+
+    public Double getMaxDiscount() {
+        return maxDiscount;
+    }
+
+    public void setMaxDiscount(Double maxDiscount) {
+        this.maxDiscount = maxDiscount;
+    }
+
+    public String getActiveOn() {
+        return activeOn;
+    }
+
+    public void setActiveOn(String activeOn) {
+        this.activeOn = activeOn;
+    }
+
+    public String getStartFrom() {
+        return startFrom;
+    }
+
+    public void setStartFrom(String startFrom) {
+        this.startFrom = startFrom;
+    }
+
+    public String getEndTo() {
+        return endTo;
+    }
+
+    public void setEndTo(String endTo) {
+        this.endTo = endTo;
+    }
+}
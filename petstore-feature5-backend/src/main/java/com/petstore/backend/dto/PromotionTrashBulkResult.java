@@ -0,0 +1,76 @@
+package com.petstore.backend.dto;
+
+import java.util.List;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@Schema(description = "Resultado por promoción de una restauración o eliminación permanente masiva desde la papelera")
+public class PromotionTrashBulkResult {
+
+    public enum Status {
+        RESTORED,
+        DELETED,
+        NOT_FOUND,
+        RETENTION_EXPIRED,
+        ALREADY_EXISTS
+    }
+
+    @Schema(description = "Resultado de cada ID solicitado, en el mismo orden (sin duplicados)")
+    private List<Outcome> results;
+
+    // Constructors
+    public PromotionTrashBulkResult() {}
+
+    public PromotionTrashBulkResult(List<Outcome> results) {
+        this.results = results;
+    }
+
+    /**
+     * Cantidad de promociones con el resultado indicado
+     */
+    public long count(Status status) {
+        return results.stream().filter(outcome -> outcome.getStatus() == status).count();
+    }
+
+    // Getters and Setters
+    public List<Outcome> getResults() {
+        return results;
+    }
+
+    public void setResults(List<Outcome> results) {
+        this.results = results;
+    }
+
+    @Schema(description = "Resultado para una promoción")
+    public static class Outcome {
+
+        @Schema(description = "ID de la promoción", example = "1")
+        private Integer promotionId;
+
+        @Schema(description = "Resultado", example = "RESTORED")
+        private Status status;
+
+        public Outcome() {}
+
+        public Outcome(Integer promotionId, Status status) {
+            this.promotionId = promotionId;
+            this.status = status;
+        }
+
+        public Integer getPromotionId() {
+            return promotionId;
+        }
+
+        public void setPromotionId(Integer promotionId) {
+            this.promotionId = promotionId;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        public void setStatus(Status status) {
+            this.status = status;
+        }
+    }
+}
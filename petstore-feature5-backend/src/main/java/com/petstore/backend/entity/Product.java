@@ -3,8 +3,23 @@ package com.petstore.backend.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "products", schema = "public")
+// Índices de los filtros de listas (ProductSpecifications): categoría + precio, precio y promoción
+@Table(name = "products", schema = "public", indexes = {
+        @Index(name = "idx_products_category_price", columnList = "category_id, base_price"),
+        @Index(name = "idx_products_base_price", columnList = "base_price"),
+        @Index(name = "idx_products_promotion", columnList = "promotion_id")
+})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Product.WITH_CATEGORY, attributeNodes = @NamedAttributeNode("category")),
+        @NamedEntityGraph(name = Product.WITH_RELATIONS,
+                attributeNodes = {@NamedAttributeNode("category"), @NamedAttributeNode(value = "promotion", subgraph = "promotion")},
+                subgraphs = @NamedSubgraph(name = "promotion", attributeNodes = @NamedAttributeNode("status")))
+})
 public class Product {
+
+    // Planes de carga: las relaciones son LAZY y cada lectura trae en el mismo SELECT las que va a usar
+    public static final String WITH_CATEGORY = "Product.withCategory"; // DTO REST
+    public static final String WITH_RELATIONS = "Product.withRelations"; // Listas GraphQL
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -20,7 +35,7 @@ public class Product {
     @Column(name = "sku", nullable = false, unique = true)
     private Integer sku;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
     private Category category;
     
@@ -4,8 +4,24 @@ import jakarta.persistence.*;
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "promotions", schema = "public")
+// Índices de los filtros de listas (PromotionSpecifications): estado, categoría, vigencia y descuento
+@Table(name = "promotions", schema = "public", indexes = {
+        @Index(name = "idx_promotions_status", columnList = "status_id"),
+        @Index(name = "idx_promotions_category", columnList = "category_id"),
+        @Index(name = "idx_promotions_dates", columnList = "start_date, end_date"),
+        @Index(name = "idx_promotions_discount", columnList = "discount_value")
+})
+@NamedEntityGraphs({
+        @NamedEntityGraph(name = Promotion.WITH_STATUS_AND_CATEGORY,
+                attributeNodes = {@NamedAttributeNode("status"), @NamedAttributeNode("category")}),
+        @NamedEntityGraph(name = Promotion.WITH_RELATIONS,
+                attributeNodes = {@NamedAttributeNode("status"), @NamedAttributeNode("category"), @NamedAttributeNode("user")})
+})
 public class Promotion {
+
+    // Planes de carga: las relaciones son LAZY y cada lectura trae en el mismo SELECT las que va a usar
+    public static final String WITH_STATUS_AND_CATEGORY = "Promotion.withStatusAndCategory"; // DTO REST
+    public static final String WITH_RELATIONS = "Promotion.withRelations"; // Listas GraphQL
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -27,7 +43,7 @@ public class Promotion {
     @Column(name = "discount_value", nullable = false)
     private Double discountValue;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false)
     private Status status;
     
@@ -9,11 +9,19 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "promotions_deleted", schema = "public")
+@NamedEntityGraph(name = PromotionDeleted.WITH_RELATIONS, attributeNodes = {
+        @NamedAttributeNode("status"), @NamedAttributeNode("user"),
+        @NamedAttributeNode("category"), @NamedAttributeNode("deletedBy")})
 public class PromotionDeleted {
+
+    // Plan de carga del listado de la papelera (GraphQL): todas las relaciones en un solo SELECT
+    public static final String WITH_RELATIONS = "PromotionDeleted.withRelations";
     
     @Id
     @Column(name = "promotion_id")
@@ -34,7 +42,7 @@ public class PromotionDeleted {
     @Column(name = "discount_value", nullable = false)
     private Double discountValue;
     
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "status_id", nullable = false)
     private Status status;
     
@@ -0,0 +1,79 @@
+package com.petstore.backend.event;
+
+import java.time.Instant;
+import java.util.Objects;
+
+import com.petstore.backend.entity.Promotion;
+
+/**
+ * Cambio sobre una promoción, tal como se envía a los suscriptores GraphQL.
+ * Incluye el estado anterior y el actual para detectar activaciones y expiraciones.
+ */
+public final class PromotionEvent {
+
+    private final PromotionEventType type;
+    private final Integer promotionId;
+    private final Integer categoryId;
+    private final Promotion promotion;
+    private final String previousStatus;
+    private final String currentStatus;
+    private final Instant occurredAt;
+
+    public PromotionEvent(PromotionEventType type, Promotion promotion, String previousStatus) {
+        this.type = type;
+        this.promotion = promotion;
+        this.promotionId = promotion.getPromotionId();
+        this.categoryId = promotion.getCategory() != null ? promotion.getCategory().getCategoryId() : null;
+        this.previousStatus = previousStatus;
+        this.currentStatus = promotion.getStatus() != null ? promotion.getStatus().getStatusName() : null;
+        this.occurredAt = Instant.now();
+    }
+
+    /**
+     * La promoción pasó a ACTIVE con este cambio
+     */
+    public boolean isActivation() {
+        return becomes("ACTIVE");
+    }
+
+    /**
+     * La promoción pasó a EXPIRED con este cambio
+     */
+    public boolean isExpiration() {
+        return becomes("EXPIRED");
+    }
+
+    private boolean becomes(String status) {
+        return type != PromotionEventType.DELETED
+                && status.equals(currentStatus)
+                && !Objects.equals(previousStatus, currentStatus);
+    }
+
+    public PromotionEventType getType() {
+        return type;
+    }
+
+    public Integer getPromotionId() {
+        return promotionId;
+    }
+
+    public Integer getCategoryId() {
+        return categoryId;
+    }
+
+    public Promotion getPromotion() {
+        return promotion;
+    }
+
+    public String getPreviousStatus() {
+        return previousStatus;
+    }
+
+    public String getCurrentStatus() {
+        return currentStatus;
+    }
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
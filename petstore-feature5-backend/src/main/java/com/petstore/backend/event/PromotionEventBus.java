@@ -0,0 +1,63 @@
+package com.petstore.backend.event;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.petstore.backend.util.AfterCommit;
+
+import reactor.core.publisher.BufferOverflowStrategy;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Bus de eventos en proceso para los cambios de promociones.
+ *
+ * El sink es "best effort": un suscriptor lento nunca frena a los demás ni al publicador.
+ * Cada suscriptor tiene su propio buffer acotado; si se llena se descartan los eventos más
+ * antiguos (el cliente siempre termina viendo el estado más reciente).
+ */
+@Component
+public class PromotionEventBus {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionEventBus.class);
+
+    private final Sinks.Many<PromotionEvent> sink = Sinks.many().multicast().directBestEffort();
+    private final int subscriberBufferSize;
+
+    public PromotionEventBus(@Value("${app.graphql.subscriptions.buffer-size:256}") int subscriberBufferSize) {
+        this.subscriberBufferSize = subscriberBufferSize;
+    }
+
+    /**
+     * Publica el evento; dentro de una transacción se emite recién después del commit
+     */
+    public void publish(PromotionEvent event) {
+        AfterCommit.run(() -> emit(event));
+    }
+
+    /**
+     * Flujo de eventos para un nuevo suscriptor, con su propio buffer acotado
+     */
+    public Flux<PromotionEvent> subscribe() {
+        return sink.asFlux()
+                .onBackpressureBuffer(subscriberBufferSize,
+                        dropped -> logger.warn("Slow subscriber: dropped promotion event {} for promotion {}",
+                                dropped.getType(), dropped.getPromotionId()),
+                        BufferOverflowStrategy.DROP_OLDEST);
+    }
+
+    public int currentSubscriberCount() {
+        return sink.currentSubscriberCount();
+    }
+
+    // Sinks exige emisiones serializadas: los publicadores concurrentes se turnan aquí
+    private synchronized void emit(PromotionEvent event) {
+        Sinks.EmitResult result = sink.tryEmitNext(event);
+        if (result.isFailure() && result != Sinks.EmitResult.FAIL_ZERO_SUBSCRIBER) {
+            logger.warn("Could not publish promotion event {} for promotion {}: {}",
+                    event.getType(), event.getPromotionId(), result);
+        }
+    }
+}
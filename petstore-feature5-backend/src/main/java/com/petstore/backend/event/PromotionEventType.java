@@ -0,0 +1,13 @@
+package com.petstore.backend.event;
+
+/**
+ * Tipo de cambio sobre una promoción
+ */
+public enum PromotionEventType {
+    CREATED,
+    UPDATED,
+    DELETED,
+    RESTORED,
+    PRODUCTS_CHANGED,
+    STATUS_CHANGED
+}
@@ -0,0 +1,26 @@
+package com.petstore.backend.graphql;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.petstore.backend.exception.GraphQLException;
+
+/**
+ * Verificación de autenticación compartida por los controladores GraphQL
+ */
+final class GraphQLAuthentication {
+
+    private GraphQLAuthentication() {
+    }
+
+    /**
+     * Autenticación actual; lanza excepción si no hay un usuario autenticado
+     */
+    static Authentication require() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
+            throw new GraphQLException("AUTHENTICATION", "Authentication required", "Please provide a valid JWT token");
+        }
+        return auth;
+    }
+}
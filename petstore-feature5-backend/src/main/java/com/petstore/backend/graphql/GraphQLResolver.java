@@ -1,74 +1,92 @@
 package com.petstore.backend.graphql;
 
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import graphql.relay.Connection;
+import graphql.relay.DefaultConnection;
+import graphql.relay.DefaultConnectionCursor;
+import graphql.relay.DefaultEdge;
+import graphql.relay.DefaultPageInfo;
+import graphql.relay.Edge;
+import graphql.schema.DataFetchingFieldSelectionSet;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
-import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Controller;
 
 import com.petstore.backend.dto.LoginResponse;
+import com.petstore.backend.dto.ProductFilter;
 import com.petstore.backend.dto.PromotionDTO;
 import com.petstore.backend.dto.PromotionDeletedDTO;
+import com.petstore.backend.dto.PromotionFilter;
 import com.petstore.backend.entity.Category;
 import com.petstore.backend.entity.Product;
 import com.petstore.backend.entity.Promotion;
 import com.petstore.backend.entity.User;
 import com.petstore.backend.exception.GraphQLException;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.KeysetSort;
+import com.petstore.backend.pagination.ProductSortField;
+import com.petstore.backend.pagination.PromotionSortField;
+import com.petstore.backend.pagination.SortDirection;
+import com.petstore.backend.pagination.SortOrder;
 import com.petstore.backend.repository.CategoryRepository;
 import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.ProductSpecifications;
 import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.PromotionSpecifications;
 import com.petstore.backend.repository.UserRepository;
 import com.petstore.backend.service.AuthService; // Importar Logger
+import com.petstore.backend.service.ProductService;
 import com.petstore.backend.service.PromotionService; // Importar LoggerFactory
 
 @Controller
 public class GraphQLResolver {
 
     private final PromotionService promotionService;
+    private final ProductService productService;
     private final AuthService authService;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
     private final ProductRepository productRepository;
     private final PromotionRepository promotionRepository;
+    private final SelectionSetProjection projection;
     private static final Logger loggerGraphQL = LoggerFactory.getLogger(GraphQLResolver.class);
 
     public GraphQLResolver(
             PromotionService promotionService,
+            ProductService productService,
             AuthService authService,
             UserRepository userRepository,
             CategoryRepository categoryRepository,
             ProductRepository productRepository,
-            PromotionRepository promotionRepository) {
+            PromotionRepository promotionRepository,
+            SelectionSetProjection projection) {
         this.promotionService = promotionService;
+        this.productService = productService;
         this.authService = authService;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.productRepository = productRepository;
         this.promotionRepository = promotionRepository;
+        this.projection = projection;
     }
 
-    // === HELPER METHODS ===
-    
-    /**
-     * Verificar si el usuario está autenticado
-     * Lanza excepción si no está autenticado
-     */
-    private void requireAuthentication() {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        if (auth == null || !auth.isAuthenticated() || "anonymousUser".equals(auth.getName())) {
-            throw new GraphQLException("AUTHENTICATION", "Authentication required", "Please provide a valid JWT token");
-        }
-    }
-    
-
-
     // === QUERIES ===
 
     @QueryMapping
@@ -80,8 +98,7 @@ public class GraphQLResolver {
      * Obtener usuario autenticado actual
      */
     private User getAuthenticatedUser() {
-        requireAuthentication();
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        Authentication auth = GraphQLAuthentication.require();
         return userRepository.findByEmail(auth.getName()).orElse(null);
     }
 
@@ -91,16 +108,35 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Promotion> promotions() {
+    public List<Promotion> promotions(@Argument PromotionFilter filter,
+                                      @Argument List<SortOrder<PromotionSortField>> orderBy,
+                                      DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return promotionRepository.findAll();
+            return projection.list(Promotion.class, selection, PromotionSpecifications.matching(filter), toSort(orderBy));
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("QUERY", "Invalid filter arguments", e.getMessage(), e);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting all promotions: {}", e.getMessage(), e);
             return Collections.emptyList();
         }
     }
 
+    @QueryMapping
+    public Connection<Promotion> promotionsConnection(@Argument Integer first, @Argument String after,
+                                                      @Argument PromotionSortField sortBy,
+                                                      @Argument SortDirection direction) {
+        // Público - sin autenticación
+        try {
+            return toConnection(promotionService.getPromotionsPageEntities(sortBy, direction, first, after));
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("QUERY", "Invalid pagination arguments", e.getMessage(), e);
+        } catch (Exception e) {
+            loggerGraphQL.error("Error getting promotions page: {}", e.getMessage(), e);
+            return toConnection(CursorPage.empty());
+        }
+    }
+
     @QueryMapping
     public List<Promotion> promotionsActive() {
         // Público - sin autenticación
@@ -113,10 +149,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Promotion> promotionsExpired() {
+    public List<Promotion> promotionsExpired(DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return promotionService.getAllExpiredPromotionsEntities();
+            return projection.list(Promotion.class, selection, hasStatus("EXPIRED"));
         } catch (Exception e) {
             loggerGraphQL.error("Error getting expired promotions: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -124,10 +160,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Promotion> promotionsScheduled() {
+    public List<Promotion> promotionsScheduled(DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return promotionService.getAllScheduledPromotionsEntities();
+            return projection.list(Promotion.class, selection, hasStatus("SCHEDULE"));
         } catch (Exception e) {
             loggerGraphQL.error("Error getting scheduled promotions: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -135,10 +171,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Promotion> promotionsByStatus(@Argument String statusName) {
+    public List<Promotion> promotionsByStatus(@Argument String statusName, DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return promotionService.getPromotionsByStatusEntities(statusName);
+            return projection.list(Promotion.class, selection, hasStatus(statusName));
         } catch (Exception e) {
             loggerGraphQL.error("Error getting promotions by status: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -146,10 +182,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Promotion> promotionsByCategory(@Argument Integer categoryId) {
+    public List<Promotion> promotionsByCategory(@Argument Integer categoryId, DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return promotionService.getPromotionsByCategoryEntities(categoryId);
+            return projection.list(Promotion.class, selection, inCategory(categoryId));
         } catch (Exception e) {
             loggerGraphQL.error("Error getting promotions by category: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -157,10 +193,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public Promotion promotion(@Argument Integer id) {
+    public Promotion promotion(@Argument Integer id, DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return promotionRepository.findById(id).orElse(null);
+            return projection.findById(Promotion.class, selection, id);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting promotion by id: {}" , e.getMessage(), e);
             return null;
@@ -168,10 +204,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Category> categories() {
+    public List<Category> categories(DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return categoryRepository.findAll();
+            return projection.list(Category.class, selection, null);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting categories: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -179,10 +215,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public Category category(@Argument Integer id) {
+    public Category category(@Argument Integer id, DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return categoryRepository.findById(id).orElse(null);
+            return projection.findById(Category.class, selection, id);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting category by id: {}" , e.getMessage(), e);
             return null;
@@ -190,10 +226,14 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Product> products() {
+    public List<Product> products(@Argument ProductFilter filter,
+                                  @Argument List<SortOrder<ProductSortField>> orderBy,
+                                  DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return productRepository.findAll();
+            return projection.list(Product.class, selection, ProductSpecifications.matching(filter), toSort(orderBy));
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("QUERY", "Invalid filter arguments", e.getMessage(), e);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting products: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -201,10 +241,26 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public List<Product> productsByCategory(@Argument Integer categoryId) {
+    public Connection<Product> productsConnection(@Argument Integer first, @Argument String after,
+                                                  @Argument ProductSortField sortBy,
+                                                  @Argument SortDirection direction,
+                                                  @Argument Integer categoryId) {
+        // Público - sin autenticación
+        try {
+            return toConnection(productService.findPage(sortBy, direction, categoryId, first, after));
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("QUERY", "Invalid pagination arguments", e.getMessage(), e);
+        } catch (Exception e) {
+            loggerGraphQL.error("Error getting products page: {}", e.getMessage(), e);
+            return toConnection(CursorPage.empty());
+        }
+    }
+
+    @QueryMapping
+    public List<Product> productsByCategory(@Argument Integer categoryId, DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return productRepository.findByCategoryCategoryId(categoryId);
+            return projection.list(Product.class, selection, inCategory(categoryId));
         } catch (Exception e) {
             loggerGraphQL.error("Error getting products by category: {}" , e.getMessage(), e);
             return Collections.emptyList();
@@ -212,10 +268,10 @@ public class GraphQLResolver {
     }
 
     @QueryMapping
-    public Product product(@Argument Integer id) {
+    public Product product(@Argument Integer id, DataFetchingFieldSelectionSet selection) {
         // Público - sin autenticación
         try {
-            return productRepository.findById(id).orElse(null);
+            return projection.findById(Product.class, selection, id);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting product by id: {}" , e.getMessage(), e);
             return null;
@@ -247,7 +303,7 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Promotion createPromotion(@Argument PromotionDTO input) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             loggerGraphQL.info("Creating promotion with input: {}", input);
             
@@ -281,7 +337,7 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Promotion updatePromotion(@Argument Integer id, @Argument PromotionDTO input) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             loggerGraphQL.info("Updating promotion {} with input: {}", id, input);
             
@@ -308,7 +364,7 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Boolean deletePromotion(@Argument Integer id, @Argument Integer userId) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             if (userId != null) {
                 loggerGraphQL.info("Deleting promotion with id: {} by user: {}", id, userId);
@@ -336,27 +392,18 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Promotion associateProductsToPromotion(@Argument Integer promotionId, @Argument List<Integer> productIds) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             loggerGraphQL.info("Associating products {} to promotion {}", productIds, promotionId);
             
-            // Obtener la promoción
-            Promotion promotion = promotionRepository.findById(promotionId).orElse(null);
-            if (promotion == null) {
+            // Asociación por lote en el servicio (mismo camino que REST); mueve los productos de otra promoción
+            if (promotionService.associateProductsToPromotion(promotionId, productIds, true) == null) {
                 throw new GraphQLException("ASSOCIATE", "Promotion not found", "ID: " + promotionId);
             }
             
-            // Asociar productos a la promoción
-            for (Integer productId : productIds) {
-                Product product = productRepository.findById(productId).orElse(null);
-                if (product != null) {
-                    product.setPromotion(promotion);
-                    productRepository.save(product);
-                }
-            }
-            
             // Retornar la promoción actualizada
-            return promotionRepository.findById(promotionId).orElse(null);
+            return promotionRepository.findWithRelationsByPromotionId(promotionId)
+                .orElseThrow(() -> new GraphQLException("ASSOCIATE", "Promotion not found", "ID: " + promotionId));
         } catch (GraphQLException e) {
             loggerGraphQL.error("GraphQL error associating products to promotion {}: {}", promotionId, e.getMessage(), e);
             throw e;
@@ -368,27 +415,18 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Promotion removeProductsFromPromotion(@Argument Integer promotionId, @Argument List<Integer> productIds) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             loggerGraphQL.info("Removing products {} from promotion {}", productIds, promotionId);
             
-            // Verificar que la promoción existe
-            Promotion promotion = promotionRepository.findById(promotionId).orElse(null);
-            if (promotion == null) {
+            // Remoción por lote en el servicio (mismo camino que REST)
+            if (promotionService.removeProductsFromPromotion(promotionId, productIds) == null) {
                 throw new GraphQLException("REMOVE_ASSOCIATION", "Promotion not found", "ID: " + promotionId);
             }
             
-            // Remover asociación de productos
-            for (Integer productId : productIds) {
-                Product product = productRepository.findById(productId).orElse(null);
-                if (product != null && product.getPromotion() != null && product.getPromotion().getPromotionId().equals(promotionId)) {
-                    product.setPromotion(null);
-                    productRepository.save(product);
-                }
-            }
-            
             // Retornar la promoción actualizada
-            return promotionRepository.findById(promotionId).orElse(null);
+            return promotionRepository.findWithRelationsByPromotionId(promotionId)
+                .orElseThrow(() -> new GraphQLException("REMOVE_ASSOCIATION", "Promotion not found", "ID: " + promotionId));
         } catch (GraphQLException e) {
             loggerGraphQL.error("GraphQL error removing products from promotion {}: {}", promotionId, e.getMessage(), e);
             throw e;
@@ -402,7 +440,7 @@ public class GraphQLResolver {
 
     @QueryMapping
     public List<PromotionDeletedDTO> deletedPromotions() {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             return promotionService.getDeletedPromotions();
         } catch (Exception e) {
@@ -413,7 +451,7 @@ public class GraphQLResolver {
 
     @QueryMapping 
     public List<PromotionDeletedDTO> deletedPromotionsByUser(@Argument String userId) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             // Convertir String ID a Integer
             Integer userIdInt = Integer.parseInt(userId);
@@ -431,7 +469,7 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Boolean restorePromotion(@Argument Integer id, @Argument Integer userId) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             loggerGraphQL.info("Restoring promotion with id: {} by user: {}", id, userId);
             
@@ -454,7 +492,7 @@ public class GraphQLResolver {
 
     @MutationMapping
     public Boolean permanentDeletePromotion(@Argument Integer id, @Argument Integer userId) {
-        requireAuthentication();
+        GraphQLAuthentication.require();
         try {
             loggerGraphQL.info("Permanently deleting promotion with id: {} by user: {}", id, userId);
             
@@ -474,37 +512,106 @@ public class GraphQLResolver {
         }
     }
 
-    // === SCHEMA MAPPINGS para resolver relaciones ===
-    // Nota: Con los DTOs de respuesta, estas relaciones ya están aplanadas
-    // Estos métodos pueden ser opcionales si usas solo los DTOs de respuesta
-    
-    @SchemaMapping(typeName = "Promotion", field = "products")
-    public List<Product> promotionProducts(Promotion promotion) {
+    // === BATCH MAPPINGS para resolver relaciones ===
+    // Cada relación se resuelve con un DataLoader: una sola consulta IN (...) por nivel y por request,
+    // en lugar de una consulta por cada objeto padre (N+1).
+
+    @BatchMapping(typeName = "Promotion", field = "products")
+    public Map<Promotion, List<Product>> promotionProducts(List<Promotion> promotions) {
         try {
-            return productRepository.findByPromotionPromotionId(promotion.getPromotionId());
+            Map<Integer, List<Product>> productsByPromotion = productRepository
+                    .findByPromotionPromotionIdIn(collectIds(promotions, Promotion::getPromotionId))
+                    .stream()
+                    .collect(Collectors.groupingBy(product -> product.getPromotion().getPromotionId()));
+            return assignToParents(promotions, Promotion::getPromotionId, productsByPromotion);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting products for promotion: {}" , e.getMessage(), e);
-            return Collections.emptyList();
+            return assignToParents(promotions, Promotion::getPromotionId, Collections.emptyMap());
         }
     }
 
-    @SchemaMapping(typeName = "Category", field = "promotions")
-    public List<Promotion> categoryPromotions(Category category) {
+    @BatchMapping(typeName = "Category", field = "promotions")
+    public Map<Category, List<Promotion>> categoryPromotions(List<Category> categories) {
         try {
-            return promotionService.getPromotionsByCategoryEntities(category.getCategoryId());
+            Map<Integer, List<Promotion>> promotionsByCategory = promotionService
+                    .getPromotionsByCategoryIdsEntities(collectIds(categories, Category::getCategoryId))
+                    .stream()
+                    .collect(Collectors.groupingBy(promotion -> promotion.getCategory().getCategoryId()));
+            return assignToParents(categories, Category::getCategoryId, promotionsByCategory);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting promotions for category: {}" , e.getMessage(), e);
-            return Collections.emptyList();
+            return assignToParents(categories, Category::getCategoryId, Collections.emptyMap());
         }
     }
 
-    @SchemaMapping(typeName = "Category", field = "products")
-    public List<Product> categoryProducts(Category category) {
+    @BatchMapping(typeName = "Category", field = "products")
+    public Map<Category, List<Product>> categoryProducts(List<Category> categories) {
         try {
-            return productRepository.findByCategoryCategoryId(category.getCategoryId());
+            Map<Integer, List<Product>> productsByCategory = productRepository
+                    .findByCategoryCategoryIdIn(collectIds(categories, Category::getCategoryId))
+                    .stream()
+                    .collect(Collectors.groupingBy(product -> product.getCategory().getCategoryId()));
+            return assignToParents(categories, Category::getCategoryId, productsByCategory);
         } catch (Exception e) {
             loggerGraphQL.error("Error getting products for category: {}" , e.getMessage(), e);
-            return Collections.emptyList();
+            return assignToParents(categories, Category::getCategoryId, Collections.emptyMap());
+        }
+    }
+
+    // Orden de las listas: criterios en el orden recibido (la proyección desempata por ID)
+    private static <E extends Enum<E> & KeysetSort<?>> Sort toSort(List<SortOrder<E>> orderBy) {
+        if (orderBy == null || orderBy.isEmpty()) {
+            return Sort.unsorted();
+        }
+        return Sort.by(orderBy.stream()
+                .map(order -> new Sort.Order(order.getDirection() == SortDirection.DESC
+                        ? Sort.Direction.DESC : Sort.Direction.ASC, order.getField().getAttribute()))
+                .toList());
+    }
+
+    // Filtros de las consultas proyectadas (ver SelectionSetProjection)
+    private static Specification<Promotion> hasStatus(String statusName) {
+        return (root, query, cb) -> cb.equal(root.get("status").get("statusName"), statusName);
+    }
+
+    private static <T> Specification<T> inCategory(Integer categoryId) {
+        return (root, query, cb) -> cb.equal(root.get("category").get("categoryId"), categoryId);
+    }
+
+    /**
+     * Adapta una página keyset a la conexión Relay que espera el esquema (edges + pageInfo)
+     */
+    private static <T> Connection<T> toConnection(CursorPage<T> page) {
+        List<Edge<T>> edges = page.getEdges().stream()
+                .<Edge<T>>map(edge -> new DefaultEdge<>(edge.getNode(), new DefaultConnectionCursor(edge.getCursor())))
+                .toList();
+        CursorPage.PageInfo info = page.getPageInfo();
+        return new DefaultConnection<>(edges, new DefaultPageInfo(
+                info.getStartCursor() != null ? new DefaultConnectionCursor(info.getStartCursor()) : null,
+                info.getEndCursor() != null ? new DefaultConnectionCursor(info.getEndCursor()) : null,
+                info.isHasPreviousPage(),
+                info.isHasNextPage()));
+    }
+
+    /**
+     * Obtiene los IDs distintos de los objetos padre de un lote
+     */
+    private static <P> Set<Integer> collectIds(List<P> parents, Function<P, Integer> idGetter) {
+        return parents.stream()
+                .map(idGetter)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    /**
+     * Asigna a cada padre del lote sus hijos agrupados por ID (lista vacía si no tiene)
+     */
+    private static <P, C> Map<P, List<C>> assignToParents(List<P> parents, Function<P, Integer> idGetter,
+                                                          Map<Integer, List<C>> childrenById) {
+        Map<P, List<C>> result = new LinkedHashMap<>();
+        for (P parent : parents) {
+            result.put(parent, childrenById.getOrDefault(idGetter.apply(parent), Collections.emptyList()));
         }
+        return result;
     }
 }
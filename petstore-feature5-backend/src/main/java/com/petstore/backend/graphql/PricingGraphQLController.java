@@ -0,0 +1,52 @@
+package com.petstore.backend.graphql;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.data.method.annotation.BatchMapping;
+import org.springframework.stereotype.Controller;
+
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.service.PricingService;
+
+/**
+ * Resuelve {@code Product.effectivePrice} en lote: una sola consulta de precios por cada
+ * nivel de la respuesta, sin importar cuántos productos incluya.
+ */
+@Controller
+public class PricingGraphQLController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PricingGraphQLController.class);
+
+    private final PricingService pricingService;
+
+    public PricingGraphQLController(PricingService pricingService) {
+        this.pricingService = pricingService;
+    }
+
+    @BatchMapping(typeName = "Product", field = "effectivePrice")
+    public Map<Product, Double> effectivePrice(List<Product> products) {
+        Map<Product, Double> result = new LinkedHashMap<>();
+        double[] prices;
+        try {
+            int[] productIds = new int[products.size()];
+            for (int i = 0; i < productIds.length; i++) {
+                productIds[i] = products.get(i).getProductId();
+            }
+            prices = pricingService.effectivePrices(productIds);
+        } catch (Exception e) {
+            logger.error("Error calculating effective prices: {}", e.getMessage(), e);
+            prices = null;
+        }
+        for (int i = 0; i < products.size(); i++) {
+            Product product = products.get(i);
+            // Sin precio calculado se informa el precio base
+            boolean priced = prices != null && !Double.isNaN(prices[i]);
+            result.put(product, priced ? prices[i] : product.getBasePrice());
+        }
+        return result;
+    }
+}
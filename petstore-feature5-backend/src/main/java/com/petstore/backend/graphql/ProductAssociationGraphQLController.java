@@ -0,0 +1,63 @@
+package com.petstore.backend.graphql;
+
+import java.util.List;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import com.petstore.backend.dto.ProductAssociationResult;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.exception.GraphQLException;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.service.PromotionService;
+
+/**
+ * Mutaciones masivas producto-promoción con el resultado de cada ID
+ * (asociado, removido, inexistente o perteneciente a otra promoción).
+ */
+@Controller
+public class ProductAssociationGraphQLController {
+
+    private final PromotionService promotionService;
+    private final PromotionRepository promotionRepository;
+
+    public ProductAssociationGraphQLController(PromotionService promotionService,
+                                               PromotionRepository promotionRepository) {
+        this.promotionService = promotionService;
+        this.promotionRepository = promotionRepository;
+    }
+
+    @MutationMapping
+    public ProductAssociationResult associateProductsToPromotionBulk(@Argument Integer promotionId,
+                                                                     @Argument List<Integer> productIds,
+                                                                     @Argument Boolean reassign) {
+        GraphQLAuthentication.require();
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, productIds,
+                Boolean.TRUE.equals(reassign));
+        if (result == null) {
+            throw new GraphQLException("ASSOCIATE", "Promotion not found", "ID: " + promotionId);
+        }
+        return result;
+    }
+
+    @MutationMapping
+    public ProductAssociationResult removeProductsFromPromotionBulk(@Argument Integer promotionId,
+                                                                    @Argument List<Integer> productIds) {
+        GraphQLAuthentication.require();
+        ProductAssociationResult result = promotionService.removeProductsFromPromotion(promotionId, productIds);
+        if (result == null) {
+            throw new GraphQLException("REMOVE_ASSOCIATION", "Promotion not found", "ID: " + promotionId);
+        }
+        return result;
+    }
+
+    /**
+     * Promoción actualizada, solo si el cliente la pide
+     */
+    @SchemaMapping(typeName = "ProductAssociationResult", field = "promotion")
+    public Promotion promotion(ProductAssociationResult result) {
+        return promotionRepository.findWithRelationsByPromotionId(result.getPromotionId()).orElse(null);
+    }
+}
@@ -0,0 +1,43 @@
+package com.petstore.backend.graphql;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.stereotype.Controller;
+
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.exception.GraphQLException;
+import com.petstore.backend.service.ProductService;
+
+/**
+ * Búsqueda de productos por nombre/SKU sobre el índice en memoria. El tamaño se pide con
+ * {@code first}, igual que en las conexiones, para que entre en el cálculo de costo.
+ */
+@Controller
+public class ProductSearchGraphQLController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductSearchGraphQLController.class);
+
+    private final ProductService productService;
+
+    public ProductSearchGraphQLController(ProductService productService) {
+        this.productService = productService;
+    }
+
+    @QueryMapping
+    public List<Product> searchProducts(@Argument String query, @Argument Integer first) {
+        // Público - sin autenticación
+        try {
+            return productService.search(query, first);
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("QUERY", "Invalid search arguments", e.getMessage(), e);
+        } catch (Exception e) {
+            logger.error("Error searching products: {}", e.getMessage(), e);
+            return Collections.emptyList();
+        }
+    }
+}
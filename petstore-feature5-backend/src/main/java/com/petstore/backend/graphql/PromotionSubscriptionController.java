@@ -0,0 +1,45 @@
+package com.petstore.backend.graphql;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.SubscriptionMapping;
+import org.springframework.stereotype.Controller;
+
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.event.PromotionEvent;
+import com.petstore.backend.event.PromotionEventBus;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * Suscripciones GraphQL (WebSocket en /graphql) sobre el ciclo de vida de las promociones,
+ * para que los clientes reciban los cambios en lugar de consultar promotionsActive periódicamente.
+ */
+@Controller
+public class PromotionSubscriptionController {
+
+    private final PromotionEventBus eventBus;
+
+    public PromotionSubscriptionController(PromotionEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @SubscriptionMapping
+    public Flux<PromotionEvent> promotionChanged(@Argument Integer categoryId) {
+        Flux<PromotionEvent> events = eventBus.subscribe();
+        return categoryId == null ? events : events.filter(event -> categoryId.equals(event.getCategoryId()));
+    }
+
+    @SubscriptionMapping
+    public Flux<Promotion> promotionActivated() {
+        return eventBus.subscribe()
+                .filter(PromotionEvent::isActivation)
+                .map(PromotionEvent::getPromotion);
+    }
+
+    @SubscriptionMapping
+    public Flux<Promotion> promotionExpired() {
+        return eventBus.subscribe()
+                .filter(PromotionEvent::isExpiration)
+                .map(PromotionEvent::getPromotion);
+    }
+}
@@ -0,0 +1,45 @@
+package com.petstore.backend.graphql;
+
+import java.util.List;
+
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.MutationMapping;
+import org.springframework.stereotype.Controller;
+
+import com.petstore.backend.dto.PromotionTrashBulkResult;
+import com.petstore.backend.exception.GraphQLException;
+import com.petstore.backend.service.PromotionService;
+
+/**
+ * Mutaciones masivas sobre la papelera de promociones: todo el lote en una transacción,
+ * con el resultado de cada ID.
+ */
+@Controller
+public class PromotionTrashGraphQLController {
+
+    private final PromotionService promotionService;
+
+    public PromotionTrashGraphQLController(PromotionService promotionService) {
+        this.promotionService = promotionService;
+    }
+
+    @MutationMapping
+    public PromotionTrashBulkResult restorePromotions(@Argument List<Integer> ids, @Argument Integer userId) {
+        GraphQLAuthentication.require();
+        try {
+            return promotionService.restorePromotions(ids, userId);
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("RESTORE", e.getMessage(), "IDs: " + ids.size());
+        }
+    }
+
+    @MutationMapping
+    public PromotionTrashBulkResult permanentDeletePromotions(@Argument List<Integer> ids, @Argument Integer userId) {
+        GraphQLAuthentication.require();
+        try {
+            return promotionService.permanentDeletePromotions(ids, userId);
+        } catch (IllegalArgumentException e) {
+            throw new GraphQLException("PERMANENT_DELETE", e.getMessage(), "IDs: " + ids.size());
+        }
+    }
+}
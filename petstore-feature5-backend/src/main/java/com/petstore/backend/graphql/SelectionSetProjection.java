@@ -0,0 +1,201 @@
+package com.petstore.backend.graphql;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.BeanUtils;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.ReflectionUtils;
+
+import graphql.schema.DataFetchingFieldSelectionSet;
+import graphql.schema.SelectedField;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.From;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.EntityType;
+import jakarta.persistence.metamodel.SingularAttribute;
+
+/**
+ * Proyección SQL guiada por el selection set de GraphQL: arma una consulta Criteria de tuplas con
+ * solo las columnas pedidas y un LEFT JOIN por cada relación seleccionada, e hidrata con eso
+ * entidades parciales (nuevas instancias fuera del contexto de persistencia, solo para leer).
+ *
+ * Un campo del esquema se proyecta si es un atributo JPA con el mismo nombre. El ID siempre se
+ * selecciona: con él los @BatchMapping (products, promotions, effectivePrice) resuelven el resto.
+ */
+@Component
+public class SelectionSetProjection {
+
+    // Campos calculados que además leen columnas de la entidad (effectivePrice cae en basePrice)
+    private static final Map<String, Set<String>> DERIVED_FIELDS = Map.of(
+            "Product.effectivePrice", Set.of("basePrice"));
+
+    private final EntityManager entityManager;
+
+    public SelectionSetProjection(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Entidades de {@code type} que cumplen {@code filter}, ordenadas por ID, con solo lo seleccionado
+     * @param filter condición adicional (opcional)
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> list(Class<T> type, DataFetchingFieldSelectionSet selection, Specification<T> filter) {
+        return list(type, selection, filter, Sort.unsorted());
+    }
+
+    /**
+     * Igual que {@link #list(Class, DataFetchingFieldSelectionSet, Specification)} pero con el orden
+     * indicado; el ID queda siempre como último criterio de desempate
+     */
+    @Transactional(readOnly = true)
+    public <T> List<T> list(Class<T> type, DataFetchingFieldSelectionSet selection, Specification<T> filter,
+                            Sort sort) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<T> root = query.from(type);
+        List<Selection<?>> columns = new ArrayList<>();
+        Node node = plan(root, root.getModel(), selection.getImmediateFields(), columns);
+        query.multiselect(columns);
+        if (filter != null) {
+            Predicate predicate = filter.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+        List<Order> orders = new ArrayList<>(QueryUtils.toOrders(sort, root, cb));
+        orders.add(cb.asc(root.get(node.id.getName())));
+        query.orderBy(orders);
+
+        List<Tuple> rows = entityManager.createQuery(query).getResultList();
+        Map<InstanceKey, Object> instances = new HashMap<>();
+        List<T> result = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            result.add(type.cast(node.hydrate(row, instances)));
+        }
+        return result;
+    }
+
+    /**
+     * Entidad de {@code type} con ese ID, con solo lo seleccionado; null si no existe
+     */
+    @Transactional(readOnly = true)
+    public <T> T findById(Class<T> type, DataFetchingFieldSelectionSet selection, Object id) {
+        String idName = idAttribute(entityManager.getMetamodel().entity(type)).getName();
+        List<T> found = list(type, selection, (root, query, cb) -> cb.equal(root.get(idName), id));
+        return found.isEmpty() ? null : found.get(0);
+    }
+
+    /**
+     * Columnas y JOINs de un nivel: agrupa los campos por nombre (alias repetidos piden lo mismo)
+     * y baja recursivamente por las relaciones a uno
+     */
+    private Node plan(From<?, ?> from, EntityType<?> type, List<SelectedField> fields, List<Selection<?>> columns) {
+        Node node = new Node(type);
+        node.idIndex = add(columns, from.get(node.id.getName()));
+
+        Map<String, List<SelectedField>> byName = new LinkedHashMap<>();
+        for (SelectedField field : fields) {
+            byName.computeIfAbsent(field.getName(), name -> new ArrayList<>()).add(field);
+            for (String required : DERIVED_FIELDS.getOrDefault(type.getName() + "." + field.getName(), Set.of())) {
+                byName.putIfAbsent(required, List.of());
+            }
+        }
+        for (Map.Entry<String, List<SelectedField>> entry : byName.entrySet()) {
+            Attribute<?, ?> attribute = attribute(type, entry.getKey());
+            if (!(attribute instanceof SingularAttribute<?, ?> singular) || singular.isId()) {
+                continue;
+            }
+            if (singular.isAssociation()) {
+                List<SelectedField> children = new ArrayList<>();
+                entry.getValue().forEach(field -> children.addAll(field.getSelectionSet().getImmediateFields()));
+                Node child = plan(from.join(singular.getName(), JoinType.LEFT),
+                        (EntityType<?>) singular.getType(), children, columns);
+                node.associations.put(field(singular), child);
+            } else {
+                node.columns.put(field(singular), add(columns, from.get(singular.getName())));
+            }
+        }
+        return node;
+    }
+
+    private static SingularAttribute<?, ?> idAttribute(EntityType<?> type) {
+        return type.getId(type.getIdType().getJavaType());
+    }
+
+    private static Attribute<?, ?> attribute(EntityType<?> type, String name) {
+        try {
+            return type.getAttribute(name);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static int add(List<Selection<?>> columns, Selection<?> column) {
+        columns.add(column);
+        return columns.size() - 1;
+    }
+
+    private static Field field(Attribute<?, ?> attribute) {
+        Member member = attribute.getJavaMember();
+        Field field = member instanceof Field f ? f
+                : ReflectionUtils.findField(attribute.getDeclaringType().getJavaType(), attribute.getName());
+        ReflectionUtils.makeAccessible(field);
+        return field;
+    }
+
+    /**
+     * Una entidad del plan: posición de su ID, de sus columnas y sus relaciones en la tupla
+     */
+    private static final class Node {
+
+        private final Class<?> javaType;
+        private final SingularAttribute<?, ?> id;
+        private final Field idField;
+        private int idIndex;
+        private final Map<Field, Integer> columns = new LinkedHashMap<>();
+        private final Map<Field, Node> associations = new LinkedHashMap<>();
+
+        private Node(EntityType<?> type) {
+            this.javaType = type.getJavaType();
+            this.id = idAttribute(type);
+            this.idField = field(id);
+        }
+
+        // Una instancia por entidad y ID en todo el resultado: la misma categoría se comparte entre productos
+        private Object hydrate(Tuple row, Map<InstanceKey, Object> instances) {
+            Object idValue = row.get(idIndex);
+            if (idValue == null) {
+                return null;
+            }
+            Object instance = instances.computeIfAbsent(new InstanceKey(javaType, idValue),
+                    key -> BeanUtils.instantiateClass(javaType));
+            ReflectionUtils.setField(idField, instance, idValue);
+            columns.forEach((field, index) -> ReflectionUtils.setField(field, instance, row.get(index)));
+            associations.forEach((field, child) -> ReflectionUtils.setField(field, instance, child.hydrate(row, instances)));
+            return instance;
+        }
+    }
+
+    private record InstanceKey(Class<?> type, Object id) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.petstore.backend.pagination;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados paginada por cursor (forma Relay: edges + pageInfo).
+ * Se usa tanto en las conexiones GraphQL como en los listados REST.
+ *
+ * @param <T> tipo de los elementos de la página
+ */
+public class CursorPage<T> {
+
+    private final List<Edge<T>> edges;
+    private final PageInfo pageInfo;
+
+    public CursorPage(List<Edge<T>> edges, boolean hasNextPage, boolean hasPreviousPage) {
+        this.edges = edges;
+        String startCursor = edges.isEmpty() ? null : edges.get(0).getCursor();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        this.pageInfo = new PageInfo(hasNextPage, hasPreviousPage, startCursor, endCursor);
+    }
+
+    /**
+     * Página vacía (sin elementos ni páginas siguientes)
+     */
+    public static <T> CursorPage<T> empty() {
+        return new CursorPage<>(Collections.emptyList(), false, false);
+    }
+
+    /**
+     * Transforma los elementos de la página conservando sus cursores (p. ej. entidad a DTO)
+     */
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        List<Edge<R>> mapped = edges.stream()
+                .<Edge<R>>map(edge -> new Edge<>(edge.getCursor(), mapper.apply(edge.getNode())))
+                .toList();
+        return new CursorPage<>(mapped, pageInfo.isHasNextPage(), pageInfo.isHasPreviousPage());
+    }
+
+    public List<Edge<T>> getEdges() {
+        return edges;
+    }
+
+    public PageInfo getPageInfo() {
+        return pageInfo;
+    }
+
+    /**
+     * Elementos de la página, sin los cursores
+     */
+    public List<T> getItems() {
+        return edges.stream().map(Edge::getNode).toList();
+    }
+
+    /**
+     * Elemento de la página junto con su cursor
+     */
+    public static class Edge<T> {
+
+        private final String cursor;
+        private final T node;
+
+        public Edge(String cursor, T node) {
+            this.cursor = cursor;
+            this.node = node;
+        }
+
+        public String getCursor() {
+            return cursor;
+        }
+
+        public T getNode() {
+            return node;
+        }
+    }
+
+    /**
+     * Información de navegación de la página
+     */
+    public static class PageInfo {
+
+        private final boolean hasNextPage;
+        private final boolean hasPreviousPage;
+        private final String startCursor;
+        private final String endCursor;
+
+        public PageInfo(boolean hasNextPage, boolean hasPreviousPage, String startCursor, String endCursor) {
+            this.hasNextPage = hasNextPage;
+            this.hasPreviousPage = hasPreviousPage;
+            this.startCursor = startCursor;
+            this.endCursor = endCursor;
+        }
+
+        public boolean isHasNextPage() {
+            return hasNextPage;
+        }
+
+        public boolean isHasPreviousPage() {
+            return hasPreviousPage;
+        }
+
+        public String getStartCursor() {
+            return startCursor;
+        }
+
+        public String getEndCursor() {
+            return endCursor;
+        }
+    }
+}
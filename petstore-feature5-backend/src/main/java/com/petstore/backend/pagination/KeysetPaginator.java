@@ -0,0 +1,160 @@
+package com.petstore.backend.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+
+import jakarta.persistence.criteria.Path;
+
+/**
+ * Motor de paginación keyset (seek) compartido por REST y GraphQL.
+ *
+ * En lugar de OFFSET, cada página filtra por la posición del último elemento visto
+ * ({@code (valor, id) > (:valor, :id)}) y pide {@code first + 1} filas, de modo que el costo
+ * de la consulta es el mismo para la página 1 que para la página 5.000.
+ * El cursor es opaco para el cliente: Base64 URL-safe de {@code CLAVE|id|valor}.
+ */
+public final class KeysetPaginator {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    private KeysetPaginator() {
+    }
+
+    /**
+     * Obtiene una página ordenada por {@code sort} a partir del cursor {@code after}
+     *
+     * @param repository repositorio con soporte de Specifications
+     * @param filter filtro adicional (opcional)
+     * @param sort clave de ordenamiento
+     * @param direction dirección (ASC por defecto)
+     * @param first tamaño de página (por defecto {@value #DEFAULT_PAGE_SIZE}, máximo {@value #MAX_PAGE_SIZE})
+     * @param after cursor del último elemento de la página anterior (opcional)
+     * @param fetch relaciones que se cargan en el mismo SELECT (plan de carga; el resto queda LAZY)
+     * @throws IllegalArgumentException si el tamaño de página o el cursor no son válidos
+     */
+    public static <T> CursorPage<T> paginate(JpaSpecificationExecutor<T> repository, Specification<T> filter,
+                                             KeysetSort<T> sort, SortDirection direction,
+                                             Integer first, String after, String... fetch) {
+        int pageSize = resolvePageSize(first);
+        SortDirection dir = direction != null ? direction : SortDirection.ASC;
+
+        List<Specification<T>> conditions = new ArrayList<>();
+        if (filter != null) {
+            conditions.add(filter);
+        }
+        if (after != null && !after.isBlank()) {
+            conditions.add(seekAfter(sort, dir, after));
+        }
+
+        Sort.Direction sortDirection = dir == SortDirection.DESC ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Sort order = sort.getAttribute().equals(sort.getIdAttribute())
+                ? Sort.by(sortDirection, sort.getIdAttribute())
+                : Sort.by(sortDirection, sort.getAttribute(), sort.getIdAttribute());
+
+        List<T> rows = repository.findBy(Specification.allOf(conditions),
+                query -> query.sortBy(order).limit(pageSize + 1).project(fetch).all());
+
+        boolean hasNextPage = rows.size() > pageSize;
+        List<CursorPage.Edge<T>> edges = new ArrayList<>(Math.min(rows.size(), pageSize));
+        for (T row : rows.subList(0, Math.min(rows.size(), pageSize))) {
+            edges.add(new CursorPage.Edge<>(encodeCursor(sort, row), row));
+        }
+        return new CursorPage<>(edges, hasNextPage, after != null && !after.isBlank());
+    }
+
+    /**
+     * Valida y normaliza el tamaño de página solicitado
+     */
+    public static int resolvePageSize(Integer first) {
+        if (first == null) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        if (first < 1) {
+            throw new IllegalArgumentException("Page size must be greater than zero: " + first);
+        }
+        return Math.min(first, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Genera el cursor opaco que apunta a la posición de la entidad
+     */
+    public static <T> String encodeCursor(KeysetSort<T> sort, T entity) {
+        return encodeCursor(sort, sort.idOf(entity), sort.valueOf(entity));
+    }
+
+    /**
+     * Genera el cursor opaco de una posición (ID y valor) que no sale de una entidad cargada,
+     * p. ej. de un índice en memoria
+     */
+    public static String encodeCursor(KeysetSort<?> sort, Integer id, Object value) {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + value;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Posición a la que apunta el cursor, para recorrer en orden keyset fuera de JPA
+     * @throws IllegalArgumentException si el cursor no es válido o es de otro orden
+     */
+    public static Position decodePosition(KeysetSort<?> sort, String cursor) {
+        String[] parts = decodeCursor(sort, cursor);
+        return new Position(Integer.valueOf(parts[1]), sort.parseValue(parts[2]));
+    }
+
+    /**
+     * Condición seek: filas estrictamente posteriores a la posición del cursor
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Specification<T> seekAfter(KeysetSort<T> sort, SortDirection direction, String cursor) {
+        String[] parts = decodeCursor(sort, cursor);
+        Integer id = Integer.valueOf(parts[1]);
+        boolean idOnly = sort.getAttribute().equals(sort.getIdAttribute());
+        Comparable value = idOnly ? null : sort.parseValue(parts[2]);
+        boolean descending = direction == SortDirection.DESC;
+
+        return (root, query, cb) -> {
+            Path<Integer> idPath = root.get(sort.getIdAttribute());
+            var idAfter = descending ? cb.lessThan(idPath, id) : cb.greaterThan(idPath, id);
+            if (idOnly) {
+                return idAfter;
+            }
+            Path<Comparable> valuePath = root.get(sort.getAttribute());
+            var valueAfter = descending ? cb.lessThan(valuePath, value) : cb.greaterThan(valuePath, value);
+            return cb.or(valueAfter, cb.and(cb.equal(valuePath, value), idAfter));
+        };
+    }
+
+    /**
+     * ID y valor del atributo de ordenamiento del último elemento visto
+     */
+    public record Position(Integer id, Comparable<?> value) {
+    }
+
+    private static String[] decodeCursor(KeysetSort<?> sort, String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        String[] parts = raw.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor does not match sort " + sort.name() + ": " + cursor);
+        }
+        try {
+            Integer.valueOf(parts[1]);
+            sort.parseValue(parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + cursor, e);
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,41 @@
+package com.petstore.backend.pagination;
+
+/**
+ * Clave de ordenamiento para la paginación keyset (seek).
+ * La paginación siempre ordena por (atributo, ID) para que el orden sea total
+ * y el cursor identifique una posición única.
+ *
+ * @param <T> tipo de entidad paginada
+ */
+public interface KeysetSort<T> {
+
+    /**
+     * Nombre de la clave (se incluye en el cursor para detectar cursores de otro orden)
+     */
+    String name();
+
+    /**
+     * Atributo JPA por el que se ordena
+     */
+    String getAttribute();
+
+    /**
+     * Atributo JPA de la clave primaria (desempate)
+     */
+    String getIdAttribute();
+
+    /**
+     * Obtiene la clave primaria de la entidad
+     */
+    Integer idOf(T entity);
+
+    /**
+     * Obtiene el valor del atributo de ordenamiento de la entidad
+     */
+    Comparable<?> valueOf(T entity);
+
+    /**
+     * Convierte el valor serializado en el cursor al tipo del atributo
+     */
+    Comparable<?> parseValue(String raw);
+}
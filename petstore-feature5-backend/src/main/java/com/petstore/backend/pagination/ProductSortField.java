@@ -0,0 +1,50 @@
+package com.petstore.backend.pagination;
+
+import java.util.function.Function;
+
+import com.petstore.backend.entity.Product;
+
+/**
+ * Claves de ordenamiento disponibles para la paginación de productos
+ */
+public enum ProductSortField implements KeysetSort<Product> {
+    ID("productId", Product::getProductId, Integer::valueOf),
+    NAME("productName", Product::getProductName, raw -> raw),
+    PRICE("basePrice", Product::getBasePrice, Double::valueOf);
+
+    private final String attribute;
+    private final Function<Product, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    ProductSortField(String attribute, Function<Product, Comparable<?>> extractor,
+                     Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    @Override
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @Override
+    public String getIdAttribute() {
+        return "productId";
+    }
+
+    @Override
+    public Integer idOf(Product product) {
+        return product.getProductId();
+    }
+
+    @Override
+    public Comparable<?> valueOf(Product product) {
+        return extractor.apply(product);
+    }
+
+    @Override
+    public Comparable<?> parseValue(String raw) {
+        return parser.apply(raw);
+    }
+}
@@ -0,0 +1,53 @@
+package com.petstore.backend.pagination;
+
+import java.time.LocalDate;
+import java.util.function.Function;
+
+import com.petstore.backend.entity.Promotion;
+
+/**
+ * Claves de ordenamiento disponibles para la paginación de promociones
+ */
+public enum PromotionSortField implements KeysetSort<Promotion> {
+    ID("promotionId", Promotion::getPromotionId, Integer::valueOf),
+    NAME("promotionName", Promotion::getPromotionName, raw -> raw),
+    START_DATE("startDate", Promotion::getStartDate, LocalDate::parse),
+    END_DATE("endDate", Promotion::getEndDate, LocalDate::parse),
+    DISCOUNT("discountValue", Promotion::getDiscountValue, Double::valueOf);
+
+    private final String attribute;
+    private final Function<Promotion, Comparable<?>> extractor;
+    private final Function<String, Comparable<?>> parser;
+
+    PromotionSortField(String attribute, Function<Promotion, Comparable<?>> extractor,
+                       Function<String, Comparable<?>> parser) {
+        this.attribute = attribute;
+        this.extractor = extractor;
+        this.parser = parser;
+    }
+
+    @Override
+    public String getAttribute() {
+        return attribute;
+    }
+
+    @Override
+    public String getIdAttribute() {
+        return "promotionId";
+    }
+
+    @Override
+    public Integer idOf(Promotion promotion) {
+        return promotion.getPromotionId();
+    }
+
+    @Override
+    public Comparable<?> valueOf(Promotion promotion) {
+        return extractor.apply(promotion);
+    }
+
+    @Override
+    public Comparable<?> parseValue(String raw) {
+        return parser.apply(raw);
+    }
+}
@@ -0,0 +1,9 @@
+package com.petstore.backend.pagination;
+
+/**
+ * Dirección de ordenamiento para la paginación por cursor (keyset)
+ */
+public enum SortDirection {
+    ASC,
+    DESC
+}
@@ -0,0 +1,56 @@
+package com.petstore.backend.pagination;
+
+import java.util.Locale;
+
+/**
+ * Orden solicitado en los listados REST: {@code campo} o {@code -campo} (descendente).
+ * El campo se compara sin distinguir mayúsculas ni guiones bajos, así que
+ * {@code startDate}, {@code start_date} y {@code START_DATE} son equivalentes.
+ *
+ * @param <E> enumeración de claves de ordenamiento
+ */
+public class SortOrder<E extends Enum<E>> {
+
+    private final E field;
+    private final SortDirection direction;
+
+    public SortOrder(E field, SortDirection direction) {
+        this.field = field;
+        this.direction = direction;
+    }
+
+    /**
+     * Interpreta el parámetro {@code sort}
+     * @throws IllegalArgumentException si el campo no existe
+     */
+    public static <E extends Enum<E>> SortOrder<E> parse(String sort, Class<E> type, E defaultField) {
+        if (sort == null || sort.isBlank()) {
+            return new SortOrder<>(defaultField, SortDirection.ASC);
+        }
+        String value = sort.trim();
+        SortDirection direction = SortDirection.ASC;
+        if (value.startsWith("-")) {
+            direction = SortDirection.DESC;
+            value = value.substring(1);
+        }
+        String normalized = normalize(value);
+        for (E candidate : type.getEnumConstants()) {
+            if (normalize(candidate.name()).equals(normalized)) {
+                return new SortOrder<>(candidate, direction);
+            }
+        }
+        throw new IllegalArgumentException("Unsupported sort field: " + sort);
+    }
+
+    private static String normalize(String value) {
+        return value.replace("_", "").toLowerCase(Locale.ROOT);
+    }
+
+    public E getField() {
+        return field;
+    }
+
+    public SortDirection getDirection() {
+        return direction;
+    }
+}
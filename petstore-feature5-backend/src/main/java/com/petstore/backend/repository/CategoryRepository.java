@@ -2,14 +2,24 @@ package com.petstore.backend.repository;
 
 import com.petstore.backend.entity.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    // Región propia de la caché de consultas: un cambio de categoría la descarta sin tocar las demás
+    String QUERY_CACHE_REGION = "category-queries";
     
-    // Buscar categoría por nombre
+    // Buscar categoría por nombre (resultado en la caché de consultas)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.cacheable", value = "true"),
+            @QueryHint(name = "org.hibernate.cacheRegion", value = QUERY_CACHE_REGION)
+    })
     Optional<Category> findByCategoryName(String categoryName);
     
     // Verificar si existe una categoría con el nombre
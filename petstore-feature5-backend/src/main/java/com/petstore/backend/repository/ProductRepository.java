@@ -1,15 +1,99 @@
 package com.petstore.backend.repository;
 
+import com.petstore.backend.dto.ProductExportDTO;
 import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, JpaSpecificationExecutor<Product> {
+
+    // Filas que el driver trae por viaje al exportar
+    String EXPORT_FETCH_SIZE = "500";
+
+    // Lecturas que terminan en ProductDTO: la categoría viene en el mismo SELECT
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByCategoryCategoryId(Integer categoryId);
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByPromotionPromotionId(Integer promotionId);
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByProductNameContainingIgnoreCase(String productName);
+    @EntityGraph(Product.WITH_CATEGORY)
     List<Product> findByBasePriceBetween(Double minPrice, Double maxPrice);
+
+    // Listas GraphQL: categoría, promoción y su estado en el mismo SELECT
+    @EntityGraph(Product.WITH_RELATIONS)
+    @Query("SELECT p FROM Product p")
+    List<Product> findAllWithRelations();
+    @EntityGraph(Product.WITH_RELATIONS)
+    List<Product> findWithRelationsByCategoryCategoryId(Integer categoryId);
+    @EntityGraph(Product.WITH_RELATIONS)
+    List<Product> findWithRelationsByProductIdIn(Collection<Integer> productIds);
+
+    // Variantes por lote (IN) para los resolvers @BatchMapping de GraphQL
+    @EntityGraph(Product.WITH_RELATIONS)
+    List<Product> findByCategoryCategoryIdIn(Collection<Integer> categoryIds);
+    @EntityGraph(Product.WITH_RELATIONS)
+    List<Product> findByPromotionPromotionIdIn(Collection<Integer> promotionIds);
+
+    // Datos mínimos para cotizar: [productId, basePrice, discountValue, statusName, startDate, endDate]
+    @Query("SELECT p.productId, p.basePrice, pr.discountValue, s.statusName, pr.startDate, pr.endDate " +
+           "FROM Product p LEFT JOIN p.promotion pr LEFT JOIN pr.status s WHERE p.productId IN :productIds")
+    List<Object[]> findPricingRowsByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    // Campos del índice de búsqueda: [productId, productName, sku]
+    @Query("SELECT p.productId, p.productName, p.sku FROM Product p")
+    List<Object[]> findSearchRows();
+
+    // Campos del índice de precios: [productId, basePrice, categoryId]
+    @Query("SELECT p.productId, p.basePrice, c.categoryId FROM Product p LEFT JOIN p.category c")
+    List<Object[]> findPriceRows();
+
+    // SKUs existentes, para validar la importación masiva sin una consulta por fila
+    @Query("SELECT p.sku FROM Product p")
+    List<Integer> findAllSkus();
+
+    // Exportación del catálogo: filas planas leídas de a EXPORT_FETCH_SIZE, sin entidades en el contexto
+    // de persistencia. Debe consumirse dentro de una transacción (y cerrarse)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.petstore.backend.dto.ProductExportDTO(p.productId, p.productName, p.sku, p.basePrice, " +
+           "c.categoryId, c.categoryName, pr.promotionId) " +
+           "FROM Product p LEFT JOIN p.category c LEFT JOIN p.promotion pr ORDER BY p.productId")
+    Stream<ProductExportDTO> streamExportRows();
+
+    // Promoción actual de cada producto: [productId, promotionId] (promotionId null si no tiene)
+    @Query("SELECT p.productId, pr.promotionId FROM Product p LEFT JOIN p.promotion pr WHERE p.productId IN :productIds")
+    List<Object[]> findPromotionIdsByProductIdIn(@Param("productIds") Collection<Integer> productIds);
+
+    // Asociación masiva en un solo UPDATE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.promotion = :promotion WHERE p.productId IN :productIds")
+    int assignPromotion(@Param("promotion") Promotion promotion, @Param("productIds") Collection<Integer> productIds);
+
+    // Asociación masiva sin reasignar: no toca productos que otra promoción tomó después de la lectura
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.promotion = :promotion WHERE p.productId IN :productIds " +
+           "AND (p.promotion IS NULL OR p.promotion = :promotion)")
+    int assignPromotionIfUnowned(@Param("promotion") Promotion promotion, @Param("productIds") Collection<Integer> productIds);
+
+    // Remoción masiva: solo desvincula los productos que siguen siendo de esta promoción
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.promotion = null WHERE p.productId IN :productIds AND p.promotion.promotionId = :promotionId")
+    int clearPromotion(@Param("promotionId") Integer promotionId, @Param("productIds") Collection<Integer> productIds);
 }
@@ -0,0 +1,54 @@
+package com.petstore.backend.repository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.petstore.backend.dto.ProductFilter;
+import com.petstore.backend.entity.Product;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Traduce el filtro GraphQL de productos a una {@link Specification} que se evalúa en la base de
+ * datos (índices de products: category_id, base_price, promotion_id)
+ */
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /**
+     * Specification equivalente al filtro; null si no hay filtro
+     * @throws IllegalArgumentException si el rango de precios es inválido
+     */
+    public static Specification<Product> matching(ProductFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        Integer categoryId = filter.getCategoryId();
+        Double minPrice = filter.getMinPrice();
+        Double maxPrice = filter.getMaxPrice();
+        Boolean onPromotion = filter.getOnPromotion();
+        if (minPrice != null && maxPrice != null && minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice");
+        }
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (categoryId != null) {
+                predicates.add(cb.equal(root.get("category").get("categoryId"), categoryId));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("basePrice"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("basePrice"), maxPrice));
+            }
+            if (onPromotion != null) {
+                predicates.add(onPromotion ? cb.isNotNull(root.get("promotion")) : cb.isNull(root.get("promotion")));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+}
@@ -1,21 +1,35 @@
 package com.petstore.backend.repository;
 
 import java.time.ZonedDateTime;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.petstore.backend.dto.PromotionDeletedDTO;
 import com.petstore.backend.entity.PromotionDeleted;
 
 @Repository
 public interface PromotionDeletedRepository extends JpaRepository<PromotionDeleted, Integer> {
     
+    String TRASH_PROJECTION =
+            "SELECT new com.petstore.backend.dto.PromotionDeletedDTO(pd.promotionId, pd.promotionName, " +
+            "pd.description, pd.startDate, pd.endDate, pd.discountValue, s.statusName, u.userName, " +
+            "c.categoryName, pd.deletedAt, d.userName, " +
+            "cast(greatest(0, floor((:retentionSeconds - ((current_timestamp - pd.deletedAt) by second)) / 86400.0)) as Integer)) " +
+            "FROM PromotionDeleted pd LEFT JOIN pd.status s LEFT JOIN pd.user u " +
+            "LEFT JOIN pd.category c LEFT JOIN pd.deletedBy d ";
+    
     /**
      * Busca promociones eliminadas por usuario que las eliminó
      */
+    @EntityGraph(PromotionDeleted.WITH_RELATIONS)
     @Query("SELECT pd FROM PromotionDeleted pd WHERE pd.deletedBy.userId = :userId ORDER BY pd.deletedAt DESC")
     List<PromotionDeleted> findByDeletedByUserId(@Param("userId") Integer userId);
     
@@ -26,17 +40,76 @@ public interface PromotionDeletedRepository extends JpaRepository<PromotionDelet
     List<PromotionDeleted> findRecentlyDeleted(@Param("cutoffDate") ZonedDateTime cutoffDate);
     
     /**
-     * Busca promociones eliminadas que se pueden restaurar (menos de 30 días)
+     * Busca promociones eliminadas que se pueden restaurar (dentro de la retención de la papelera)
      */
+    @EntityGraph(PromotionDeleted.WITH_RELATIONS)
     @Query("SELECT pd FROM PromotionDeleted pd WHERE pd.deletedAt >= :thirtyDaysAgo ORDER BY pd.deletedAt DESC")
     List<PromotionDeleted> findRestorable(@Param("thirtyDaysAgo") ZonedDateTime thirtyDaysAgo);
     
     /**
-     * Busca promociones eliminadas que deben ser purgadas (más de 30 días)
+     * Papelera restaurable como proyección: una sola consulta con las columnas del DTO, sin cargar entidades.
+     * Los días hasta la purga se calculan en SQL a partir de la retención en segundos.
+     */
+    @Query(TRASH_PROJECTION + "WHERE pd.deletedAt >= :cutoff ORDER BY pd.deletedAt DESC")
+    List<PromotionDeletedDTO> findRestorableSummaries(@Param("cutoff") ZonedDateTime cutoff,
+                                                      @Param("retentionSeconds") long retentionSeconds);
+    
+    /**
+     * Promociones eliminadas por un usuario como proyección, igual que {@link #findRestorableSummaries}
+     */
+    @Query(TRASH_PROJECTION + "WHERE d.userId = :userId ORDER BY pd.deletedAt DESC")
+    List<PromotionDeletedDTO> findSummariesByDeletedByUserId(@Param("userId") Integer userId,
+                                                             @Param("retentionSeconds") long retentionSeconds);
+    
+    /**
+     * Busca promociones eliminadas que deben ser purgadas (fuera de la retención de la papelera)
      */
     @Query("SELECT pd FROM PromotionDeleted pd WHERE pd.deletedAt < :thirtyDaysAgo ORDER BY pd.deletedAt ASC")
     List<PromotionDeleted> findPurgeable(@Param("thirtyDaysAgo") ZonedDateTime thirtyDaysAgo);
     
+    /**
+     * IDs de un lote de promociones a purgar, las más antiguas primero
+     */
+    @Query("SELECT pd.promotionId FROM PromotionDeleted pd WHERE pd.deletedAt < :cutoff ORDER BY pd.deletedAt ASC")
+    List<Integer> findPurgeableIds(@Param("cutoff") ZonedDateTime cutoff, Pageable pageable);
+    
+    /**
+     * Cuenta promociones eliminadas que deben ser purgadas
+     */
+    @Query("SELECT COUNT(pd) FROM PromotionDeleted pd WHERE pd.deletedAt < :cutoff")
+    long countPurgeable(@Param("cutoff") ZonedDateTime cutoff);
+    
+    /**
+     * Purga un lote; vuelve a verificar la fecha por si alguna se restauró o cambió entre medio
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PromotionDeleted pd WHERE pd.promotionId IN :ids AND pd.deletedAt < :cutoff")
+    int deletePurgeable(@Param("ids") Collection<Integer> ids, @Param("cutoff") ZonedDateTime cutoff);
+    
+    /**
+     * Fecha de eliminación de las promociones indicadas que están en la papelera: filas [promotionId, deletedAt]
+     */
+    @Query("SELECT pd.promotionId, pd.deletedAt FROM PromotionDeleted pd WHERE pd.promotionId IN :ids")
+    List<Object[]> findDeletedAtByPromotionIdIn(@Param("ids") Collection<Integer> ids);
+    
+    /**
+     * Reinserta en promotions las promociones indicadas con su ID original, en un solo INSERT ... SELECT
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO public.promotions (promotion_id, promotion_name, description, start_date, end_date, " +
+                   "discount_value, status_id, user_id, category_id) " +
+                   "SELECT promotion_id, promotion_name, description, start_date, end_date, " +
+                   "discount_value, status_id, user_id, category_id " +
+                   "FROM public.promotions_deleted WHERE promotion_id IN (:ids)", nativeQuery = true)
+    int restoreIntoPromotions(@Param("ids") Collection<Integer> ids);
+    
+    /**
+     * Quita de la papelera las promociones indicadas
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM PromotionDeleted pd WHERE pd.promotionId IN :ids")
+    int deleteByPromotionIdIn(@Param("ids") Collection<Integer> ids);
+    
     /**
      * Cuenta promociones eliminadas por un usuario específico
      */
@@ -1,41 +1,136 @@
 package com.petstore.backend.repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.petstore.backend.dto.PromotionExportDTO;
 import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface PromotionRepository extends JpaRepository<Promotion, Integer> {
+public interface PromotionRepository extends JpaRepository<Promotion, Integer>, JpaSpecificationExecutor<Promotion> {
     
-    // Buscar promociones activas
-    @Query("SELECT p FROM Promotion p WHERE p.status.statusName = 'ACTIVE'")
+    // Buscar promociones activas (con sus relaciones, porque se guardan en el índice en memoria)
+    @Query("SELECT p FROM Promotion p JOIN FETCH p.status s LEFT JOIN FETCH p.category " +
+           "LEFT JOIN FETCH p.user WHERE s.statusName = 'ACTIVE'")
     List<Promotion> findActivePromotions();
     
+    // Exportación: filas planas leídas de a ProductRepository.EXPORT_FETCH_SIZE, sin entidades en el
+    // contexto de persistencia. Debe consumirse dentro de una transacción (y cerrarse)
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = ProductRepository.EXPORT_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.petstore.backend.dto.PromotionExportDTO(p.promotionId, p.promotionName, p.description, " +
+           "p.startDate, p.endDate, p.discountValue, s.statusName, c.categoryId, c.categoryName) " +
+           "FROM Promotion p LEFT JOIN p.status s LEFT JOIN p.category c ORDER BY p.promotionId")
+    Stream<PromotionExportDTO> streamExportRows();
+
+    // Todas las promociones para PromotionDTO (estado y categoría en el mismo SELECT)
+    @EntityGraph(Promotion.WITH_STATUS_AND_CATEGORY)
+    @Query("SELECT p FROM Promotion p")
+    List<Promotion> findAllWithStatusAndCategory();
+    
+    // Todas las promociones para las listas GraphQL (estado, categoría y usuario en el mismo SELECT)
+    @EntityGraph(Promotion.WITH_RELATIONS)
+    @Query("SELECT p FROM Promotion p")
+    List<Promotion> findAllWithRelations();
+    
+    // IDs existentes, para validar referencias en la importación masiva de productos
+    @Query("SELECT p.promotionId FROM Promotion p")
+    List<Integer> findAllIds();
+    
     // Buscar promociones expiradas
+    @EntityGraph(Promotion.WITH_RELATIONS)
     @Query("SELECT p FROM Promotion p WHERE p.status.statusName = 'EXPIRED'")
     List<Promotion> findExpiredPromotions();
     
     // Buscar promociones programadas
+    @EntityGraph(Promotion.WITH_RELATIONS)
     @Query("SELECT p FROM Promotion p WHERE p.status.statusName = 'SCHEDULE'")
     List<Promotion> findScheduledPromotions();
     
+    // Promociones cuyo estado ya no corresponde a sus fechas (motor de transiciones)
+    @Query("SELECT p FROM Promotion p JOIN FETCH p.status s LEFT JOIN FETCH p.category LEFT JOIN FETCH p.user " +
+           "WHERE (s.statusName IN ('SCHEDULE', 'ACTIVE') AND p.endDate < :today) " +
+           "OR (s.statusName = 'SCHEDULE' AND p.startDate <= :today) " +
+           "OR (s.statusName = 'ACTIVE' AND p.startDate > :today)")
+    List<Promotion> findDueStatusTransitions(@Param("today") LocalDate today);
+    
+    // Transiciones por lote: vencidas -> EXPIRED. Solo las leídas, y solo si siguen en el estado de origen
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Promotion p SET p.status = :expired WHERE p.promotionId IN :ids " +
+           "AND p.status IN :sources AND p.endDate < :today")
+    int expirePromotions(@Param("expired") Status expired, @Param("sources") Collection<Status> sources,
+                         @Param("today") LocalDate today, @Param("ids") Collection<Integer> ids);
+    
+    // Transiciones por lote: SCHEDULE que ya empezaron -> ACTIVE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Promotion p SET p.status = :active WHERE p.promotionId IN :ids AND p.status = :scheduled " +
+           "AND p.startDate <= :today AND p.endDate >= :today")
+    int activatePromotions(@Param("active") Status active, @Param("scheduled") Status scheduled,
+                           @Param("today") LocalDate today, @Param("ids") Collection<Integer> ids);
+    
+    // Transiciones por lote: ACTIVE que todavía no empiezan -> SCHEDULE
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Promotion p SET p.status = :scheduled WHERE p.promotionId IN :ids AND p.status = :active " +
+           "AND p.startDate > :today")
+    int reschedulePromotions(@Param("scheduled") Status scheduled, @Param("active") Status active,
+                             @Param("today") LocalDate today, @Param("ids") Collection<Integer> ids);
+    
+    // Estado actual (promotionId, statusName) de las promociones indicadas
+    @Query("SELECT p.promotionId, s.statusName FROM Promotion p LEFT JOIN p.status s WHERE p.promotionId IN :ids")
+    List<Object[]> findStatusNamesByPromotionIdIn(@Param("ids") Collection<Integer> ids);
+    
+    // IDs (de los indicados) que ya existen como promoción
+    @Query("SELECT p.promotionId FROM Promotion p WHERE p.promotionId IN :ids")
+    List<Integer> findExistingIds(@Param("ids") Collection<Integer> ids);
+    
+    // Promociones por ID con sus relaciones (para eventos emitidos fuera de la sesión)
+    @Query("SELECT p FROM Promotion p JOIN FETCH p.status LEFT JOIN FETCH p.category LEFT JOIN FETCH p.user " +
+           "WHERE p.promotionId IN :ids")
+    List<Promotion> findWithRelationsByPromotionIdIn(@Param("ids") Collection<Integer> ids);
+    
     // Buscar promociones por estado específico
+    @EntityGraph(Promotion.WITH_RELATIONS)
     @Query("SELECT p FROM Promotion p WHERE p.status.statusName = :statusName")
     List<Promotion> findByStatusName(@Param("statusName") String statusName);
     
-    // Buscar promociones por categoría
+    // Buscar promociones por categoría (PromotionDTO)
+    @EntityGraph(Promotion.WITH_STATUS_AND_CATEGORY)
     List<Promotion> findByCategoryCategoryId(Integer categoryId);
     
+    // Una promoción con sus relaciones (respuestas GraphQL, que se resuelven fuera de la sesión)
+    @EntityGraph(Promotion.WITH_RELATIONS)
+    Optional<Promotion> findWithRelationsByPromotionId(Integer promotionId);
+    
+    // Buscar promociones por categoría (lista GraphQL)
+    @EntityGraph(Promotion.WITH_RELATIONS)
+    List<Promotion> findWithRelationsByCategoryCategoryId(Integer categoryId);
+    
+    // Buscar promociones de varias categorías en una sola consulta (IN), con sus relaciones
+    @EntityGraph(Promotion.WITH_RELATIONS)
+    List<Promotion> findByCategoryCategoryIdIn(Collection<Integer> categoryIds);
+    
     // Buscar promociones por usuario (Marketing Admin que las creó)
     List<Promotion> findByUserUserId(Integer userId);
     
     // Buscar promociones vigentes (fecha actual entre start y end)
+    @EntityGraph(Promotion.WITH_STATUS_AND_CATEGORY)
     @Query("SELECT p FROM Promotion p WHERE :currentDate BETWEEN p.startDate AND p.endDate")
     List<Promotion> findValidPromotions(@Param("currentDate") LocalDate currentDate);
     
@@ -0,0 +1,80 @@
+package com.petstore.backend.repository;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.petstore.backend.dto.PromotionFilter;
+import com.petstore.backend.entity.Promotion;
+
+import jakarta.persistence.criteria.Predicate;
+
+/**
+ * Traduce el filtro GraphQL de promociones a una {@link Specification} que se evalúa en la base de
+ * datos (índices de promotions: status_id, category_id, fechas y descuento)
+ */
+public final class PromotionSpecifications {
+
+    private PromotionSpecifications() {
+    }
+
+    /**
+     * Specification equivalente al filtro; null si no hay filtro
+     * @throws IllegalArgumentException si una fecha no es ISO o un rango es inválido
+     */
+    public static Specification<Promotion> matching(PromotionFilter filter) {
+        if (filter == null) {
+            return null;
+        }
+        String statusName = filter.getStatusName();
+        Integer categoryId = filter.getCategoryId();
+        Double minDiscount = filter.getMinDiscount();
+        Double maxDiscount = filter.getMaxDiscount();
+        LocalDate activeOn = parseDate("activeOn", filter.getActiveOn());
+        LocalDate startFrom = parseDate("startFrom", filter.getStartFrom());
+        LocalDate endTo = parseDate("endTo", filter.getEndTo());
+        if (minDiscount != null && maxDiscount != null && minDiscount > maxDiscount) {
+            throw new IllegalArgumentException("minDiscount must not be greater than maxDiscount");
+        }
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (statusName != null) {
+                predicates.add(cb.equal(root.get("status").get("statusName"), statusName));
+            }
+            if (categoryId != null) {
+                predicates.add(cb.equal(root.get("category").get("categoryId"), categoryId));
+            }
+            if (minDiscount != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("discountValue"), minDiscount));
+            }
+            if (maxDiscount != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("discountValue"), maxDiscount));
+            }
+            if (activeOn != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("startDate"), activeOn));
+                predicates.add(cb.greaterThanOrEqualTo(root.get("endDate"), activeOn));
+            }
+            if (startFrom != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("startDate"), startFrom));
+            }
+            if (endTo != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("endDate"), endTo));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static LocalDate parseDate(String field, String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid " + field + " date (expected yyyy-MM-dd): " + value, e);
+        }
+    }
+}
@@ -2,14 +2,18 @@ package com.petstore.backend.repository;
 
 import com.petstore.backend.entity.Status;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface StatusRepository extends JpaRepository<Status, Integer> {
     
-    // Buscar status por nombre
+    // Buscar status por nombre (resultado en la caché de consultas)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Status> findByStatusName(String statusName);
     
     // Verificar si existe un status con el nombre
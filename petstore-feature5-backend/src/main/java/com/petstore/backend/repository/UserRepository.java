@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 
 import com.petstore.backend.entity.User;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -26,4 +27,8 @@ public interface UserRepository extends JpaRepository<User, Integer> {
     // Buscar usuarios por rol
     @Query("SELECT u FROM User u JOIN u.role r WHERE r.roleName = :roleName")
     Optional<User> findByRoleName(@Param("roleName") String roleName);
+
+    // IDs existentes, para validar referencias en la importación masiva de promociones
+    @Query("SELECT u.userId FROM User u")
+    List<Integer> findAllIds();
 }
@@ -0,0 +1,163 @@
+package com.petstore.backend.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.petstore.backend.entity.Promotion;
+
+/**
+ * Índice inmutable en memoria de las promociones ACTIVE.
+ *
+ * Las promociones se guardan en un árbol de intervalos sobre [startDate, endDate]
+ * (uno global y uno por categoría), de modo que "vigentes en la fecha X" se resuelve
+ * en O(log n + k) sin ir a la base de datos. Nunca se modifica: cuando cambian las
+ * promociones se construye una instancia nueva y se reemplaza la referencia completa.
+ */
+public final class ActivePromotionIndex {
+
+    private final IntervalTree all;
+    private final Map<Integer, IntervalTree> byCategory;
+    private final Instant builtAt;
+
+    private ActivePromotionIndex(List<Promotion> promotions, Instant builtAt) {
+        this.all = new IntervalTree(promotions);
+        Map<Integer, List<Promotion>> grouped = new HashMap<>();
+        for (Promotion promotion : promotions) {
+            if (promotion.getCategory() != null) {
+                grouped.computeIfAbsent(promotion.getCategory().getCategoryId(), id -> new ArrayList<>())
+                        .add(promotion);
+            }
+        }
+        Map<Integer, IntervalTree> trees = new HashMap<>();
+        grouped.forEach((categoryId, list) -> trees.put(categoryId, new IntervalTree(list)));
+        this.byCategory = Collections.unmodifiableMap(trees);
+        this.builtAt = builtAt;
+    }
+
+    /**
+     * Construye el índice a partir de las promociones ACTIVE (las que no tienen fechas se ignoran)
+     */
+    public static ActivePromotionIndex of(List<Promotion> activePromotions) {
+        List<Promotion> indexable = activePromotions.stream()
+                .filter(p -> p.getStartDate() != null && p.getEndDate() != null)
+                .toList();
+        return new ActivePromotionIndex(indexable, Instant.now());
+    }
+
+    /**
+     * Todas las promociones ACTIVE del índice, ordenadas por startDate
+     */
+    public List<Promotion> all() {
+        return all.list();
+    }
+
+    /**
+     * Todas las promociones ACTIVE de la categoría, ordenadas por startDate
+     */
+    public List<Promotion> all(Integer categoryId) {
+        IntervalTree tree = byCategory.get(categoryId);
+        return tree != null ? tree.list() : List.of();
+    }
+
+    /**
+     * Promociones vigentes en la fecha indicada (startDate <= date <= endDate)
+     */
+    public List<Promotion> validOn(LocalDate date) {
+        return all.stab(date);
+    }
+
+    /**
+     * Promociones de la categoría vigentes en la fecha indicada
+     */
+    public List<Promotion> validOn(LocalDate date, Integer categoryId) {
+        IntervalTree tree = byCategory.get(categoryId);
+        return tree != null ? tree.stab(date) : List.of();
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    public Instant getBuiltAt() {
+        return builtAt;
+    }
+
+    /**
+     * Árbol de intervalos estático: arreglo ordenado por startDate recorrido como un BST
+     * balanceado implícito, donde cada nodo guarda el endDate máximo de su subárbol.
+     */
+    private static final class IntervalTree {
+
+        private final Promotion[] nodes;
+        private final LocalDate[] maxEnd;
+
+        IntervalTree(List<Promotion> promotions) {
+            this.nodes = promotions.toArray(new Promotion[0]);
+            // El ID desempata para que el orden de salida sea estable
+            Arrays.sort(nodes, Comparator.comparing(Promotion::getStartDate)
+                    .thenComparing(Promotion::getPromotionId, Comparator.nullsLast(Comparator.naturalOrder())));
+            this.maxEnd = new LocalDate[nodes.length];
+            computeMaxEnd(0, nodes.length - 1);
+        }
+
+        int size() {
+            return nodes.length;
+        }
+
+        List<Promotion> list() {
+            return List.of(nodes);
+        }
+
+        List<Promotion> stab(LocalDate date) {
+            List<Promotion> result = new ArrayList<>();
+            stab(0, nodes.length - 1, date, result);
+            return result;
+        }
+
+        private LocalDate computeMaxEnd(int lo, int hi) {
+            if (lo > hi) {
+                return null;
+            }
+            int mid = (lo + hi) >>> 1;
+            LocalDate max = nodes[mid].getEndDate();
+            LocalDate left = computeMaxEnd(lo, mid - 1);
+            LocalDate right = computeMaxEnd(mid + 1, hi);
+            if (left != null && left.isAfter(max)) {
+                max = left;
+            }
+            if (right != null && right.isAfter(max)) {
+                max = right;
+            }
+            maxEnd[mid] = max;
+            return max;
+        }
+
+        private void stab(int lo, int hi, LocalDate date, List<Promotion> result) {
+            if (lo > hi) {
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            // Ningún intervalo de este subárbol llega hasta la fecha
+            if (maxEnd[mid].isBefore(date)) {
+                return;
+            }
+            stab(lo, mid - 1, date, result);
+            Promotion node = nodes[mid];
+            // A la derecha todos empiezan igual o después: si este empieza tarde, ya no hay más
+            if (node.getStartDate().isAfter(date)) {
+                return;
+            }
+            if (!node.getEndDate().isBefore(date)) {
+                result.add(node);
+            }
+            stab(mid + 1, hi, date, result);
+        }
+    }
+}
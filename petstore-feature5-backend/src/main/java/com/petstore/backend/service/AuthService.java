@@ -47,7 +47,9 @@ public class AuthService implements UserDetailsService {
         }
 
         // Generar token JWT
-        String token = jwtUtil.generateToken(user.getEmail());
+        // El rol y el ID viajan firmados en el token: el filtro JWT no necesita consultar la BD
+        String roleName = user.getRole() != null ? user.getRole().getRoleName() : null;
+        String token = jwtUtil.generateToken(user.getEmail(), user.getUserId(), roleName);
         
         // Crear respuesta
         LoginResponse response = new LoginResponse();
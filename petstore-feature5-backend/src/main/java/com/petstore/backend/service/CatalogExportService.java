@@ -0,0 +1,153 @@
+package com.petstore.backend.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.backend.dto.ProductExportDTO;
+import com.petstore.backend.dto.PromotionExportDTO;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+
+/**
+ * Exportación completa del catálogo por streaming.
+ *
+ * Las filas salen de una consulta de proyección leída de a bloques (fetch size) y se escriben
+ * a medida que llegan: no se arma ninguna lista ni entidad, así que la memoria no depende de
+ * la cantidad de filas. Cada {@value #FLUSH_EVERY} filas se vacía el buffer para que el cliente
+ * reciba datos de forma continua.
+ */
+@Service
+public class CatalogExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogExportService.class);
+
+    static final int FLUSH_EVERY = 1_000;
+
+    private static final String[] PRODUCT_COLUMNS = {
+            "productId", "productName", "sku", "basePrice", "categoryId", "categoryName", "promotionId"
+    };
+    private static final String[] PROMOTION_COLUMNS = {
+            "promotionId", "promotionName", "description", "startDate", "endDate", "discountValue",
+            "statusName", "categoryId", "categoryName"
+    };
+
+    private final ProductRepository productRepository;
+    private final PromotionRepository promotionRepository;
+    private final ObjectMapper objectMapper;
+
+    public CatalogExportService(ProductRepository productRepository, PromotionRepository promotionRepository,
+                                ObjectMapper objectMapper) {
+        this.productRepository = productRepository;
+        this.promotionRepository = promotionRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Escribe todos los productos en el formato indicado; no cierra {@code out}
+     * @return cantidad de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportProducts(CatalogFormat format, OutputStream out) throws IOException {
+        try (Stream<ProductExportDTO> rows = productRepository.streamExportRows()) {
+            return write(rows, format, out, PRODUCT_COLUMNS, row -> new Object[] {
+                    row.getProductId(), row.getProductName(), row.getSku(), row.getBasePrice(),
+                    row.getCategoryId(), row.getCategoryName(), row.getPromotionId()
+            });
+        }
+    }
+
+    /**
+     * Escribe todas las promociones en el formato indicado; no cierra {@code out}
+     * @return cantidad de filas escritas
+     */
+    @Transactional(readOnly = true)
+    public long exportPromotions(CatalogFormat format, OutputStream out) throws IOException {
+        try (Stream<PromotionExportDTO> rows = promotionRepository.streamExportRows()) {
+            return write(rows, format, out, PROMOTION_COLUMNS, row -> new Object[] {
+                    row.getPromotionId(), row.getPromotionName(), row.getDescription(), row.getStartDate(),
+                    row.getEndDate(), row.getDiscountValue(), row.getStatusName(), row.getCategoryId(),
+                    row.getCategoryName()
+            });
+        }
+    }
+
+    private <T> long write(Stream<T> rows, CatalogFormat format, OutputStream out, String[] columns,
+                           Function<T, Object[]> values) throws IOException {
+        long start = System.nanoTime();
+        long count = format == CatalogFormat.CSV
+                ? writeCsv(rows.iterator(), out, columns, values)
+                : writeNdjson(rows.iterator(), out);
+        logger.info("Exported {} rows as {} in {} ms", count, format, (System.nanoTime() - start) / 1_000_000);
+        return count;
+    }
+
+    private long writeNdjson(Iterator<?> rows, OutputStream out) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            // El stream es de quien lo abrió (p. ej. la respuesta o el gzip que la envuelve)
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                generator.writeObject(rows.next());
+                generator.writeRaw('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+        }
+        return count;
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, OutputStream out, String[] columns,
+                              Function<T, Object[]> values) throws IOException {
+        long count = 0;
+        // Sin cerrar: cerrar el writer cerraría también el stream de destino
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, columns);
+        while (rows.hasNext()) {
+            writeCsvLine(writer, values.apply(rows.next()));
+            if (++count % FLUSH_EVERY == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Campo CSV (RFC 4180): entre comillas si tiene separadores, comillas o saltos de línea
+     */
+    static String csvField(String value) {
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        return quote ? '"' + value.replace("\"", "\"\"") + '"' : value;
+    }
+}
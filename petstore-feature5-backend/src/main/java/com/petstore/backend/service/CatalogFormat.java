@@ -0,0 +1,59 @@
+package com.petstore.backend.service;
+
+import java.util.Locale;
+
+/**
+ * Formatos de intercambio del catálogo (exportación e importación por streaming)
+ */
+public enum CatalogFormat {
+    // Un objeto JSON por línea
+    NDJSON("application/x-ndjson", "ndjson"),
+    // RFC 4180, con fila de encabezados
+    CSV("text/csv", "csv");
+
+    private final String contentType;
+    private final String extension;
+
+    CatalogFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /**
+     * Interpreta el parámetro {@code format} (NDJSON por defecto)
+     * @throws IllegalArgumentException si el formato no existe
+     */
+    public static CatalogFormat parse(String format) {
+        if (format == null || format.isBlank()) {
+            return NDJSON;
+        }
+        try {
+            return valueOf(format.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported catalog format: " + format, e);
+        }
+    }
+
+    /**
+     * Formato de un cuerpo recibido: el parámetro {@code format} manda; si falta, se deduce del
+     * Content-Type (CSV para text/csv, NDJSON en cualquier otro caso)
+     * @throws IllegalArgumentException si el formato no existe
+     */
+    public static CatalogFormat resolve(String format, String contentType) {
+        if (format != null && !format.isBlank()) {
+            return parse(format);
+        }
+        if (contentType != null && contentType.toLowerCase(Locale.ROOT).startsWith(CSV.contentType)) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+}
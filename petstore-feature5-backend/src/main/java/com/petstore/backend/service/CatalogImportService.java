@@ -0,0 +1,370 @@
+package com.petstore.backend.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.backend.dto.CatalogImportReport;
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+import com.petstore.backend.repository.UserRepository;
+
+/**
+ * Importación masiva del catálogo desde CSV o NDJSON (mismas columnas que la exportación).
+ *
+ * El archivo se lee fila por fila; las referencias (estado, categoría, usuario, promoción, SKU)
+ * se resuelven contra mapas cargados una sola vez al empezar, no con un {@code findById} por fila.
+ * Las filas válidas se insertan por COPY o en lotes JDBC ({@link BulkInsert}) y las inválidas
+ * quedan en el reporte con su línea y motivo. Todo ocurre en una transacción: si la base rechaza
+ * algo, no queda una importación a medias.
+ *
+ * Las promociones importadas no publican un evento por fila en {@code PromotionEventBus}: un archivo
+ * grande desbordaría el buffer de cada suscriptor. Los clientes se enteran por la versión del catálogo
+ * (ETag), que cambia al confirmar la importación.
+ */
+@Service
+public class CatalogImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CatalogImportService.class);
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+    private static final int MAX_NAME_LENGTH = 255;
+    static final int MAX_DESCRIPTION_LENGTH = 2_000;
+
+    private static final String[] PROMOTION_COLUMNS = {
+            "promotion_name", "description", "start_date", "end_date", "discount_value",
+            "status_id", "user_id", "category_id"
+    };
+    private static final int[] PROMOTION_TYPES = {
+            Types.VARCHAR, Types.VARCHAR, Types.DATE, Types.DATE, Types.DOUBLE,
+            Types.INTEGER, Types.INTEGER, Types.INTEGER
+    };
+    private static final String[] PRODUCT_COLUMNS = {
+            "product_name", "base_price", "sku", "category_id", "promotion_id"
+    };
+    private static final int[] PRODUCT_TYPES = {
+            Types.VARCHAR, Types.DOUBLE, Types.INTEGER, Types.INTEGER, Types.INTEGER
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DataSource dataSource;
+    private final ObjectMapper objectMapper;
+    private final StatusRepository statusRepository;
+    private final CategoryRepository categoryRepository;
+    private final UserRepository userRepository;
+    private final PromotionRepository promotionRepository;
+    private final ProductRepository productRepository;
+    private final PromotionService promotionService;
+    private final ProductSearchService productSearchService;
+    private final ProductPriceRangeService productPriceRangeService;
+    private final CatalogVersions catalogVersions;
+    private final boolean copyEnabled;
+
+    public CatalogImportService(JdbcTemplate jdbcTemplate, DataSource dataSource, ObjectMapper objectMapper,
+                                StatusRepository statusRepository, CategoryRepository categoryRepository,
+                                UserRepository userRepository, PromotionRepository promotionRepository,
+                                ProductRepository productRepository, PromotionService promotionService,
+                                ProductSearchService productSearchService,
+                                ProductPriceRangeService productPriceRangeService, CatalogVersions catalogVersions,
+                                @Value("${app.import.copy.enabled:true}") boolean copyEnabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.dataSource = dataSource;
+        this.objectMapper = objectMapper;
+        this.statusRepository = statusRepository;
+        this.categoryRepository = categoryRepository;
+        this.userRepository = userRepository;
+        this.promotionRepository = promotionRepository;
+        this.productRepository = productRepository;
+        this.promotionService = promotionService;
+        this.productSearchService = productSearchService;
+        this.productPriceRangeService = productPriceRangeService;
+        this.catalogVersions = catalogVersions;
+        this.copyEnabled = copyEnabled;
+    }
+
+    /**
+     * Importa promociones. Columnas: promotionName, description, startDate, endDate (ISO),
+     * discountValue, statusName o statusId, categoryId o categoryName, userId (opcional)
+     * @throws IllegalArgumentException si el archivo no se puede leer como {@code format}
+     */
+    @Transactional
+    public CatalogImportReport importPromotions(CatalogFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        References references = loadReferences();
+        Set<Integer> userIds = new HashSet<>(userRepository.findAllIds());
+
+        CatalogImportReport report = run(format, in, "promotions", PROMOTION_COLUMNS, PROMOTION_TYPES,
+                row -> promotionValues(row, references, userIds));
+        if (report.getImportedRows() > 0) {
+            promotionService.invalidateActivePromotionIndex();
+        }
+        logger.info("Imported {} of {} promotions ({}) in {} ms", report.getImportedRows(), report.getTotalRows(),
+                report.getInsertMode(), (System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    /**
+     * Importa productos. Columnas: productName, sku (único), basePrice, categoryId o categoryName,
+     * promotionId (opcional)
+     * @throws IllegalArgumentException si el archivo no se puede leer como {@code format}
+     */
+    @Transactional
+    public CatalogImportReport importProducts(CatalogFormat format, InputStream in) throws IOException {
+        long start = System.nanoTime();
+        References references = loadReferences();
+        Set<Integer> promotionIds = new HashSet<>(promotionRepository.findAllIds());
+        SkuRegistry skus = new SkuRegistry(productRepository.findAllSkus());
+
+        CatalogImportReport report = run(format, in, "products", PRODUCT_COLUMNS, PRODUCT_TYPES,
+                row -> productValues(row, references, promotionIds, skus));
+        if (report.getImportedRows() > 0) {
+            productSearchService.rebuildAfterCommit();
+            productPriceRangeService.rebuildAfterCommit();
+            catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.PRODUCTS);
+        }
+        logger.info("Imported {} of {} products ({}) in {} ms", report.getImportedRows(), report.getTotalRows(),
+                report.getInsertMode(), (System.nanoTime() - start) / 1_000_000);
+        return report;
+    }
+
+    /**
+     * Convierte una fila válida en los valores de la inserción
+     */
+    @FunctionalInterface
+    private interface RowValues {
+        Object[] map(ImportRowReader.Row row);
+    }
+
+    private CatalogImportReport run(CatalogFormat format, InputStream in, String table, String[] columns,
+                                    int[] sqlTypes, RowValues mapper) throws IOException {
+        try (ImportRowReader rows = ImportRowReader.open(format, in, objectMapper);
+             BulkInsert insert = BulkInsert.open(jdbcTemplate, dataSource, table, columns, sqlTypes,
+                     BATCH_SIZE, copyEnabled)) {
+            CatalogImportReport report = new CatalogImportReport(insert.mode().name());
+            for (ImportRowReader.Row row = rows.next(); row != null; row = rows.next()) {
+                if (row.error() != null) {
+                    report.rejected(row.line(), row.error(), MAX_REPORTED_ERRORS);
+                    continue;
+                }
+                Object[] values;
+                try {
+                    values = mapper.map(row);
+                } catch (IllegalArgumentException e) {
+                    report.rejected(row.line(), e.getMessage(), MAX_REPORTED_ERRORS);
+                    continue;
+                }
+                insert.add(values);
+                report.imported();
+            }
+            insert.finish();
+            return report;
+        }
+    }
+
+    private static Object[] promotionValues(ImportRowReader.Row row, References references, Set<Integer> userIds) {
+        String name = requiredText(row, "promotionName");
+        LocalDate startDate = requiredDate(row, "startDate");
+        LocalDate endDate = requiredDate(row, "endDate");
+        if (endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("endDate must not be before startDate");
+        }
+        Double discount = requiredDouble(row, "discountValue");
+        if (discount <= 0 || discount > 100) {
+            throw new IllegalArgumentException("discountValue must be greater than 0 and at most 100");
+        }
+        Integer statusId = references.status(row);
+        if (statusId == null) {
+            throw new IllegalArgumentException("statusName or statusId is required");
+        }
+        Integer userId = optionalInteger(row, "userId");
+        if (userId != null && !userIds.contains(userId)) {
+            throw new IllegalArgumentException("Unknown userId: " + userId);
+        }
+        String description = optionalText(row, "description", MAX_DESCRIPTION_LENGTH);
+        return new Object[] {
+                name, description, startDate, endDate, discount, statusId, userId, references.category(row)
+        };
+    }
+
+    private static Object[] productValues(ImportRowReader.Row row, References references, Set<Integer> promotionIds,
+                                          SkuRegistry skus) {
+        String name = requiredText(row, "productName");
+        Integer sku = optionalInteger(row, "sku");
+        if (sku == null) {
+            throw new IllegalArgumentException("sku is required");
+        }
+        Double basePrice = requiredDouble(row, "basePrice");
+        if (basePrice < 0) {
+            throw new IllegalArgumentException("basePrice must not be negative");
+        }
+        Integer categoryId = references.category(row);
+        if (categoryId == null) {
+            throw new IllegalArgumentException("categoryId or categoryName is required");
+        }
+        Integer promotionId = optionalInteger(row, "promotionId");
+        if (promotionId != null && !promotionIds.contains(promotionId)) {
+            throw new IllegalArgumentException("Unknown promotionId: " + promotionId);
+        }
+        // Último control: una fila rechazada antes no debe reservar su SKU
+        if (!skus.claim(sku)) {
+            throw new IllegalArgumentException("Duplicate sku: " + sku);
+        }
+        return new Object[] {name, basePrice, sku, categoryId, promotionId};
+    }
+
+    private References loadReferences() {
+        Set<Integer> statusIds = new HashSet<>();
+        Map<String, Integer> statusesByName = new HashMap<>();
+        for (Status status : statusRepository.findAll()) {
+            statusIds.add(status.getStatusId());
+            statusesByName.put(status.getStatusName().toUpperCase(Locale.ROOT), status.getStatusId());
+        }
+        Set<Integer> categoryIds = new HashSet<>();
+        Map<String, Integer> categoriesByName = new HashMap<>();
+        for (Category category : categoryRepository.findAll()) {
+            categoryIds.add(category.getCategoryId());
+            categoriesByName.put(category.getCategoryName().toLowerCase(Locale.ROOT), category.getCategoryId());
+        }
+        return new References(statusIds, statusesByName, categoryIds, categoriesByName);
+    }
+
+    /**
+     * Estados y categorías por ID y por nombre (sin distinguir mayúsculas)
+     */
+    private record References(Set<Integer> statusIds, Map<String, Integer> statusesByName,
+                              Set<Integer> categoryIds, Map<String, Integer> categoriesByName) {
+
+        // ID del estado de la fila (statusId o statusName), null si no trae ninguno
+        Integer status(ImportRowReader.Row row) {
+            return resolve(row, "status", statusIds, statusesByName, row.get("statusName") == null
+                    ? null : row.get("statusName").toUpperCase(Locale.ROOT));
+        }
+
+        // ID de la categoría de la fila (categoryId o categoryName), null si no trae ninguno
+        Integer category(ImportRowReader.Row row) {
+            return resolve(row, "category", categoryIds, categoriesByName, row.get("categoryName") == null
+                    ? null : row.get("categoryName").toLowerCase(Locale.ROOT));
+        }
+
+        private static Integer resolve(ImportRowReader.Row row, String reference, Set<Integer> ids,
+                                       Map<String, Integer> byName, String nameKey) {
+            Integer id = optionalInteger(row, reference + "Id");
+            if (id != null) {
+                if (!ids.contains(id)) {
+                    throw new IllegalArgumentException("Unknown " + reference + "Id: " + id);
+                }
+                return id;
+            }
+            if (nameKey == null) {
+                return null;
+            }
+            Integer byNameId = byName.get(nameKey);
+            if (byNameId == null) {
+                throw new IllegalArgumentException("Unknown " + reference + "Name: " + row.get(reference + "Name"));
+            }
+            return byNameId;
+        }
+    }
+
+    /**
+     * SKUs ya usados: los existentes en un arreglo ordenado (búsqueda binaria, sin un objeto por
+     * SKU) y los de este archivo en un conjunto aparte
+     */
+    private static final class SkuRegistry {
+
+        private final int[] existing;
+        private final Set<Integer> imported = new HashSet<>();
+
+        private SkuRegistry(List<Integer> existingSkus) {
+            existing = existingSkus.stream().mapToInt(Integer::intValue).sorted().toArray();
+        }
+
+        // true si el SKU estaba libre (y queda tomado)
+        boolean claim(int sku) {
+            return Arrays.binarySearch(existing, sku) < 0 && imported.add(sku);
+        }
+    }
+
+    private static String requiredText(ImportRowReader.Row row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        if (value.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException(column + " must be at most " + MAX_NAME_LENGTH + " characters");
+        }
+        return value;
+    }
+
+    private static String optionalText(ImportRowReader.Row row, String column, int maxLength) {
+        String value = row.get(column);
+        if (value != null && value.length() > maxLength) {
+            throw new IllegalArgumentException(column + " must be at most " + maxLength + " characters");
+        }
+        return value;
+    }
+
+    private static LocalDate requiredDate(ImportRowReader.Row row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException(column + " must be an ISO date (yyyy-MM-dd): " + value, e);
+        }
+    }
+
+    private static Double requiredDouble(ImportRowReader.Row row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            throw new IllegalArgumentException(column + " is required");
+        }
+        try {
+            double parsed = Double.parseDouble(value);
+            if (!Double.isFinite(parsed)) {
+                throw new NumberFormatException();
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number: " + value, e);
+        }
+    }
+
+    private static Integer optionalInteger(ImportRowReader.Row row, String column) {
+        String value = row.get(column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be an integer: " + value, e);
+        }
+    }
+}
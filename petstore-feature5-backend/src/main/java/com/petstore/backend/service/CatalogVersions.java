@@ -0,0 +1,102 @@
+package com.petstore.backend.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.petstore.backend.util.AfterCommit;
+
+/**
+ * Versión monótona por agregado del catálogo, para responder lecturas condicionales
+ * (ETag / If-None-Match) sin consultar la base de datos.
+ *
+ * Cada escritura de la capa de servicio incrementa la versión de su agregado después del commit.
+ * El ETag combina esas versiones con un ID de esta instancia (tras un reinicio o en otra instancia
+ * no coincide) y con una ventana de {@code max-staleness}, que acota cuánto puede sobrevivir un
+ * cambio hecho fuera de los servicios (triggers, otra instancia, el paso del día).
+ */
+@Component
+public class CatalogVersions {
+
+    public enum Aggregate {
+        CATEGORIES,
+        PRODUCTS,
+        PROMOTIONS
+    }
+
+    private final AtomicLongArray versions = new AtomicLongArray(Aggregate.values().length);
+    private final String instanceId = Long.toString(UUID.randomUUID().getMostSignificantBits() >>> 1, 36);
+    private final long windowMillis;
+    private final Clock clock;
+
+    @Autowired
+    public CatalogVersions(@Value("${app.catalog.etag.max-staleness:PT5M}") Duration maxStaleness) {
+        this(maxStaleness, Clock.systemUTC());
+    }
+
+    CatalogVersions(Duration maxStaleness, Clock clock) {
+        this.windowMillis = Math.max(1, maxStaleness.toMillis());
+        this.clock = clock;
+    }
+
+    public long version(Aggregate aggregate) {
+        return versions.get(aggregate.ordinal());
+    }
+
+    /**
+     * Incrementa las versiones después del commit de la transacción actual (o ya, si no hay una):
+     * quien lea la versión nueva también ve los datos confirmados
+     */
+    public void bumpAfterCommit(Aggregate... aggregates) {
+        AfterCommit.run(() -> bump(aggregates));
+    }
+
+    /**
+     * ETag débil para una respuesta armada con los agregados indicados. Se calcula antes de leer los
+     * datos: si una escritura llega en el medio, el ETag queda viejo y la siguiente lectura los trae
+     */
+    public String etag(Aggregate... aggregates) {
+        StringBuilder tag = new StringBuilder("W/\"").append(instanceId)
+                .append('-').append(Long.toString(clock.millis() / windowMillis, 36));
+        for (Aggregate aggregate : aggregates) {
+            tag.append('-').append(Character.toLowerCase(aggregate.name().charAt(0)))
+                    .append(version(aggregate));
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * true si algún valor de If-None-Match coincide con el ETag (comparación débil, RFC 9110)
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        String opaque = opaqueTag(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*") || opaqueTag(value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Incrementa las versiones ya; para quien ya corre después del commit
+     */
+    public void bump(Aggregate... aggregates) {
+        for (Aggregate aggregate : aggregates) {
+            versions.incrementAndGet(aggregate.ordinal());
+        }
+    }
+
+    private static String opaqueTag(String etag) {
+        return etag.startsWith("W/") ? etag.substring(2) : etag;
+    }
+}
@@ -13,9 +13,14 @@ public class CategoryService {
 
     
     private final CategoryRepository categoryRepository; // Inyección de dependencia del repositorio de categorías
+    private final ReferenceDataCache referenceDataCache; // Invalidación de la caché de segundo nivel
+    private final CatalogVersions catalogVersions; // Versión de las categorías para ETag
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, ReferenceDataCache referenceDataCache,
+                           CatalogVersions catalogVersions) {
         this.categoryRepository = categoryRepository;
+        this.referenceDataCache = referenceDataCache;
+        this.catalogVersions = catalogVersions;
     }
 
 
@@ -37,7 +42,10 @@ public class CategoryService {
      * Guarda una categoría
      */
     public Category save(Category category) {
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        referenceDataCache.evictCategories();
+        catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.CATEGORIES);
+        return saved;
     }
 
     /**
@@ -45,6 +53,8 @@ public class CategoryService {
      */
     public void deleteById(Integer id) {
         categoryRepository.deleteById(id);
+        referenceDataCache.evictCategories();
+        catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.CATEGORIES);
     }
 
     /**
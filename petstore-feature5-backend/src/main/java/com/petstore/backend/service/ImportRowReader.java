@@ -0,0 +1,205 @@
+package com.petstore.backend.service;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Lectura incremental de un archivo de importación: entrega una fila por vez, sin cargar el
+ * archivo completo en memoria.
+ *
+ * Los valores se entregan como texto (vacío = {@code null}) indexados por nombre de columna,
+ * igual que en la exportación. Una fila mal formada se entrega con su error para que quede en
+ * el reporte; solo un CSV con una comilla sin cerrar corta la lectura.
+ */
+abstract class ImportRowReader implements Closeable {
+
+    /**
+     * Fila leída: número de línea donde empieza, valores por columna o error de formato
+     */
+    record Row(long line, Map<String, String> values, String error) {
+
+        String get(String column) {
+            return values.get(column);
+        }
+    }
+
+    protected final BufferedReader reader;
+    protected long lineNumber;
+
+    private ImportRowReader(InputStream in) {
+        this.reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    static ImportRowReader open(CatalogFormat format, InputStream in, ObjectMapper objectMapper) {
+        return format == CatalogFormat.CSV ? new Csv(in) : new Ndjson(in, objectMapper);
+    }
+
+    /**
+     * Siguiente fila, o {@code null} al final del archivo
+     * @throws IllegalArgumentException si el CSV no se puede seguir leyendo
+     */
+    abstract Row next() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * Un objeto JSON por línea; las líneas vacías se ignoran
+     */
+    private static final class Ndjson extends ImportRowReader {
+
+        private final ObjectMapper objectMapper;
+
+        private Ndjson(InputStream in, ObjectMapper objectMapper) {
+            super(in);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        Row next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+                lineNumber++;
+            } while (line.isBlank());
+
+            JsonNode node;
+            try {
+                node = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                return new Row(lineNumber, Map.of(), "Malformed JSON: " + e.getOriginalMessage());
+            }
+            if (node == null || !node.isObject()) {
+                return new Row(lineNumber, Map.of(), "Expected a JSON object");
+            }
+            Map<String, String> values = new HashMap<>();
+            for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+                Map.Entry<String, JsonNode> field = it.next();
+                JsonNode value = field.getValue();
+                if (!value.isNull()) {
+                    values.put(field.getKey(), blankToNull(value.isValueNode() ? value.asText() : value.toString()));
+                }
+            }
+            return new Row(lineNumber, values, null);
+        }
+    }
+
+    /**
+     * RFC 4180: la primera fila trae los nombres de columna; los campos entre comillas pueden
+     * contener comas, comillas dobles ("") y saltos de línea
+     */
+    private static final class Csv extends ImportRowReader {
+
+        private String[] header;
+
+        private Csv(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        Row next() throws IOException {
+            if (header == null) {
+                List<String> names = readRecord();
+                if (names == null) {
+                    return null;
+                }
+                // Sin la marca BOM que agregan algunas planillas al inicio del archivo
+                header = names.stream().map(name -> name.replace("\uFEFF", "").trim()).toArray(String[]::new);
+            }
+            long line = lineNumber + 1;
+            List<String> fields = readRecord();
+            while (fields != null && fields.size() == 1 && fields.get(0).isEmpty()) {
+                line = lineNumber + 1;
+                fields = readRecord();
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != header.length) {
+                return new Row(line, Map.of(), "Expected " + header.length + " fields but found " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.length; i++) {
+                String value = blankToNull(fields.get(i));
+                if (value != null) {
+                    values.put(header[i], value);
+                }
+            }
+            return new Row(line, values, null);
+        }
+
+        // Un registro completo (puede abarcar varias líneas), o null al final del archivo
+        private List<String> readRecord() throws IOException {
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+            long startLine = lineNumber + 1;
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (true) {
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("Unterminated quoted field starting at line " + startLine);
+                    }
+                    if (c == '"') {
+                        reader.mark(1);
+                        int following = reader.read();
+                        if (following == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            reader.reset();
+                        }
+                    } else {
+                        if (c == '\n') {
+                            lineNumber++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    if (c == '\r') {
+                        reader.mark(1);
+                        if (reader.read() != '\n') {
+                            reader.reset();
+                        }
+                    }
+                    lineNumber++;
+                    fields.add(field.toString());
+                    return fields;
+                } else {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+        }
+    }
+}
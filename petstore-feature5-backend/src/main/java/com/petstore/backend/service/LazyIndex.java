@@ -0,0 +1,111 @@
+package com.petstore.backend.service;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.petstore.backend.util.AfterCommit;
+
+/**
+ * Índice en memoria que se construye la primera vez que se usa y luego se mantiene con los
+ * cambios de la capa de servicio, aplicados después del commit.
+ *
+ * Mientras no se cargó, los cambios y las recargas se ignoran: la primera lectura lo construye
+ * ya con todo confirmado.
+ */
+final class LazyIndex<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(LazyIndex.class);
+
+    private final String name;
+    private final Supplier<T> loader;
+
+    // Lock y no synchronized: la carga hace JDBC y, con hilos virtuales, un monitor fijaría el hilo portador
+    private final ReentrantLock lock = new ReentrantLock();
+    private volatile T index;
+
+    /**
+     * @param query consulta de carga, en su propia transacción de solo lectura: nunca ve filas
+     *              sin confirmar de quien la dispara
+     * @param build arma el índice con el resultado, ya fuera de la transacción
+     */
+    <R> LazyIndex(String name, PlatformTransactionManager transactionManager,
+                  Supplier<R> query, Function<R, T> build) {
+        TransactionTemplate loadTransaction = new TransactionTemplate(transactionManager);
+        loadTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        loadTransaction.setReadOnly(true);
+        this.name = name;
+        this.loader = () -> build.apply(loadTransaction.execute(status -> query.get()));
+    }
+
+    /**
+     * Índice actual, cargándolo si todavía no existe
+     */
+    T get() {
+        T current = index;
+        if (current != null) {
+            return current;
+        }
+        lock.lock();
+        try {
+            if (index == null) {
+                index = load();
+            }
+            return index;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Aplica el cambio después del commit; devuelve el índice modificado o uno nuevo que lo reemplaza
+     */
+    void updateAfterCommit(UnaryOperator<T> change) {
+        AfterCommit.run(() -> update(change));
+    }
+
+    /**
+     * Descarta el índice actual y lo vuelve a construir desde la base de datos
+     */
+    void rebuild() {
+        lock.lock();
+        try {
+            index = load();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Reconstruye el índice después del commit, si ya estaba cargado
+     */
+    void reloadAfterCommit() {
+        AfterCommit.run(() -> update(current -> load()));
+    }
+
+    // Mismo lock que la construcción: un cambio que llega mientras se carga se aplica después
+    private void update(UnaryOperator<T> change) {
+        lock.lock();
+        try {
+            if (index != null) {
+                index = change.apply(index);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private T load() {
+        long start = System.nanoTime();
+        T loaded = loader.get();
+        logger.info("{} built in {} ms", name, (System.nanoTime() - start) / 1_000_000);
+        return loaded;
+    }
+}
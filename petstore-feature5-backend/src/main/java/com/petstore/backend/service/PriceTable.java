@@ -0,0 +1,80 @@
+package com.petstore.backend.service;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Tabla de precios en arreglos primitivos, ordenada por productId.
+ *
+ * Los precios se manejan en centavos ({@code long}) para que los totales sean exactos;
+ * la búsqueda es binaria sobre {@code productIds} y no crea objetos por consulta.
+ */
+final class PriceTable {
+
+    private final int[] productIds;
+    private final long[] baseCents;
+    private final double[] discountPercentages;
+    private final long[] unitCents;
+
+    private PriceTable(int size) {
+        this.productIds = new int[size];
+        this.baseCents = new long[size];
+        this.discountPercentages = new double[size];
+        this.unitCents = new long[size];
+    }
+
+    /**
+     * Construye la tabla a partir de las filas de {@code findPricingRowsByProductIdIn}.
+     * El descuento solo aplica si la promoción está ACTIVE y vigente en {@code date}.
+     */
+    static PriceTable of(List<Object[]> rows, LocalDate date) {
+        Object[][] sorted = rows.toArray(new Object[0][]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare((Integer) a[0], (Integer) b[0]));
+
+        PriceTable table = new PriceTable(sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            Object[] row = sorted[i];
+            long base = Math.round(((Double) row[1]) * 100);
+            double discount = isDiscountApplicable(row, date) ? clampPercentage((Double) row[2]) : 0.0;
+
+            table.productIds[i] = (Integer) row[0];
+            table.baseCents[i] = base;
+            table.discountPercentages[i] = discount;
+            table.unitCents[i] = Math.round(base * (100.0 - discount) / 100.0);
+        }
+        return table;
+    }
+
+    /**
+     * Posición del producto en la tabla, o un valor negativo si no existe
+     */
+    int indexOf(int productId) {
+        return Arrays.binarySearch(productIds, productId);
+    }
+
+    long baseCentsAt(int index) {
+        return baseCents[index];
+    }
+
+    double discountPercentageAt(int index) {
+        return discountPercentages[index];
+    }
+
+    long unitCentsAt(int index) {
+        return unitCents[index];
+    }
+
+    private static boolean isDiscountApplicable(Object[] row, LocalDate date) {
+        Double discount = (Double) row[2];
+        LocalDate start = (LocalDate) row[4];
+        LocalDate end = (LocalDate) row[5];
+        return discount != null && "ACTIVE".equals(row[3])
+                && start != null && end != null
+                && !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    private static double clampPercentage(double value) {
+        return Math.max(0.0, Math.min(100.0, value));
+    }
+}
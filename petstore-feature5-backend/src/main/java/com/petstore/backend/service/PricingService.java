@@ -0,0 +1,151 @@
+package com.petstore.backend.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.dto.PriceQuoteRequest;
+import com.petstore.backend.dto.PriceQuoteResponse;
+import com.petstore.backend.repository.ProductRepository;
+
+/**
+ * Motor de precios: calcula lo que realmente paga el cliente (precio base menos la promoción
+ * vigente del producto) para muchos productos a la vez, con una sola consulta a la base de datos.
+ */
+@Service
+public class PricingService {
+
+    public static final int MAX_QUOTE_LINES = 1000;
+
+    private final ProductRepository productRepository; // Inyección de dependencia del repositorio de productos
+
+    public PricingService(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Cotiza una lista de IDs (cantidad 1) o un carrito de producto × cantidad
+     * @throws IllegalArgumentException si la solicitud está vacía, es demasiado grande o tiene líneas inválidas
+     */
+    @Transactional(readOnly = true)
+    public PriceQuoteResponse quote(PriceQuoteRequest request) {
+        int[] productIds;
+        int[] quantities;
+        if (request != null && request.getItems() != null && !request.getItems().isEmpty()) {
+            List<PriceQuoteRequest.Item> items = request.getItems();
+            validateSize(items.size());
+            productIds = new int[items.size()];
+            quantities = new int[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                PriceQuoteRequest.Item item = items.get(i);
+                if (item == null || item.getProductId() == null) {
+                    throw new IllegalArgumentException("Item " + i + " has no productId");
+                }
+                int quantity = item.getQuantity() != null ? item.getQuantity() : 1;
+                if (quantity < 1) {
+                    throw new IllegalArgumentException("Quantity must be greater than zero for product " + item.getProductId());
+                }
+                productIds[i] = item.getProductId();
+                quantities[i] = quantity;
+            }
+        } else if (request != null && request.getProductIds() != null && !request.getProductIds().isEmpty()) {
+            validateSize(request.getProductIds().size());
+            productIds = toIntArray(request.getProductIds());
+            quantities = new int[productIds.length];
+            Arrays.fill(quantities, 1);
+        } else {
+            throw new IllegalArgumentException("Quote request must contain productIds or items");
+        }
+
+        PriceTable table = loadPriceTable(productIds);
+        return buildQuote(table, productIds, quantities);
+    }
+
+    /**
+     * Precio unitario con descuento para cada ID, en el mismo orden; {@code NaN} si el producto no existe
+     */
+    @Transactional(readOnly = true)
+    public double[] effectivePrices(int[] productIds) {
+        PriceTable table = loadPriceTable(productIds);
+        double[] prices = new double[productIds.length];
+        for (int i = 0; i < productIds.length; i++) {
+            int index = table.indexOf(productIds[i]);
+            prices[i] = index >= 0 ? table.unitCentsAt(index) / 100.0 : Double.NaN;
+        }
+        return prices;
+    }
+
+    private PriceTable loadPriceTable(int[] productIds) {
+        if (productIds.length == 0) {
+            return PriceTable.of(List.of(), LocalDate.now());
+        }
+        int[] distinct = Arrays.stream(productIds).distinct().toArray();
+        List<Integer> ids = new ArrayList<>(distinct.length);
+        for (int id : distinct) {
+            ids.add(id);
+        }
+        return PriceTable.of(productRepository.findPricingRowsByProductIdIn(ids), LocalDate.now());
+    }
+
+    private PriceQuoteResponse buildQuote(PriceTable table, int[] productIds, int[] quantities) {
+        // Primera pasada sobre arreglos: posiciones y totales, sin objetos por línea
+        int[] positions = new int[productIds.length];
+        long subtotalCents = 0;
+        long totalCents = 0;
+        int missing = 0;
+        for (int i = 0; i < productIds.length; i++) {
+            int index = table.indexOf(productIds[i]);
+            positions[i] = index;
+            if (index < 0) {
+                missing++;
+                continue;
+            }
+            subtotalCents += table.baseCentsAt(index) * quantities[i];
+            totalCents += table.unitCentsAt(index) * quantities[i];
+        }
+
+        // Segunda pasada: armar la respuesta
+        List<PriceQuoteResponse.Line> lines = new ArrayList<>(productIds.length - missing);
+        List<Integer> missingProductIds = new ArrayList<>(missing);
+        for (int i = 0; i < productIds.length; i++) {
+            int index = positions[i];
+            if (index < 0) {
+                missingProductIds.add(productIds[i]);
+                continue;
+            }
+            long unit = table.unitCentsAt(index);
+            lines.add(new PriceQuoteResponse.Line(productIds[i], quantities[i],
+                    toMoney(table.baseCentsAt(index)), table.discountPercentageAt(index),
+                    toMoney(unit), toMoney(unit * quantities[i])));
+        }
+        return new PriceQuoteResponse(lines, toMoney(subtotalCents), toMoney(subtotalCents - totalCents),
+                toMoney(totalCents), missingProductIds);
+    }
+
+    private static void validateSize(int size) {
+        if (size > MAX_QUOTE_LINES) {
+            throw new IllegalArgumentException("Quote request exceeds " + MAX_QUOTE_LINES + " lines: " + size);
+        }
+    }
+
+    private static int[] toIntArray(List<Integer> values) {
+        int[] result = new int[values.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer value = values.get(i);
+            if (value == null) {
+                throw new IllegalArgumentException("productIds must not contain null values");
+            }
+            result[i] = value;
+        }
+        return result;
+    }
+
+    private static BigDecimal toMoney(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
@@ -0,0 +1,287 @@
+package com.petstore.backend.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import com.petstore.backend.pagination.SortDirection;
+
+/**
+ * Índice inmutable en memoria de los precios de los productos.
+ *
+ * Arreglos primitivos paralelos ({@code double[]} de precios, {@code int[]} de IDs) ordenados
+ * por (precio, ID), uno global y uno por categoría: un rango de precios se resuelve con dos
+ * búsquedas binarias y se recorre en O(log n + k), en cualquiera de los dos sentidos y a
+ * partir de un cursor. Nunca se modifica: cada cambio genera una instancia nueva en una sola
+ * pasada de mezcla, copiando solo las categorías afectadas.
+ */
+public final class ProductPriceIndex {
+
+    private static final int NO_CATEGORY = Integer.MIN_VALUE;
+
+    private static final Comparator<Entry> ORDER =
+            Comparator.comparingDouble(Entry::price).thenComparingInt(Entry::productId);
+
+    private final Slice all;
+    // Categoría de cada posición de "all", para saber qué categoría tocar al quitar un producto
+    private final int[] categoryIds;
+    private final Map<Integer, Slice> byCategory;
+
+    /**
+     * Precio y categoría de un producto
+     */
+    public record Entry(int productId, double price, Integer categoryId) {
+    }
+
+    /**
+     * Productos de una página, con {@code limit} elementos como máximo
+     */
+    public record Page(List<Entry> entries, boolean hasNextPage) {
+    }
+
+    private ProductPriceIndex(Slice all, int[] categoryIds, Map<Integer, Slice> byCategory) {
+        this.all = all;
+        this.categoryIds = categoryIds;
+        this.byCategory = byCategory;
+    }
+
+    /**
+     * Construye el índice con los productos indicados
+     */
+    public static ProductPriceIndex of(Collection<Entry> entries) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        sorted.sort(ORDER);
+        Map<Integer, List<Entry>> grouped = new HashMap<>();
+        for (Entry entry : sorted) {
+            grouped.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>()).add(entry);
+        }
+        Map<Integer, Slice> byCategory = new HashMap<>();
+        grouped.forEach((categoryId, list) -> byCategory.put(categoryId, Slice.of(list)));
+        return new ProductPriceIndex(Slice.of(sorted), categoryIdsOf(sorted), byCategory);
+    }
+
+    /**
+     * Nuevo índice con los IDs indicados quitados y los productos agregados o reemplazados
+     * (si un ID aparece en ambos, queda la versión nueva)
+     */
+    public ProductPriceIndex updated(Collection<Entry> upserts, Collection<Integer> removedIds) {
+        Map<Integer, Entry> upsertById = new HashMap<>();
+        for (Entry entry : upserts) {
+            upsertById.put(entry.productId(), entry);
+        }
+        Set<Integer> replaced = new HashSet<>(removedIds);
+        replaced.addAll(upsertById.keySet());
+        List<Entry> added = new ArrayList<>(upsertById.values());
+        added.sort(ORDER);
+
+        // Categorías afectadas: donde estaban los productos quitados y donde quedan los nuevos
+        Set<Integer> touched = new HashSet<>();
+        for (int i = 0; i < all.size(); i++) {
+            if (replaced.contains(all.ids[i])) {
+                touched.add(categoryIds[i] == NO_CATEGORY ? null : categoryIds[i]);
+            }
+        }
+        if (touched.isEmpty() && added.isEmpty()) {
+            return this;
+        }
+        added.forEach(entry -> touched.add(entry.categoryId()));
+
+        Map<Integer, List<Entry>> addedByCategory = new HashMap<>();
+        for (Entry entry : added) {
+            addedByCategory.computeIfAbsent(entry.categoryId(), id -> new ArrayList<>()).add(entry);
+        }
+        Map<Integer, Slice> categories = new HashMap<>(byCategory);
+        for (Integer categoryId : touched) {
+            Slice current = byCategory.getOrDefault(categoryId, Slice.EMPTY);
+            Slice merged = current.merge(replaced, addedByCategory.getOrDefault(categoryId, List.of()), null, null);
+            if (merged.size() == 0) {
+                categories.remove(categoryId);
+            } else {
+                categories.put(categoryId, merged);
+            }
+        }
+        int[] mergedCategoryIds = new int[all.size() - countReplaced(replaced) + added.size()];
+        Slice merged = all.merge(replaced, added, categoryIds, mergedCategoryIds);
+        return new ProductPriceIndex(merged, mergedCategoryIds, categories);
+    }
+
+    private int countReplaced(Set<Integer> replaced) {
+        int count = 0;
+        for (int id : all.ids) {
+            if (replaced.contains(id)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Página de productos con precio en [minPrice, maxPrice] ordenada por (precio, ID)
+     *
+     * @param categoryId filtra por categoría (opcional)
+     * @param afterPrice precio de la última posición vista (opcional, junto con afterId)
+     * @param afterId ID de la última posición vista (opcional, junto con afterPrice)
+     */
+    public Page page(double minPrice, double maxPrice, Integer categoryId, SortDirection direction,
+                     Double afterPrice, Integer afterId, int limit) {
+        Slice slice = categoryId == null ? all : byCategory.get(categoryId);
+        if (slice == null || minPrice > maxPrice || limit < 1) {
+            return new Page(List.of(), false);
+        }
+        int from = slice.lowerBound(minPrice, Integer.MIN_VALUE);
+        int to = slice.upperBound(maxPrice, Integer.MAX_VALUE);
+        boolean descending = direction == SortDirection.DESC;
+        if (afterPrice != null && afterId != null) {
+            if (descending) {
+                to = Math.min(to, slice.lowerBound(afterPrice, afterId));
+            } else {
+                from = Math.max(from, slice.upperBound(afterPrice, afterId));
+            }
+        }
+        int available = Math.max(to - from, 0);
+        int count = Math.min(available, limit);
+        List<Entry> entries = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int i = descending ? to - 1 - n : from + n;
+            entries.add(new Entry(slice.ids[i], slice.prices[i], categoryId));
+        }
+        return new Page(entries, available > limit);
+    }
+
+    /**
+     * Cantidad de productos con precio en [minPrice, maxPrice], en O(log n)
+     */
+    public int count(double minPrice, double maxPrice, Integer categoryId) {
+        Slice slice = categoryId == null ? all : byCategory.get(categoryId);
+        if (slice == null || minPrice > maxPrice) {
+            return 0;
+        }
+        return Math.max(slice.upperBound(maxPrice, Integer.MAX_VALUE) - slice.lowerBound(minPrice, Integer.MIN_VALUE), 0);
+    }
+
+    public int size() {
+        return all.size();
+    }
+
+    private static int[] categoryIdsOf(List<Entry> entries) {
+        int[] result = new int[entries.size()];
+        for (int i = 0; i < result.length; i++) {
+            Integer categoryId = entries.get(i).categoryId();
+            result[i] = categoryId != null ? categoryId : NO_CATEGORY;
+        }
+        return result;
+    }
+
+    /**
+     * Precios e IDs ordenados por (precio, ID)
+     */
+    private static final class Slice {
+
+        static final Slice EMPTY = new Slice(new double[0], new int[0]);
+
+        private final double[] prices;
+        private final int[] ids;
+
+        private Slice(double[] prices, int[] ids) {
+            this.prices = prices;
+            this.ids = ids;
+        }
+
+        static Slice of(List<Entry> sorted) {
+            double[] prices = new double[sorted.size()];
+            int[] ids = new int[sorted.size()];
+            for (int i = 0; i < prices.length; i++) {
+                prices[i] = sorted.get(i).price();
+                ids[i] = sorted.get(i).productId();
+            }
+            return new Slice(prices, ids);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Mezcla en una pasada: omite los IDs reemplazados e intercala los nuevos (ya ordenados).
+         * Si se indican, copia también las categorías de cada posición.
+         */
+        Slice merge(Set<Integer> replaced, List<Entry> added, int[] categoryIds, int[] mergedCategoryIds) {
+            int kept = 0;
+            for (int id : ids) {
+                if (!replaced.contains(id)) {
+                    kept++;
+                }
+            }
+            double[] mergedPrices = new double[kept + added.size()];
+            int[] mergedIds = new int[mergedPrices.length];
+            int i = 0;
+            int j = 0;
+            int n = 0;
+            while (i < ids.length || j < added.size()) {
+                if (i < ids.length && replaced.contains(ids[i])) {
+                    i++;
+                    continue;
+                }
+                boolean takeAdded = i == ids.length
+                        || (j < added.size() && compare(i, added.get(j).price(), added.get(j).productId()) > 0);
+                if (takeAdded) {
+                    Entry entry = added.get(j++);
+                    mergedPrices[n] = entry.price();
+                    mergedIds[n] = entry.productId();
+                    if (mergedCategoryIds != null) {
+                        mergedCategoryIds[n] = entry.categoryId() != null ? entry.categoryId() : NO_CATEGORY;
+                    }
+                } else {
+                    mergedPrices[n] = prices[i];
+                    mergedIds[n] = ids[i];
+                    if (mergedCategoryIds != null) {
+                        mergedCategoryIds[n] = categoryIds[i];
+                    }
+                    i++;
+                }
+                n++;
+            }
+            return new Slice(mergedPrices, mergedIds);
+        }
+
+        // Primera posición con (precio, ID) >= (price, id)
+        int lowerBound(double price, int id) {
+            int lo = 0;
+            int hi = ids.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(mid, price, id) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        // Primera posición con (precio, ID) > (price, id)
+        int upperBound(double price, int id) {
+            int lo = 0;
+            int hi = ids.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (compare(mid, price, id) <= 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+
+        private int compare(int index, double price, int id) {
+            int byPrice = Double.compare(prices[index], price);
+            return byPrice != 0 ? byPrice : Integer.compare(ids[index], id);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.petstore.backend.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.KeysetPaginator;
+import com.petstore.backend.pagination.ProductSortField;
+import com.petstore.backend.pagination.SortDirection;
+import com.petstore.backend.repository.ProductRepository;
+
+/**
+ * Consultas de productos por rango de precios sobre {@link ProductPriceIndex}.
+ *
+ * El índice se construye la primera vez que se usa (una consulta de proyección) y luego se
+ * reemplaza por una copia actualizada en cada escritura de {@link ProductService}, después
+ * del commit; las lecturas nunca se bloquean. Los cursores tienen el mismo formato que los de
+ * {@link KeysetPaginator} con {@link ProductSortField#PRICE}.
+ */
+@Service
+public class ProductPriceRangeService {
+
+    private final ProductRepository productRepository;
+    private final LazyIndex<ProductPriceIndex> index;
+
+    public ProductPriceRangeService(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.index = new LazyIndex<>("Product price index", transactionManager,
+                productRepository::findPriceRows, ProductPriceRangeService::build);
+    }
+
+    /**
+     * Página de productos con precio en [minPrice, maxPrice], ordenados por precio (y por ID en empates)
+     *
+     * @param categoryId filtra por categoría (opcional)
+     * @param direction dirección (ASC por defecto)
+     * @param first tamaño de página (por defecto 20, máximo 100)
+     * @param after cursor del último producto de la página anterior (opcional)
+     * @throws IllegalArgumentException si falta un límite, el rango está invertido o el cursor no es válido
+     */
+    public CursorPage<Product> findPage(Double minPrice, Double maxPrice, Integer categoryId,
+                                        SortDirection direction, Integer first, String after) {
+        if (minPrice == null || maxPrice == null) {
+            throw new IllegalArgumentException("minPrice and maxPrice are required");
+        }
+        if (minPrice > maxPrice) {
+            throw new IllegalArgumentException("minPrice must not be greater than maxPrice: " + minPrice + " > " + maxPrice);
+        }
+        int pageSize = KeysetPaginator.resolvePageSize(first);
+        boolean hasCursor = after != null && !after.isBlank();
+        Double afterPrice = null;
+        Integer afterId = null;
+        if (hasCursor) {
+            KeysetPaginator.Position position = KeysetPaginator.decodePosition(ProductSortField.PRICE, after);
+            afterPrice = (Double) position.value();
+            afterId = position.id();
+        }
+
+        ProductPriceIndex.Page page = index.get().page(minPrice, maxPrice, categoryId,
+                direction != null ? direction : SortDirection.ASC, afterPrice, afterId, pageSize);
+        if (page.entries().isEmpty()) {
+            return new CursorPage<>(List.of(), false, hasCursor);
+        }
+
+        List<Integer> ids = page.entries().stream().map(ProductPriceIndex.Entry::productId).toList();
+        Map<Integer, Product> byId = new HashMap<>();
+        for (Product product : productRepository.findWithRelationsByProductIdIn(ids)) {
+            byId.put(product.getProductId(), product);
+        }
+        List<CursorPage.Edge<Product>> edges = new ArrayList<>(ids.size());
+        for (ProductPriceIndex.Entry entry : page.entries()) {
+            Product product = byId.get(entry.productId());
+            if (product != null) {
+                String cursor = KeysetPaginator.encodeCursor(ProductSortField.PRICE, entry.productId(), entry.price());
+                edges.add(new CursorPage.Edge<>(cursor, product));
+            }
+        }
+        return new CursorPage<>(edges, page.hasNextPage(), hasCursor);
+    }
+
+    /**
+     * Cantidad de productos con precio en [minPrice, maxPrice], resuelta solo con el índice
+     */
+    public int count(double minPrice, double maxPrice, Integer categoryId) {
+        return index.get().count(minPrice, maxPrice, categoryId);
+    }
+
+    /**
+     * Actualiza el precio y la categoría del producto guardado; dentro de una transacción se
+     * aplica recién después del commit
+     */
+    public void indexAfterCommit(Product product) {
+        Integer productId = product.getProductId();
+        Double price = product.getBasePrice();
+        Integer categoryId = product.getCategory() != null ? product.getCategory().getCategoryId() : null;
+        // Sin precio no entra en ningún rango: solo se quita la versión anterior
+        List<ProductPriceIndex.Entry> upserts = price == null ? List.of()
+                : List.of(new ProductPriceIndex.Entry(productId, price, categoryId));
+        index.updateAfterCommit(current -> current.updated(upserts, List.of(productId)));
+    }
+
+    /**
+     * Quita el producto eliminado; dentro de una transacción se aplica recién después del commit
+     */
+    public void removeAfterCommit(Integer productId) {
+        index.updateAfterCommit(current -> current.updated(List.of(), List.of(productId)));
+    }
+
+    /**
+     * Descarta el índice actual y lo vuelve a construir desde la base de datos; conviene después
+     * de cambios masivos, ya que cada actualización individual copia los arreglos
+     */
+    public void rebuild() {
+        index.rebuild();
+    }
+
+    /**
+     * Reconstruye el índice después del commit de la transacción actual, para altas masivas que
+     * no pasan por {@link ProductService#save}
+     */
+    public void rebuildAfterCommit() {
+        index.reloadAfterCommit();
+    }
+
+    private static ProductPriceIndex build(List<Object[]> rows) {
+        List<ProductPriceIndex.Entry> entries = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                entries.add(new ProductPriceIndex.Entry((Integer) row[0], (Double) row[1], (Integer) row[2]));
+            }
+        }
+        return ProductPriceIndex.of(entries);
+    }
+}
@@ -0,0 +1,451 @@
+package com.petstore.backend.service;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import com.petstore.backend.dto.ProductSuggestionDTO;
+
+/**
+ * Índice invertido en memoria sobre el nombre y el SKU de los productos.
+ *
+ * - Diccionarios ordenados de nombres completos, de palabras y de SKU: las búsquedas por
+ *   prefijo son un rango del diccionario, O(log n + k).
+ * - Trigramas del nombre: una búsqueda "contiene" recorre solo la lista de postings más corta
+ *   de los trigramas de la consulta y verifica cada candidato.
+ *
+ * Los resultados salen por niveles de relevancia (nombre exacto, SKU exacto, inicio del nombre,
+ * inicio de una palabra, inicio del SKU, resto del nombre) y la búsqueda se corta apenas junta
+ * {@code limit} resultados. Dentro de cada nivel van en orden alfabético del nombre (a igual
+ * nombre, por ID), salvo el inicio del SKU, que va en orden de SKU. Cada nivel elige sus primeros
+ * con un heap acotado; los de prefijo revisan como máximo {@link #MAX_CANDIDATES} candidatos y el
+ * de subcadena recorre toda la lista de postings más corta. Los textos se comparan en minúsculas
+ * y sin tildes.
+ *
+ * Se actualiza producto por producto; las lecturas comparten un read lock y las escrituras son
+ * exclusivas. Los postings están ordenados por slot, así que quitar un producto es una búsqueda
+ * binaria por lista.
+ */
+public final class ProductSearchIndex {
+
+    /**
+     * Tope de candidatos revisados por nivel de prefijo, para prefijos muy cortos
+     */
+    static final int MAX_CANDIDATES = 10_000;
+
+    private static final int GRAM = 3;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    // Los postings guardan posiciones densas de este arreglo, no IDs: sin boxing al verificar
+    private Document[] slots = new Document[16];
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int nextSlot;
+    private final Map<Integer, Integer> slotById = new HashMap<>();
+
+    private final NavigableMap<String, IntBag> names = new TreeMap<>();
+    private final NavigableMap<String, IntBag> words = new TreeMap<>();
+    private final NavigableMap<String, IntBag> skus = new TreeMap<>();
+    private final Map<String, IntBag> grams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Agrega o reemplaza un producto
+     */
+    public void put(Integer productId, String productName, Integer sku) {
+        String text = normalize(productName);
+        String skuText = sku != null ? sku.toString() : null;
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(productId);
+            Document document = new Document(productId, productName, text, skuText, sku);
+            if (slot != null) {
+                Document previous = slots[slot];
+                if (previous.text().equals(text) && Objects.equals(previous.skuText(), skuText)) {
+                    // Mismas claves: los postings no cambian
+                    slots[slot] = document;
+                    return;
+                }
+                unindex(slot);
+            } else {
+                slot = allocateSlot();
+                slotById.put(productId, slot);
+            }
+            slots[slot] = document;
+            index(slot);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un producto; no hace nada si no estaba indexado
+     */
+    public void remove(Integer productId) {
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.remove(productId);
+            if (slot != null) {
+                unindex(slot);
+                slots[slot] = null;
+                freeSlots.push(slot);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * IDs de los productos cuyo nombre contiene la consulta o cuyo SKU empieza por ella, ordenados
+     * por relevancia: nombre exacto, SKU exacto, inicio del nombre, inicio de una palabra, inicio
+     * del SKU y por último cualquier parte del nombre (solo desde 3 caracteres).
+     */
+    public List<Integer> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Set<Integer> found = new LinkedHashSet<>();
+            collect(single(names.get(q)), null, found, limit, MAX_CANDIDATES);
+            collect(single(skus.get(q)), null, found, limit, MAX_CANDIDATES);
+            collectInKeyOrder(names, q, found, limit);
+            // Palabras: el rango de la primera palabra, verificando la frase completa (las que empiezan
+            // el nombre ya salieron en el nivel anterior)
+            String firstWord = q.indexOf(' ') < 0 ? q : q.substring(0, q.indexOf(' '));
+            String wordPhrase = firstWord.length() < q.length() ? " " + q : null;
+            collect(range(words, firstWord), wordPhrase, found, limit, MAX_CANDIDATES);
+            collectInKeyOrder(skus, q, found, limit);
+            if (q.length() >= GRAM) {
+                // Sin tope: para devolver los primeros en orden alfabético hay que ver toda la lista
+                collect(single(shortestPostings(q)), q, found, limit, Integer.MAX_VALUE);
+            }
+            List<Integer> ids = new ArrayList<>(found.size());
+            for (Integer slot : found) {
+                ids.add(slots[slot].productId());
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Productos cuyo nombre, alguna palabra o el SKU empieza por el prefijo: primero los que
+     * empiezan así el nombre, luego los que lo tienen en otra palabra (ambos en orden alfabético) y
+     * por último por SKU. Con varias palabras, la última se completa y el resto se exige tal cual.
+     */
+    public List<ProductSuggestionDTO> autocomplete(String prefix, int limit) {
+        String p = normalize(prefix);
+        if (p.isEmpty() || limit < 1) {
+            return List.of();
+        }
+        String lastWord = p.substring(p.lastIndexOf(' ') + 1);
+        String phrase = lastWord.length() < p.length() ? p : null;
+        lock.readLock().lock();
+        try {
+            Set<Integer> found = new LinkedHashSet<>();
+            collectInKeyOrder(names, p, found, limit);
+            collect(range(words, lastWord), phrase, found, limit, MAX_CANDIDATES);
+            collectInKeyOrder(skus, p, found, limit);
+            List<ProductSuggestionDTO> suggestions = new ArrayList<>(found.size());
+            for (Integer slot : found) {
+                Document document = slots[slot];
+                suggestions.add(new ProductSuggestionDTO(document.productId(), document.productName(), document.sku()));
+            }
+            return suggestions;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Minúsculas, sin tildes y con cualquier separador reducido a un espacio
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    // Diccionarios cuya clave ya da el orden del nivel (nombre, SKU): lista por lista, en orden
+    private void collectInKeyOrder(NavigableMap<String, IntBag> dictionary, String prefix,
+                                   Set<Integer> found, int limit) {
+        int scanned = 0;
+        for (IntBag bag : range(dictionary, prefix)) {
+            if (found.size() >= limit || scanned >= MAX_CANDIDATES) {
+                return;
+            }
+            scanned += collect(List.of(bag), null, found, limit, MAX_CANDIDATES - scanned);
+        }
+    }
+
+    /**
+     * Agrega en orden alfabético los primeros candidatos del nivel que contienen el texto indicado
+     * (si hay), revisando como máximo {@code maxScanned} entradas; devuelve cuántas revisó
+     */
+    private int collect(Collection<IntBag> bags, String mustContain, Set<Integer> found, int limit, int maxScanned) {
+        int wanted = limit - found.size();
+        if (wanted <= 0) {
+            return 0;
+        }
+        // Heap con el peor candidato arriba; un producto puede estar en varias listas del nivel
+        PriorityQueue<Integer> best = new PriorityQueue<>(wanted, (a, b) -> compareSlots(b, a));
+        Set<Integer> candidates = new HashSet<>();
+        int scanned = 0;
+        for (IntBag bag : bags) {
+            for (int i = 0; i < bag.length(); i++) {
+                if (bag.removedAt(i)) {
+                    continue;
+                }
+                if (scanned >= maxScanned) {
+                    return finish(best, found, scanned);
+                }
+                scanned++;
+                int slot = bag.slotAt(i);
+                if (found.contains(slot) || candidates.contains(slot)
+                        || (mustContain != null && !slots[slot].text().contains(mustContain))) {
+                    continue;
+                }
+                if (best.size() < wanted) {
+                    best.add(slot);
+                    candidates.add(slot);
+                } else if (compareSlots(slot, best.peek()) < 0) {
+                    candidates.remove(best.poll());
+                    best.add(slot);
+                    candidates.add(slot);
+                }
+            }
+        }
+        return finish(best, found, scanned);
+    }
+
+    private int finish(PriorityQueue<Integer> best, Set<Integer> found, int scanned) {
+        Integer[] ordered = best.toArray(new Integer[0]);
+        Arrays.sort(ordered, this::compareSlots);
+        found.addAll(Arrays.asList(ordered));
+        return scanned;
+    }
+
+    private int compareSlots(int a, int b) {
+        Document first = slots[a];
+        Document second = slots[b];
+        int byText = first.text().compareTo(second.text());
+        return byText != 0 ? byText : first.productId().compareTo(second.productId());
+    }
+
+    private static Collection<IntBag> range(NavigableMap<String, IntBag> dictionary, String prefix) {
+        return dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private static Collection<IntBag> single(IntBag bag) {
+        return bag != null ? List.of(bag) : List.of();
+    }
+
+    // La lista más corta acota los candidatos; si falta algún trigrama no hay coincidencias
+    private IntBag shortestPostings(String q) {
+        IntBag shortest = null;
+        for (int i = 0; i + GRAM <= q.length(); i++) {
+            IntBag postings = grams.get(q.substring(i, i + GRAM));
+            if (postings == null) {
+                return null;
+            }
+            if (shortest == null || postings.size() < shortest.size()) {
+                shortest = postings;
+            }
+        }
+        return shortest;
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) {
+            return freeSlots.pop();
+        }
+        if (nextSlot == slots.length) {
+            slots = Arrays.copyOf(slots, slots.length * 2);
+        }
+        return nextSlot++;
+    }
+
+    private void index(int slot) {
+        Document document = slots[slot];
+        if (!document.text().isEmpty()) {
+            add(names, document.text(), slot);
+            for (String word : new HashSet<>(Arrays.asList(document.text().split(" ")))) {
+                add(words, word, slot);
+            }
+            for (String gram : gramsOf(document.text())) {
+                add(grams, gram, slot);
+            }
+        }
+        if (document.skuText() != null) {
+            add(skus, document.skuText(), slot);
+        }
+    }
+
+    private void unindex(int slot) {
+        Document document = slots[slot];
+        if (!document.text().isEmpty()) {
+            remove(names, document.text(), slot);
+            for (String word : new HashSet<>(Arrays.asList(document.text().split(" ")))) {
+                remove(words, word, slot);
+            }
+            for (String gram : gramsOf(document.text())) {
+                remove(grams, gram, slot);
+            }
+        }
+        if (document.skuText() != null) {
+            remove(skus, document.skuText(), slot);
+        }
+    }
+
+    private static void add(Map<String, IntBag> postings, String key, int slot) {
+        postings.computeIfAbsent(key, k -> new IntBag()).add(slot);
+    }
+
+    private static void remove(Map<String, IntBag> postings, String key, int slot) {
+        IntBag bag = postings.get(key);
+        if (bag != null && bag.remove(slot) && bag.size() == 0) {
+            postings.remove(key);
+        }
+    }
+
+    private static Set<String> gramsOf(String text) {
+        Set<String> result = new HashSet<>();
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            result.add(text.substring(i, i + GRAM));
+        }
+        return result;
+    }
+
+    private record Document(Integer productId, String productName, String text, String skuText, Integer sku) {
+    }
+
+    /**
+     * Postings sin boxing, ordenados por slot. Cada entrada es {@code slot << 1 | borrado}: quitar
+     * es una búsqueda binaria que marca la entrada, y las marcadas se compactan cuando pasan de la
+     * mitad (costo amortizado constante). Agregar un slot mayor que el último es O(1); un slot
+     * reutilizado se inserta en su posición o revive su entrada marcada.
+     */
+    private static final class IntBag {
+
+        private int[] values = new int[4];
+        private int length;
+        private int removed;
+
+        int size() {
+            return length - removed;
+        }
+
+        // Entradas, incluidas las marcadas como borradas
+        int length() {
+            return length;
+        }
+
+        int slotAt(int index) {
+            return values[index] >>> 1;
+        }
+
+        boolean removedAt(int index) {
+            return (values[index] & 1) != 0;
+        }
+
+        void add(int slot) {
+            int entry = slot << 1;
+            if (length == 0 || slotAt(length - 1) < slot) {
+                grow();
+                values[length++] = entry;
+                return;
+            }
+            int index = indexOf(slot);
+            if (index >= 0) {
+                if (removedAt(index)) {
+                    values[index] = entry;
+                    removed--;
+                }
+                return;
+            }
+            int at = -index - 1;
+            grow();
+            System.arraycopy(values, at, values, at + 1, length - at);
+            values[at] = entry;
+            length++;
+        }
+
+        boolean remove(int slot) {
+            int index = indexOf(slot);
+            if (index < 0 || removedAt(index)) {
+                return false;
+            }
+            values[index] |= 1;
+            removed++;
+            if (removed > length / 2) {
+                compact();
+            }
+            return true;
+        }
+
+        private int indexOf(int slot) {
+            int low = 0;
+            int high = length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int current = slotAt(mid);
+                if (current < slot) {
+                    low = mid + 1;
+                } else if (current > slot) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private void grow() {
+            if (length == values.length) {
+                values = Arrays.copyOf(values, length * 2);
+            }
+        }
+
+        private void compact() {
+            int live = 0;
+            for (int i = 0; i < length; i++) {
+                if (!removedAt(i)) {
+                    values[live++] = values[i];
+                }
+            }
+            length = live;
+            removed = 0;
+        }
+    }
+}
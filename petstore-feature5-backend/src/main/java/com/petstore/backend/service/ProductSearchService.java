@@ -0,0 +1,104 @@
+package com.petstore.backend.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.petstore.backend.dto.ProductSuggestionDTO;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.pagination.KeysetPaginator;
+import com.petstore.backend.repository.ProductRepository;
+
+/**
+ * Búsqueda de productos por nombre/SKU sobre {@link ProductSearchIndex}.
+ *
+ * El índice se construye la primera vez que se usa (una consulta de proyección) y luego se
+ * mantiene producto por producto desde {@link ProductService}, después del commit. Los
+ * resultados se cargan por ID, así que nunca se devuelve un producto que ya no existe.
+ */
+@Service
+public class ProductSearchService {
+
+    private final ProductRepository productRepository;
+    private final LazyIndex<ProductSearchIndex> index;
+
+    public ProductSearchService(ProductRepository productRepository, PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.index = new LazyIndex<>("Product search index", transactionManager,
+                productRepository::findSearchRows, ProductSearchService::build);
+    }
+
+    /**
+     * Productos que coinciden con la consulta, ordenados por relevancia
+     * @param limit cantidad máxima (por defecto 20, máximo 100)
+     */
+    public List<Product> search(String query, Integer limit) {
+        List<Integer> ids = index.get().search(query, KeysetPaginator.resolvePageSize(limit));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Product> byId = new HashMap<>();
+        for (Product product : productRepository.findWithRelationsByProductIdIn(ids)) {
+            byId.put(product.getProductId(), product);
+        }
+        return ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * Sugerencias por prefijo, resueltas solo con el índice
+     * @param limit cantidad máxima (por defecto 20, máximo 100)
+     */
+    public List<ProductSuggestionDTO> autocomplete(String prefix, Integer limit) {
+        return index.get().autocomplete(prefix, KeysetPaginator.resolvePageSize(limit));
+    }
+
+    /**
+     * Indexa el producto guardado; dentro de una transacción se aplica recién después del commit
+     */
+    public void indexAfterCommit(Product product) {
+        Integer productId = product.getProductId();
+        String productName = product.getProductName();
+        Integer sku = product.getSku();
+        index.updateAfterCommit(current -> {
+            current.put(productId, productName, sku);
+            return current;
+        });
+    }
+
+    /**
+     * Quita el producto eliminado; dentro de una transacción se aplica recién después del commit
+     */
+    public void removeAfterCommit(Integer productId) {
+        index.updateAfterCommit(current -> {
+            current.remove(productId);
+            return current;
+        });
+    }
+
+    /**
+     * Descarta el índice actual y lo vuelve a construir desde la base de datos
+     */
+    public void rebuild() {
+        index.rebuild();
+    }
+
+    /**
+     * Reconstruye el índice después del commit de la transacción actual, para altas masivas que
+     * no pasan por {@link ProductService#save}
+     */
+    public void rebuildAfterCommit() {
+        index.reloadAfterCommit();
+    }
+
+    private static ProductSearchIndex build(List<Object[]> rows) {
+        ProductSearchIndex loaded = new ProductSearchIndex();
+        for (Object[] row : rows) {
+            loaded.put((Integer) row[0], (String) row[1], (Integer) row[2]);
+        }
+        return loaded;
+    }
+}
@@ -4,10 +4,16 @@ package com.petstore.backend.service;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.petstore.backend.dto.ProductSuggestionDTO;
 import com.petstore.backend.entity.Product;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.KeysetPaginator;
+import com.petstore.backend.pagination.ProductSortField;
+import com.petstore.backend.pagination.SortDirection;
 import com.petstore.backend.repository.ProductRepository;
 
 @Service
@@ -15,9 +21,16 @@ import com.petstore.backend.repository.ProductRepository;
 public class ProductService {
 
     private final ProductRepository productRepository; // Inyección de dependencia del repositorio de productos
+    private final ProductSearchService productSearchService; // Índice de búsqueda por nombre/SKU
+    private final ProductPriceRangeService productPriceRangeService; // Índice de precios
+    private final CatalogVersions catalogVersions; // Versión de los productos para ETag
 
-    public ProductService(ProductRepository productRepository) {
+    public ProductService(ProductRepository productRepository, ProductSearchService productSearchService,
+                          ProductPriceRangeService productPriceRangeService, CatalogVersions catalogVersions) {
         this.productRepository = productRepository;
+        this.productSearchService = productSearchService;
+        this.productPriceRangeService = productPriceRangeService;
+        this.catalogVersions = catalogVersions;
     }
 
     /**
@@ -27,6 +40,24 @@ public class ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * Obtiene una página de productos con paginación keyset (cursor)
+     * @param sortBy clave de ordenamiento (ID por defecto)
+     * @param direction dirección de ordenamiento (ASC por defecto)
+     * @param categoryId filtra por categoría (opcional)
+     * @param first tamaño de página
+     * @param after cursor del último producto de la página anterior (opcional)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Product> findPage(ProductSortField sortBy, SortDirection direction, Integer categoryId,
+                                        Integer first, String after) {
+        Specification<Product> filter = categoryId == null ? null
+                : (root, query, cb) -> cb.equal(root.get("category").get("categoryId"), categoryId);
+        return KeysetPaginator.paginate(productRepository, filter,
+                sortBy != null ? sortBy : ProductSortField.ID, direction, first, after,
+                "category", "promotion.status");
+    }
+
     /**
      * Encuentra productos por ID de categoría
      */
@@ -45,7 +76,11 @@ public class ProductService {
      * Guarda un producto (crear o actualizar)
      */
     public Product save(Product product) {
-        return productRepository.save(product);
+        Product saved = productRepository.save(product);
+        productSearchService.indexAfterCommit(saved);
+        productPriceRangeService.indexAfterCommit(saved);
+        catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.PRODUCTS);
+        return saved;
     }
 
     /**
@@ -53,6 +88,9 @@ public class ProductService {
      */
     public void deleteById(Integer id) {
         productRepository.deleteById(id);
+        productSearchService.removeAfterCommit(id);
+        productPriceRangeService.removeAfterCommit(id);
+        catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.PRODUCTS);
     }
 
     /**
@@ -62,6 +100,23 @@ public class ProductService {
         return productRepository.findByProductNameContainingIgnoreCase(name);
     }
 
+    /**
+     * Busca productos por nombre o SKU en el índice en memoria, ordenados por relevancia
+     * @param limit cantidad máxima (por defecto 20, máximo 100)
+     */
+    @Transactional(readOnly = true)
+    public List<Product> search(String query, Integer limit) {
+        return productSearchService.search(query, limit);
+    }
+
+    /**
+     * Sugerencias de productos cuyo nombre o SKU empieza por el prefijo
+     * @param limit cantidad máxima (por defecto 20, máximo 100)
+     */
+    public List<ProductSuggestionDTO> autocomplete(String prefix, Integer limit) {
+        return productSearchService.autocomplete(prefix, limit);
+    }
+
     /**
      * Encuentra productos en un rango de precios
      */
@@ -69,6 +124,20 @@ public class ProductService {
         return productRepository.findByBasePriceBetween(minPrice, maxPrice);
     }
 
+    /**
+     * Obtiene una página de productos en un rango de precios desde el índice en memoria,
+     * ordenada por precio
+     * @param categoryId filtra por categoría (opcional)
+     * @param direction dirección de ordenamiento (ASC por defecto)
+     * @param first tamaño de página
+     * @param after cursor del último producto de la página anterior (opcional)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Product> findPriceRangePage(Double minPrice, Double maxPrice, Integer categoryId,
+                                                  SortDirection direction, Integer first, String after) {
+        return productPriceRangeService.findPage(minPrice, maxPrice, categoryId, direction, first, after);
+    }
+
     /**
      * Encuentra productos por ID de promoción
      */
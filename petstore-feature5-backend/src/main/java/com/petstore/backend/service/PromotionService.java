@@ -1,25 +1,51 @@
 package com.petstore.backend.service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
+import org.hibernate.Hibernate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.petstore.backend.dto.CategoryDTO;
 import com.petstore.backend.dto.PromotionDTO;
+import com.petstore.backend.dto.ProductAssociationResult;
 import com.petstore.backend.dto.PromotionDeletedDTO;
+import com.petstore.backend.dto.PromotionTrashBulkResult;
 import com.petstore.backend.entity.Category;
 import com.petstore.backend.entity.Promotion;
 import com.petstore.backend.entity.PromotionDeleted;
 import com.petstore.backend.entity.Status;
 import com.petstore.backend.entity.User;
+import com.petstore.backend.event.PromotionEvent;
+import com.petstore.backend.event.PromotionEventBus;
+import com.petstore.backend.event.PromotionEventType;
+import com.petstore.backend.pagination.CursorPage;
+import com.petstore.backend.pagination.KeysetPaginator;
+import com.petstore.backend.pagination.PromotionSortField;
+import com.petstore.backend.pagination.SortDirection;
 import com.petstore.backend.repository.CategoryRepository;
 import com.petstore.backend.repository.ProductRepository;
 import com.petstore.backend.repository.PromotionDeletedRepository;
@@ -32,39 +58,59 @@ public class PromotionService {
 
     private static final Logger logger = LoggerFactory.getLogger(PromotionService.class);
 
+    // Tope de antigüedad del índice: cubre cambios hechos fuera de este servicio (triggers, otras instancias)
+    private static final Duration ACTIVE_INDEX_MAX_AGE = Duration.ofMinutes(5);
+
+    // Operaciones masivas producto-promoción: tope por solicitud y tamaño de cada IN (...)
+    public static final int MAX_BULK_PRODUCT_IDS = 10000;
+    private static final int BULK_CHUNK_SIZE = 1000;
+    // Operaciones masivas sobre la papelera: tope de IDs por solicitud (un solo IN (...))
+    public static final int MAX_BULK_TRASH_IDS = 1000;
+
     private final PromotionRepository promotionRepository; // Inyección de dependencia del repositorio de promociones
     private final StatusRepository statusRepository; // Inyección de dependencia del repositorio de estados
     private final UserRepository userRepository; // Inyección de dependencia del repositorio de usuarios
     private final CategoryRepository categoryRepository; // Inyección de dependencia del repositorio de categorías
     private final PromotionDeletedRepository promotionDeletedRepository; // Inyección de dependencia del repositorio de promociones eliminadas
     private final ProductRepository productRepository; // Inyección de dependencia del repositorio de productos
+    private final PromotionEventBus eventBus; // Eventos para las suscripciones GraphQL
+    private final TrashRetentionPolicy trashRetentionPolicy; // Días que una promoción eliminada es restaurable
+    private final CatalogVersions catalogVersions; // Versiones del catálogo para ETag
+    private final Clock clock; // Mismo día que el motor de transiciones de estado
+
+    // Índice en memoria de promociones activas; null = hay que reconstruirlo
+    private final AtomicReference<ActivePromotionIndex> activeIndex = new AtomicReference<>();
+    private final AtomicLong activeIndexVersion = new AtomicLong();
+    // La reconstrucción consulta la base: un lock no fija el hilo portador de un hilo virtual
+    private final ReentrantLock activeIndexLock = new ReentrantLock();
 
     public PromotionService(PromotionRepository promotionRepository,
                             StatusRepository statusRepository,
                             UserRepository userRepository,
                             CategoryRepository categoryRepository,
                             PromotionDeletedRepository promotionDeletedRepository,
-                            ProductRepository productRepository) {
+                            ProductRepository productRepository,
+                            PromotionEventBus eventBus,
+                            TrashRetentionPolicy trashRetentionPolicy,
+                            CatalogVersions catalogVersions,
+                            Clock clock) {
         this.promotionRepository = promotionRepository;
         this.statusRepository = statusRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
         this.promotionDeletedRepository = promotionDeletedRepository;
         this.productRepository = productRepository;
+        this.eventBus = eventBus;
+        this.trashRetentionPolicy = trashRetentionPolicy;
+        this.catalogVersions = catalogVersions;
+        this.clock = clock;
     }
 
     /**
      * Obtiene todas las promociones activas y vigentes
      */
     public List<PromotionDTO> getAllActivePromotions() {
-        LocalDate today = LocalDate.now();
-        
-        // Buscar promociones activas
-        List<Promotion> activePromotions = promotionRepository.findActivePromotions();
-        
-        // Filtrar las que están vigentes (fecha actual entre start y end)
-        return activePromotions.stream()
-                .filter(promotion -> !today.isBefore(promotion.getStartDate()) && !today.isAfter(promotion.getEndDate()))
+        return getAllActivePromotionsEntities().stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
@@ -73,13 +119,37 @@ public class PromotionService {
      * Obtiene todas las promociones (activas e inactivas) para administración
      */
     public List<PromotionDTO> getAllPromotions() {
-        List<Promotion> allPromotions = promotionRepository.findAll();
+        List<Promotion> allPromotions = promotionRepository.findAllWithStatusAndCategory();
         
         return allPromotions.stream()
                 .map(this::convertToDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Obtiene una página de promociones (DTOs) con paginación keyset (cursor) para REST
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<PromotionDTO> getPromotionsPage(PromotionSortField sortBy, SortDirection direction,
+                                                      Integer limit, String after) {
+        return getPromotionsPageEntities(sortBy, direction, limit, after).map(this::convertToDTO);
+    }
+
+    /**
+     * Obtiene una página de promociones (entidades) con paginación keyset (cursor)
+     * @param sortBy clave de ordenamiento (ID por defecto)
+     * @param direction dirección de ordenamiento (ASC por defecto)
+     * @param first tamaño de página
+     * @param after cursor de la última promoción de la página anterior (opcional)
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<Promotion> getPromotionsPageEntities(PromotionSortField sortBy, SortDirection direction,
+                                                           Integer first, String after) {
+        return KeysetPaginator.paginate(promotionRepository, null,
+                sortBy != null ? sortBy : PromotionSortField.ID, direction, first, after,
+                "status", "category", "user");
+    }
+
     /**
      * Obtiene promociones por categoría
      */
@@ -95,7 +165,7 @@ public class PromotionService {
      * Obtiene promociones vigentes para la fecha actual
      */
     public List<PromotionDTO> getValidPromotions() {
-        LocalDate today = LocalDate.now();
+        LocalDate today = LocalDate.now(clock);
         List<Promotion> promotions = promotionRepository.findValidPromotions(today);
         
         return promotions.stream()
@@ -153,18 +223,90 @@ public class PromotionService {
     // === MÉTODOS PARA GRAPHQL que retornan entidades directamente ===
 
     /**
-     * Obtiene todas las promociones activas como entidades para GraphQL
+     * Obtiene todas las promociones activas como entidades para GraphQL. El motor de transiciones
+     * mantiene el estado al día con las fechas, así que ACTIVE ya implica vigente hoy.
      */
     public List<Promotion> getAllActivePromotionsEntities() {
-        LocalDate today = LocalDate.now();
-        
-        // Buscar promociones activas
-        List<Promotion> activePromotions = promotionRepository.findActivePromotions();
-        
-        // Filtrar las que están vigentes (fecha actual entre start y end)
-        return activePromotions.stream()
-                .filter(promotion -> !today.isBefore(promotion.getStartDate()) && !today.isAfter(promotion.getEndDate()))
-                .collect(Collectors.toList());
+        return activePromotionIndex().all();
+    }
+
+    /**
+     * Obtiene las promociones activas vigentes en una fecha (desde el índice en memoria)
+     */
+    public List<Promotion> getActivePromotionsOnDateEntities(LocalDate date) {
+        return activePromotionIndex().validOn(date);
+    }
+
+    /**
+     * Obtiene las promociones activas de una categoría (desde el índice en memoria)
+     */
+    public List<Promotion> getActivePromotionsByCategoryEntities(Integer categoryId) {
+        return activePromotionIndex().all(categoryId);
+    }
+
+    /**
+     * Marca el índice de promociones activas para reconstruirse. Si hay una transacción en curso
+     * el índice compartido se descarta recién en el commit, para que otros hilos no vean datos
+     * sin confirmar; mientras tanto esa transacción lee de un índice propio.
+     */
+    public void invalidateActivePromotionIndex() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            discardActivePromotionIndex();
+            return;
+        }
+        if (!TransactionSynchronizationManager.hasResource(activeIndex)) {
+            TransactionSynchronizationManager.bindResource(activeIndex, Boolean.TRUE);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(activeIndex);
+                    if (status == STATUS_COMMITTED) {
+                        discardActivePromotionIndex();
+                    }
+                }
+            });
+        }
+    }
+
+    // Toda escritura de promociones invalida el índice: aquí también cambia la versión para ETag
+    private void discardActivePromotionIndex() {
+        activeIndexVersion.incrementAndGet();
+        activeIndex.set(null);
+        catalogVersions.bump(CatalogVersions.Aggregate.PROMOTIONS);
+    }
+
+    /**
+     * Devuelve el índice vigente, reconstruyéndolo si fue invalidado o superó su antigüedad máxima.
+     * La reconstrucción arma un índice nuevo y lo publica con un solo swap (copy-on-write).
+     */
+    private ActivePromotionIndex activePromotionIndex() {
+        // La transacción actual modificó promociones: índice privado con sus propios cambios
+        if (TransactionSynchronizationManager.hasResource(activeIndex)) {
+            return ActivePromotionIndex.of(promotionRepository.findActivePromotions());
+        }
+        ActivePromotionIndex index = activeIndex.get();
+        if (index != null && index.getBuiltAt().plus(ACTIVE_INDEX_MAX_AGE).isAfter(Instant.now())) {
+            return index;
+        }
+        activeIndexLock.lock();
+        try {
+            ActivePromotionIndex current = activeIndex.get();
+            if (current != null && current != index) {
+                return current;
+            }
+            long version = activeIndexVersion.get();
+            ActivePromotionIndex rebuilt = ActivePromotionIndex.of(promotionRepository.findActivePromotions());
+            // No se publica si hubo una invalidación durante la carga o si se leyó dentro de una
+            // transacción (podría incluir cambios propios que todavía no se confirman)
+            if (activeIndexVersion.get() == version
+                    && !TransactionSynchronizationManager.isActualTransactionActive()) {
+                activeIndex.set(rebuilt);
+            }
+            logger.debug("Active promotion index rebuilt with {} promotions", rebuilt.size());
+            return rebuilt;
+        } finally {
+            activeIndexLock.unlock();
+        }
     }
 
     /**
@@ -192,7 +334,17 @@ public class PromotionService {
      * Obtiene promociones por categoría como entidades para GraphQL
      */
     public List<Promotion> getPromotionsByCategoryEntities(Integer categoryId) {
-        return promotionRepository.findByCategoryCategoryId(categoryId);
+        return promotionRepository.findWithRelationsByCategoryCategoryId(categoryId);
+    }
+
+    /**
+     * Obtiene las promociones de varias categorías en una sola consulta (para DataLoader de GraphQL)
+     */
+    public List<Promotion> getPromotionsByCategoryIdsEntities(Collection<Integer> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return promotionRepository.findByCategoryCategoryIdIn(categoryIds);
     }
 
     /**
@@ -207,6 +359,7 @@ public class PromotionService {
     /**
      * Crea una nueva promoción
      */
+    @Transactional
     public Promotion createPromotion(String promotionName, String description, 
                                    LocalDate startDate, LocalDate endDate, 
                                    Double discountValue, Integer statusId, 
@@ -234,12 +387,16 @@ public class PromotionService {
             promotion.setCategory(category);
         }
         
-        return promotionRepository.save(promotion);
+        Promotion saved = promotionRepository.save(promotion);
+        invalidateActivePromotionIndex();
+        publishEvent(PromotionEventType.CREATED, saved, null);
+        return saved;
     }
 
     /**
      * Actualiza una promoción existente
      */
+    @Transactional
     public Promotion updatePromotion(Integer promotionId, String promotionName, String description,
                                    LocalDate startDate, LocalDate endDate,
                                    Double discountValue, Integer statusId,
@@ -248,6 +405,7 @@ public class PromotionService {
         if (promotion == null) {
             return null;
         }
+        String previousStatus = statusNameOf(promotion);
         
         // Actualizar campos
         if (promotionName != null) promotion.setPromotionName(promotionName);
@@ -272,7 +430,24 @@ public class PromotionService {
             promotion.setCategory(category);
         }
         
-        return promotionRepository.save(promotion);
+        Promotion saved = promotionRepository.save(promotion);
+        invalidateActivePromotionIndex();
+        publishEvent(PromotionEventType.UPDATED, saved, previousStatus);
+        return saved;
+    }
+
+    /**
+     * Publica el cambio para los suscriptores (se emite tras el commit).
+     * Las relaciones LAZY se cargan ahora porque los suscriptores las leen fuera de la sesión.
+     */
+    private void publishEvent(PromotionEventType type, Promotion promotion, String previousStatus) {
+        Hibernate.initialize(promotion.getCategory());
+        Hibernate.initialize(promotion.getUser());
+        eventBus.publish(new PromotionEvent(type, promotion, previousStatus));
+    }
+
+    private static String statusNameOf(Promotion promotion) {
+        return promotion.getStatus() != null ? promotion.getStatus().getStatusName() : null;
     }
 
 
@@ -281,8 +456,7 @@ public class PromotionService {
      * Obtiene promociones en la papelera temporal
      */
     public List<PromotionDeletedDTO> getDeletedPromotions() {
-        ZonedDateTime thirtyDaysAgo = ZonedDateTime.now().minusDays(30);
-        List<PromotionDeleted> deletedPromotions = promotionDeletedRepository.findRestorable(thirtyDaysAgo);
+        List<PromotionDeleted> deletedPromotions = promotionDeletedRepository.findRestorable(trashRetentionPolicy.cutoff());
         
         return deletedPromotions.stream()
                 .map(this::convertDeletedToDTO)
@@ -300,6 +474,22 @@ public class PromotionService {
                 .collect(Collectors.toList());
     }
     
+    /**
+     * Papelera restaurable para REST: proyección de una sola consulta, sin cargar usuarios ni categorías
+     */
+    public List<PromotionDeletedDTO> getDeletedPromotionSummaries() {
+        return promotionDeletedRepository.findRestorableSummaries(
+                trashRetentionPolicy.cutoff(), trashRetentionPolicy.getRetentionSeconds());
+    }
+    
+    /**
+     * Promociones eliminadas por un usuario para REST, como proyección
+     */
+    public List<PromotionDeletedDTO> getDeletedPromotionSummariesByUser(Integer userId) {
+        return promotionDeletedRepository.findSummariesByDeletedByUserId(
+                userId, trashRetentionPolicy.getRetentionSeconds());
+    }
+    
     /**
      * Restaura una promoción de la papelera temporal
      */
@@ -313,9 +503,8 @@ public class PromotionService {
             
             PromotionDeleted deletedPromotion = deletedPromotionOpt.get();
             
-            // Verificar que no han pasado 30 días
-            ZonedDateTime thirtyDaysAgo = ZonedDateTime.now().minusDays(30);
-            if (deletedPromotion.getDeletedAt().isBefore(thirtyDaysAgo)) {
+            // Verificar que sigue dentro de la retención de la papelera
+            if (!trashRetentionPolicy.isRestorable(deletedPromotion.getDeletedAt())) {
                 return false;
             }
             
@@ -331,7 +520,9 @@ public class PromotionService {
             restoredPromotion.setCategory(deletedPromotion.getCategory());
             
             // Guardar promoción restaurada
-            promotionRepository.save(restoredPromotion);
+            Promotion saved = promotionRepository.save(restoredPromotion);
+            invalidateActivePromotionIndex();
+            publishEvent(PromotionEventType.RESTORED, saved, null);
             
             // Eliminar de papelera
             promotionDeletedRepository.delete(deletedPromotion);
@@ -357,6 +548,9 @@ public class PromotionService {
             
             // 2. Llamar a la función de BD que hace automáticamente el proceso de restauración
             promotionRepository.restorePromotionUsingFunction(promotionId);
+            invalidateActivePromotionIndex();
+            promotionRepository.findById(promotionId)
+                    .ifPresent(restored -> publishEvent(PromotionEventType.RESTORED, restored, null));
             
             return true;
             
@@ -370,7 +564,7 @@ public class PromotionService {
      * Convierte PromotionDeleted a DTO
      */
     private PromotionDeletedDTO convertDeletedToDTO(PromotionDeleted deletedPromotion) {
-        return new PromotionDeletedDTO(
+        PromotionDeletedDTO dto = new PromotionDeletedDTO(
                 deletedPromotion.getPromotionId(),
                 deletedPromotion.getPromotionName(),
                 deletedPromotion.getDescription(),
@@ -383,6 +577,10 @@ public class PromotionService {
                 deletedPromotion.getDeletedAt(),
                 deletedPromotion.getDeletedBy() // Objeto completo
         );
+        if (deletedPromotion.getDeletedAt() != null) {
+            dto.setDaysUntilPurge(trashRetentionPolicy.daysUntilPurge(deletedPromotion.getDeletedAt()));
+        }
+        return dto;
     }
     
     /**
@@ -423,7 +621,10 @@ public class PromotionService {
             //    - trg_promotions_audit: Registra la auditoría
             //    - trg_promotions_deleted_guard: Impide duplicados en promotions_deleted
             Promotion promotion = promotionOpt.get();
+            String previousStatus = statusNameOf(promotion);
             promotionRepository.delete(promotion);
+            invalidateActivePromotionIndex();
+            publishEvent(PromotionEventType.DELETED, promotion, previousStatus);
             
             return true;
             
@@ -463,76 +664,280 @@ public class PromotionService {
     }
 
     /**
-     * Asocia productos a una promoción
-     * @param promotionId ID de la promoción
-     * @param productIds Lista de IDs de productos a asociar
-     * @return true si se asociaron correctamente, false en caso contrario
+     * Restaura varias promociones de la papelera en una sola transacción: un INSERT ... SELECT
+     * y un DELETE para todo el lote. Conservan su ID original, igual que fn_restore_promotion.
+     * 
+     * @param promotionIds IDs de las promociones a restaurar
+     * @param userId ID del usuario que restaura (actor para la auditoría de BD, opcional)
+     * @return resultado por promoción
      */
     @Transactional
-    public boolean associateProductsToPromotion(Integer promotionId, List<Integer> productIds) {
-        try {
-            // Verificar que la promoción existe
-            Optional<Promotion> promotionOpt = promotionRepository.findById(promotionId);
-            if (!promotionOpt.isPresent()) {
-                logger.warn("Promotion with ID {} not found for product association", promotionId);
-                return false;
+    public PromotionTrashBulkResult restorePromotions(List<Integer> promotionIds, Integer userId) {
+        List<Integer> ids = validateBulkPromotionIds(promotionIds);
+        Map<Integer, ZonedDateTime> deletedAt = findDeletedAt(ids);
+        Set<Integer> existing = new HashSet<>(promotionRepository.findExistingIds(ids));
+
+        List<PromotionTrashBulkResult.Outcome> results = new ArrayList<>(ids.size());
+        List<Integer> toRestore = new ArrayList<>();
+        for (Integer promotionId : ids) {
+            PromotionTrashBulkResult.Status status;
+            if (!deletedAt.containsKey(promotionId)) {
+                status = PromotionTrashBulkResult.Status.NOT_FOUND;
+            } else if (!trashRetentionPolicy.isRestorable(deletedAt.get(promotionId))) {
+                status = PromotionTrashBulkResult.Status.RETENTION_EXPIRED;
+            } else if (existing.contains(promotionId)) {
+                status = PromotionTrashBulkResult.Status.ALREADY_EXISTS;
+            } else {
+                status = PromotionTrashBulkResult.Status.RESTORED;
+                toRestore.add(promotionId);
             }
+            results.add(new PromotionTrashBulkResult.Outcome(promotionId, status));
+        }
 
-            Promotion promotion = promotionOpt.get();
-            
-            // Asociar productos a la promoción
-            for (Integer productId : productIds) {
-                productRepository.findById(productId).ifPresent(product -> {
-                    product.setPromotion(promotion);
-                    productRepository.save(product);
-                });
+        if (!toRestore.isEmpty()) {
+            if (userId != null) {
+                promotionRepository.setActor(userId);
             }
-            
-            logger.info("Successfully associated products {} to promotion {}", productIds, promotionId);
-            return true;
-            
-        } catch (Exception e) {
-            logger.error("Error associating products {} to promotion {}: {}", productIds, promotionId, e.getMessage(), e);
-            return false;
+            promotionDeletedRepository.restoreIntoPromotions(toRestore);
+            promotionDeletedRepository.deleteByPromotionIdIn(toRestore);
+            invalidateActivePromotionIndex();
+            promotionRepository.findWithRelationsByPromotionIdIn(toRestore)
+                    .forEach(restored -> eventBus.publish(new PromotionEvent(PromotionEventType.RESTORED, restored, null)));
+        }
+
+        logger.info("Restored {} of {} promotions from trash by user {}", toRestore.size(), ids.size(), userId);
+        return new PromotionTrashBulkResult(results);
+    }
+
+    /**
+     * Elimina permanentemente varias promociones de la papelera con un solo DELETE
+     * 
+     * @param promotionIds IDs de las promociones a eliminar
+     * @param userId ID del usuario que realiza la acción (actor para la auditoría de BD, opcional)
+     * @return resultado por promoción
+     */
+    @Transactional
+    public PromotionTrashBulkResult permanentDeletePromotions(List<Integer> promotionIds, Integer userId) {
+        List<Integer> ids = validateBulkPromotionIds(promotionIds);
+        Map<Integer, ZonedDateTime> deletedAt = findDeletedAt(ids);
+
+        List<PromotionTrashBulkResult.Outcome> results = new ArrayList<>(ids.size());
+        List<Integer> toDelete = new ArrayList<>();
+        for (Integer promotionId : ids) {
+            boolean inTrash = deletedAt.containsKey(promotionId);
+            if (inTrash) {
+                toDelete.add(promotionId);
+            }
+            results.add(new PromotionTrashBulkResult.Outcome(promotionId,
+                    inTrash ? PromotionTrashBulkResult.Status.DELETED : PromotionTrashBulkResult.Status.NOT_FOUND));
+        }
+
+        if (!toDelete.isEmpty()) {
+            if (userId != null) {
+                promotionRepository.setActor(userId);
+            }
+            promotionDeletedRepository.deleteByPromotionIdIn(toDelete);
+        }
+
+        logger.info("{} of {} promotions permanently deleted by user {}", toDelete.size(), ids.size(), userId);
+        return new PromotionTrashBulkResult(results);
+    }
+
+    private Map<Integer, ZonedDateTime> findDeletedAt(List<Integer> promotionIds) {
+        Map<Integer, ZonedDateTime> deletedAt = new HashMap<>(promotionIds.size() * 2);
+        for (Object[] row : promotionDeletedRepository.findDeletedAtByPromotionIdIn(promotionIds)) {
+            deletedAt.put((Integer) row[0], (ZonedDateTime) row[1]);
+        }
+        return deletedAt;
+    }
+
+    private static List<Integer> validateBulkPromotionIds(List<Integer> promotionIds) {
+        if (promotionIds == null) {
+            throw new IllegalArgumentException("ids es obligatorio");
+        }
+        // Sin duplicados, conservando el orden de la solicitud
+        List<Integer> ids = promotionIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos una promoción");
+        }
+        if (ids.size() > MAX_BULK_TRASH_IDS) {
+            throw new IllegalArgumentException("Máximo " + MAX_BULK_TRASH_IDS + " promociones por operación");
+        }
+        return ids;
+    }
+
+    /**
+     * Asocia productos a una promoción con operaciones por lote (una consulta y un UPDATE por
+     * cada {@value #BULK_CHUNK_SIZE} IDs). Un producto que ya pertenece a otra promoción solo se
+     * mueve a esta con {@code reassign}; si no, se reporta OWNED_BY_OTHER_PROMOTION y no se toca.
+     * @param promotionId ID de la promoción
+     * @param productIds IDs de productos a asociar
+     * @param reassign si se mueven a esta promoción los productos de otra
+     * @return resultado por producto, o null si la promoción no existe
+     */
+    @Transactional
+    public ProductAssociationResult associateProductsToPromotion(Integer promotionId, List<Integer> productIds,
+                                                                 boolean reassign) {
+        List<Integer> ids = validateBulkProductIds(productIds);
+        Promotion promotion = promotionRepository.findById(promotionId).orElse(null);
+        if (promotion == null) {
+            logger.warn("Promotion with ID {} not found for product association", promotionId);
+            return null;
+        }
+
+        Map<Integer, Integer> currentPromotionIds = findCurrentPromotionIds(ids);
+        List<ProductAssociationResult.Outcome> results = new ArrayList<>(ids.size());
+        List<Integer> toAssign = new ArrayList<>();
+        for (Integer productId : ids) {
+            if (!currentPromotionIds.containsKey(productId)) {
+                results.add(new ProductAssociationResult.Outcome(productId, ProductAssociationResult.Status.NOT_FOUND, null));
+                continue;
+            }
+            Integer previous = currentPromotionIds.get(productId);
+            if (previous != null && !promotionId.equals(previous) && !reassign) {
+                results.add(new ProductAssociationResult.Outcome(productId,
+                        ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, previous));
+                continue;
+            }
+            if (!promotionId.equals(previous)) {
+                toAssign.add(productId);
+            }
+            results.add(new ProductAssociationResult.Outcome(productId, ProductAssociationResult.Status.ASSOCIATED,
+                    promotionId.equals(previous) ? null : previous));
+        }
+
+        // El evento se arma antes de los UPDATE (que limpian el contexto de persistencia); se emite tras el commit
+        if (!toAssign.isEmpty()) {
+            publishEvent(PromotionEventType.PRODUCTS_CHANGED, promotion, statusNameOf(promotion));
+        }
+        int assigned = 0;
+        for (List<Integer> chunk : chunks(toAssign)) {
+            assigned += reassign ? productRepository.assignPromotion(promotion, chunk)
+                    : productRepository.assignPromotionIfUnowned(promotion, chunk);
+        }
+        if (!toAssign.isEmpty()) {
+            catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.PRODUCTS);
+        }
+        if (assigned < toAssign.size()) {
+            recheckOwners(results, toAssign, promotionId);
         }
+
+        logger.info("Associated {} of {} products to promotion {}", assigned, ids.size(), promotionId);
+        return new ProductAssociationResult(promotionId, results);
     }
 
     /**
-     * Remueve productos de una promoción.
+     * Remueve productos de una promoción con operaciones por lote. Solo se desvinculan los
+     * productos que pertenecen a esta promoción; el UPDATE lo vuelve a verificar.
      * 
      * @param promotionId ID de la promoción
-     * @param productIds Lista de IDs de productos a remover
-     * @return true si se removieron correctamente, false en caso contrario
+     * @param productIds IDs de productos a remover
+     * @return resultado por producto, o null si la promoción no existe
      */
     @Transactional
-    public boolean removeProductsFromPromotion(Integer promotionId, List<Integer> productIds) {
-        try {
-            // Verificar que la promoción existe
-            Optional<Promotion> promotionOpt = promotionRepository.findById(promotionId);
-            if (!promotionOpt.isPresent()) {
-                logger.warn("Promotion with ID {} not found for product removal", promotionId);
-                return false;
+    public ProductAssociationResult removeProductsFromPromotion(Integer promotionId, List<Integer> productIds) {
+        List<Integer> ids = validateBulkProductIds(productIds);
+        Promotion promotion = promotionRepository.findById(promotionId).orElse(null);
+        if (promotion == null) {
+            logger.warn("Promotion with ID {} not found for product removal", promotionId);
+            return null;
+        }
+
+        Map<Integer, Integer> currentPromotionIds = findCurrentPromotionIds(ids);
+        List<ProductAssociationResult.Outcome> results = new ArrayList<>(ids.size());
+        List<Integer> toClear = new ArrayList<>();
+        for (Integer productId : ids) {
+            ProductAssociationResult.Status status;
+            Integer owner = currentPromotionIds.get(productId);
+            if (!currentPromotionIds.containsKey(productId)) {
+                status = ProductAssociationResult.Status.NOT_FOUND;
+            } else if (owner == null) {
+                status = ProductAssociationResult.Status.NOT_ASSOCIATED;
+            } else if (!promotionId.equals(owner)) {
+                status = ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION;
+            } else {
+                status = ProductAssociationResult.Status.REMOVED;
+                toClear.add(productId);
             }
-            
-            // Remover productos de la promoción
-            for (Integer productId : productIds) {
-                productRepository.findById(productId).ifPresent(product -> {
-                    if (product.getPromotion() != null 
-                        && product.getPromotion().getPromotionId().equals(promotionId)) {
-                        product.setPromotion(null);
-                        productRepository.save(product);
-                    }
-                });
+            results.add(new ProductAssociationResult.Outcome(productId, status,
+                    status == ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION ? owner : null));
+        }
+
+        if (!toClear.isEmpty()) {
+            publishEvent(PromotionEventType.PRODUCTS_CHANGED, promotion, statusNameOf(promotion));
+        }
+        int cleared = 0;
+        for (List<Integer> chunk : chunks(toClear)) {
+            cleared += productRepository.clearPromotion(promotionId, chunk);
+        }
+        if (!toClear.isEmpty()) {
+            catalogVersions.bumpAfterCommit(CatalogVersions.Aggregate.PRODUCTS);
+        }
+        if (cleared < toClear.size()) {
+            recheckOwners(results, toClear, null);
+        }
+
+        logger.info("Removed {} of {} products from promotion {}", cleared, ids.size(), promotionId);
+        return new ProductAssociationResult(promotionId, results);
+    }
+
+    /**
+     * Corrige el resultado de los productos que el UPDATE no cambió (otra solicitud los tomó,
+     * liberó o eliminó entre la lectura y el UPDATE): se informa el dueño que tienen ahora
+     * @param expectedOwner promoción que deberían tener tras el UPDATE (null en la remoción)
+     */
+    private void recheckOwners(List<ProductAssociationResult.Outcome> results, List<Integer> updatedIds,
+                               Integer expectedOwner) {
+        Set<Integer> updated = new HashSet<>(updatedIds);
+        Map<Integer, Integer> owners = findCurrentPromotionIds(updatedIds);
+        results.replaceAll(outcome -> {
+            Integer productId = outcome.getProductId();
+            if (!updated.contains(productId)) {
+                return outcome;
             }
-            
-            logger.info("Successfully removed products {} from promotion {}", 
-                       productIds, promotionId);
-            return true;
-            
-        } catch (Exception e) {
-            logger.error("Error removing products {} from promotion {}: {}", 
-                        productIds, promotionId, e.getMessage(), e);
-            return false;
+            if (!owners.containsKey(productId)) {
+                return new ProductAssociationResult.Outcome(productId, ProductAssociationResult.Status.NOT_FOUND, null);
+            }
+            Integer owner = owners.get(productId);
+            if (Objects.equals(owner, expectedOwner)) {
+                return outcome;
+            }
+            return owner == null
+                    ? new ProductAssociationResult.Outcome(productId, ProductAssociationResult.Status.NOT_ASSOCIATED, null)
+                    : new ProductAssociationResult.Outcome(productId, ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, owner);
+        });
+    }
+
+    private static List<Integer> validateBulkProductIds(List<Integer> productIds) {
+        if (productIds == null) {
+            throw new IllegalArgumentException("productIds es obligatorio");
+        }
+        // Sin duplicados, conservando el orden de la solicitud
+        List<Integer> ids = productIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (ids.isEmpty()) {
+            throw new IllegalArgumentException("Debe indicar al menos un producto");
+        }
+        if (ids.size() > MAX_BULK_PRODUCT_IDS) {
+            throw new IllegalArgumentException("Máximo " + MAX_BULK_PRODUCT_IDS + " productos por operación");
+        }
+        return ids;
+    }
+
+    private Map<Integer, Integer> findCurrentPromotionIds(List<Integer> productIds) {
+        Map<Integer, Integer> promotionIds = new HashMap<>(productIds.size() * 2);
+        for (List<Integer> chunk : chunks(productIds)) {
+            for (Object[] row : productRepository.findPromotionIdsByProductIdIn(chunk)) {
+                promotionIds.put((Integer) row[0], (Integer) row[1]);
+            }
+        }
+        return promotionIds;
+    }
+
+    private static List<List<Integer>> chunks(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())));
         }
+        return chunks;
     }
 }
@@ -0,0 +1,58 @@
+package com.petstore.backend.service;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispara el motor de transiciones de estado: al cambiar de día y con un barrido periódico
+ * que reconcilia lo que haya quedado pendiente (arranque tras una caída, fechas editadas a mano).
+ */
+@Component
+@ConditionalOnProperty(name = "app.promotions.transitions.enabled", havingValue = "true", matchIfMissing = true)
+public class PromotionStatusScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionStatusScheduler.class);
+
+    private final PromotionStatusTransitionService transitionService;
+    private final Clock clock;
+    // El cambio de día y el barrido pueden coincidir: solo corre uno a la vez
+    private final ReentrantLock running = new ReentrantLock();
+
+    public PromotionStatusScheduler(PromotionStatusTransitionService transitionService,
+                                    Clock clock) {
+        this.transitionService = transitionService;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${app.promotions.transitions.cron:0 0 0 * * *}", zone = "${app.promotions.transitions.zone:}")
+    public void onDayBoundary() {
+        run("day boundary");
+    }
+
+    @Scheduled(fixedDelayString = "${app.promotions.transitions.sweep-interval:PT5M}",
+               initialDelayString = "${app.promotions.transitions.initial-delay:PT10S}")
+    public void reconcile() {
+        run("reconciliation sweep");
+    }
+
+    private void run(String trigger) {
+        if (!running.tryLock()) {
+            logger.debug("Promotion status transitions already running, skipping {}", trigger);
+            return;
+        }
+        try {
+            transitionService.applyTransitions(LocalDate.now(clock));
+        } catch (Exception e) {
+            logger.error("Error applying promotion status transitions ({}): {}", trigger, e.getMessage(), e);
+        } finally {
+            running.unlock();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.petstore.backend.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.event.PromotionEvent;
+import com.petstore.backend.event.PromotionEventBus;
+import com.petstore.backend.event.PromotionEventType;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+/**
+ * Motor de transiciones de estado por fechas: SCHEDULE -> ACTIVE -> EXPIRED.
+ *
+ * Las fechas de las promociones son días completos, así que basta con aplicar las transiciones
+ * al cambiar de día (y en un barrido periódico de reconciliación). Cada transición es un solo
+ * UPDATE por lote; con esto el estado guardado es correcto por sí mismo y las consultas por
+ * estado no necesitan volver a filtrar por fecha. EXPIRED es terminal.
+ *
+ * Los eventos salen solo de las filas que el UPDATE cambió: si otra transacción modificó una
+ * promoción entre la lectura y el UPDATE, no se anuncia una transición que no ocurrió.
+ */
+@Service
+public class PromotionStatusTransitionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionStatusTransitionService.class);
+
+    static final String SCHEDULE = "SCHEDULE";
+    static final String ACTIVE = "ACTIVE";
+    static final String EXPIRED = "EXPIRED";
+
+    // Tope de IDs de cada IN (...) de los UPDATE
+    private static final int MAX_IDS_PER_UPDATE = 1000;
+
+    private final PromotionRepository promotionRepository;
+    private final StatusRepository statusRepository;
+    private final PromotionService promotionService;
+    private final PromotionEventBus eventBus;
+
+    public PromotionStatusTransitionService(PromotionRepository promotionRepository,
+                                            StatusRepository statusRepository,
+                                            PromotionService promotionService,
+                                            PromotionEventBus eventBus) {
+        this.promotionRepository = promotionRepository;
+        this.statusRepository = statusRepository;
+        this.promotionService = promotionService;
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Aplica las transiciones pendientes para la fecha indicada. Es idempotente: si no hay
+     * nada pendiente solo ejecuta la consulta de búsqueda.
+     *
+     * @param today fecha de referencia
+     * @return cantidad de promociones que cambiaron de estado
+     */
+    @Transactional
+    public int applyTransitions(LocalDate today) {
+        List<Promotion> due = promotionRepository.findDueStatusTransitions(today);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        Status scheduled = statusRepository.findByStatusName(SCHEDULE).orElse(null);
+        Status active = statusRepository.findByStatusName(ACTIVE).orElse(null);
+        Status expired = statusRepository.findByStatusName(EXPIRED).orElse(null);
+
+        // Promociones agrupadas por transición (origen -> destino), con las mismas reglas que los UPDATE
+        Map<Transition, List<Promotion>> transitions = new LinkedHashMap<>();
+        for (Promotion promotion : due) {
+            Status target = targetStatus(promotion, today, scheduled, active, expired);
+            // Sin el estado destino en la tabla de estados no hay transición
+            if (target != null) {
+                transitions.computeIfAbsent(new Transition(promotion.getStatus(), target), key -> new ArrayList<>())
+                        .add(promotion);
+            }
+        }
+
+        // Estado destino de cada promoción que el UPDATE realmente cambió
+        Map<Promotion, Status> changed = new LinkedHashMap<>();
+        transitions.forEach((transition, promotions) -> {
+            for (int from = 0; from < promotions.size(); from += MAX_IDS_PER_UPDATE) {
+                List<Promotion> chunk = promotions.subList(from, Math.min(from + MAX_IDS_PER_UPDATE, promotions.size()));
+                apply(transition, chunk, today).forEach(promotion -> changed.put(promotion, transition.target()));
+            }
+        });
+
+        if (!changed.isEmpty()) {
+            promotionService.invalidateActivePromotionIndex();
+            // Los UPDATE limpiaron el contexto de persistencia: cambiar el estado en memoria ya no genera otro UPDATE
+            changed.forEach((promotion, target) -> {
+                String previousStatus = promotion.getStatus().getStatusName();
+                promotion.setStatus(target);
+                eventBus.publish(new PromotionEvent(PromotionEventType.STATUS_CHANGED, promotion, previousStatus));
+            });
+        }
+        logger.info("Promotion status transitions for {}: {} promotions changed", today, changed.size());
+        return changed.size();
+    }
+
+    /**
+     * UPDATE de una transición, restringido a las promociones leídas y a las que siguen en el
+     * estado de origen; devuelve las que realmente cambió
+     */
+    private List<Promotion> apply(Transition transition, List<Promotion> promotions, LocalDate today) {
+        List<Integer> ids = promotions.stream().map(Promotion::getPromotionId).toList();
+        Status source = transition.source();
+        Status target = transition.target();
+        int updated = switch (target.getStatusName()) {
+            case EXPIRED -> promotionRepository.expirePromotions(target, List.of(source), today, ids);
+            case ACTIVE -> promotionRepository.activatePromotions(target, source, today, ids);
+            default -> promotionRepository.reschedulePromotions(target, source, today, ids);
+        };
+        if (updated == promotions.size()) {
+            return promotions;
+        }
+        // Otra transacción cambió alguna entre la lectura y el UPDATE: solo cuentan las que quedaron en el destino
+        Map<Integer, String> current = new HashMap<>();
+        for (Object[] row : promotionRepository.findStatusNamesByPromotionIdIn(ids)) {
+            current.put((Integer) row[0], (String) row[1]);
+        }
+        return promotions.stream()
+                .filter(promotion -> target.getStatusName().equals(current.get(promotion.getPromotionId())))
+                .toList();
+    }
+
+    private static Status targetStatus(Promotion promotion, LocalDate today,
+                                       Status scheduled, Status active, Status expired) {
+        String current = promotion.getStatus().getStatusName();
+        if (promotion.getEndDate().isBefore(today)) {
+            return expired;
+        }
+        if (SCHEDULE.equals(current) && !promotion.getStartDate().isAfter(today)) {
+            return active;
+        }
+        if (ACTIVE.equals(current) && promotion.getStartDate().isAfter(today)) {
+            return scheduled;
+        }
+        return null;
+    }
+
+    // Las entidades Status son las del contexto de persistencia: la identidad alcanza como clave
+    private record Transition(Status source, Status target) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.petstore.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Dispara la purga de la papelera de promociones según app.promotions.trash.purge.cron
+ */
+@Component
+@ConditionalOnProperty(name = "app.promotions.trash.purge.enabled", havingValue = "true", matchIfMissing = true)
+public class PromotionTrashPurgeScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionTrashPurgeScheduler.class);
+
+    private final PromotionTrashPurgeService purgeService;
+
+    public PromotionTrashPurgeScheduler(PromotionTrashPurgeService purgeService) {
+        this.purgeService = purgeService;
+    }
+
+    @Scheduled(cron = "${app.promotions.trash.purge.cron:0 30 3 * * *}")
+    public void purge() {
+        try {
+            purgeService.purgeExpired();
+        } catch (Exception e) {
+            logger.error("Error purging promotion trash: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.petstore.backend.service;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.petstore.backend.repository.PromotionDeletedRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Purga de la papelera de promociones: borra las filas de promotions_deleted que superaron
+ * la retención, en lotes acotados y cada lote en su propia transacción corta, para no
+ * retener bloqueos mientras avanza. En modo dry-run solo cuenta lo que borraría.
+ */
+@Service
+public class PromotionTrashPurgeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PromotionTrashPurgeService.class);
+
+    public static final String PURGED_METRIC = "promotions.trash.purged";
+    public static final String PENDING_METRIC = "promotions.trash.purge.pending";
+
+    private final PromotionDeletedRepository promotionDeletedRepository;
+    private final TrashRetentionPolicy retentionPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final boolean dryRun;
+
+    private final Counter purged;
+    private final Counter chunks;
+    private final Timer runTimer;
+    // Progreso: filas vencidas que faltan en la corrida actual (o que quedaron de la última)
+    private final AtomicLong pending = new AtomicLong();
+
+    public PromotionTrashPurgeService(PromotionDeletedRepository promotionDeletedRepository,
+                                      TrashRetentionPolicy retentionPolicy,
+                                      PlatformTransactionManager transactionManager,
+                                      MeterRegistry registry,
+                                      @Value("${app.promotions.trash.purge.chunk-size:500}") int chunkSize,
+                                      @Value("${app.promotions.trash.purge.max-chunks-per-run:200}") int maxChunksPerRun,
+                                      @Value("${app.promotions.trash.purge.dry-run:false}") boolean dryRun) {
+        if (chunkSize < 1 || maxChunksPerRun < 1) {
+            throw new IllegalArgumentException("chunk-size y max-chunks-per-run deben ser mayores a 0");
+        }
+        this.promotionDeletedRepository = promotionDeletedRepository;
+        this.retentionPolicy = retentionPolicy;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.registry = registry;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.dryRun = dryRun;
+
+        this.purged = Counter.builder(PURGED_METRIC)
+                .description("Promociones purgadas definitivamente de la papelera")
+                .register(registry);
+        this.chunks = Counter.builder("promotions.trash.purge.chunks")
+                .description("Lotes (transacciones) ejecutados por la purga")
+                .register(registry);
+        this.runTimer = Timer.builder("promotions.trash.purge.run")
+                .description("Duración de cada corrida de la purga")
+                .register(registry);
+        Gauge.builder(PENDING_METRIC, pending, AtomicLong::get)
+                .description("Promociones vencidas en la papelera pendientes de purga")
+                .register(registry);
+    }
+
+    /**
+     * Ejecuta la purga con el modo configurado (app.promotions.trash.purge.dry-run)
+     */
+    public PurgeResult purgeExpired() {
+        return purgeExpired(dryRun);
+    }
+
+    /**
+     * Purga las promociones vencidas, como máximo {@code max-chunks-per-run} lotes por corrida;
+     * lo que quede se retoma en la siguiente.
+     *
+     * @param dryRun true para solo contar, sin borrar
+     */
+    public PurgeResult purgeExpired(boolean dryRun) {
+        ZonedDateTime cutoff = retentionPolicy.cutoff();
+        long candidates = promotionDeletedRepository.countPurgeable(cutoff);
+        pending.set(candidates);
+        if (dryRun) {
+            logger.info("Trash purge dry run: {} promotions deleted before {} would be purged", candidates, cutoff);
+            return new PurgeResult(cutoff, candidates, 0, 0, true);
+        }
+        if (candidates == 0) {
+            return new PurgeResult(cutoff, 0, 0, 0, false);
+        }
+
+        Timer.Sample sample = Timer.start(registry);
+        long total = 0;
+        int executed = 0;
+        boolean more = true;
+        while (more && executed < maxChunksPerRun) {
+            int[] chunk = transactionTemplate.execute(status -> purgeChunk(cutoff));
+            executed++;
+            chunks.increment();
+            int deleted = chunk[1];
+            total += deleted;
+            purged.increment(deleted);
+            pending.updateAndGet(left -> Math.max(0, left - deleted));
+            // Un lote incompleto significa que ya no quedan más filas vencidas
+            more = chunk[0] == chunkSize;
+        }
+        sample.stop(runTimer);
+
+        logger.info("Trash purge: {} of {} promotions purged in {} chunks (deleted before {})",
+                total, candidates, executed, cutoff);
+        return new PurgeResult(cutoff, candidates, total, executed, false);
+    }
+
+    public long getPending() {
+        return pending.get();
+    }
+
+    // Devuelve {IDs seleccionados, filas borradas}
+    private int[] purgeChunk(ZonedDateTime cutoff) {
+        List<Integer> ids = promotionDeletedRepository.findPurgeableIds(cutoff, PageRequest.of(0, chunkSize));
+        if (ids.isEmpty()) {
+            return new int[] {0, 0};
+        }
+        return new int[] {ids.size(), promotionDeletedRepository.deletePurgeable(ids, cutoff)};
+    }
+
+    /**
+     * Resultado de una corrida de la purga
+     */
+    public record PurgeResult(ZonedDateTime cutoff, long candidates, long purged, int chunks, boolean dryRun) {
+    }
+}
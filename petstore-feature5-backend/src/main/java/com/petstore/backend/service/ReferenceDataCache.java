@@ -0,0 +1,44 @@
+package com.petstore.backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.util.AfterCommit;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Invalidación explícita de la caché de segundo nivel para los datos de referencia.
+ *
+ * Hibernate ya actualiza la región de la entidad cuando se escribe por JPA; esto además
+ * descarta las consultas de categorías cacheadas (p. ej. {@code findByCategoryName}) para que
+ * ningún resultado por nombre sobreviva a un alta, cambio o baja de categoría. Las consultas
+ * cacheadas de otros datos de referencia no se tocan.
+ */
+@Component
+public class ReferenceDataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReferenceDataCache.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public ReferenceDataCache(EntityManagerFactory entityManagerFactory) {
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /**
+     * Descarta las categorías cacheadas y su región de consultas después del commit; antes, otra
+     * transacción podría volver a llenarlas con los datos viejos
+     */
+    public void evictCategories() {
+        AfterCommit.run(() -> {
+            entityManagerFactory.getCache().evict(Category.class);
+            entityManagerFactory.getCache().unwrap(org.hibernate.Cache.class)
+                    .evictQueryRegion(CategoryRepository.QUERY_CACHE_REGION);
+            logger.debug("Category second-level cache evicted");
+        });
+    }
+}
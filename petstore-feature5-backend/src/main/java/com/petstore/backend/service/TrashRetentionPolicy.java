@@ -0,0 +1,53 @@
+package com.petstore.backend.service;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tiempo que una promoción eliminada permanece en la papelera (restaurable) antes de purgarse.
+ * Única fuente de la retención para la papelera, la restauración y el job de purga.
+ */
+@Component
+public class TrashRetentionPolicy {
+
+    public static final int DEFAULT_RETENTION_DAYS = 30;
+
+    private final int retentionDays;
+
+    public TrashRetentionPolicy(@Value("${app.promotions.trash.retention-days:30}") int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("app.promotions.trash.retention-days debe ser mayor a 0");
+        }
+        this.retentionDays = retentionDays;
+    }
+
+    public int getRetentionDays() {
+        return retentionDays;
+    }
+
+    public long getRetentionSeconds() {
+        return Duration.ofDays(retentionDays).toSeconds();
+    }
+
+    /**
+     * Fecha límite: lo eliminado antes ya no se puede restaurar y se puede purgar
+     */
+    public ZonedDateTime cutoff() {
+        return ZonedDateTime.now().minusDays(retentionDays);
+    }
+
+    public boolean isRestorable(ZonedDateTime deletedAt) {
+        return !deletedAt.isBefore(cutoff());
+    }
+
+    /**
+     * Días completos que faltan para que la promoción eliminada se purgue (nunca negativo)
+     */
+    public int daysUntilPurge(ZonedDateTime deletedAt) {
+        long daysLeft = Duration.between(ZonedDateTime.now(), deletedAt.plusDays(retentionDays)).toDays();
+        return Math.max(0, (int) daysLeft);
+    }
+}
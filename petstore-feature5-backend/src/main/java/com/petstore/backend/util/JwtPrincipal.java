@@ -0,0 +1,41 @@
+package com.petstore.backend.util;
+
+import java.time.Instant;
+
+/**
+ * Identidad ya verificada a partir de un JWT: lo mínimo para autenticar una petición
+ */
+public final class JwtPrincipal {
+
+    private final String email;
+    private final Integer userId;
+    private final String role;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String email, Integer userId, String role, Instant expiresAt) {
+        this.email = email;
+        this.userId = userId;
+        this.role = role;
+        this.expiresAt = expiresAt;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public Integer getUserId() {
+        return userId;
+    }
+
+    public String getRole() {
+        return role;
+    }
+
+    public Instant getExpiresAt() {
+        return expiresAt;
+    }
+
+    public boolean isExpired(Instant now) {
+        return expiresAt != null && !now.isBefore(expiresAt);
+    }
+}
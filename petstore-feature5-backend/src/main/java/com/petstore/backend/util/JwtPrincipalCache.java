@@ -0,0 +1,107 @@
+package com.petstore.backend.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Caché acotada (tamaño máximo + TTL) de principales JWT ya verificados.
+ *
+ * La clave es el SHA-256 del token, así el token en claro no queda en memoria. Una entrada
+ * vive lo que sea menor entre el TTL configurado y la expiración del propio token.
+ */
+@Component
+public class JwtPrincipalCache {
+
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Cache<String, Entry> entries;
+
+    @Autowired
+    public JwtPrincipalCache(@Value("${app.security.jwt-cache.max-entries:10000}") int maxEntries,
+                             @Value("${app.security.jwt-cache.ttl:PT5M}") Duration ttl) {
+        this(maxEntries, ttl, Clock.systemUTC());
+    }
+
+    JwtPrincipalCache(int maxEntries, Duration ttl, Clock clock) {
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+        // Sin locks propios: Caffeine es concurrente y no fija hilos virtuales; el ticker sigue al reloj
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(Math.max(maxEntries, 0))
+                .expireAfterWrite(ttl)
+                .ticker(() -> TimeUnit.MILLISECONDS.toNanos(clock.millis()))
+                .build();
+    }
+
+    /**
+     * Principal cacheado para el token, o null si no está o ya venció
+     */
+    public JwtPrincipal get(String token) {
+        String key = digest(token);
+        Entry entry = entries.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        // El token puede vencer antes que el TTL de la caché
+        if (!clock.instant().isBefore(entry.expiresAt)) {
+            entries.invalidate(key);
+            return null;
+        }
+        return entry.principal;
+    }
+
+    public void put(String token, JwtPrincipal principal) {
+        if (maxEntries <= 0) {
+            return;
+        }
+        Instant expiresAt = clock.instant().plus(ttl);
+        if (principal.getExpiresAt() != null && principal.getExpiresAt().isBefore(expiresAt)) {
+            expiresAt = principal.getExpiresAt();
+        }
+        entries.put(digest(token), new Entry(principal, expiresAt));
+    }
+
+    public void clear() {
+        entries.invalidateAll();
+    }
+
+    public int size() {
+        entries.cleanUp();
+        return (int) entries.estimatedSize();
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+
+        private final JwtPrincipal principal;
+        private final Instant expiresAt;
+
+        private Entry(JwtPrincipal principal, Instant expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -6,7 +6,9 @@ import java.util.Date;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,31 +16,64 @@ import io.jsonwebtoken.security.Keys;
 @Component
 public class JwtUtil {
 
-    @Value("${SECRET}")
-    private String secret; // mínimo 32 caracteres
-    @Value("#{${EXPIRATION}}")
-    private long expiration; // 24h
+    public static final String CLAIM_USER_ID = "uid";
+    public static final String CLAIM_ROLE = "role";
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    private final long expiration; // 24h
+    // La clave y el parser se construyen una sola vez: ambos son inmutables y thread-safe
+    private final Key signingKey;
+    private final JwtParser parser;
+
+    public JwtUtil(@Value("${SECRET}") String secret, // mínimo 32 caracteres
+                   @Value("#{${EXPIRATION}}") long expiration) {
+        this.expiration = expiration;
+        this.signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
     }
 
     public String generateToken(String email) {
-        return Jwts.builder()
+        return generateToken(email, null, null);
+    }
+
+    /**
+     * Genera un token con el ID y el rol del usuario firmados como claims,
+     * para que el filtro pueda autenticar sin consultar la base de datos
+     */
+    public String generateToken(String email, Integer userId, String role) {
+        var builder = Jwts.builder()
                 .setSubject(email)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+        if (userId != null) {
+            builder.claim(CLAIM_USER_ID, userId);
+        }
+        if (role != null) {
+            builder.claim(CLAIM_ROLE, role);
+        }
+        return builder.signWith(signingKey, SignatureAlgorithm.HS256).compact();
+    }
+
+    /**
+     * Verifica firma y expiración en una sola pasada y retorna los claims
+     * @throws JwtException si el token no es válido
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    /**
+     * Igual que {@link #parseClaims(String)} pero retorna null si el token no es válido
+     */
+    public Claims parseClaimsIfValid(String token) {
+        try {
+            return parseClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public String extractEmail(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
     public String getEmailFromToken(String token) {
@@ -46,11 +81,6 @@ public class JwtUtil {
     }
 
     public boolean validateToken(String token) {
-        try {
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
-        }
+        return parseClaimsIfValid(token) != null;
     }
 }
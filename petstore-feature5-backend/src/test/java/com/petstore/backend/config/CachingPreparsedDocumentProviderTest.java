@@ -0,0 +1,143 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import graphql.ExecutionInput;
+import graphql.GraphQLError;
+import graphql.execution.preparsed.PreparsedDocumentEntry;
+import graphql.execution.preparsed.persisted.PersistedQuerySupport;
+import graphql.parser.Parser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CachingPreparsedDocumentProviderTest {
+
+    private static final String HEALTH = "{ health }";
+    private static final String HEALTH_SHA256 = "f3b7fd9b2d5b0a7b8a28dc8c6cc8f7df8f5d9e0e5f3a1d6d8d2e5f8a6d3b2c1a";
+
+    private SimpleMeterRegistry registry;
+    private CachingPreparsedDocumentProvider provider;
+    private AtomicInteger parses;
+    private Function<ExecutionInput, PreparsedDocumentEntry> parseAndValidate;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        provider = new CachingPreparsedDocumentProvider(2, registry);
+        parses = new AtomicInteger();
+        parseAndValidate = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(Parser.parse(input.getQuery()));
+        };
+    }
+
+    @Test
+    void getDocumentAsync_SameQueryTwice_ShouldParseOnce() {
+        PreparsedDocumentEntry first = provider.getDocumentAsync(input(HEALTH), parseAndValidate).join();
+        PreparsedDocumentEntry second = provider.getDocumentAsync(input(HEALTH), parseAndValidate).join();
+
+        assertSame(first, second);
+        assertEquals(1, parses.get());
+        assertEquals(0.5, registry.get("graphql.documents.hit.ratio").gauge().value());
+        assertEquals(1, registry.get("graphql.documents.parse").timer().count());
+        assertTrue(registry.get("graphql.documents.parse.saved").counter().count() > 0);
+    }
+
+    @Test
+    void getDocumentAsync_InvalidDocument_ShouldNotBeCached() {
+        Function<ExecutionInput, PreparsedDocumentEntry> failing = input -> {
+            parses.incrementAndGet();
+            return new PreparsedDocumentEntry(GraphQLError.newError().message("invalid").build());
+        };
+
+        provider.getDocumentAsync(input("{ nope }"), failing).join();
+        provider.getDocumentAsync(input("{ nope }"), failing).join();
+
+        assertEquals(2, parses.get());
+        assertEquals(0, provider.size());
+    }
+
+    @Test
+    void getDocumentAsync_ShouldStayWithinMaxEntries() {
+        for (int i = 0; i < 50; i++) {
+            provider.getDocumentAsync(input("{ health f" + i + ": health }"), parseAndValidate).join();
+        }
+
+        assertTrue(provider.size() <= 2, "size " + provider.size());
+    }
+
+    @Test
+    void getDocumentAsync_UnknownPersistedHash_ShouldReturnPersistedQueryNotFound() {
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(
+                persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, HEALTH_SHA256), parseAndValidate).join();
+
+        assertTrue(entry.hasErrors());
+        assertEquals("PersistedQueryNotFound", entry.getErrors().get(0).getMessage());
+        assertEquals(0, parses.get());
+        assertEquals(1, registry.get("graphql.persisted.queries").tag("outcome", "not_found").counter().count());
+    }
+
+    @Test
+    void getDocumentAsync_RegisteredPersistedHash_ShouldResolveWithoutQueryText() {
+        String hash = sha256(HEALTH);
+        provider.getDocumentAsync(persisted(HEALTH, hash), parseAndValidate).join();
+
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(
+                persisted(PersistedQuerySupport.PERSISTED_QUERY_MARKER, hash), parseAndValidate).join();
+
+        assertFalse(entry.hasErrors());
+        assertEquals(1, parses.get());
+        assertEquals(1, registry.get("graphql.persisted.queries").tag("outcome", "registered").counter().count());
+        assertEquals(1, registry.get("graphql.persisted.queries").tag("outcome", "hit").counter().count());
+    }
+
+    @Test
+    void getDocumentAsync_HashNotMatchingQuery_ShouldBeRejected() {
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(persisted(HEALTH, HEALTH_SHA256), parseAndValidate)
+                .join();
+
+        assertTrue(entry.hasErrors());
+        assertEquals(0, provider.size());
+    }
+
+    @Test
+    void getDocumentAsync_MutationOverGet_ShouldBeRejected() {
+        ExecutionInput input = ExecutionInput.newExecutionInput("mutation { logout }")
+                .graphQLContext(Map.of(CachingPreparsedDocumentProvider.HTTP_GET_CONTEXT_KEY, true))
+                .build();
+
+        PreparsedDocumentEntry entry = provider.getDocumentAsync(input, parseAndValidate).join();
+
+        assertTrue(entry.hasErrors());
+        assertFalse(provider.getDocumentAsync(input(HEALTH), parseAndValidate).join().hasErrors());
+    }
+
+    private static ExecutionInput input(String query) {
+        return ExecutionInput.newExecutionInput(query).build();
+    }
+
+    private static ExecutionInput persisted(String query, String hash) {
+        return ExecutionInput.newExecutionInput(query)
+                .extensions(Map.of("persistedQuery", Map.of("version", 1, "sha256Hash", hash)))
+                .build();
+    }
+
+    static String sha256(String text) {
+        try {
+            byte[] digest = java.security.MessageDigest.getInstance("SHA-256")
+                    .digest(text.getBytes(java.nio.charset.StandardCharsets.UTF_8));
+            return java.util.HexFormat.of().formatHex(digest);
+        } catch (java.security.NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
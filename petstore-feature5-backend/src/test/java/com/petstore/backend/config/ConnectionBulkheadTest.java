@@ -0,0 +1,85 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ConnectionBulkheadTest {
+
+    @Test
+    void decorate_ShouldNeverRunMoreTasksThanPermits() throws Exception {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(2, Duration.ofSeconds(1));
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(8);
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Executor executor = bulkhead.decorate(virtualThreads);
+            for (int i = 0; i < 8; i++) {
+                executor.execute(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    sleep(20);
+                    running.decrementAndGet();
+                    done.countDown();
+                });
+            }
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(2, maxRunning.get());
+        assertEquals(2, bulkhead.availablePermits());
+    }
+
+    @Test
+    void decorate_WhenTaskFails_ShouldReleaseThePermit() throws Exception {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(1, Duration.ofSeconds(1));
+        CountDownLatch done = new CountDownLatch(1);
+
+        try (ExecutorService virtualThreads = Executors.newVirtualThreadPerTaskExecutor()) {
+            Executor executor = bulkhead.decorate(virtualThreads);
+            executor.execute(() -> {
+                throw new IllegalStateException("Database error");
+            });
+            executor.execute(done::countDown);
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        }
+
+        assertEquals(1, bulkhead.availablePermits());
+    }
+
+    @Test
+    void tryAcquire_WhenFull_ShouldGiveUpAfterTheTimeout() throws Exception {
+        ConnectionBulkhead bulkhead = new ConnectionBulkhead(1, Duration.ofMillis(50));
+
+        assertTrue(bulkhead.tryAcquire());
+        assertFalse(bulkhead.tryAcquire());
+
+        bulkhead.release();
+        assertTrue(bulkhead.tryAcquire());
+    }
+
+    @Test
+    void constructor_WithoutPermits_ShouldFail() {
+        Duration timeout = Duration.ofSeconds(1);
+        assertThrows(IllegalArgumentException.class, () -> new ConnectionBulkhead(0, timeout));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
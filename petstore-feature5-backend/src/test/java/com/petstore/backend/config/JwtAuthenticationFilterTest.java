@@ -0,0 +1,107 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+
+import com.petstore.backend.service.AuthService;
+import com.petstore.backend.util.JwtPrincipalCache;
+import com.petstore.backend.util.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class JwtAuthenticationFilterTest {
+
+    private static final String SECRET = "una-clave-secreta-larga-y-aleatoria-para-tests";
+
+    @Mock
+    private AuthService authService;
+
+    private JwtUtil jwtUtil;
+    private SimpleMeterRegistry meterRegistry;
+    private JwtAuthenticationFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil(SECRET, 60_000);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(jwtUtil, authService, new JwtPrincipalCache(100, Duration.ofMinutes(5)),
+                meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenWithRoleClaim_ShouldAuthenticateWithoutLoadingUser() throws Exception {
+        String token = jwtUtil.generateToken("admin@petstore.com", 1, "Marketing Admin");
+
+        Authentication auth = authenticate(token);
+
+        assertNotNull(auth);
+        assertEquals("admin@petstore.com", auth.getName());
+        assertEquals("ROLE_Marketing_Admin", auth.getAuthorities().iterator().next().getAuthority());
+        verify(authService, never()).loadUserByUsername("admin@petstore.com");
+    }
+
+    @Test
+    void legacyTokenWithoutRole_ShouldLoadUserOnceAndThenUseCache() throws Exception {
+        String token = jwtUtil.generateToken("admin@petstore.com");
+        when(authService.loadUserByUsername("admin@petstore.com")).thenReturn(User.withUsername("admin@petstore.com")
+                .password("x").roles("Marketing_Admin").build());
+
+        Authentication first = authenticate(token);
+        Authentication second = authenticate(token);
+
+        assertEquals("ROLE_Marketing_Admin", first.getAuthorities().iterator().next().getAuthority());
+        assertEquals("ROLE_Marketing_Admin", second.getAuthorities().iterator().next().getAuthority());
+        verify(authService, times(1)).loadUserByUsername("admin@petstore.com");
+    }
+
+    @Test
+    void invalidToken_ShouldNotAuthenticate() throws Exception {
+        assertNull(authenticate("invalid.token.here"));
+    }
+
+    @Test
+    void verification_ShouldBeTimedOnlyOnCacheMiss() throws Exception {
+        String token = jwtUtil.generateToken("admin@petstore.com", 1, "Marketing Admin");
+
+        authenticate(token);
+        authenticate(token);
+        authenticate("invalid.token.here");
+
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.VERIFY_METRIC).tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get(JwtAuthenticationFilter.VERIFY_METRIC).tag("outcome", "invalid").timer().count());
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
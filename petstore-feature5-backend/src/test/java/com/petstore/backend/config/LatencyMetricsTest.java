@@ -0,0 +1,114 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.repository.CategoryRepository;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Timers por resolver y por repositorio, filas por método y espera de Hikari en /actuator/prometheus
+ */
+@SpringBootTest
+@AutoConfigureObservability
+@AutoConfigureMockMvc
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class LatencyMetricsTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @BeforeEach
+    void setUp() {
+        categoryRepository.save(new Category("Métricas", "Categoría de prueba"));
+        categoryRepository.save(new Category("Métricas 2", "Categoría de prueba"));
+    }
+
+    @Test
+    void resolver_ShouldBeTimedByTypeFieldAndOperation() {
+        graphQlTester.document("query CatalogoMetricas { categories { categoryName } }")
+                .execute()
+                .path("categories[*].categoryName").entityList(String.class).contains("Métricas");
+
+        Timer timer = meterRegistry.find(ResolverTimingInstrumentation.RESOLVER_METRIC)
+                .tags("field", "Query.categories", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+        // La operación va solo en el timer sin histograma
+        assertNull(timer.getId().getTag("operation"));
+        Timer byOperation = meterRegistry.find(ResolverTimingInstrumentation.OPERATION_METRIC)
+                .tags("field", "Query.categories", "operation", "CatalogoMetricas", "outcome", "SUCCESS")
+                .timer();
+        assertNotNull(byOperation);
+        assertEquals(1, byOperation.count());
+        // Los campos escalares usan el fetcher trivial y no se miden
+        assertNull(meterRegistry.find(ResolverTimingInstrumentation.RESOLVER_METRIC)
+                .tag("field", "Category.categoryName").timer());
+    }
+
+    @Test
+    void repositoryMethod_ShouldRecordReturnedRows() {
+        int rows = categoryRepository.findAll().size();
+
+        DistributionSummary summary = meterRegistry.find(RepositoryRowCountInterceptor.ROWS_METRIC)
+                .tags("repository", "CategoryRepository", "method", "findAll")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(rows, summary.takeSnapshot().max());
+        assertNull(meterRegistry.find(RepositoryRowCountInterceptor.ROWS_METRIC).tag("method", "count").summary());
+        categoryRepository.count();
+        assertNull(meterRegistry.find(RepositoryRowCountInterceptor.ROWS_METRIC).tag("method", "count").summary());
+        // Las escrituras devuelven la entidad guardada, pero no son filas leídas
+        assertNull(meterRegistry.find(RepositoryRowCountInterceptor.ROWS_METRIC).tag("method", "save").summary());
+    }
+
+    @Test
+    void prometheus_ShouldExportLatencyHistograms() throws Exception {
+        graphQlTester.document("{ categories { categoryName } }").execute();
+        categoryRepository.findAll();
+
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(Matchers.containsString("graphql_resolver_seconds_bucket{")))
+                .andExpect(content().string(Matchers.containsString("graphql_operation_resolver_seconds_count{")))
+                .andExpect(content().string(Matchers.not(Matchers.containsString("graphql_operation_resolver_seconds_bucket{"))))
+                .andExpect(content().string(Matchers.containsString("spring_data_repository_invocations_seconds_bucket{")))
+                .andExpect(content().string(Matchers.containsString("spring_data_repository_rows_bucket{")))
+                .andExpect(content().string(Matchers.containsString("hikaricp_connections_acquire_seconds_bucket{")));
+        assertTrue(meterRegistry.find("hikaricp.connections.acquire").timer().count() > 0);
+    }
+}
@@ -0,0 +1,119 @@
+package com.petstore.backend.config;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+/**
+ * Pruebas de Automatic Persisted Queries sobre /graphql (POST y GET)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PersistedQueryTest {
+
+    private static final String QUERY = "query Health { health }";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void post_HashOnlyThenRegisterThenHashOnly_ShouldFollowApolloProtocol() throws Exception {
+        String hash = CachingPreparsedDocumentProviderTest.sha256(QUERY + " # post");
+        String extensions = extensions(hash);
+
+        perform(post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"extensions\":" + extensions + "}"))
+                .andExpect(jsonPath("$.errors[0].message").value("PersistedQueryNotFound"));
+
+        perform(post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"" + QUERY + " # post\",\"extensions\":" + extensions + "}"))
+                .andExpect(jsonPath("$.data.health").exists());
+
+        perform(post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"extensions\":" + extensions + "}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.health").exists())
+                .andExpect(jsonPath("$.errors").doesNotExist());
+    }
+
+    @Test
+    void get_RegisteredHash_ShouldBePubliclyCacheable() throws Exception {
+        String hash = CachingPreparsedDocumentProviderTest.sha256(QUERY + " # get");
+        perform(post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"" + QUERY + " # get\",\"extensions\":" + extensions(hash) + "}"));
+
+        perform(get("/graphql").param("extensions", extensions(hash)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.health").exists())
+                .andExpect(header().string("Cache-Control", containsString("public")));
+    }
+
+    @Test
+    void get_WithAuthorization_ShouldNotBeStoredInSharedCaches() throws Exception {
+        perform(get("/graphql").param("query", QUERY).header("Authorization", "Bearer invalid"))
+                .andExpect(jsonPath("$.data.health").exists())
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    void get_MatchingIfNoneMatch_ShouldReturnNotModifiedWithoutExecuting() throws Exception {
+        String etag = perform(get("/graphql").param("query", QUERY + " # etag"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/graphql").param("query", QUERY + " # etag").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(header().string("Cache-Control", containsString("public")));
+    }
+
+    @Test
+    void get_WithAuthorization_ShouldNotCarryAnETag() throws Exception {
+        perform(get("/graphql").param("query", QUERY).header("Authorization", "Bearer invalid")
+                        .header("If-None-Match", "*"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    @Test
+    void get_Mutation_ShouldBeRejected() throws Exception {
+        perform(get("/graphql").param("query", "mutation { login(email: \"a@b.com\", password: \"x\") { success } }"))
+                .andExpect(jsonPath("$.errors[0].message").value("Only query operations can be sent with HTTP GET"))
+                .andExpect(jsonPath("$.data").doesNotExist())
+                .andExpect(header().string("Cache-Control", "no-store"));
+    }
+
+    @Test
+    void get_InvalidVariablesJson_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/graphql").param("query", QUERY).param("variables", "{not json"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        // Las respuestas ya resueltas no pasan por el despacho asíncrono
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+
+    private static String extensions(String hash) {
+        return "{\"persistedQuery\":{\"version\":1,\"sha256Hash\":\"" + hash + "\"}}";
+    }
+}
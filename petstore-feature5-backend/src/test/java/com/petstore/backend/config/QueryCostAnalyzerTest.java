@@ -0,0 +1,96 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+
+import graphql.execution.CoercedVariables;
+import graphql.normalized.ExecutableNormalizedOperationFactory;
+import graphql.parser.Parser;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.SchemaParser;
+import graphql.schema.idl.UnExecutableSchemaGenerator;
+
+class QueryCostAnalyzerTest {
+
+    private static GraphQLSchema schema;
+
+    private final QueryCostAnalyzer analyzer = new QueryCostAnalyzer(Map.of("Product.effectivePrice", 1), 50);
+
+    @BeforeAll
+    static void loadSchema() throws IOException {
+        try (Reader reader = new InputStreamReader(
+                new ClassPathResource("graphql/schema.graphqls").getInputStream(), StandardCharsets.UTF_8)) {
+            schema = UnExecutableSchemaGenerator.makeUnExecutableSchema(new SchemaParser().parse(reader));
+        }
+    }
+
+    @Test
+    void analyze_ScalarOnly_ShouldCostNothing() {
+        QueryCostAnalyzer.QueryCost cost = analyze("{ health }", Map.of());
+
+        assertEquals(0, cost.cost());
+        assertEquals(1, cost.depth());
+    }
+
+    @Test
+    void analyze_UnpaginatedList_ShouldUseDefaultListSize() {
+        // products (1) + 50 * (category (1) + effectivePrice (1))
+        QueryCostAnalyzer.QueryCost cost = analyze(
+                "{ products { productName effectivePrice category { categoryName } } }", Map.of());
+
+        assertEquals(101, cost.cost());
+        assertEquals(3, cost.depth());
+    }
+
+    @Test
+    void analyze_Connection_ShouldMultiplyEdgesByFirstArgument() {
+        // connection (1) + edges (1 + 5 * node (1 + category (1)))
+        QueryCostAnalyzer.QueryCost cost = analyze("""
+                query($first: Int) {
+                  productsConnection(first: $first) {
+                    pageInfo { hasNextPage }
+                    edges { node { productName category { categoryName } } }
+                  }
+                }
+                """, Map.of("first", 5));
+
+        assertEquals(1 + 1 + 1 + 5 * 2, cost.cost());
+    }
+
+    @Test
+    void analyze_Fragments_ShouldBeCountedLikeInlineFields() {
+        QueryCostAnalyzer.QueryCost inline = analyze("{ categories { products { productName } } }", Map.of());
+        QueryCostAnalyzer.QueryCost withFragment = analyze("""
+                { categories { ...withProducts } }
+                fragment withProducts on Category { products { productName } }
+                """, Map.of());
+
+        assertEquals(inline.cost(), withFragment.cost());
+        assertEquals(1 + 50 * 1, inline.cost());
+    }
+
+    @Test
+    void analyze_SchemaCycle_ShouldGrowExponentially() {
+        QueryCostAnalyzer.QueryCost cost = analyze("""
+                { categories { products { promotion { products { category { products { productName } } } } } } }
+                """, Map.of());
+
+        // categories → products (×50) → promotion → products (×50) → category → products (×50)
+        assertEquals(1 + 50L * (1 + 50L * (1 + (1 + 50L * (1 + 1)))), cost.cost());
+        assertEquals(7, cost.depth());
+    }
+
+    private QueryCostAnalyzer.QueryCost analyze(String query, Map<String, Object> variables) {
+        return analyzer.analyze(ExecutableNormalizedOperationFactory.createExecutableNormalizedOperation(
+                schema, Parser.parse(query), null, CoercedVariables.of(variables)), schema);
+    }
+}
@@ -0,0 +1,106 @@
+package com.petstore.backend.config;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.util.JwtUtil;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Límites de profundidad y costo de /graphql según el rol del solicitante
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class QueryCostLimitTest {
+
+    // Costo 130051: por encima del límite anónimo (20000) y por debajo del de admin (200000)
+    private static final String EXPENSIVE = "query Expensive { categories { products { promotion "
+            + "{ products { category { categoryName } } } } } }";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void expensiveQuery_Anonymous_ShouldBeRejectedBeforeExecution() throws Exception {
+        perform(graphql(EXPENSIVE, null))
+                .andExpect(jsonPath("$.errors[0].message").value(startsWith("Query cost 130051 exceeds")))
+                .andExpect(jsonPath("$.data").doesNotExist());
+
+        assertTrue(meterRegistry.get(QueryCostInstrumentation.COST_METRIC)
+                .tag("operation", "Expensive").summary().max() >= 130051);
+    }
+
+    @Test
+    void expensiveQuery_MarketingAdmin_ShouldRun() throws Exception {
+        String token = jwtUtil.generateToken("admin@petstore.com", 1, "Marketing Admin");
+
+        perform(graphql(EXPENSIVE, token))
+                .andExpect(jsonPath("$.errors").doesNotExist())
+                .andExpect(jsonPath("$.data.categories").isArray());
+    }
+
+    @Test
+    void deepQuery_ShouldBeRejectedByDepthForEachRole() throws Exception {
+        String token = jwtUtil.generateToken("admin@petstore.com", 1, "Marketing Admin");
+
+        perform(graphql(nested(11), null))
+                .andExpect(jsonPath("$.errors[0].message")
+                        .value("Query depth 11 exceeds the maximum allowed depth of 10"));
+        perform(graphql(nested(16), token))
+                .andExpect(jsonPath("$.errors[0].message")
+                        .value("Query depth 16 exceeds the maximum allowed depth of 15"));
+    }
+
+    @Test
+    void cheapQuery_Anonymous_ShouldRun() throws Exception {
+        perform(graphql("{ products { productName category { categoryName } } }", null))
+                .andExpect(jsonPath("$.errors").doesNotExist());
+    }
+
+    // Recorre el ciclo products → promotion → products ... hasta la profundidad pedida
+    private static String nested(int depth) {
+        StringBuilder query = new StringBuilder("{ products {");
+        for (int level = 2; level < depth; level++) {
+            query.append(level % 2 == 0 ? " promotion {" : " products {");
+        }
+        query.append(depth % 2 == 1 ? " promotionName" : " productName");
+        query.append(" }".repeat(depth - 1)).append(" }");
+        return query.toString();
+    }
+
+    private static RequestBuilder graphql(String query, String token) {
+        var request = post("/graphql").contentType(MediaType.APPLICATION_JSON)
+                .content("{\"query\":\"" + query + "\"}");
+        return token != null ? request.header("Authorization", "Bearer " + token) : request;
+    }
+
+    private ResultActions perform(RequestBuilder request) throws Exception {
+        ResultActions actions = mockMvc.perform(request);
+        MvcResult result = actions.andReturn();
+        return result.getRequest().isAsyncStarted() ? mockMvc.perform(asyncDispatch(result)) : actions;
+    }
+}
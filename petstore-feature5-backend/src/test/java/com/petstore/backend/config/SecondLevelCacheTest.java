@@ -0,0 +1,120 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.StatusRepository;
+import com.petstore.backend.service.CategoryService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Verifica la caché de segundo nivel de los datos de referencia (Status, Role, Category).
+ * Sin @Transactional: la caché solo se llena con datos confirmados, así que cada llamada
+ * al repositorio corre en su propia transacción y los datos se limpian al final.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        statusRepository.findByStatusName("CACHED").ifPresent(statusRepository::delete);
+        statusRepository.findByStatusName("QUERY_CACHED").ifPresent(statusRepository::delete);
+        categoryRepository.findByCategoryName("Cacheada").ifPresent(categoryRepository::delete);
+    }
+
+    @Test
+    void findById_SecondLoad_ShouldHitSecondLevelCache() {
+        Integer statusId = statusRepository.save(new Status("CACHED")).getStatusId();
+        entityManagerFactory.getCache().evict(Status.class);
+
+        statusRepository.findById(statusId);
+        long statementsBefore = statistics.getPrepareStatementCount();
+        statusRepository.findById(statusId);
+
+        assertEquals(statementsBefore, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getSecondLevelCacheHitCount() > 0);
+    }
+
+    @Test
+    void findByStatusName_RepeatedCall_ShouldHitQueryCache() {
+        statusRepository.save(new Status("QUERY_CACHED"));
+        statistics.clear();
+
+        statusRepository.findByStatusName("QUERY_CACHED");
+        statusRepository.findByStatusName("QUERY_CACHED");
+
+        assertEquals(1, statistics.getQueryCachePutCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void categoryServiceSave_ShouldEvictCategoryRegion() {
+        Category category = categoryRepository.save(new Category("Cacheada", "Categoría de prueba"));
+        categoryRepository.findById(category.getCategoryId());
+        assertTrue(entityManagerFactory.getCache().contains(Category.class, category.getCategoryId()));
+
+        categoryService.save(categoryRepository.findById(category.getCategoryId()).orElseThrow());
+
+        assertFalse(entityManagerFactory.getCache().contains(Category.class, category.getCategoryId()));
+    }
+
+    @Test
+    void categoryServiceSave_ShouldEvictOnlyCategoryQueries() {
+        statusRepository.save(new Status("QUERY_CACHED"));
+        Category category = categoryRepository.save(new Category("Cacheada", "Categoría de prueba"));
+        statusRepository.findByStatusName("QUERY_CACHED");
+        categoryRepository.findByCategoryName("Cacheada");
+        statistics.clear();
+
+        categoryService.save(category);
+        statusRepository.findByStatusName("QUERY_CACHED");
+        categoryRepository.findByCategoryName("Cacheada");
+
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryCachePutCount());
+    }
+
+    @Test
+    void cacheStatistics_ShouldBeExposedAsMetrics() {
+        assertTrue(meterRegistry.find("hibernate.second.level.cache.requests").meters().size() > 0);
+    }
+}
@@ -0,0 +1,275 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.data.method.annotation.support.AnnotatedControllerConfigurer;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Role;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.entity.User;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.RoleRepository;
+import com.petstore.backend.repository.StatusRepository;
+import com.petstore.backend.repository.UserRepository;
+import com.petstore.backend.service.CategoryService;
+import com.petstore.backend.service.ProductService;
+
+/**
+ * Modo de hilos virtuales: los data fetchers de GraphQL corren en hilos virtuales a través del
+ * bulkhead y la API REST responde 503 cuando el bulkhead está lleno. Sin @Transactional: los
+ * fetchers corren en otros hilos, así que los datos se confirman y se borran al final.
+ */
+@SpringBootTest(properties = {
+        "spring.threads.virtual.enabled=true",
+        "app.bulkhead.permits=2",
+        "app.bulkhead.acquire-timeout=PT0.1S",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.petstore.backend.config.VirtualThreadExecutionTest$ThreadRecorder"
+})
+@AutoConfigureMockMvc
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+class VirtualThreadExecutionTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private AnnotatedControllerConfigurer controllerConfigurer;
+
+    @Autowired
+    private ConnectionBulkhead bulkhead;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Category category;
+    private Status status;
+    private Role role;
+    private User user;
+    private Promotion promotion;
+    private Product product;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryService.save(new Category("Hilos virtuales", "Categoría de prueba"));
+        status = statusRepository.save(new Status("VIRTUAL"));
+        role = roleRepository.save(new Role("Virtual Role"));
+        user = userRepository.save(new User("virtual", "virtual@example.com", "secret", role));
+        promotion = new Promotion("Promo virtual", "Promoción de prueba", LocalDate.now(),
+                LocalDate.now().plusDays(10), 10.0, status);
+        promotion.setCategory(category);
+        promotion.setUser(user);
+        promotion = promotionRepository.save(promotion);
+        Product unsaved = new Product("Producto virtual", 4.0, 890_001, category);
+        unsaved.setPromotion(promotion);
+        product = productService.save(unsaved);
+        ThreadRecorder.THREADS.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        productService.deleteById(product.getProductId());
+        promotionRepository.deleteById(promotion.getPromotionId());
+        userRepository.delete(user);
+        roleRepository.delete(role);
+        statusRepository.delete(status);
+        categoryService.deleteById(category.getCategoryId());
+    }
+
+    @Test
+    void graphQlExecutor_ShouldGoThroughTheBulkhead() {
+        assertInstanceOf(ConnectionBulkhead.BulkheadExecutor.class, controllerConfigurer.getExecutor());
+    }
+
+    @Test
+    void rootFields_ShouldRunOnVirtualThreads() {
+        graphQlTester.document("{ categories { categoryName } products { productName category { categoryName } } }")
+                .execute()
+                .path("categories[*].categoryName").entityList(String.class).contains("Hilos virtuales")
+                .path("products[*].productName").entityList(String.class).contains("Producto virtual");
+
+        List<Thread> threads = new ArrayList<>(ThreadRecorder.THREADS);
+        assertFalse(threads.isEmpty());
+        assertTrue(threads.stream().allMatch(Thread::isVirtual), threads.toString());
+    }
+
+    // Sin sesión abierta en el hilo del fetcher: la promoción tiene que llegar en el mismo SELECT
+    @Test
+    void productPromotion_ShouldBeLoadedWithTheProducts() {
+        graphQlTester.document("""
+                        query($categoryId: ID!) {
+                          productsConnection(categoryId: $categoryId) { edges { node { promotion { promotionName } } } }
+                          categories { categoryName products { promotion { promotionName } } }
+                          searchProducts(query: "Producto virtual") { promotion { promotionName status { statusName } } }
+                        }
+                        """)
+                .variable("categoryId", category.getCategoryId())
+                .execute()
+                .path("productsConnection.edges[0].node.promotion.promotionName").entity(String.class).isEqualTo("Promo virtual")
+                .path("categories[?(@.categoryName == 'Hilos virtuales')].products[0].promotion.promotionName")
+                .entityList(String.class).containsExactly("Promo virtual")
+                .path("searchProducts[0].promotion.promotionName").entity(String.class).isEqualTo("Promo virtual")
+                .path("searchProducts[0].promotion.status.statusName").entity(String.class).isEqualTo("VIRTUAL");
+    }
+
+    @Test
+    void categoryPromotions_ShouldBeLoadedWithTheirRelations() {
+        graphQlTester.document("""
+                        {
+                          categories {
+                            categoryName
+                            promotions { status { statusName } category { categoryName } user { userName } }
+                          }
+                        }
+                        """)
+                .execute()
+                .path("categories[?(@.categoryName == 'Hilos virtuales')].promotions[0].user.userName")
+                .entityList(String.class).containsExactly("virtual")
+                .path("categories[?(@.categoryName == 'Hilos virtuales')].promotions[0].category.categoryName")
+                .entityList(String.class).containsExactly("Hilos virtuales");
+    }
+
+    @Test
+    @WithMockUser(username = "virtual@example.com")
+    void associationMutations_ShouldReturnThePromotionWithItsRelations() {
+        graphQlTester.document("""
+                        mutation($promotionId: ID!, $productIds: [ID!]!) {
+                          associate: associateProductsToPromotion(promotionId: $promotionId, productIds: $productIds) {
+                            status { statusName } category { categoryName } user { userName }
+                          }
+                          bulk: associateProductsToPromotionBulk(promotionId: $promotionId, productIds: $productIds) {
+                            promotion { status { statusName } category { categoryName } user { userName } }
+                          }
+                          remove: removeProductsFromPromotion(promotionId: $promotionId, productIds: $productIds) {
+                            status { statusName } category { categoryName } user { userName }
+                          }
+                        }
+                        """)
+                .variable("promotionId", promotion.getPromotionId())
+                .variable("productIds", List.of(product.getProductId()))
+                .execute()
+                .path("associate.status.statusName").entity(String.class).isEqualTo("VIRTUAL")
+                .path("associate.category.categoryName").entity(String.class).isEqualTo("Hilos virtuales")
+                .path("associate.user.userName").entity(String.class).isEqualTo("virtual")
+                .path("bulk.promotion.status.statusName").entity(String.class).isEqualTo("VIRTUAL")
+                .path("bulk.promotion.category.categoryName").entity(String.class).isEqualTo("Hilos virtuales")
+                .path("bulk.promotion.user.userName").entity(String.class).isEqualTo("virtual")
+                .path("remove.status.statusName").entity(String.class).isEqualTo("VIRTUAL")
+                .path("remove.category.categoryName").entity(String.class).isEqualTo("Hilos virtuales")
+                .path("remove.user.userName").entity(String.class).isEqualTo("virtual");
+    }
+
+    @Test
+    @WithMockUser(username = "virtual@example.com")
+    void updatePromotion_ShouldReturnThePromotionWithItsRelations() {
+        graphQlTester.document("""
+                        mutation($id: ID!, $statusId: ID!, $userId: ID!) {
+                          updatePromotion(id: $id, input: { promotionName: "Promo virtual", startDate: "%s",
+                              endDate: "%s", discountPercentage: 15, statusId: $statusId, userId: $userId }) {
+                            promotionName status { statusName } category { categoryName } user { userName }
+                          }
+                        }
+                        """.formatted(LocalDate.now(), LocalDate.now().plusDays(10)))
+                .variable("id", promotion.getPromotionId())
+                .variable("statusId", status.getStatusId())
+                .variable("userId", user.getUserId())
+                .execute()
+                .path("updatePromotion.status.statusName").entity(String.class).isEqualTo("VIRTUAL")
+                .path("updatePromotion.category.categoryName").entity(String.class).isEqualTo("Hilos virtuales")
+                .path("updatePromotion.user.userName").entity(String.class).isEqualTo("virtual");
+    }
+
+    @Test
+    void promotionQueries_ShouldLoadTheRelationsTheySelect() {
+        graphQlTester.document("""
+                        query($id: ID!, $categoryId: ID!) {
+                          promotionsConnection(first: 100) { edges { node { promotionId user { userName } category { categoryName } } } }
+                          promotion(id: $id) { status { statusName } category { categoryName } user { userName } }
+                          promotionsByCategory(categoryId: $categoryId) { status { statusName } user { userName } }
+                        }
+                        """)
+                .variable("id", promotion.getPromotionId())
+                .variable("categoryId", category.getCategoryId())
+                .execute()
+                .path("promotionsConnection.edges[?(@.node.promotionId == '" + promotion.getPromotionId() + "')].node.user.userName")
+                .entityList(String.class).containsExactly("virtual")
+                .path("promotion.user.userName").entity(String.class).isEqualTo("virtual")
+                .path("promotionsByCategory[0].user.userName").entity(String.class).isEqualTo("virtual");
+    }
+
+    @Test
+    void restRequest_WhenBulkheadIsFull_ShouldReturnServiceUnavailable() throws Exception {
+        assertTrue(bulkhead.tryAcquire());
+        assertTrue(bulkhead.tryAcquire());
+        try {
+            mockMvc.perform(get("/api/categories"))
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        } finally {
+            bulkhead.release();
+            bulkhead.release();
+        }
+
+        mockMvc.perform(get("/api/categories"))
+                .andExpect(status().isOk());
+    }
+
+    /**
+     * Guarda el hilo que ejecuta cada sentencia SQL
+     */
+    public static class ThreadRecorder implements StatementInspector {
+
+        static final List<Thread> THREADS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            THREADS.add(Thread.currentThread());
+            return sql;
+        }
+    }
+}
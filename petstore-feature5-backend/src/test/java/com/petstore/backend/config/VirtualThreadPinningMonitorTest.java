@@ -0,0 +1,62 @@
+package com.petstore.backend.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPinningMonitorTest {
+
+    private final Object monitor = new Object();
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    @BeforeEach
+    void setUp() {
+        pinningMonitor = new VirtualThreadPinningMonitor(Duration.ofMillis(10));
+        pinningMonitor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        pinningMonitor.stop();
+    }
+
+    @Test
+    void blockingInsideSynchronized_ShouldBeReportedAsHotSpot() throws Exception {
+        Thread.ofVirtual().start(this::sleepWhileHoldingMonitor).join();
+
+        // JFR entrega los eventos por lotes (aprox. cada segundo)
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pinningMonitor.hotSpots().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+
+        assertFalse(pinningMonitor.hotSpots().isEmpty());
+        assertTrue(pinningMonitor.hotSpots().keySet().iterator().next()
+                .startsWith(VirtualThreadPinningMonitorTest.class.getName() + ".sleepWhileHoldingMonitor"),
+                pinningMonitor.hotSpots().toString());
+    }
+
+    @Test
+    void stop_ShouldLeaveTheMonitorStopped() {
+        assertTrue(pinningMonitor.isRunning());
+
+        pinningMonitor.stop();
+
+        assertFalse(pinningMonitor.isRunning());
+    }
+
+    private void sleepWhileHoldingMonitor() {
+        synchronized (monitor) {
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
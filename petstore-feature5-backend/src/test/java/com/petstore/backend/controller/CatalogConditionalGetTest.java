@@ -0,0 +1,103 @@
+package com.petstore.backend.controller;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.service.CategoryService;
+import com.petstore.backend.service.ProductService;
+
+/**
+ * Lecturas condicionales del catálogo (ETag / If-None-Match). Sin @Transactional: las versiones
+ * cambian después del commit, así que los datos se confirman y se borran al final de cada prueba.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogConditionalGetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private ProductService productService;
+
+    private final List<Integer> createdProducts = new ArrayList<>();
+    private final List<Integer> createdCategories = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        createdProducts.forEach(productService::deleteById);
+        createdCategories.forEach(categoryService::deleteById);
+    }
+
+    @Test
+    void getCategories_WithCurrentETag_ShouldReturnNotModified() throws Exception {
+        String etag = etagOf("/api/categories");
+
+        mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, public"))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    void getCategories_AfterWrite_ShouldReturnNewBodyAndETag() throws Exception {
+        String etag = etagOf("/api/categories");
+
+        createdCategories.add(categoryService.save(new Category("Condicional", "Categoría de prueba")).getCategoryId());
+
+        String newEtag = mockMvc.perform(get("/api/categories").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(etag, newEtag);
+    }
+
+    @Test
+    void productWrite_ShouldOnlyInvalidateProductReads() throws Exception {
+        Category category = categoryService.save(new Category("Condicional productos", null));
+        createdCategories.add(category.getCategoryId());
+        String productsEtag = etagOf("/api/products");
+        String promotionsEtag = etagOf("/api/promotions");
+
+        createdProducts.add(productService.save(new Product("Condicional", 3.0, 870_001, category)).getProductId());
+
+        mockMvc.perform(get("/api/products").header(HttpHeaders.IF_NONE_MATCH, productsEtag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/promotions").header(HttpHeaders.IF_NONE_MATCH, promotionsEtag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getProducts_WithInvalidSort_ShouldStillReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("sort", "nope").header(HttpHeaders.IF_NONE_MATCH, "*"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String etagOf(String path) throws Exception {
+        return mockMvc.perform(get(path))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
@@ -0,0 +1,117 @@
+package com.petstore.backend.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+/**
+ * Integration tests for PricingController endpoints.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PricingControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    private Integer discountedId;
+    private Integer regularId;
+
+    @BeforeEach
+    void setUp() {
+        Status active = statusRepository.save(new Status("ACTIVE"));
+        Category category = categoryRepository.save(new Category("Precios", "Categoría de prueba"));
+        Promotion promotion = promotionRepository.save(new Promotion("Promo 10", "Diez por ciento",
+                LocalDate.now().minusDays(1), LocalDate.now().plusDays(1), 10.0, active));
+
+        Product discounted = new Product("Con promoción", 19.99, 7001, category);
+        discounted.setPromotion(promotion);
+        discountedId = productRepository.save(discounted).getProductId();
+        regularId = productRepository.save(new Product("Sin promoción", 5.0, 7002, category)).getProductId();
+    }
+
+    @Test
+    void testQuote_Cart_ShouldApplyActivePromotion() throws Exception {
+        String body = """
+                {"items": [{"productId": %d, "quantity": 3}, {"productId": %d, "quantity": 2}]}
+                """.formatted(discountedId, regularId);
+
+        mockMvc.perform(post("/api/pricing/quote").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines", hasSize(2)))
+                .andExpect(jsonPath("$.lines[0].unitPrice").value(17.99))
+                .andExpect(jsonPath("$.lines[0].lineTotal").value(53.97))
+                .andExpect(jsonPath("$.lines[0].discountPercentage").value(10.0))
+                .andExpect(jsonPath("$.lines[1].unitPrice").value(5.0))
+                .andExpect(jsonPath("$.lines[1].discountPercentage").value(0.0))
+                .andExpect(jsonPath("$.subtotal").value(69.97))
+                .andExpect(jsonPath("$.discountTotal").value(6.0))
+                .andExpect(jsonPath("$.total").value(63.97));
+    }
+
+    @Test
+    void testQuote_ProductIds_ShouldReportMissingProducts() throws Exception {
+        String body = """
+                {"productIds": [%d, 999999]}
+                """.formatted(regularId);
+
+        mockMvc.perform(post("/api/pricing/quote").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lines", hasSize(1)))
+                .andExpect(jsonPath("$.lines[0].quantity").value(1))
+                .andExpect(jsonPath("$.missingProductIds[0]").value(999999))
+                .andExpect(jsonPath("$.total").value(5.0));
+    }
+
+    @Test
+    void testQuote_EmptyRequest_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/pricing/quote").contentType(MediaType.APPLICATION_JSON).content("{}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testQuote_InvalidQuantity_ShouldReturnBadRequest() throws Exception {
+        String body = """
+                {"items": [{"productId": %d, "quantity": 0}]}
+                """.formatted(regularId);
+
+        mockMvc.perform(post("/api/pricing/quote").contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isBadRequest());
+    }
+}
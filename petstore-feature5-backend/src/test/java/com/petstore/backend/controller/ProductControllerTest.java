@@ -13,6 +13,14 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+
 /**
  * Integration tests for ProductController endpoints.
  */
@@ -25,6 +33,12 @@ class ProductControllerTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
     @Test
     void testGetAllProducts() throws Exception {
         mockMvc.perform(get("/api/products"))
@@ -89,4 +103,51 @@ class ProductControllerTest {
         mockMvc.perform(get("/api/products/search"))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetAllProducts_Paginated_ShouldReturnNextLink() throws Exception {
+        Category category = categoryRepository.save(new Category("Paginación", "Categoría de prueba"));
+        for (int i = 0; i < 5; i++) {
+            productRepository.save(new Product("Producto " + i, 10.0 + i, 9000 + i, category));
+        }
+
+        String nextCursor = mockMvc.perform(get("/api/products").param("limit", "2").param("sort", "-price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].price").value(14.0))
+                .andExpect(header().string("Link", containsString("rel=\"next\"")))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/products").param("limit", "2").param("sort", "-price").param("after", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].price").value(12.0));
+    }
+
+    @Test
+    void testGetAllProducts_LastPage_ShouldNotReturnNextLink() throws Exception {
+        mockMvc.perform(get("/api/products").param("limit", "50"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Link"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void testGetAllProducts_InvalidSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("sort", "stock"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllProducts_InvalidCursor_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("after", "%%%"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testGetAllProducts_InvalidLimit_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/products").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+}
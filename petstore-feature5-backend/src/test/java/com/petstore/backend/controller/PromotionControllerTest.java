@@ -43,6 +43,20 @@ class PromotionControllerTest {
                 .andExpect(content().contentType(MediaType.APPLICATION_JSON));
     }
 
+    @Test
+    void testGetAllPromotions_WithPaginationParams() throws Exception {
+        // GET /api/promotions/all?limit=10&sort=-startDate
+        mockMvc.perform(get("/api/promotions/all").param("limit", "10").param("sort", "-startDate"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    void testGetAllPromotions_InvalidSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/promotions/all").param("sort", "unknown"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void testGetPromotionsByCategory() throws Exception {
         // GET /api/promotions/category/{categoryId}
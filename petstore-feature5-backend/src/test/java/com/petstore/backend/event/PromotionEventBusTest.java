@@ -0,0 +1,123 @@
+package com.petstore.backend.event;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscription;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+
+import reactor.core.publisher.BaseSubscriber;
+
+class PromotionEventBusTest {
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void publish_WithoutTransaction_ShouldReachEverySubscriber() {
+        PromotionEventBus bus = new PromotionEventBus(16);
+        RecordingSubscriber first = new RecordingSubscriber(Long.MAX_VALUE);
+        RecordingSubscriber second = new RecordingSubscriber(Long.MAX_VALUE);
+        bus.subscribe().subscribe(first);
+        bus.subscribe().subscribe(second);
+
+        bus.publish(event(1, "ACTIVE"));
+
+        assertEquals(List.of(1), first.promotionIds());
+        assertEquals(List.of(1), second.promotionIds());
+        assertEquals(2, bus.currentSubscriberCount());
+    }
+
+    @Test
+    void publish_SlowSubscriber_ShouldKeepNewestEventsWithoutBlockingOthers() {
+        PromotionEventBus bus = new PromotionEventBus(2);
+        RecordingSubscriber slow = new RecordingSubscriber(0);
+        RecordingSubscriber fast = new RecordingSubscriber(Long.MAX_VALUE);
+        bus.subscribe().subscribe(slow);
+        bus.subscribe().subscribe(fast);
+
+        for (int id = 1; id <= 5; id++) {
+            bus.publish(event(id, "ACTIVE"));
+        }
+        slow.request(10);
+
+        assertEquals(List.of(1, 2, 3, 4, 5), fast.promotionIds());
+        assertEquals(List.of(4, 5), slow.promotionIds());
+    }
+
+    @Test
+    void publish_InsideTransaction_ShouldWaitForCommit() {
+        PromotionEventBus bus = new PromotionEventBus(16);
+        RecordingSubscriber subscriber = new RecordingSubscriber(Long.MAX_VALUE);
+        bus.subscribe().subscribe(subscriber);
+        TransactionSynchronizationManager.initSynchronization();
+
+        bus.publish(event(7, "ACTIVE"));
+        assertTrue(subscriber.promotionIds().isEmpty());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(List.of(7), subscriber.promotionIds());
+    }
+
+    @Test
+    void isActivation_ShouldOnlyMatchStatusTransitions() {
+        Promotion promotion = promotion(1, "ACTIVE");
+
+        assertTrue(new PromotionEvent(PromotionEventType.UPDATED, promotion, "SCHEDULE").isActivation());
+        assertTrue(new PromotionEvent(PromotionEventType.CREATED, promotion, null).isActivation());
+        assertFalse(new PromotionEvent(PromotionEventType.UPDATED, promotion, "ACTIVE").isActivation());
+        assertFalse(new PromotionEvent(PromotionEventType.DELETED, promotion, "SCHEDULE").isActivation());
+        assertTrue(new PromotionEvent(PromotionEventType.UPDATED, promotion(2, "EXPIRED"), "ACTIVE").isExpiration());
+    }
+
+    private static PromotionEvent event(int promotionId, String statusName) {
+        return new PromotionEvent(PromotionEventType.UPDATED, promotion(promotionId, statusName), null);
+    }
+
+    private static Promotion promotion(int promotionId, String statusName) {
+        Promotion promotion = new Promotion();
+        promotion.setPromotionId(promotionId);
+        promotion.setStatus(new Status(statusName));
+        return promotion;
+    }
+
+    private static final class RecordingSubscriber extends BaseSubscriber<PromotionEvent> {
+
+        private final long initialRequest;
+        private final List<Integer> received = new ArrayList<>();
+
+        RecordingSubscriber(long initialRequest) {
+            this.initialRequest = initialRequest;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            if (initialRequest > 0) {
+                subscription.request(initialRequest);
+            }
+        }
+
+        @Override
+        protected void hookOnNext(PromotionEvent value) {
+            received.add(value.getPromotionId());
+        }
+
+        List<Integer> promotionIds() {
+            return received;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.petstore.backend.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Role;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.entity.User;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica que las relaciones anidadas de GraphQL se resuelvan con una consulta por nivel
+ * (DataLoader / @BatchMapping) y no con una consulta por objeto padre.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class GraphQLBatchLoadingTest {
+
+    private static final int CATEGORIES = 4;
+    private static final int PRODUCTS_PER_CATEGORY = 5;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Status active = statusRepository.save(new Status("ACTIVE"));
+        Role role = new Role("Batch Role");
+        entityManager.persist(role);
+        int sku = 1000;
+        for (int c = 0; c < CATEGORIES; c++) {
+            Category category = categoryRepository.save(new Category("Batch Category " + c, "Categoría de prueba"));
+            Promotion promotion = new Promotion("Promo " + c, "Promoción de prueba", LocalDate.now(),
+                    LocalDate.now().plusDays(10), 10.0, active);
+            promotion.setCategory(category);
+            // Un usuario distinto por promoción: un N+1 se notaría en la cantidad de sentencias
+            User user = new User("batch" + c, "batch" + c + "@example.com", "secret", role);
+            entityManager.persist(user);
+            promotion.setUser(user);
+            promotion = promotionRepository.save(promotion);
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                Product product = new Product("Product " + c + "-" + p, 9.99, sku++, category);
+                product.setPromotion(promotion);
+                productRepository.save(product);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void threeLevelNestedQuery_ShouldRunOneStatementPerLevel() {
+        graphQlTester.document("""
+                {
+                  categories {
+                    categoryId
+                    products {
+                      productId
+                      promotion {
+                        promotionId
+                        products { productId }
+                      }
+                    }
+                  }
+                }
+                """)
+                .execute()
+                .path("categories[*].products[*].promotion.products[*].productId")
+                .entityList(String.class)
+                .hasSize(CATEGORIES * PRODUCTS_PER_CATEGORY * PRODUCTS_PER_CATEGORY);
+
+        // 1) categories  2) products IN (categorías)  3) products IN (promociones)
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void categoryPromotionsAndProducts_ShouldBatchEachField() {
+        graphQlTester.document("""
+                {
+                  categories {
+                    promotions { promotionId }
+                    products { productId }
+                  }
+                }
+                """)
+                .execute()
+                .path("categories[*].products[*].productId")
+                .entityList(String.class)
+                .hasSize(CATEGORIES * PRODUCTS_PER_CATEGORY);
+
+        // 1) categories  2) promotions IN (categorías)  3) products IN (categorías)
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void categoryPromotionRelations_ShouldLoadWithThePromotions() {
+        graphQlTester.document("""
+                {
+                  categories {
+                    promotions { status { statusName } category { categoryName } user { userName } }
+                  }
+                }
+                """)
+                .execute()
+                .path("categories[*].promotions[*].user.userName")
+                .entityList(String.class)
+                .hasSize(CATEGORIES);
+
+        // 1) categories  2) promotions IN (categorías) con estado, categoría y usuario
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void productEffectivePrice_ShouldApplyPromotionInOneBatch() {
+        graphQlTester.document("""
+                {
+                  categories {
+                    products { basePrice effectivePrice }
+                  }
+                }
+                """)
+                .execute()
+                .path("categories[*].products[*].effectivePrice")
+                .entityList(Double.class)
+                .hasSize(CATEGORIES * PRODUCTS_PER_CATEGORY)
+                .satisfies(prices -> prices.forEach(price -> assertEquals(8.99, price)));
+
+        // 1) categories  2) products IN (categorías)  3) precios IN (productos)
+        assertEquals(3, statistics.getPrepareStatementCount());
+    }
+}
@@ -0,0 +1,170 @@
+package com.petstore.backend.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+/**
+ * Pruebas de las conexiones paginadas por cursor (productsConnection / promotionsConnection)
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class GraphQLConnectionTest {
+
+    private static final String PRODUCTS_PAGE = """
+            query($first: Int, $after: String, $sortBy: ProductSortField, $direction: SortDirection, $categoryId: ID) {
+              productsConnection(first: $first, after: $after, sortBy: $sortBy, direction: $direction, categoryId: $categoryId) {
+                edges { cursor node { productId basePrice } }
+                pageInfo { hasNextPage hasPreviousPage endCursor }
+              }
+            }
+            """;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    private Category toys;
+
+    @BeforeEach
+    void setUp() {
+        toys = categoryRepository.save(new Category("Juguetes", "Juguetes para mascotas"));
+        Category food = categoryRepository.save(new Category("Alimentos", "Alimentos para mascotas"));
+        // Precios repetidos para verificar el desempate por ID
+        double[] prices = {5.0, 3.0, 5.0, 1.0, 3.0, 5.0, 2.0};
+        for (int i = 0; i < prices.length; i++) {
+            productRepository.save(new Product("Producto " + i, prices[i], 5000 + i, i % 2 == 0 ? toys : food));
+        }
+        Status active = statusRepository.save(new Status("ACTIVE"));
+        for (int i = 0; i < 5; i++) {
+            promotionRepository.save(new Promotion("Promo " + i, null, LocalDate.now().plusDays(i),
+                    LocalDate.now().plusDays(30), 10.0 + i, active));
+        }
+    }
+
+    @Test
+    void productsConnection_ShouldWalkAllPagesByPriceWithoutDuplicates() {
+        List<Double> prices = new ArrayList<>();
+        List<String> ids = new ArrayList<>();
+        String after = null;
+        boolean hasNextPage = true;
+        int pages = 0;
+        while (hasNextPage) {
+            GraphQlTester.Response response = graphQlTester.document(PRODUCTS_PAGE)
+                    .variable("first", 3)
+                    .variable("after", after)
+                    .variable("sortBy", "PRICE")
+                    .execute();
+            List<Map<String, Object>> nodes = response.path("productsConnection.edges[*].node")
+                    .entityList(new org.springframework.core.ParameterizedTypeReference<Map<String, Object>>() {})
+                    .get();
+            nodes.forEach(node -> {
+                prices.add(((Number) node.get("basePrice")).doubleValue());
+                ids.add(String.valueOf(node.get("productId")));
+            });
+            hasNextPage = response.path("productsConnection.pageInfo.hasNextPage").entity(Boolean.class).get();
+            after = response.path("productsConnection.pageInfo.endCursor").entity(String.class).get();
+            pages++;
+        }
+
+        assertEquals(3, pages);
+        assertEquals(7, ids.size());
+        assertEquals(7, ids.stream().distinct().count());
+        assertEquals(List.of(1.0, 2.0, 3.0, 3.0, 5.0, 5.0, 5.0), prices);
+    }
+
+    @Test
+    void productsConnection_ShouldFilterByCategoryAndSortDescending() {
+        List<Double> prices = graphQlTester.document(PRODUCTS_PAGE)
+                .variable("first", 10)
+                .variable("sortBy", "PRICE")
+                .variable("direction", "DESC")
+                .variable("categoryId", toys.getCategoryId())
+                .execute()
+                .path("productsConnection.edges[*].node.basePrice")
+                .entityList(Double.class)
+                .get();
+
+        assertEquals(List.of(5.0, 5.0, 3.0, 2.0), prices);
+    }
+
+    @Test
+    void productsConnection_FirstPage_ShouldNotHavePreviousPage() {
+        GraphQlTester.Response response = graphQlTester.document(PRODUCTS_PAGE)
+                .variable("first", 2)
+                .execute();
+
+        assertTrue(response.path("productsConnection.pageInfo.hasNextPage").entity(Boolean.class).get());
+        assertFalse(response.path("productsConnection.pageInfo.hasPreviousPage").entity(Boolean.class).get());
+    }
+
+    @Test
+    void productsConnection_WithInvalidCursor_ShouldReturnError() {
+        graphQlTester.document(PRODUCTS_PAGE)
+                .variable("after", "bogus-cursor")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertFalse(errors.isEmpty()));
+    }
+
+    @Test
+    void promotionsConnection_ShouldPageByStartDate() {
+        String query = """
+                query($after: String) {
+                  promotionsConnection(first: 2, after: $after, sortBy: START_DATE) {
+                    edges { node { promotionName } }
+                    pageInfo { hasNextPage endCursor }
+                  }
+                }
+                """;
+        GraphQlTester.Response first = graphQlTester.document(query).execute();
+        List<String> firstNames = first.path("promotionsConnection.edges[*].node.promotionName")
+                .entityList(String.class).get();
+        String cursor = first.path("promotionsConnection.pageInfo.endCursor").entity(String.class).get();
+
+        List<String> secondNames = graphQlTester.document(query)
+                .variable("after", cursor)
+                .execute()
+                .path("promotionsConnection.edges[*].node.promotionName")
+                .entityList(String.class).get();
+
+        assertEquals(List.of("Promo 0", "Promo 1"), firstNames);
+        assertEquals(List.of("Promo 2", "Promo 3"), secondNames);
+    }
+}
@@ -0,0 +1,184 @@
+package com.petstore.backend.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.time.LocalDate;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Filtros y orden de {@code products} / {@code promotions}: se resuelven en una sola consulta SQL
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class GraphQLFilterTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    private Category toys;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Status status = statusRepository.save(new Status("FILTER"));
+        toys = categoryRepository.save(new Category("Filtro juguetes", "Categoría de prueba"));
+        Category food = categoryRepository.save(new Category("Filtro alimento", "Categoría de prueba"));
+
+        LocalDate today = LocalDate.now();
+        Promotion current = promotion("Filtro vigente", 15.0, today.minusDays(2), today.plusDays(5), status, toys);
+        promotion("Filtro futura", 40.0, today.plusDays(10), today.plusDays(20), status, toys);
+        promotion("Filtro alimento", 25.0, today.minusDays(1), today.plusDays(1), status, food);
+
+        product("Pelota", 12.0, 8900, toys, current);
+        product("Cuerda", 30.0, 8901, toys, null);
+        product("Hueso", 55.0, 8902, toys, null);
+        product("Croquetas", 30.0, 8903, food, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void products_WithCategoryAndPriceRange_ShouldOrderByPriceDescending() {
+        graphQlTester.document("""
+                query($categoryId: ID!) {
+                  products(filter: { categoryId: $categoryId, minPrice: 10, maxPrice: 50 },
+                           orderBy: [{ field: PRICE, direction: DESC }]) {
+                    productName
+                  }
+                }
+                """)
+                .variable("categoryId", toys.getCategoryId())
+                .execute()
+                .path("products[*].productName").entityList(String.class).containsExactly("Cuerda", "Pelota");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void products_WithOnPromotion_ShouldSplitByAssociation() {
+        graphQlTester.document("query($id: ID!) { products(filter: { categoryId: $id, onPromotion: false }, "
+                        + "orderBy: [{ field: NAME }]) { productName } }")
+                .variable("id", toys.getCategoryId())
+                .execute()
+                .path("products[*].productName").entityList(String.class).containsExactly("Cuerda", "Hueso");
+    }
+
+    @Test
+    void products_WithSeveralOrderCriteria_ShouldApplyThemInOrder() {
+        graphQlTester.document("{ products(filter: { minPrice: 30, maxPrice: 30 }, "
+                        + "orderBy: [{ field: PRICE }, { field: NAME, direction: DESC }]) { productName } }")
+                .execute()
+                .path("products[?(@.productName in ['Cuerda', 'Croquetas'])].productName").entityList(String.class)
+                .containsExactly("Cuerda", "Croquetas");
+    }
+
+    @Test
+    void promotions_WithDiscountAndActiveDate_ShouldFilterInTheDatabase() {
+        graphQlTester.document("""
+                query($day: String!) {
+                  promotions(filter: { statusName: "FILTER", minDiscount: 10, maxDiscount: 30, activeOn: $day },
+                             orderBy: [{ field: DISCOUNT, direction: DESC }]) {
+                    promotionName
+                  }
+                }
+                """)
+                .variable("day", LocalDate.now().toString())
+                .execute()
+                .path("promotions[*].promotionName").entityList(String.class)
+                .containsExactly("Filtro alimento", "Filtro vigente");
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void promotions_WithStartFromAndCategory_ShouldReturnUpcomingOnes() {
+        graphQlTester.document("query($id: ID!, $from: String!) { promotions(filter: { categoryId: $id, startFrom: $from }) "
+                        + "{ promotionName } }")
+                .variable("id", toys.getCategoryId())
+                .variable("from", LocalDate.now().plusDays(1).toString())
+                .execute()
+                .path("promotions[*].promotionName").entityList(String.class).containsExactly("Filtro futura");
+    }
+
+    @Test
+    void promotions_WithInvalidDate_ShouldReturnError() {
+        graphQlTester.document("{ promotions(filter: { activeOn: \"mañana\" }) { promotionName } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertFalse(errors.isEmpty()));
+    }
+
+    @Test
+    void products_WithInvertedPriceRange_ShouldReturnError() {
+        graphQlTester.document("{ products(filter: { minPrice: 50, maxPrice: 10 }) { productName } }")
+                .execute()
+                .errors()
+                .satisfy(errors -> assertFalse(errors.isEmpty()));
+    }
+
+    @Test
+    void filterIndexes_ShouldExistInTheSchema() {
+        Number count = (Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM INFORMATION_SCHEMA.INDEXES WHERE INDEX_NAME IN "
+                                + "('IDX_PRODUCTS_CATEGORY_PRICE', 'IDX_PRODUCTS_BASE_PRICE', 'IDX_PROMOTIONS_DATES', "
+                                + "'IDX_PROMOTIONS_DISCOUNT')")
+                .getSingleResult();
+
+        assertEquals(4, count.intValue());
+    }
+
+    private Promotion promotion(String name, double discount, LocalDate start, LocalDate end, Status status,
+                                Category category) {
+        Promotion promotion = new Promotion(name, "Promoción de prueba", start, end, discount, status);
+        promotion.setCategory(category);
+        return promotionRepository.save(promotion);
+    }
+
+    private void product(String name, double price, int sku, Category category, Promotion promotion) {
+        Product product = new Product(name, price, sku, category);
+        product.setPromotion(promotion);
+        productRepository.save(product);
+    }
+}
@@ -3,7 +3,9 @@ package com.petstore.backend.graphql;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -15,7 +17,11 @@ import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import org.mockito.Mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import org.mockito.MockitoAnnotations;
 import org.springframework.security.core.Authentication;
@@ -23,6 +29,7 @@ import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import com.petstore.backend.dto.LoginResponse;
+import com.petstore.backend.dto.ProductAssociationResult;
 import com.petstore.backend.entity.Category;
 import com.petstore.backend.entity.Product;
 import com.petstore.backend.entity.Promotion;
@@ -35,13 +42,19 @@ import com.petstore.backend.repository.ProductRepository;
 import com.petstore.backend.repository.PromotionRepository;
 import com.petstore.backend.repository.UserRepository;
 import com.petstore.backend.service.AuthService;
+import com.petstore.backend.service.ProductService;
 import com.petstore.backend.service.PromotionService;
 
+import graphql.schema.DataFetchingFieldSelectionSet;
+
 class GraphQLResolverTest {
 
     @Mock
     private PromotionService promotionService;
 
+    @Mock
+    private ProductService productService;
+
     @Mock
     private AuthService authService;
 
@@ -57,6 +70,12 @@ class GraphQLResolverTest {
     @Mock
     private PromotionRepository promotionRepository;
 
+    @Mock
+    private SelectionSetProjection projection;
+
+    @Mock
+    private DataFetchingFieldSelectionSet selection;
+
     @Mock
     private SecurityContext securityContext;
 
@@ -74,11 +93,13 @@ class GraphQLResolverTest {
         MockitoAnnotations.openMocks(this);
         graphQLResolver = new GraphQLResolver(
                 promotionService,
+                productService,
                 authService,
                 userRepository,
                 categoryRepository,
                 productRepository,
-                promotionRepository
+                promotionRepository,
+                projection
         );
 
         // Setup test entities
@@ -136,10 +157,10 @@ class GraphQLResolverTest {
     void promotions_ShouldReturnAllPromotions() {
         // Given
         List<Promotion> promotions = Arrays.asList(testPromotion);
-        when(promotionRepository.findAll()).thenReturn(promotions);
+        when(projection.list(eq(Promotion.class), any(), any(), any())).thenReturn(promotions);
 
         // When
-        List<Promotion> result = graphQLResolver.promotions();
+        List<Promotion> result = graphQLResolver.promotions(null, null, selection);
 
         // Then
         assertNotNull(result);
@@ -150,10 +171,10 @@ class GraphQLResolverTest {
     @Test
     void promotions_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(promotionRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Promotion.class), any(), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Promotion> result = graphQLResolver.promotions();
+        List<Promotion> result = graphQLResolver.promotions(null, null, selection);
 
         // Then
         assertNotNull(result);
@@ -194,10 +215,10 @@ class GraphQLResolverTest {
     @Test
     void promotionsScheduled_ServiceException_ShouldReturnEmptyList() {
         // Given
-        when(promotionService.getAllScheduledPromotionsEntities()).thenThrow(new RuntimeException("Service error"));
+        when(projection.list(eq(Promotion.class), any(), any())).thenThrow(new RuntimeException("Service error"));
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsScheduled();
+        List<Promotion> result = graphQLResolver.promotionsScheduled(selection);
 
         // Then
         assertNotNull(result);
@@ -208,10 +229,10 @@ class GraphQLResolverTest {
     void promotionsByStatus_ShouldReturnPromotionsByStatus_Test() {
         // Given
         List<Promotion> promotions = Arrays.asList(testPromotion);
-        when(promotionService.getPromotionsByStatusEntities("ACTIVE")).thenReturn(promotions);
+        when(projection.list(eq(Promotion.class), any(), any())).thenReturn(promotions);
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsByStatus("ACTIVE");
+        List<Promotion> result = graphQLResolver.promotionsByStatus("ACTIVE", selection);
 
         // Then
         assertNotNull(result);
@@ -222,10 +243,10 @@ class GraphQLResolverTest {
     @Test
     void promotion_ShouldReturnSinglePromotion() {
         // Given
-        when(promotionRepository.findById(1)).thenReturn(Optional.of(testPromotion));
+        when(projection.findById(eq(Promotion.class), any(), eq(1))).thenReturn(testPromotion);
 
         // When
-        Promotion result = graphQLResolver.promotion(1);
+        Promotion result = graphQLResolver.promotion(1, selection);
 
         // Then
         assertNotNull(result);
@@ -235,10 +256,10 @@ class GraphQLResolverTest {
     @Test
     void promotion_WhenNotFound_ShouldReturnNull() {
         // Given
-        when(promotionRepository.findById(999)).thenReturn(Optional.empty());
+        when(projection.findById(eq(Promotion.class), any(), eq(999))).thenReturn(null);
 
         // When
-        Promotion result = graphQLResolver.promotion(999);
+        Promotion result = graphQLResolver.promotion(999, selection);
 
         // Then
         assertEquals(null, result);
@@ -248,10 +269,10 @@ class GraphQLResolverTest {
     void categories_ShouldReturnAllCategories() {
         // Given
         List<Category> categories = Arrays.asList(testCategory);
-        when(categoryRepository.findAll()).thenReturn(categories);
+        when(projection.list(eq(Category.class), any(), any())).thenReturn(categories);
 
         // When
-        List<Category> result = graphQLResolver.categories();
+        List<Category> result = graphQLResolver.categories(selection);
 
         // Then
         assertNotNull(result);
@@ -262,10 +283,10 @@ class GraphQLResolverTest {
     @Test
     void category_ShouldReturnSingleCategory() {
         // Given
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+        when(projection.findById(eq(Category.class), any(), eq(1))).thenReturn(testCategory);
 
         // When
-        Category result = graphQLResolver.category(1);
+        Category result = graphQLResolver.category(1, selection);
 
         // Then
         assertNotNull(result);
@@ -276,10 +297,10 @@ class GraphQLResolverTest {
     void products_ShouldReturnAllProducts() {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findAll()).thenReturn(products);
+        when(projection.list(eq(Product.class), any(), any(), any())).thenReturn(products);
 
         // When
-        List<Product> result = graphQLResolver.products();
+        List<Product> result = graphQLResolver.products(null, null, selection);
 
         // Then
         assertNotNull(result);
@@ -290,10 +311,10 @@ class GraphQLResolverTest {
     @Test
     void product_ShouldReturnSingleProduct() {
         // Given
-        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+        when(projection.findById(eq(Product.class), any(), eq(1))).thenReturn(testProduct);
 
         // When
-        Product result = graphQLResolver.product(1);
+        Product result = graphQLResolver.product(1, selection);
 
         // Then
         assertNotNull(result);
@@ -422,10 +443,10 @@ class GraphQLResolverTest {
     void promotionsExpired_ShouldReturnExpiredPromotions() {
         // Given
         List<Promotion> expiredPromotions = Arrays.asList(testPromotion);
-        when(promotionService.getAllExpiredPromotionsEntities()).thenReturn(expiredPromotions);
+        when(projection.list(eq(Promotion.class), any(), any())).thenReturn(expiredPromotions);
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsExpired();
+        List<Promotion> result = graphQLResolver.promotionsExpired(selection);
 
         // Then
         assertNotNull(result);
@@ -436,10 +457,10 @@ class GraphQLResolverTest {
     @Test
     void promotionsExpired_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(promotionService.getAllExpiredPromotionsEntities()).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Promotion.class), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsExpired();
+        List<Promotion> result = graphQLResolver.promotionsExpired(selection);
 
         // Then
         assertNotNull(result);
@@ -450,10 +471,10 @@ class GraphQLResolverTest {
     void promotionsScheduled_ShouldReturnScheduledPromotions() {
         // Given
         List<Promotion> scheduledPromotions = Arrays.asList(testPromotion);
-        when(promotionService.getAllScheduledPromotionsEntities()).thenReturn(scheduledPromotions);
+        when(projection.list(eq(Promotion.class), any(), any())).thenReturn(scheduledPromotions);
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsScheduled();
+        List<Promotion> result = graphQLResolver.promotionsScheduled(selection);
 
         // Then
         assertNotNull(result);
@@ -465,10 +486,10 @@ class GraphQLResolverTest {
     @Test
     void promotionsByStatus_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(promotionService.getPromotionsByStatusEntities("ACTIVE")).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Promotion.class), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsByStatus("ACTIVE");
+        List<Promotion> result = graphQLResolver.promotionsByStatus("ACTIVE", selection);
 
         // Then
         assertNotNull(result);
@@ -479,10 +500,10 @@ class GraphQLResolverTest {
     void promotionsByCategory_ShouldReturnPromotionsByCategory() {
         // Given
         List<Promotion> promotionsByCategory = Arrays.asList(testPromotion);
-        when(promotionService.getPromotionsByCategoryEntities(1)).thenReturn(promotionsByCategory);
+        when(projection.list(eq(Promotion.class), any(), any())).thenReturn(promotionsByCategory);
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsByCategory(1);
+        List<Promotion> result = graphQLResolver.promotionsByCategory(1, selection);
 
         // Then
         assertNotNull(result);
@@ -493,10 +514,10 @@ class GraphQLResolverTest {
     @Test
     void promotionsByCategory_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(promotionService.getPromotionsByCategoryEntities(1)).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Promotion.class), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Promotion> result = graphQLResolver.promotionsByCategory(1);
+        List<Promotion> result = graphQLResolver.promotionsByCategory(1, selection);
 
         // Then
         assertNotNull(result);
@@ -506,10 +527,10 @@ class GraphQLResolverTest {
     @Test
     void categories_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(categoryRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Category.class), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Category> result = graphQLResolver.categories();
+        List<Category> result = graphQLResolver.categories(selection);
 
         // Then
         assertNotNull(result);
@@ -519,10 +540,10 @@ class GraphQLResolverTest {
     @Test
     void category_WhenException_ShouldReturnNull() {
         // Given
-        when(categoryRepository.findById(1)).thenThrow(new RuntimeException("Database error"));
+        when(projection.findById(eq(Category.class), any(), eq(1))).thenThrow(new RuntimeException("Database error"));
 
         // When
-        Category result = graphQLResolver.category(1);
+        Category result = graphQLResolver.category(1, selection);
 
         // Then
         assertEquals(null, result);
@@ -531,10 +552,10 @@ class GraphQLResolverTest {
     @Test
     void category_WhenNotFound_ShouldReturnNull() {
         // Given
-        when(categoryRepository.findById(999)).thenReturn(Optional.empty());
+        when(projection.findById(eq(Category.class), any(), eq(999))).thenReturn(null);
 
         // When
-        Category result = graphQLResolver.category(999);
+        Category result = graphQLResolver.category(999, selection);
 
         // Then
         assertEquals(null, result);
@@ -543,10 +564,10 @@ class GraphQLResolverTest {
     @Test
     void products_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(productRepository.findAll()).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Product.class), any(), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Product> result = graphQLResolver.products();
+        List<Product> result = graphQLResolver.products(null, null, selection);
 
         // Then
         assertNotNull(result);
@@ -557,10 +578,10 @@ class GraphQLResolverTest {
     void productsByCategory_ShouldReturnProductsByCategory() {
         // Given
         List<Product> productsByCategory = Arrays.asList(testProduct);
-        when(productRepository.findByCategoryCategoryId(1)).thenReturn(productsByCategory);
+        when(projection.list(eq(Product.class), any(), any())).thenReturn(productsByCategory);
 
         // When
-        List<Product> result = graphQLResolver.productsByCategory(1);
+        List<Product> result = graphQLResolver.productsByCategory(1, selection);
 
         // Then
         assertNotNull(result);
@@ -571,10 +592,10 @@ class GraphQLResolverTest {
     @Test
     void productsByCategory_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(productRepository.findByCategoryCategoryId(1)).thenThrow(new RuntimeException("Database error"));
+        when(projection.list(eq(Product.class), any(), any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Product> result = graphQLResolver.productsByCategory(1);
+        List<Product> result = graphQLResolver.productsByCategory(1, selection);
 
         // Then
         assertNotNull(result);
@@ -584,10 +605,10 @@ class GraphQLResolverTest {
     @Test
     void product_WhenException_ShouldReturnNull() {
         // Given
-        when(productRepository.findById(1)).thenThrow(new RuntimeException("Database error"));
+        when(projection.findById(eq(Product.class), any(), eq(1))).thenThrow(new RuntimeException("Database error"));
 
         // When
-        Product result = graphQLResolver.product(1);
+        Product result = graphQLResolver.product(1, selection);
 
         // Then
         assertEquals(null, result);
@@ -596,10 +617,10 @@ class GraphQLResolverTest {
     @Test
     void product_WhenNotFound_ShouldReturnNull() {
         // Given
-        when(productRepository.findById(999)).thenReturn(Optional.empty());
+        when(projection.findById(eq(Product.class), any(), eq(999))).thenReturn(null);
 
         // When
-        Product result = graphQLResolver.product(999);
+        Product result = graphQLResolver.product(999, selection);
 
         // Then
         assertEquals(null, result);
@@ -880,85 +901,104 @@ class GraphQLResolverTest {
     @Test
     void promotionProducts_ShouldReturnProductsForPromotion() {
         // Given
+        testProduct.setPromotion(testPromotion);
         List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findByPromotionPromotionId(1)).thenReturn(products);
+        when(productRepository.findByPromotionPromotionIdIn(Set.of(1))).thenReturn(products);
 
         // When
-        List<Product> result = graphQLResolver.promotionProducts(testPromotion);
+        Map<Promotion, List<Product>> result = graphQLResolver.promotionProducts(List.of(testPromotion));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Smartphone", result.get(0).getProductName());
+        assertEquals(1, result.get(testPromotion).size());
+        assertEquals("Smartphone", result.get(testPromotion).get(0).getProductName());
+    }
+
+    @Test
+    void promotionProducts_ShouldBatchAllPromotionsInOneQuery() {
+        // Given
+        Promotion otherPromotion = new Promotion();
+        otherPromotion.setPromotionId(2);
+        testProduct.setPromotion(testPromotion);
+        when(productRepository.findByPromotionPromotionIdIn(any())).thenReturn(List.of(testProduct));
+
+        // When
+        Map<Promotion, List<Product>> result = graphQLResolver.promotionProducts(List.of(testPromotion, otherPromotion));
+
+        // Then
+        verify(productRepository, times(1)).findByPromotionPromotionIdIn(any());
+        verify(productRepository, never()).findByPromotionPromotionId(anyInt());
+        assertEquals(1, result.get(testPromotion).size());
+        assertTrue(result.get(otherPromotion).isEmpty());
     }
 
     @Test
     void promotionProducts_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(productRepository.findByPromotionPromotionId(anyInt())).thenThrow(new RuntimeException("Database error"));
+        when(productRepository.findByPromotionPromotionIdIn(any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Product> result = graphQLResolver.promotionProducts(testPromotion);
+        Map<Promotion, List<Product>> result = graphQLResolver.promotionProducts(List.of(testPromotion));
 
         // Then
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.get(testPromotion).isEmpty());
     }
 
     @Test
     void categoryPromotions_ShouldReturnPromotionsForCategory() {
         // Given
         List<Promotion> promotions = Arrays.asList(testPromotion);
-        when(promotionService.getPromotionsByCategoryEntities(1)).thenReturn(promotions);
+        when(promotionService.getPromotionsByCategoryIdsEntities(Set.of(1))).thenReturn(promotions);
 
         // When
-        List<Promotion> result = graphQLResolver.categoryPromotions(testCategory);
+        Map<Category, List<Promotion>> result = graphQLResolver.categoryPromotions(List.of(testCategory));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Summer Sale", result.get(0).getPromotionName());
+        assertEquals(1, result.get(testCategory).size());
+        assertEquals("Summer Sale", result.get(testCategory).get(0).getPromotionName());
     }
 
     @Test
     void categoryPromotions_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(promotionService.getPromotionsByCategoryEntities(1)).thenThrow(new RuntimeException("Database error"));
+        when(promotionService.getPromotionsByCategoryIdsEntities(any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Promotion> result = graphQLResolver.categoryPromotions(testCategory);
+        Map<Category, List<Promotion>> result = graphQLResolver.categoryPromotions(List.of(testCategory));
 
         // Then
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.get(testCategory).isEmpty());
     }
 
     @Test
     void categoryProducts_ShouldReturnProductsForCategory() {
         // Given
         List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findByCategoryCategoryId(1)).thenReturn(products);
+        when(productRepository.findByCategoryCategoryIdIn(Set.of(1))).thenReturn(products);
 
         // When
-        List<Product> result = graphQLResolver.categoryProducts(testCategory);
+        Map<Category, List<Product>> result = graphQLResolver.categoryProducts(List.of(testCategory));
 
         // Then
         assertNotNull(result);
-        assertEquals(1, result.size());
-        assertEquals("Smartphone", result.get(0).getProductName());
+        assertEquals(1, result.get(testCategory).size());
+        assertEquals("Smartphone", result.get(testCategory).get(0).getProductName());
     }
 
     @Test
     void categoryProducts_WhenException_ShouldReturnEmptyList() {
         // Given
-        when(productRepository.findByCategoryCategoryId(1)).thenThrow(new RuntimeException("Database error"));
+        when(productRepository.findByCategoryCategoryIdIn(any())).thenThrow(new RuntimeException("Database error"));
 
         // When
-        List<Product> result = graphQLResolver.categoryProducts(testCategory);
+        Map<Category, List<Product>> result = graphQLResolver.categoryProducts(List.of(testCategory));
 
         // Then
         assertNotNull(result);
-        assertTrue(result.isEmpty());
+        assertTrue(result.get(testCategory).isEmpty());
     }
 
     @Test
@@ -994,8 +1034,8 @@ class GraphQLResolverTest {
         // Given
         setupAuthenticatedUser();
         when(userRepository.findByEmail("admin@petstore.com")).thenReturn(Optional.of(testUser));
-        when(promotionService.associateProductsToPromotion(1, Arrays.asList(1, 2))).thenReturn(true);
-        when(promotionRepository.findById(1)).thenReturn(Optional.of(testPromotion));
+        when(promotionService.associateProductsToPromotion(1, Arrays.asList(1, 2), true)).thenReturn(new ProductAssociationResult(1, List.of()));
+        when(promotionRepository.findWithRelationsByPromotionId(1)).thenReturn(Optional.of(testPromotion));
 
         // When
         Promotion result = graphQLResolver.associateProductsToPromotion(1, Arrays.asList(1, 2));
@@ -1021,7 +1061,7 @@ class GraphQLResolverTest {
         // Given
         setupAuthenticatedUser();
         when(userRepository.findByEmail("admin@petstore.com")).thenReturn(Optional.of(testUser));
-        when(promotionService.associateProductsToPromotion(1, Arrays.asList(1, 2))).thenReturn(false);
+        when(promotionService.associateProductsToPromotion(1, Arrays.asList(1, 2), true)).thenReturn(null);
 
         // When & Then
         assertThrows(GraphQLException.class, () -> {
@@ -1034,8 +1074,8 @@ class GraphQLResolverTest {
         // Given
         setupAuthenticatedUser();
         when(userRepository.findByEmail("admin@petstore.com")).thenReturn(Optional.of(testUser));
-        when(promotionService.associateProductsToPromotion(1, Arrays.asList(1, 2))).thenReturn(true);
-        when(promotionRepository.findById(1)).thenReturn(Optional.empty());
+        when(promotionService.associateProductsToPromotion(1, Arrays.asList(1, 2), true)).thenReturn(new ProductAssociationResult(1, List.of()));
+        when(promotionRepository.findWithRelationsByPromotionId(1)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(GraphQLException.class, () -> {
@@ -1048,8 +1088,8 @@ class GraphQLResolverTest {
         // Given
         setupAuthenticatedUser();
         when(userRepository.findByEmail("admin@petstore.com")).thenReturn(Optional.of(testUser));
-        when(promotionService.removeProductsFromPromotion(1, Arrays.asList(1, 2))).thenReturn(true);
-        when(promotionRepository.findById(1)).thenReturn(Optional.of(testPromotion));
+        when(promotionService.removeProductsFromPromotion(1, Arrays.asList(1, 2))).thenReturn(new ProductAssociationResult(1, List.of()));
+        when(promotionRepository.findWithRelationsByPromotionId(1)).thenReturn(Optional.of(testPromotion));
 
         // When
         Promotion result = graphQLResolver.removeProductsFromPromotion(1, Arrays.asList(1, 2));
@@ -1075,7 +1115,7 @@ class GraphQLResolverTest {
         // Given
         setupAuthenticatedUser();
         when(userRepository.findByEmail("admin@petstore.com")).thenReturn(Optional.of(testUser));
-        when(promotionService.removeProductsFromPromotion(1, Arrays.asList(1, 2))).thenReturn(false);
+        when(promotionService.removeProductsFromPromotion(1, Arrays.asList(1, 2))).thenReturn(null);
 
         // When & Then
         assertThrows(GraphQLException.class, () -> {
@@ -1181,12 +1221,13 @@ class GraphQLResolverTest {
         Product product1 = new Product();
         product1.setProductId(1);
         product1.setProductName("Product 1");
+        product1.setPromotion(testPromotion);
         
-        when(productRepository.findByPromotionPromotionId(1))
+        when(productRepository.findByPromotionPromotionIdIn(Set.of(1)))
                 .thenReturn(Arrays.asList(product1));
 
         // When
-        List<Product> result = graphQLResolver.promotionProducts(testPromotion);
+        List<Product> result = graphQLResolver.promotionProducts(List.of(testPromotion)).get(testPromotion);
 
         // Then
         assertNotNull(result);
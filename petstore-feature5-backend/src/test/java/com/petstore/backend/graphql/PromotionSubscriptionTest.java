@@ -0,0 +1,131 @@
+package com.petstore.backend.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+import com.petstore.backend.service.PromotionService;
+
+/**
+ * Pruebas de las suscripciones de promociones.
+ * Sin @Transactional: los eventos se emiten recién después del commit.
+ */
+@SpringBootTest
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+class PromotionSubscriptionTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private final List<Integer> promotionIds = new ArrayList<>();
+    private Status scheduled;
+    private Status active;
+    private Category toys;
+    private Category food;
+
+    @BeforeEach
+    void setUp() {
+        scheduled = statusRepository.save(new Status("SUB_SCHEDULE"));
+        active = statusRepository.save(new Status("ACTIVE"));
+        toys = categoryRepository.save(new Category("Juguetes Sub", "Juguetes"));
+        food = categoryRepository.save(new Category("Alimentos Sub", "Alimentos"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        promotionIds.forEach(promotionRepository::deleteById);
+        statusRepository.deleteAll(List.of(scheduled, active));
+        categoryRepository.deleteAll(List.of(toys, food));
+    }
+
+    @Test
+    void promotionChanged_ShouldOnlyDeliverEventsOfRequestedCategory() throws Exception {
+        CompletableFuture<Map<String, Object>> first = graphQlTester.document("""
+                        subscription($categoryId: ID) {
+                          promotionChanged(categoryId: $categoryId) {
+                            type promotionId currentStatus
+                            promotion { promotionName category { categoryName } }
+                          }
+                        }
+                        """)
+                .variable("categoryId", toys.getCategoryId())
+                .executeSubscription()
+                .toFlux("promotionChanged", Map.class)
+                .next()
+                .<Map<String, Object>>map(event -> event)
+                .timeout(TIMEOUT)
+                .toFuture();
+
+        create("Promo alimentos", scheduled, food);
+        Promotion toysPromotion = create("Promo juguetes", scheduled, toys);
+
+        Map<String, Object> event = first.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        assertEquals("CREATED", event.get("type"));
+        assertEquals(String.valueOf(toysPromotion.getPromotionId()), event.get("promotionId"));
+        assertEquals(Map.of("promotionName", "Promo juguetes", "category", Map.of("categoryName", "Juguetes Sub")),
+                event.get("promotion"));
+    }
+
+    @Test
+    void promotionActivated_ShouldFireWhenStatusChangesToActive() throws Exception {
+        Promotion promotion = create("Promo programada", scheduled, toys);
+
+        CompletableFuture<String> activated = graphQlTester.document(
+                        "subscription { promotionActivated { promotionName status { statusName } } }")
+                .executeSubscription()
+                .toFlux("promotionActivated.promotionName", String.class)
+                .next()
+                .timeout(TIMEOUT)
+                .toFuture();
+
+        promotionService.updatePromotion(promotion.getPromotionId(), "Promo sin cambio de estado",
+                null, null, null, null, null, null, null);
+        promotionService.updatePromotion(promotion.getPromotionId(), "Promo activada",
+                null, null, null, null, active.getStatusId(), null, null);
+
+        assertEquals("Promo activada", activated.get(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS));
+    }
+
+    private Promotion create(String name, Status status, Category category) {
+        Promotion promotion = promotionService.createPromotion(name, null, LocalDate.now(),
+                LocalDate.now().plusDays(10), 10.0, status.getStatusId(), null, category.getCategoryId());
+        promotionIds.add(promotion.getPromotionId());
+        return promotion;
+    }
+}
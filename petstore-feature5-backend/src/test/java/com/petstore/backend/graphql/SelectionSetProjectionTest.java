@@ -0,0 +1,174 @@
+package com.petstore.backend.graphql;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Las consultas raíz de catálogo leen solo las columnas y relaciones pedidas en el selection set.
+ * El SQL se captura con un StatementInspector para revisar qué columnas y JOINs se generan.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.petstore.backend.graphql.SelectionSetProjectionTest$SqlRecorder"
+})
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class SelectionSetProjectionTest {
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    private Category category;
+    private Product product;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        Status status = statusRepository.save(new Status("PROJECTION"));
+        category = categoryRepository.save(new Category("Proyección", "Categoría de prueba"));
+        Promotion promotion = new Promotion("Promo proyección", "Promoción de prueba", LocalDate.now(),
+                LocalDate.now().plusDays(10), 10.0, status);
+        promotion.setCategory(category);
+        promotion = promotionRepository.save(promotion);
+        product = new Product("Producto proyección", 20.0, 8800, category);
+        product.setPromotion(promotion);
+        product = productRepository.save(product);
+        productRepository.save(new Product("Producto sin promoción", 5.0, 8801, category));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        SqlRecorder.STATEMENTS.clear();
+    }
+
+    @Test
+    void products_WithScalarsOnly_ShouldSelectThoseColumnsWithoutJoins() {
+        graphQlTester.document("{ products { productId productName } }")
+                .execute()
+                .path("products[*].productName").entityList(String.class).contains("Producto proyección");
+
+        String sql = singleStatement();
+        assertTrue(sql.contains("product_name"), sql);
+        assertFalse(sql.contains("base_price"), sql);
+        assertFalse(sql.contains("join"), sql);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void products_WithNestedSelection_ShouldJoinOnlyTheSelectedRelations() {
+        graphQlTester.document("query($id: ID!) { productsByCategory(categoryId: $id) "
+                        + "{ productName category { categoryName } promotion { promotionName status { statusName } } } }")
+                .variable("id", category.getCategoryId())
+                .execute()
+                .path("productsByCategory[0].category.categoryName").entity(String.class).isEqualTo("Proyección")
+                .path("productsByCategory[0].promotion.status.statusName").entity(String.class).isEqualTo("PROJECTION")
+                .path("productsByCategory[1].promotion").valueIsNull();
+
+        String sql = singleStatement();
+        assertEquals(3, sql.split(" left join ").length - 1, sql);
+        assertFalse(sql.contains("description"), sql);
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void products_WithAliasesAndEffectivePrice_ShouldReadEachColumnOnce() {
+        graphQlTester.document("{ products { a: productName b: productName effectivePrice } }")
+                .execute()
+                .path("products[?(@.a == 'Producto sin promoción')].effectivePrice").entityList(Double.class)
+                .containsExactly(5.0);
+
+        String sql = SqlRecorder.STATEMENTS.get(0);
+        assertEquals(1, sql.split("product_name").length - 1, sql);
+        assertTrue(sql.contains("base_price"), sql);
+    }
+
+    @Test
+    void singleItemQueries_ShouldFilterByIdAndReturnNullWhenMissing() {
+        graphQlTester.document("query($id: ID!) { product(id: $id) { productName sku } }")
+                .variable("id", product.getProductId())
+                .execute()
+                .path("product.sku").entity(Integer.class).isEqualTo(8800);
+
+        graphQlTester.document("{ category(id: 999999) { categoryName } }")
+                .execute()
+                .path("category").valueIsNull();
+    }
+
+    @Test
+    void promotionsByStatus_ShouldApplyTheFilterInTheProjectedQuery() {
+        graphQlTester.document("{ promotionsByStatus(statusName: \"PROJECTION\") { promotionName } }")
+                .execute()
+                .path("promotionsByStatus[*].promotionName").entityList(String.class)
+                .containsExactly("Promo proyección");
+
+        String sql = singleStatement();
+        assertTrue(sql.contains("join"), sql);
+        assertFalse(sql.contains("discount_value"), sql);
+    }
+
+    private String singleStatement() {
+        List<String> statements = SqlRecorder.STATEMENTS;
+        assertEquals(1, statements.size(), statements.toString());
+        return statements.get(0).toLowerCase();
+    }
+
+    /**
+     * Guarda el SQL que genera Hibernate durante la prueba
+     */
+    public static class SqlRecorder implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.petstore.backend.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.repository.ProductRepository;
+
+class KeysetPaginatorTest {
+
+    @Test
+    void resolvePageSize_WhenNull_ShouldUseDefault() {
+        assertEquals(KeysetPaginator.DEFAULT_PAGE_SIZE, KeysetPaginator.resolvePageSize(null));
+    }
+
+    @Test
+    void resolvePageSize_WhenTooLarge_ShouldCapToMax() {
+        assertEquals(KeysetPaginator.MAX_PAGE_SIZE, KeysetPaginator.resolvePageSize(10_000));
+    }
+
+    @Test
+    void resolvePageSize_WhenNotPositive_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaginator.resolvePageSize(0));
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaginator.resolvePageSize(-5));
+    }
+
+    @Test
+    void encodeCursor_ShouldDependOnSortKey() {
+        Product product = new Product("Collar", 12.5, 100, null);
+        product.setProductId(7);
+
+        String byId = KeysetPaginator.encodeCursor(ProductSortField.ID, product);
+        String byPrice = KeysetPaginator.encodeCursor(ProductSortField.PRICE, product);
+
+        assertNotEquals(byId, byPrice);
+    }
+
+    @Test
+    void paginate_WhenCursorBelongsToOtherSort_ShouldThrow() {
+        ProductRepository repository = Mockito.mock(ProductRepository.class);
+        Product product = new Product("Collar", 12.5, 100, null);
+        product.setProductId(7);
+        String byPrice = KeysetPaginator.encodeCursor(ProductSortField.PRICE, product);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaginator.paginate(
+                repository, null, ProductSortField.NAME, SortDirection.ASC, 10, byPrice));
+    }
+
+    @Test
+    void paginate_WhenCursorIsMalformed_ShouldThrow() {
+        ProductRepository repository = Mockito.mock(ProductRepository.class);
+
+        assertThrows(IllegalArgumentException.class, () -> KeysetPaginator.paginate(
+                repository, null, ProductSortField.ID, SortDirection.ASC, 10, "not a cursor!"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.petstore.backend.pagination;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class SortOrderTest {
+
+    @Test
+    void parse_WhenBlank_ShouldUseDefaultAscending() {
+        SortOrder<ProductSortField> order = SortOrder.parse(null, ProductSortField.class, ProductSortField.ID);
+
+        assertEquals(ProductSortField.ID, order.getField());
+        assertEquals(SortDirection.ASC, order.getDirection());
+    }
+
+    @Test
+    void parse_WithMinusPrefix_ShouldBeDescending() {
+        SortOrder<ProductSortField> order = SortOrder.parse("-price", ProductSortField.class, ProductSortField.ID);
+
+        assertEquals(ProductSortField.PRICE, order.getField());
+        assertEquals(SortDirection.DESC, order.getDirection());
+    }
+
+    @Test
+    void parse_ShouldAcceptCamelAndSnakeCase() {
+        assertEquals(PromotionSortField.START_DATE,
+                SortOrder.parse("startDate", PromotionSortField.class, PromotionSortField.ID).getField());
+        assertEquals(PromotionSortField.START_DATE,
+                SortOrder.parse("start_date", PromotionSortField.class, PromotionSortField.ID).getField());
+    }
+
+    @Test
+    void parse_WhenUnknownField_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> SortOrder.parse("stock", ProductSortField.class, ProductSortField.ID));
+    }
+}
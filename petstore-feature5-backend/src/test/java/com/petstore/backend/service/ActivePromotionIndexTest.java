@@ -0,0 +1,97 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Promotion;
+
+class ActivePromotionIndexTest {
+
+    private static final LocalDate BASE = LocalDate.of(2025, 1, 1);
+
+    @Test
+    void validOn_ShouldIncludeBothBoundaries() {
+        Promotion promotion = promotion(1, BASE, BASE.plusDays(10), null);
+        ActivePromotionIndex index = ActivePromotionIndex.of(List.of(promotion));
+
+        assertEquals(List.of(promotion), index.validOn(BASE));
+        assertEquals(List.of(promotion), index.validOn(BASE.plusDays(10)));
+        assertTrue(index.validOn(BASE.minusDays(1)).isEmpty());
+        assertTrue(index.validOn(BASE.plusDays(11)).isEmpty());
+    }
+
+    @Test
+    void validOn_WithCategory_ShouldOnlyReturnThatCategory() {
+        Promotion food = promotion(1, BASE, BASE.plusDays(5), category(1));
+        Promotion toys = promotion(2, BASE, BASE.plusDays(5), category(2));
+        Promotion noCategory = promotion(3, BASE, BASE.plusDays(5), null);
+        ActivePromotionIndex index = ActivePromotionIndex.of(List.of(food, toys, noCategory));
+
+        assertEquals(List.of(food), index.validOn(BASE.plusDays(1), 1));
+        assertEquals(List.of(toys), index.validOn(BASE.plusDays(1), 2));
+        assertTrue(index.validOn(BASE.plusDays(1), 99).isEmpty());
+        assertEquals(3, index.validOn(BASE.plusDays(1)).size());
+    }
+
+    @Test
+    void all_ShouldReturnEveryPromotionOrderedByStartDate() {
+        Promotion later = promotion(1, BASE.plusDays(3), BASE.plusDays(5), category(1));
+        Promotion earlier = promotion(2, BASE, BASE.plusDays(1), category(1));
+        Promotion other = promotion(3, BASE, BASE.plusDays(1), category(2));
+        ActivePromotionIndex index = ActivePromotionIndex.of(List.of(later, earlier, other));
+
+        assertEquals(List.of(earlier, other, later), index.all());
+        assertEquals(List.of(earlier, later), index.all(1));
+        assertTrue(index.all(99).isEmpty());
+    }
+
+    @Test
+    void of_ShouldIgnorePromotionsWithoutDates() {
+        Promotion undated = promotion(1, null, null, null);
+        ActivePromotionIndex index = ActivePromotionIndex.of(List.of(undated));
+
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void validOn_ShouldMatchLinearScanForRandomIntervals() {
+        Random random = new Random(42);
+        List<Promotion> promotions = new ArrayList<>();
+        for (int i = 1; i <= 500; i++) {
+            LocalDate start = BASE.plusDays(random.nextInt(365));
+            promotions.add(promotion(i, start, start.plusDays(random.nextInt(60)), null));
+        }
+        ActivePromotionIndex index = ActivePromotionIndex.of(promotions);
+
+        for (int day = -5; day < 430; day++) {
+            LocalDate date = BASE.plusDays(day);
+            long expected = promotions.stream()
+                    .filter(p -> !date.isBefore(p.getStartDate()) && !date.isAfter(p.getEndDate()))
+                    .count();
+            assertEquals(expected, index.validOn(date).size(), "date " + date);
+        }
+    }
+
+    private Promotion promotion(int id, LocalDate start, LocalDate end, Category category) {
+        Promotion promotion = new Promotion();
+        promotion.setPromotionId(id);
+        promotion.setStartDate(start);
+        promotion.setEndDate(end);
+        promotion.setCategory(category);
+        return promotion;
+    }
+
+    private Category category(int id) {
+        Category category = new Category();
+        category.setCategoryId(id);
+        return category;
+    }
+}
@@ -64,7 +64,7 @@ class AuthServiceTest {
 
         when(userRepository.findMarketingAdminByEmail(email))
                 .thenReturn(Optional.of(mockUser));
-        when(jwtUtil.generateToken(email)).thenReturn(expectedToken);
+        when(jwtUtil.generateToken(email, mockUser.getUserId(), mockRole.getRoleName())).thenReturn(expectedToken);
 
         // When
         LoginResponse response = authService.authenticateMarketingAdmin(email, password);
@@ -79,7 +79,7 @@ class AuthServiceTest {
         assertEquals("Login exitoso", response.getMessage());
 
         verify(userRepository).findMarketingAdminByEmail(email);
-        verify(jwtUtil).generateToken(email);
+        verify(jwtUtil).generateToken(email, mockUser.getUserId(), mockRole.getRoleName());
     }
 
     @Test
@@ -98,7 +98,7 @@ class AuthServiceTest {
 
         assertEquals("Usuario no encontrado o no es Marketing Admin", exception.getMessage());
         verify(userRepository).findMarketingAdminByEmail(email);
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyString(), any(), any());
     }
 
     @Test
@@ -117,7 +117,7 @@ class AuthServiceTest {
 
         assertEquals("Contraseña incorrecta", exception.getMessage());
         verify(userRepository).findMarketingAdminByEmail(email);
-        verify(jwtUtil, never()).generateToken(anyString());
+        verify(jwtUtil, never()).generateToken(anyString(), any(), any());
     }
 
     @Test
@@ -0,0 +1,207 @@
+package com.petstore.backend.service;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+/**
+ * Verifica la exportación por streaming de punta a punta. Sin @Transactional: la respuesta se
+ * escribe en otro hilo (procesamiento asíncrono de MVC), así que los datos se confirman y se
+ * borran al final de cada prueba.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogExportTest {
+
+    @Autowired
+    private CatalogExportService catalogExportService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Category category;
+    private Status status;
+    private Promotion promotion;
+    private Product collar;
+    private Product cama;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("Exportación, \"especial\"", "Categoría de prueba"));
+        status = statusRepository.save(new Status("EXPORT_TEST"));
+        promotion = promotionRepository.save(new Promotion("Export sale", "Línea 1\nLínea 2",
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 1, 31), 15.0, status));
+        collar = productRepository.save(new Product("Collar", 12.5, 860001, category));
+        cama = new Product("Cama", 40.0, 860002, category);
+        cama.setPromotion(promotion);
+        cama = productRepository.save(cama);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productRepository.deleteAll(List.of(collar, cama));
+        promotionRepository.delete(promotion);
+        statusRepository.delete(status);
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    @WithMockUser
+    void exportProducts_ShouldStreamNdjsonLines() throws Exception {
+        MvcResult result = mockMvc.perform(asyncDispatch(start(get("/api/export/products"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/x-ndjson;charset=UTF-8"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"products.ndjson\""))
+                .andReturn();
+
+        List<JsonNode> rows = parseLines(result.getResponse().getContentAsString(StandardCharsets.UTF_8));
+        JsonNode camaRow = rows.stream()
+                .filter(row -> row.get("productId").asInt() == cama.getProductId())
+                .findFirst().orElseThrow();
+        assertEquals("Cama", camaRow.get("productName").asText());
+        assertEquals(40.0, camaRow.get("basePrice").asDouble());
+        assertEquals(promotion.getPromotionId(), camaRow.get("promotionId").asInt());
+        assertEquals(category.getCategoryName(), camaRow.get("categoryName").asText());
+        assertTrue(rows.stream().anyMatch(row -> row.get("productId").asInt() == collar.getProductId()
+                && row.get("promotionId").isNull()));
+    }
+
+    @Test
+    @WithMockUser
+    void exportPromotions_ShouldStreamCsvWithQuotedFields() throws Exception {
+        MvcResult result = mockMvc.perform(asyncDispatch(start(get("/api/export/promotions").param("format", "csv"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "text/csv;charset=UTF-8"))
+                .andReturn();
+
+        String csv = result.getResponse().getContentAsString(StandardCharsets.UTF_8);
+        assertTrue(csv.startsWith("promotionId,promotionName,description,startDate,endDate,discountValue,"
+                + "statusName,categoryId,categoryName\r\n"));
+        assertTrue(csv.contains(promotion.getPromotionId() + ",Export sale,\"Línea 1\nLínea 2\","
+                + "2025-01-01,2025-01-31,15.0,EXPORT_TEST,,\r\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void exportProducts_ShouldCompressWhenClientAcceptsGzip() throws Exception {
+        MvcResult result = mockMvc.perform(asyncDispatch(start(get("/api/export/products")
+                        .param("format", "csv")
+                        .header(HttpHeaders.ACCEPT_ENCODING, "br;q=1.0, gzip;q=0.8"))))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT_ENCODING)))
+                .andReturn();
+
+        String csv = gunzip(result.getResponse().getContentAsByteArray());
+        assertTrue(csv.contains(cama.getProductId() + ",Cama,860002,40.0," + category.getCategoryId()
+                + ",\"Exportación, \"\"especial\"\"\"," + promotion.getPromotionId() + "\r\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void export_ShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(get("/api/export/products").param("format", "xml"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void export_ShouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/api/export/promotions"))
+                .andExpect(status().is4xxClientError())
+                .andExpect(request().asyncNotStarted());
+    }
+
+    @Test
+    void exportProducts_ShouldFlushInChunksAndCountRows() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long count = catalogExportService.exportProducts(CatalogFormat.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertEquals(count + 1, lines.length);
+        assertTrue(Arrays.stream(lines).anyMatch(line -> line.startsWith(collar.getProductId() + ",Collar,")));
+    }
+
+    @Test
+    void csvField_ShouldQuoteOnlyWhenNeeded() {
+        assertEquals("plain", CatalogExportService.csvField("plain"));
+        assertEquals("\"a,b\"", CatalogExportService.csvField("a,b"));
+        assertEquals("\"say \"\"hi\"\"\"", CatalogExportService.csvField("say \"hi\""));
+        assertEquals("\"two\r\nlines\"", CatalogExportService.csvField("two\r\nlines"));
+    }
+
+    private MvcResult start(MockHttpServletRequestBuilder builder) throws Exception {
+        return mockMvc.perform(builder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    private List<JsonNode> parseLines(String ndjson) throws IOException {
+        List<JsonNode> rows = new ArrayList<>();
+        for (String line : ndjson.split("\n")) {
+            rows.add(objectMapper.readTree(line));
+        }
+        return rows;
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.petstore.backend.dto.CatalogImportReport;
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+/**
+ * Verifica la importación masiva de punta a punta. Sin @Transactional: los índices de productos
+ * se reconstruyen después del commit, así que los datos se confirman y se borran al final de
+ * cada prueba.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogImportTest {
+
+    private static final int SKU_BASE = 880_000;
+
+    @Autowired
+    private CatalogImportService catalogImportService;
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Category category;
+    private Status status;
+    private Promotion promotion;
+    private Product existing;
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("Importación", "Categoría de prueba"));
+        status = statusRepository.save(new Status("IMPORT_TEST"));
+        promotion = promotionRepository.save(new Promotion("Import base", null,
+                LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31), 10.0, status));
+        existing = productRepository.save(new Product("Existente", 5.0, SKU_BASE, category));
+    }
+
+    @AfterEach
+    void tearDown() {
+        // Por el servicio, para que los índices en memoria también olviden los productos importados
+        jdbcTemplate.queryForList("SELECT product_id FROM products WHERE sku BETWEEN ? AND ?", Integer.class,
+                SKU_BASE, SKU_BASE + 9_999).forEach(productService::deleteById);
+        jdbcTemplate.update("DELETE FROM promotions WHERE status_id = ?", status.getStatusId());
+        statusRepository.delete(status);
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    void importPromotions_ShouldInsertValidRowsAndReportInvalidOnes() throws IOException {
+        String csv = "promotionName,description,startDate,endDate,discountValue,statusName,categoryName,userId\r\n"
+                + "Campaña 1,\"Dos\nlíneas\",2025-05-01,2025-05-31,20,import_test,importación,\r\n"
+                + "Campaña 2,,2025-05-10,2025-05-01,20,IMPORT_TEST,,\r\n"
+                + "Campaña 3,,2025-05-01,2025-05-31,20,NO_EXISTE,,\r\n"
+                + "Campaña 4,,01/05/2025,2025-05-31,20,IMPORT_TEST,,\r\n"
+                + "Campaña 5,,2025-05-01,2025-05-31,150,IMPORT_TEST,,\r\n"
+                + "Campaña 6,,2025-05-01,2025-05-31,20,IMPORT_TEST,,999999\r\n"
+                + "Campaña 7,Sin categoría,2025-06-01,2025-06-30,35.5,IMPORT_TEST,,\r\n"
+                + "Campaña 8," + "x".repeat(CatalogImportService.MAX_DESCRIPTION_LENGTH + 1)
+                + ",2025-06-01,2025-06-30,10,IMPORT_TEST,,\r\n";
+
+        CatalogImportReport report = catalogImportService.importPromotions(CatalogFormat.CSV, utf8(csv));
+
+        assertEquals("JDBC_BATCH", report.getInsertMode());
+        assertEquals(8, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(6, report.getRejectedRows());
+        // La descripción de la primera fila ocupa dos líneas: la segunda fila empieza en la línea 4
+        assertEquals(List.of(4L, 5L, 6L, 7L, 8L, 10L), report.getErrors().stream().map(CatalogImportReport.RowError::getLine).toList());
+        assertEquals("Unknown statusName: NO_EXISTE", report.getErrors().get(1).getMessage());
+        assertEquals("Unknown userId: 999999", report.getErrors().get(4).getMessage());
+        assertEquals("description must be at most " + CatalogImportService.MAX_DESCRIPTION_LENGTH + " characters",
+                report.getErrors().get(5).getMessage());
+
+        List<Promotion> imported = promotionRepository.findAll().stream()
+                .filter(p -> p.getPromotionName().startsWith("Campaña"))
+                .toList();
+        assertEquals(2, imported.size());
+        Promotion first = imported.stream().filter(p -> p.getPromotionName().equals("Campaña 1")).findFirst().orElseThrow();
+        assertEquals("Dos\nlíneas", first.getDescription());
+        assertEquals(status.getStatusId(), first.getStatus().getStatusId());
+        assertEquals(category.getCategoryId(), jdbcTemplate.queryForObject(
+                "SELECT category_id FROM promotions WHERE promotion_id = ?", Integer.class, first.getPromotionId()));
+    }
+
+    @Test
+    void importProducts_ShouldRejectDuplicateSkusAndUnknownReferences() throws IOException {
+        String ndjson = """
+                {"productName":"Pelota","sku":%1$d,"basePrice":7001.10,"categoryId":%2$d,"promotionId":%3$d}
+                {"productName":"Repetido","sku":%1$d,"basePrice":7001.20,"categoryId":%2$d}
+                {"productName":"Ya existe","sku":%4$d,"basePrice":7001.30,"categoryId":%2$d}
+
+                {"productName":"Sin categoría","sku":%5$d,"basePrice":7001.40,"categoryName":"Otra"}
+                {"productName":"Rota",
+                {"productName":"Hueso","sku":%6$d,"basePrice":7001.50,"categoryName":"IMPORTACIÓN","promotionId":null}
+                """.formatted(SKU_BASE + 1, category.getCategoryId(), promotion.getPromotionId(), SKU_BASE,
+                SKU_BASE + 2, SKU_BASE + 3);
+        // Fuerza la carga del índice de precios: la importación debe reconstruirlo tras el commit
+        productService.findPriceRangePage(0.0, 0.0, null, null, 1, null);
+
+        CatalogImportReport report = catalogImportService.importProducts(CatalogFormat.NDJSON, utf8(ndjson));
+
+        assertEquals(6, report.getTotalRows());
+        assertEquals(2, report.getImportedRows());
+        assertEquals(List.of("Duplicate sku: " + (SKU_BASE + 1), "Duplicate sku: " + SKU_BASE,
+                        "Unknown categoryName: Otra"),
+                report.getErrors().subList(0, 3).stream().map(CatalogImportReport.RowError::getMessage).toList());
+        assertTrue(report.getErrors().get(3).getMessage().startsWith("Malformed JSON"));
+        assertEquals(6, report.getErrors().get(3).getLine());
+
+        assertEquals(2, productService.findPriceRangePage(7001.0, 7002.0, category.getCategoryId(), null, 10, null)
+                .getItems().size());
+        assertEquals(List.of(SKU_BASE + 1), productRepository.findByPromotionPromotionId(promotion.getPromotionId())
+                .stream().map(Product::getSku).toList());
+    }
+
+    @Test
+    void importProducts_ShouldInsertAcrossSeveralBatches() throws IOException {
+        int rows = CatalogImportService.BATCH_SIZE * 2 + 7;
+        StringBuilder csv = new StringBuilder("productName,sku,basePrice,categoryId\n");
+        for (int i = 1; i <= rows; i++) {
+            csv.append("Producto ").append(i).append(',').append(SKU_BASE + i).append(",1.5,")
+                    .append(category.getCategoryId()).append('\n');
+        }
+
+        CatalogImportReport report = catalogImportService.importProducts(CatalogFormat.CSV, utf8(csv.toString()));
+
+        assertEquals(rows, report.getImportedRows());
+        assertEquals(rows + 1, productRepository.findByCategoryCategoryId(category.getCategoryId()).size());
+    }
+
+    @Test
+    void importProducts_ShouldRollBackWhenTheFileIsUnreadable() {
+        String csv = "productName,sku,basePrice,categoryId\n"
+                + "Válido," + (SKU_BASE + 1) + ",1.0," + category.getCategoryId() + "\n"
+                + "\"Sin cerrar," + (SKU_BASE + 2) + ",1.0," + category.getCategoryId() + "\n";
+
+        assertThrows(IllegalArgumentException.class,
+                () -> catalogImportService.importProducts(CatalogFormat.CSV, utf8(csv)));
+        assertEquals(1, productRepository.findByCategoryCategoryId(category.getCategoryId()).size());
+    }
+
+    @Test
+    @WithMockUser
+    void importEndpoint_ShouldAcceptGzippedCsvAndReturnTheReport() throws Exception {
+        String csv = "productName,sku,basePrice,categoryName\n"
+                + "Cama," + (SKU_BASE + 1) + ",40.0,Importación\n"
+                + "Sin precio," + (SKU_BASE + 2) + ",," + category.getCategoryName() + "\n";
+
+        mockMvc.perform(post("/api/import/products")
+                        .contentType("text/csv")
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .content(gzip(csv)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importedRows").value(1))
+                .andExpect(jsonPath("$.rejectedRows").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(3))
+                .andExpect(jsonPath("$.errors[0].message").value("basePrice is required"));
+    }
+
+    @Test
+    @WithMockUser
+    void importEndpoint_ShouldRejectUnknownFormat() throws Exception {
+        mockMvc.perform(post("/api/import/promotions").param("format", "xml")
+                        .contentType("text/csv").content("promotionName\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void importEndpoint_ShouldRequireAuthentication() throws Exception {
+        mockMvc.perform(post("/api/import/promotions").contentType("application/x-ndjson").content("{}\n"))
+                .andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    void copyLine_ShouldDistinguishNullFromEmptyText() {
+        assertEquals("a,,\"\",\"x,y\",2025-01-01\n",
+                BulkInsert.copyLine(new Object[] {"a", null, "", "x,y", LocalDate.of(2025, 1, 1)}));
+    }
+
+    private static InputStream utf8(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] gzip(String text) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,108 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.petstore.backend.service.CatalogVersions.Aggregate;
+
+class CatalogVersionsTest {
+
+    private MutableClock clock;
+    private CatalogVersions versions;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        versions = new CatalogVersions(Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void bumpAfterCommit_WithoutTransaction_ShouldBumpImmediately() {
+        versions.bumpAfterCommit(Aggregate.PRODUCTS);
+
+        assertEquals(1, versions.version(Aggregate.PRODUCTS));
+        assertEquals(0, versions.version(Aggregate.CATEGORIES));
+    }
+
+    @Test
+    void etag_ShouldOnlyChangeWithItsOwnAggregates() {
+        String products = versions.etag(Aggregate.PRODUCTS, Aggregate.CATEGORIES);
+        String promotions = versions.etag(Aggregate.PROMOTIONS);
+
+        versions.bump(Aggregate.PRODUCTS);
+
+        assertNotEquals(products, versions.etag(Aggregate.PRODUCTS, Aggregate.CATEGORIES));
+        assertEquals(promotions, versions.etag(Aggregate.PROMOTIONS));
+    }
+
+    @Test
+    void etag_ShouldChangeWhenTheStalenessWindowEnds() {
+        String etag = versions.etag(Aggregate.CATEGORIES);
+
+        clock.advance(Duration.ofMinutes(4));
+        assertEquals(etag, versions.etag(Aggregate.CATEGORIES));
+
+        clock.advance(Duration.ofMinutes(1));
+        assertNotEquals(etag, versions.etag(Aggregate.CATEGORIES));
+    }
+
+    @Test
+    void etag_ShouldDifferBetweenInstances() {
+        CatalogVersions other = new CatalogVersions(Duration.ofMinutes(5), clock);
+
+        assertNotEquals(versions.etag(Aggregate.CATEGORIES), other.etag(Aggregate.CATEGORIES));
+    }
+
+    @Test
+    void matches_ShouldUseWeakComparison() {
+        String etag = versions.etag(Aggregate.CATEGORIES);
+        String strong = etag.substring(2);
+
+        assertTrue(CatalogVersions.matches(etag, etag));
+        assertTrue(CatalogVersions.matches(strong, etag));
+        assertTrue(CatalogVersions.matches("\"otro\", " + etag, etag));
+        assertTrue(CatalogVersions.matches("*", etag));
+        assertFalse(CatalogVersions.matches("\"otro\"", etag));
+        assertFalse(CatalogVersions.matches(null, etag));
+        assertFalse(CatalogVersions.matches(" ", etag));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
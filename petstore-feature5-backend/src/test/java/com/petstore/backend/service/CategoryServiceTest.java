@@ -22,6 +22,12 @@ class CategoryServiceTest {
     @Mock
     private CategoryRepository categoryRepository;
 
+    @Mock
+    private ReferenceDataCache referenceDataCache;
+
+    @Mock
+    private CatalogVersions catalogVersions;
+
     @InjectMocks
     private CategoryService categoryService;
 
@@ -91,6 +97,7 @@ class CategoryServiceTest {
         assertNotNull(result);
         assertEquals(mockCategory, result);
         verify(categoryRepository).save(mockCategory);
+        verify(referenceDataCache).evictCategories();
     }
 
     @Test
@@ -126,6 +133,7 @@ class CategoryServiceTest {
 
         // Then
         verify(categoryRepository).deleteById(categoryId);
+        verify(referenceDataCache).evictCategories();
     }
 
     @Test
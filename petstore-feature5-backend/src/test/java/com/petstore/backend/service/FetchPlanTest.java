@@ -0,0 +1,226 @@
+package com.petstore.backend.service;
+
+import static com.petstore.backend.service.TrashFixtures.deletedPromotion;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.dto.PromotionDeletedDTO;
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Role;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.entity.User;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionDeletedRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.RoleRepository;
+import com.petstore.backend.repository.StatusRepository;
+import com.petstore.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Regresión de planes de carga: con las relaciones LAZY, cada lectura de lista trae en un solo
+ * SELECT las relaciones que usa. Se vacía la caché de segundo nivel antes de medir, para que
+ * cualquier relación que falte en el plan aparezca como una consulta extra.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class FetchPlanTest {
+
+    private static final int CATEGORIES = 3;
+    private static final int PRODUCTS_PER_CATEGORY = 2;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionDeletedRepository promotionDeletedRepository;
+
+    private Category firstCategory;
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        // Un estado, categoría y usuario distintos por promoción: sin plan, cada uno sería un SELECT
+        Role role = roleRepository.save(new Role("Marketing Admin"));
+        int sku = 7100;
+        for (int c = 0; c < CATEGORIES; c++) {
+            Status status = statusRepository.save(new Status("FETCH_" + c));
+            Category category = categoryRepository.save(new Category("Plan " + c, "Categoría de prueba"));
+            User user = userRepository.save(new User("plan_" + c, "plan" + c + "@petstore.com", "secret", role));
+            Promotion promotion = new Promotion("Plan promo " + c, null, LocalDate.now().minusDays(1),
+                    LocalDate.now().plusDays(10), 10.0, status);
+            promotion.setCategory(category);
+            promotion.setUser(user);
+            promotion = promotionRepository.save(promotion);
+            for (int p = 0; p < PRODUCTS_PER_CATEGORY; p++) {
+                Product product = new Product("Plan product " + c + "-" + p, 5.0, sku++, category);
+                product.setPromotion(promotion);
+                productRepository.save(product);
+            }
+            promotionDeletedRepository.save(deletedPromotion(9700 + c, status, ZonedDateTime.now().minusDays(1),
+                    category, user, user));
+            if (c == 0) {
+                firstCategory = category;
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.getEntityManagerFactory().getCache().evictAll();
+
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void restProductPage_ShouldLoadCategoriesInTheSameStatement() throws Exception {
+        mockMvc.perform(get("/api/products").param("limit", "100"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.productName == 'Plan product 2-1')].category.categoryName").value("Plan 2"));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void restProductsByCategory_ShouldUseOneStatement() throws Exception {
+        mockMvc.perform(get("/api/products/category/{id}", firstCategory.getCategoryId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(PRODUCTS_PER_CATEGORY));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void restPromotionLists_ShouldLoadStatusAndCategoryInTheSameStatement() throws Exception {
+        mockMvc.perform(get("/api/promotions/all").param("limit", "100"))
+                .andExpect(status().isOk());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        entityManager.clear();
+        mockMvc.perform(get("/api/promotions/valid"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[?(@.promotionName == 'Plan promo 1')].status").value("FETCH_1"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        entityManager.clear();
+        mockMvc.perform(get("/api/promotions/category/{id}", firstCategory.getCategoryId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].category.categoryName").value("Plan 0"));
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void graphQlProducts_ShouldLoadCategoryPromotionAndStatusInOneStatement() {
+        graphQlTester.document("""
+                {
+                  products {
+                    productName
+                    category { categoryName }
+                    promotion { promotionName status { statusName } }
+                  }
+                }
+                """)
+                .execute()
+                .path("products[*].promotion.status.statusName")
+                .entityList(String.class)
+                .hasSizeGreaterThan(CATEGORIES * PRODUCTS_PER_CATEGORY - 1);
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void graphQlPromotions_ShouldLoadStatusCategoryAndUserInOneStatement() {
+        graphQlTester.document("""
+                {
+                  promotions {
+                    promotionName
+                    status { statusName }
+                    category { categoryName }
+                    user { userName }
+                  }
+                }
+                """)
+                .execute()
+                .path("promotions[*].user.userName")
+                .entityList(String.class)
+                .hasSizeGreaterThan(CATEGORIES - 1);
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        statistics.clear();
+        entityManager.clear();
+        graphQlTester.document("query($id: ID!) { promotionsByCategory(categoryId: $id) "
+                        + "{ status { statusName } category { categoryName } user { userName } } }")
+                .variable("id", firstCategory.getCategoryId())
+                .execute()
+                .path("promotionsByCategory[0].user.userName").entity(String.class).isEqualTo("plan_0");
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void trashListing_ShouldLoadAllRelationsInOneStatement() {
+        List<PromotionDeletedDTO> deleted = promotionService.getDeletedPromotions();
+
+        List<String> touched = deleted.stream()
+                .filter(dto -> dto.getPromotionId() >= 9700)
+                .map(dto -> dto.getStatusName() + dto.getUserName() + dto.getCategoryName() + dto.getDeletedByUserName())
+                .toList();
+
+        assertEquals(CATEGORIES, touched.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+}
@@ -0,0 +1,123 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.petstore.backend.dto.PriceQuoteRequest;
+import com.petstore.backend.dto.PriceQuoteResponse;
+import com.petstore.backend.repository.ProductRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PricingServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @InjectMocks
+    private PricingService pricingService;
+
+    private static Object[] row(int productId, double basePrice, Double discount, String status,
+                                LocalDate start, LocalDate end) {
+        return new Object[] {productId, basePrice, discount, status, start, end};
+    }
+
+    private static Object[] noPromotion(int productId, double basePrice) {
+        return row(productId, basePrice, null, null, null, null);
+    }
+
+    @Test
+    void quote_ShouldOnlyDiscountActiveAndCurrentPromotions() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(1, 10.0, 25.0, "ACTIVE", today.minusDays(1), today.plusDays(1)));
+        rows.add(row(2, 10.0, 25.0, "EXPIRED", today.minusDays(1), today.plusDays(1)));
+        rows.add(row(3, 10.0, 25.0, "ACTIVE", today.plusDays(1), today.plusDays(5)));
+        rows.add(noPromotion(4, 10.0));
+        when(productRepository.findPricingRowsByProductIdIn(anyCollection())).thenReturn(rows);
+
+        PriceQuoteResponse quote = pricingService.quote(new PriceQuoteRequest(List.of(4, 3, 2, 1), null));
+
+        assertEquals(new BigDecimal("10.00"), quote.getLines().get(0).getUnitPrice());
+        assertEquals(new BigDecimal("10.00"), quote.getLines().get(1).getUnitPrice());
+        assertEquals(new BigDecimal("10.00"), quote.getLines().get(2).getUnitPrice());
+        assertEquals(new BigDecimal("7.50"), quote.getLines().get(3).getUnitPrice());
+        assertEquals(new BigDecimal("37.50"), quote.getTotal());
+        assertEquals(new BigDecimal("2.50"), quote.getDiscountTotal());
+    }
+
+    @Test
+    void quote_ShouldRoundUnitPriceToCents() {
+        LocalDate today = LocalDate.now();
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(row(1, 19.99, 15.0, "ACTIVE", today, today));
+        when(productRepository.findPricingRowsByProductIdIn(anyCollection())).thenReturn(rows);
+
+        PriceQuoteResponse quote = pricingService.quote(
+                new PriceQuoteRequest(null, List.of(new PriceQuoteRequest.Item(1, 3))));
+
+        // 19.99 * 0.85 = 16.9915 -> 16.99; la línea se calcula sobre el unitario redondeado
+        assertEquals(new BigDecimal("16.99"), quote.getLines().get(0).getUnitPrice());
+        assertEquals(new BigDecimal("50.97"), quote.getLines().get(0).getLineTotal());
+        assertEquals(new BigDecimal("59.97"), quote.getSubtotal());
+    }
+
+    @Test
+    void quote_ShouldQueryOnceForLargeCartWithRepeatedProducts() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(noPromotion(1, 1.0));
+        rows.add(noPromotion(2, 2.0));
+        when(productRepository.findPricingRowsByProductIdIn(anyCollection())).thenReturn(rows);
+        List<PriceQuoteRequest.Item> items = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            items.add(new PriceQuoteRequest.Item(i % 2 + 1, 2));
+        }
+
+        PriceQuoteResponse quote = pricingService.quote(new PriceQuoteRequest(null, items));
+
+        assertEquals(500, quote.getLines().size());
+        assertEquals(new BigDecimal("1500.00"), quote.getTotal());
+        verify(productRepository, times(1)).findPricingRowsByProductIdIn(anyCollection());
+    }
+
+    @Test
+    void quote_WhenEmpty_ShouldThrow() {
+        assertThrows(IllegalArgumentException.class, () -> pricingService.quote(new PriceQuoteRequest()));
+    }
+
+    @Test
+    void quote_WhenTooManyLines_ShouldThrow() {
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i <= PricingService.MAX_QUOTE_LINES; i++) {
+            ids.add(i);
+        }
+        assertThrows(IllegalArgumentException.class, () -> pricingService.quote(new PriceQuoteRequest(ids, null)));
+    }
+
+    @Test
+    void effectivePrices_ShouldReturnNaNForUnknownProducts() {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(noPromotion(1, 4.5));
+        when(productRepository.findPricingRowsByProductIdIn(anyCollection())).thenReturn(rows);
+
+        double[] prices = pricingService.effectivePrices(new int[] {1, 2});
+
+        assertEquals(4.5, prices[0]);
+        assertTrue(Double.isNaN(prices[1]));
+    }
+}
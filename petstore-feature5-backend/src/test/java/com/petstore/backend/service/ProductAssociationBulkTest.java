@@ -0,0 +1,207 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.dto.ProductAssociationResult;
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.ProductRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica en H2 que la asociación/remoción masiva use un número fijo de sentencias
+ * y que la remoción no toque productos de otras promociones.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class ProductAssociationBulkTest {
+
+    private static final int PRODUCTS = 300;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    private Promotion promotion;
+    private Promotion otherPromotion;
+    private final List<Integer> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        Status active = statusRepository.save(new Status("ACTIVE"));
+        Category category = categoryRepository.save(new Category("Bulk Category", "Categoría de prueba"));
+        promotion = promotionRepository.save(newPromotion("Bulk Promo", active, category));
+        otherPromotion = promotionRepository.save(newPromotion("Other Promo", active, category));
+        for (int i = 0; i < PRODUCTS; i++) {
+            Product product = productRepository.save(new Product("Bulk Product " + i, 9.99, 5000 + i, category));
+            productIds.add(product.getProductId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void associate_ShouldUseAFixedNumberOfStatements() {
+        Statistics statistics = statistics();
+
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(
+                promotion.getPromotionId(), productIds, false);
+
+        assertEquals(PRODUCTS, result.count(ProductAssociationResult.Status.ASSOCIATED));
+        // Promoción + relaciones del evento + un SELECT de dueños + un UPDATE; nunca uno por producto
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Statements: " + statistics.getPrepareStatementCount());
+        assertEquals(PRODUCTS, productRepository.findByPromotionPromotionId(promotion.getPromotionId()).size());
+    }
+
+    @Test
+    void associate_ShouldReportMovedAndMissingProducts() {
+        Integer moved = productIds.get(0);
+        promotionService.associateProductsToPromotion(otherPromotion.getPromotionId(), List.of(moved), false);
+
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(
+                promotion.getPromotionId(), List.of(moved, -1), true);
+
+        assertEquals(ProductAssociationResult.Status.ASSOCIATED, result.getResults().get(0).getStatus());
+        assertEquals(otherPromotion.getPromotionId(), result.getResults().get(0).getPreviousPromotionId());
+        assertEquals(ProductAssociationResult.Status.NOT_FOUND, result.getResults().get(1).getStatus());
+    }
+
+    @Test
+    void associate_WithoutReassign_ShouldLeaveProductsOfOtherPromotions() {
+        Integer owned = productIds.get(0);
+        promotionService.associateProductsToPromotion(otherPromotion.getPromotionId(), List.of(owned), false);
+
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(
+                promotion.getPromotionId(), List.of(owned, productIds.get(1)), false);
+
+        assertEquals(ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, result.getResults().get(0).getStatus());
+        assertEquals(otherPromotion.getPromotionId(), result.getResults().get(0).getPreviousPromotionId());
+        assertEquals(ProductAssociationResult.Status.ASSOCIATED, result.getResults().get(1).getStatus());
+        entityManager.clear();
+        assertEquals(otherPromotion.getPromotionId(),
+                productRepository.findById(owned).orElseThrow().getPromotion().getPromotionId());
+    }
+
+    @Test
+    void assignPromotionIfUnowned_ShouldNotOverwriteAnotherPromotion() {
+        Integer owned = productIds.get(0);
+        Integer free = productIds.get(1);
+        promotionService.associateProductsToPromotion(otherPromotion.getPromotionId(), List.of(owned), false);
+
+        // Como si la lectura de dueños hubiera visto ambos productos libres
+        int updated = productRepository.assignPromotionIfUnowned(promotion, List.of(owned, free));
+
+        assertEquals(1, updated);
+        assertEquals(otherPromotion.getPromotionId(),
+                productRepository.findById(owned).orElseThrow().getPromotion().getPromotionId());
+        assertEquals(promotion.getPromotionId(),
+                productRepository.findById(free).orElseThrow().getPromotion().getPromotionId());
+    }
+
+    @Test
+    void remove_ShouldOnlyDetachProductsOfThisPromotion() {
+        Integer own = productIds.get(0);
+        Integer foreign = productIds.get(1);
+        promotionService.associateProductsToPromotion(promotion.getPromotionId(), List.of(own), false);
+        promotionService.associateProductsToPromotion(otherPromotion.getPromotionId(), List.of(foreign), false);
+
+        ProductAssociationResult result = promotionService.removeProductsFromPromotion(
+                promotion.getPromotionId(), List.of(own, foreign, productIds.get(2)));
+
+        assertEquals(ProductAssociationResult.Status.REMOVED, result.getResults().get(0).getStatus());
+        assertEquals(ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, result.getResults().get(1).getStatus());
+        assertEquals(ProductAssociationResult.Status.NOT_ASSOCIATED, result.getResults().get(2).getStatus());
+        assertNull(productRepository.findById(own).orElseThrow().getPromotion());
+        assertEquals(otherPromotion.getPromotionId(),
+                productRepository.findById(foreign).orElseThrow().getPromotion().getPromotionId());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@petstore.com")
+    void bulkMutation_ShouldReturnOutcomePerProduct() {
+        graphQlTester.document("""
+                mutation($promotionId: ID!, $productIds: [ID!]!) {
+                  associateProductsToPromotionBulk(promotionId: $promotionId, productIds: $productIds) {
+                    promotion { promotionName }
+                    results { productId status }
+                  }
+                }
+                """)
+                .variable("promotionId", promotion.getPromotionId())
+                .variable("productIds", List.of(productIds.get(0), -1))
+                .execute()
+                .path("associateProductsToPromotionBulk.promotion.promotionName").entity(String.class).isEqualTo("Bulk Promo")
+                .path("associateProductsToPromotionBulk.results[*].status").entityList(String.class)
+                .containsExactly("ASSOCIATED", "NOT_FOUND");
+    }
+
+    @Test
+    void bulkMutation_WhenNotAuthenticated_ShouldFail() {
+        graphQlTester.document("""
+                mutation {
+                  removeProductsFromPromotionBulk(promotionId: 1, productIds: [1]) { promotionId }
+                }
+                """)
+                .execute()
+                .errors()
+                .expect(error -> error.getMessage() != null)
+                .verify();
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static Promotion newPromotion(String name, Status status, Category category) {
+        Promotion promotion = new Promotion(name, "Promoción de prueba", LocalDate.now(),
+                LocalDate.now().plusDays(10), 10.0, status);
+        promotion.setCategory(category);
+        return promotion;
+    }
+}
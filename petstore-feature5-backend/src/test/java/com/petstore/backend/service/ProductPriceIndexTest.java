@@ -0,0 +1,132 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.petstore.backend.pagination.SortDirection;
+import com.petstore.backend.service.ProductPriceIndex.Entry;
+
+class ProductPriceIndexTest {
+
+    private ProductPriceIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = ProductPriceIndex.of(List.of(
+                new Entry(1, 30.0, 10),
+                new Entry(2, 10.0, 20),
+                new Entry(3, 20.0, 10),
+                new Entry(4, 20.0, 20),
+                new Entry(5, 50.0, 10),
+                new Entry(6, 5.0, 20)));
+    }
+
+    @Test
+    void page_ShouldReturnInclusiveRangeOrderedByPriceThenId() {
+        ProductPriceIndex.Page page = index.page(10.0, 30.0, null, SortDirection.ASC, null, null, 10);
+
+        assertEquals(List.of(2, 3, 4, 1), ids(page));
+        assertFalse(page.hasNextPage());
+        assertEquals(4, index.count(10.0, 30.0, null));
+    }
+
+    @Test
+    void page_ShouldWalkFromCursorInBothDirections() {
+        ProductPriceIndex.Page first = index.page(0.0, 100.0, null, SortDirection.ASC, null, null, 3);
+        assertEquals(List.of(6, 2, 3), ids(first));
+        assertTrue(first.hasNextPage());
+
+        ProductPriceIndex.Page second = index.page(0.0, 100.0, null, SortDirection.ASC, 20.0, 3, 3);
+        assertEquals(List.of(4, 1, 5), ids(second));
+        assertFalse(second.hasNextPage());
+
+        ProductPriceIndex.Page descending = index.page(0.0, 100.0, null, SortDirection.DESC, 20.0, 4, 2);
+        assertEquals(List.of(3, 2), ids(descending));
+        assertTrue(descending.hasNextPage());
+    }
+
+    @Test
+    void page_ShouldFilterByCategory() {
+        assertEquals(List.of(3, 1), ids(index.page(10.0, 30.0, 10, SortDirection.ASC, null, null, 10)));
+        assertEquals(List.of(4, 2, 6), ids(index.page(0.0, 20.0, 20, SortDirection.DESC, null, null, 10)));
+        assertTrue(index.page(0.0, 100.0, 99, SortDirection.ASC, null, null, 10).entries().isEmpty());
+        assertEquals(0, index.count(0.0, 100.0, 99));
+    }
+
+    @Test
+    void page_ShouldReturnNothingForEmptyOrInvertedRange() {
+        assertTrue(index.page(31.0, 49.0, null, SortDirection.ASC, null, null, 10).entries().isEmpty());
+        assertTrue(index.page(30.0, 10.0, null, SortDirection.ASC, null, null, 10).entries().isEmpty());
+        assertEquals(0, index.count(30.0, 10.0, null));
+    }
+
+    @Test
+    void updated_ShouldMoveChangedProductsAndLeaveOriginalUntouched() {
+        ProductPriceIndex changed = index.updated(
+                List.of(new Entry(1, 8.0, 20), new Entry(7, 25.0, 30)), List.of(5));
+
+        assertEquals(List.of(6, 1, 2, 3, 4, 7), ids(changed.page(0.0, 100.0, null, SortDirection.ASC, null, null, 10)));
+        assertEquals(List.of(3), ids(changed.page(0.0, 100.0, 10, SortDirection.ASC, null, null, 10)));
+        assertEquals(List.of(6, 1, 2, 4), ids(changed.page(0.0, 100.0, 20, SortDirection.ASC, null, null, 10)));
+        assertEquals(List.of(7), ids(changed.page(0.0, 100.0, 30, SortDirection.ASC, null, null, 10)));
+        assertEquals(6, changed.size());
+
+        assertEquals(List.of(6, 2, 3, 4, 1, 5), ids(index.page(0.0, 100.0, null, SortDirection.ASC, null, null, 10)));
+    }
+
+    @Test
+    void updated_ShouldDropEmptyCategoriesAndIgnoreUnknownIds() {
+        ProductPriceIndex changed = index.updated(List.of(), List.of(1, 3, 5));
+
+        assertTrue(changed.page(0.0, 100.0, 10, SortDirection.ASC, null, null, 10).entries().isEmpty());
+        assertEquals(3, changed.size());
+        assertSame(index, index.updated(List.of(), List.of(999)));
+    }
+
+    @Test
+    void updated_ShouldKeepUpsertWhenSameIdIsAlsoRemoved() {
+        ProductPriceIndex changed = index.updated(List.of(new Entry(8, 12.0, 10)), List.of(8));
+
+        assertEquals(List.of(8), ids(changed.page(11.0, 13.0, 10, SortDirection.ASC, null, null, 10)));
+    }
+
+    @Test
+    void updated_ShouldMatchFullRebuild() {
+        Random random = new Random(42);
+        List<Entry> entries = new ArrayList<>();
+        for (int id = 1; id <= 500; id++) {
+            entries.add(new Entry(id, random.nextInt(100), random.nextInt(5)));
+        }
+        ProductPriceIndex incremental = ProductPriceIndex.of(entries);
+        for (int i = 0; i < 200; i++) {
+            int id = 1 + random.nextInt(600);
+            Entry entry = new Entry(id, random.nextInt(100), random.nextInt(5));
+            entries.removeIf(existing -> existing.productId() == id);
+            if (random.nextBoolean()) {
+                entries.add(entry);
+                incremental = incremental.updated(List.of(entry), List.of());
+            } else {
+                incremental = incremental.updated(List.of(), List.of(id));
+            }
+        }
+        ProductPriceIndex rebuilt = ProductPriceIndex.of(entries);
+
+        for (Integer categoryId : new Integer[] {null, 0, 1, 2, 3, 4}) {
+            assertEquals(ids(rebuilt.page(20.0, 80.0, categoryId, SortDirection.ASC, null, null, 1000)),
+                    ids(incremental.page(20.0, 80.0, categoryId, SortDirection.ASC, null, null, 1000)));
+        }
+    }
+
+    private static List<Integer> ids(ProductPriceIndex.Page page) {
+        return page.entries().stream().map(Entry::productId).toList();
+    }
+}
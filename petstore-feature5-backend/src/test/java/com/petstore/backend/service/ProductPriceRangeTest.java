@@ -0,0 +1,133 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.pagination.SortDirection;
+import com.petstore.backend.repository.CategoryRepository;
+
+/**
+ * Verifica el listado por rango de precios sobre el índice en memoria. Sin @Transactional: el
+ * índice se actualiza después del commit de {@link ProductService#save}, así que los datos se
+ * confirman y se borran al final de cada prueba.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ProductPriceRangeTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Category toys;
+    private Category beds;
+    private final List<Integer> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        toys = categoryRepository.save(new Category("Juguetes rango", "Categoría de prueba"));
+        beds = categoryRepository.save(new Category("Camas rango", "Categoría de prueba"));
+        // Fuerza la carga del índice: lo que sigue se indexa de forma incremental
+        productService.findPriceRangePage(0.0, 0.0, null, null, 1, null);
+        save("Pelota", 9001.25, toys);
+        save("Hueso", 9001.50, toys);
+        save("Cama chica", 9001.50, beds);
+        save("Cama grande", 9002.75, beds);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productIds.forEach(productService::deleteById);
+        categoryRepository.delete(toys);
+        categoryRepository.delete(beds);
+    }
+
+    @Test
+    void priceRange_ShouldPageByPriceWithCursor() throws Exception {
+        MvcResult first = mockMvc.perform(get("/api/products/price-range")
+                        .param("minPrice", "9001").param("maxPrice", "9003").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productName").value("Pelota"))
+                .andExpect(jsonPath("$[1].productName").value("Hueso"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn();
+
+        mockMvc.perform(get("/api/products/price-range")
+                        .param("minPrice", "9001").param("maxPrice", "9003").param("limit", "2")
+                        .param("after", first.getResponse().getHeader("X-Next-Cursor")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productName").value("Cama chica"))
+                .andExpect(jsonPath("$[1].productName").value("Cama grande"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void priceRange_ShouldFilterByCategoryAndSortDescending() throws Exception {
+        mockMvc.perform(get("/api/products/price-range")
+                        .param("minPrice", "9001").param("maxPrice", "9003")
+                        .param("categoryId", beds.getCategoryId().toString()).param("sort", "-price"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productName").value("Cama grande"))
+                .andExpect(jsonPath("$[1].productName").value("Cama chica"));
+    }
+
+    @Test
+    void priceRange_ShouldRejectInvalidArguments() throws Exception {
+        mockMvc.perform(get("/api/products/price-range").param("minPrice", "50").param("maxPrice", "10"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/price-range")
+                        .param("minPrice", "1").param("maxPrice", "10").param("sort", "name"))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/api/products/price-range")
+                        .param("minPrice", "1").param("maxPrice", "10").param("after", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void save_ShouldMoveProductInIndexAfterCommit() {
+        Product pelota = productService.findById(productIds.get(0)).orElseThrow();
+        pelota.setBasePrice(9002.90);
+        productService.save(pelota);
+        productService.deleteById(productIds.remove(1));
+
+        assertEquals(List.of("Pelota", "Cama grande", "Cama chica"),
+                productService.findPriceRangePage(9001.0, 9003.0, null, SortDirection.DESC, 10, null)
+                        .getItems().stream().map(Product::getProductName).toList());
+    }
+
+    private void save(String name, double price, Category category) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setBasePrice(price);
+        product.setSku(870000 + productIds.size());
+        product.setCategory(category);
+        productIds.add(productService.save(product).getProductId());
+    }
+}
@@ -0,0 +1,117 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.petstore.backend.dto.ProductSuggestionDTO;
+
+class ProductSearchIndexTest {
+
+    private ProductSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new ProductSearchIndex();
+        index.put(1, "Correa con collar", 5001);
+        index.put(2, "Collar antipulgas", 5002);
+        index.put(3, "Collar", 5003);
+        index.put(4, "Cama térmica para gatos", 7100);
+        index.put(5, "Juguete minicollar", 5005);
+    }
+
+    @Test
+    void search_ShouldRankExactThenNamePrefixThenWordPrefixThenSubstring() {
+        assertEquals(List.of(3, 2, 1, 5), index.search("collar", 10));
+    }
+
+    @Test
+    void search_ShouldIgnoreCaseAndAccents() {
+        assertEquals(List.of(4), index.search("TERMICA", 10));
+        assertEquals(List.of(4), index.search("térm", 10));
+    }
+
+    @Test
+    void search_ShouldMatchSkuPrefixAndHonorLimit() {
+        assertEquals(List.of(4), index.search("71", 10));
+        assertEquals(List.of(1, 2), index.search("500", 2));
+        assertEquals(List.of(3), index.search("5003", 10));
+    }
+
+    @Test
+    void search_ShouldReturnNothingForBlankOrMissingQuery() {
+        assertTrue(index.search("  ", 10).isEmpty());
+        assertTrue(index.search(null, 10).isEmpty());
+        assertTrue(index.search("perro", 10).isEmpty());
+    }
+
+    @Test
+    void search_ShouldUseWordPrefixForShortQueries() {
+        // "co" con menos de 3 letras: solo inicio de palabra, "minicollar" no entra
+        assertEquals(List.of(3, 2, 1), index.search("co", 10));
+    }
+
+    @Test
+    void put_ShouldReplacePreviousNameAndRemoveShouldDropProduct() {
+        index.put(3, "Arnés", 5003);
+        index.remove(2);
+
+        assertEquals(List.of(1, 5), index.search("collar", 10));
+        assertEquals(List.of(3), index.search("arnes", 10));
+        assertEquals(4, index.size());
+        index.remove(99);
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void search_ShouldReturnSubstringMatchesAlphabeticallyBeyondTheCandidateCap() {
+        ProductSearchIndex large = new ProductSearchIndex();
+        int count = ProductSearchIndex.MAX_CANDIDATES + 100;
+        // Insertados al revés: los primeros en orden alfabético quedan al final de los postings
+        for (int i = count - 1; i >= 0; i--) {
+            large.put(i + 1, String.format("Ref axyz%05d", i), null);
+        }
+        for (int i = 10; i < count; i += 3) {
+            large.remove(i + 1);
+        }
+
+        assertEquals(List.of(1, 2, 3), large.search("xyz", 3));
+    }
+
+    @Test
+    void search_ShouldOrderEqualNamesById() {
+        index.put(9, "Collar", 5009);
+        index.put(7, "collar", 5007);
+        index.remove(7);
+        index.put(8, "Collar", 5008);
+
+        assertEquals(List.of(3, 8, 9), index.search("collar", 3));
+    }
+
+    @Test
+    void remove_ThenPut_ShouldReuseTheSlotWithoutStalePostings() {
+        index.remove(2);
+        index.put(6, "Collar reflectivo", 5006);
+        index.put(6, "Collar reflectivo", 5006);
+
+        assertEquals(List.of(3, 6, 1, 5), index.search("collar", 10));
+        assertTrue(index.search("antipulgas", 10).isEmpty());
+        assertEquals(List.of(6), index.search("reflect", 10));
+    }
+
+    @Test
+    void autocomplete_ShouldCompleteWordsInDictionaryOrder() {
+        List<ProductSuggestionDTO> suggestions = index.autocomplete("col", 10);
+
+        assertEquals(3, suggestions.size());
+        assertTrue(suggestions.stream().allMatch(s -> s.getProductName().toLowerCase().contains("collar")));
+        assertEquals(1, index.autocomplete("col", 1).size());
+        assertEquals(List.of(4), index.autocomplete("cama ter", 10).stream().map(ProductSuggestionDTO::getProductId).toList());
+        assertEquals("Cama térmica para gatos", index.autocomplete("gat", 10).get(0).getProductName());
+        assertTrue(index.autocomplete("", 10).isEmpty());
+    }
+}
@@ -0,0 +1,124 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.Product;
+import com.petstore.backend.repository.CategoryRepository;
+
+/**
+ * Verifica la búsqueda indexada de productos de punta a punta. Sin @Transactional: el índice
+ * se actualiza después del commit de {@link ProductService#save}, así que los datos se confirman
+ * y se borran al final de cada prueba.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+class ProductSearchTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    private Category category;
+    private final List<Integer> productIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        category = categoryRepository.save(new Category("Búsqueda", "Categoría de prueba"));
+        // Fuerza la carga del índice: lo que sigue se indexa de forma incremental
+        productService.search("zorbax", 1);
+        save("Zorbax correa", 880001);
+        save("Zorbax", 880002);
+        save("Collar zorbaxeno", 880003);
+    }
+
+    @AfterEach
+    void tearDown() {
+        productIds.forEach(productService::deleteById);
+        categoryRepository.delete(category);
+    }
+
+    @Test
+    void search_ShouldReturnRankedProductsFromIndex() throws Exception {
+        mockMvc.perform(get("/api/products/search").param("name", "ZORBAX").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].productName").value("Zorbax"))
+                .andExpect(jsonPath("$[1].productName").value("Zorbax correa"));
+
+        mockMvc.perform(get("/api/products/search").param("name", "zorbax").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void save_ShouldUpdateIndexAfterCommit() {
+        Product renamed = productService.findById(productIds.get(2)).orElseThrow();
+        renamed.setProductName("Collar azul");
+        productService.save(renamed);
+
+        assertEquals(List.of("Zorbax", "Zorbax correa"),
+                productService.search("zorbax", 10).stream().map(Product::getProductName).toList());
+
+        productService.deleteById(productIds.remove(0));
+        assertEquals(List.of("Zorbax"),
+                productService.search("zorbax", 10).stream().map(Product::getProductName).toList());
+    }
+
+    @Test
+    void autocomplete_ShouldSuggestFromIndex() throws Exception {
+        mockMvc.perform(get("/api/products/autocomplete").param("prefix", "zorbaxe"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].productName").value("Collar zorbaxeno"))
+                .andExpect(jsonPath("$[0].sku").value(880003));
+
+        assertTrue(productService.autocomplete("qqq", 5).isEmpty());
+    }
+
+    @Test
+    void searchProductsQuery_ShouldReturnRankedProducts() {
+        graphQlTester.document("""
+                { searchProducts(query: "zorbax", first: 10) { productName sku } }
+                """)
+                .execute()
+                .path("searchProducts[*].productName").entityList(String.class)
+                .containsExactly("Zorbax", "Zorbax correa", "Collar zorbaxeno");
+    }
+
+    private void save(String name, int sku) {
+        Product product = new Product();
+        product.setProductName(name);
+        product.setBasePrice(10.0);
+        product.setSku(sku);
+        product.setCategory(category);
+        productIds.add(productService.save(product).getProductId());
+    }
+}
@@ -24,6 +24,15 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private ProductPriceRangeService productPriceRangeService;
+
+    @Mock
+    private CatalogVersions catalogVersions;
+
     @InjectMocks
     private ProductService productService;
 
@@ -118,6 +127,8 @@ class ProductServiceTest {
         assertNotNull(result);
         assertEquals(mockProduct, result);
         verify(productRepository).save(mockProduct);
+        verify(productSearchService).indexAfterCommit(mockProduct);
+        verify(productPriceRangeService).indexAfterCommit(mockProduct);
     }
 
     @Test
@@ -130,6 +141,21 @@ class ProductServiceTest {
 
         // Then
         verify(productRepository).deleteById(productId);
+        verify(productSearchService).removeAfterCommit(productId);
+        verify(productPriceRangeService).removeAfterCommit(productId);
+    }
+
+    @Test
+    void search_ShouldDelegateToSearchIndex() {
+        // Given
+        when(productSearchService.search("test", 5)).thenReturn(List.of(mockProduct));
+
+        // When
+        List<Product> result = productService.search("test", 5);
+
+        // Then
+        assertEquals(List.of(mockProduct), result);
+        verify(productRepository, never()).findByProductNameContainingIgnoreCase(anyString());
     }
 
     @Test
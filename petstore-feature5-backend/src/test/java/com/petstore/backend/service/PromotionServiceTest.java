@@ -1,9 +1,14 @@
 package com.petstore.backend.service;
 
 import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,14 +16,20 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -26,14 +37,19 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import com.petstore.backend.dto.ProductAssociationResult;
 import com.petstore.backend.dto.PromotionDTO;
 import com.petstore.backend.dto.PromotionDeletedDTO;
+import com.petstore.backend.dto.PromotionTrashBulkResult;
 import com.petstore.backend.entity.Category;
 import com.petstore.backend.entity.Product;
 import com.petstore.backend.entity.Promotion;
 import com.petstore.backend.entity.PromotionDeleted;
 import com.petstore.backend.entity.Status;
 import com.petstore.backend.entity.User;
+import com.petstore.backend.event.PromotionEvent;
+import com.petstore.backend.event.PromotionEventBus;
+import com.petstore.backend.event.PromotionEventType;
 import com.petstore.backend.repository.CategoryRepository;
 import com.petstore.backend.repository.ProductRepository;
 import com.petstore.backend.repository.PromotionDeletedRepository;
@@ -62,6 +78,18 @@ class PromotionServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private PromotionEventBus eventBus;
+
+    @Mock
+    private CatalogVersions catalogVersions;
+
+    @Spy
+    private Clock clock = Clock.fixed(Instant.parse("2025-06-15T12:00:00Z"), ZoneOffset.UTC);
+
+    @Spy
+    private TrashRetentionPolicy trashRetentionPolicy = new TrashRetentionPolicy(TrashRetentionPolicy.DEFAULT_RETENTION_DAYS);
+
     @InjectMocks
     private PromotionService promotionService;
 
@@ -130,31 +158,30 @@ class PromotionServiceTest {
     }
 
     @Test
-    void getAllActivePromotions_ShouldFilterExpiredPromotions() {
-        // Given
-        Promotion expiredPromotion = new Promotion();
-        expiredPromotion.setPromotionId(2);
-        expiredPromotion.setPromotionName("Expired Promotion");
-        expiredPromotion.setStartDate(LocalDate.now().minusDays(20));
-        expiredPromotion.setEndDate(LocalDate.now().minusDays(1)); // Expired yesterday
-        expiredPromotion.setDiscountValue(10.0);
-
-        List<Promotion> activePromotions = Arrays.asList(testPromotion, expiredPromotion);
+    void getAllActivePromotions_ShouldTrustStatusWithoutDateFilter() {
+        // Given: el motor de transiciones es quien pasa a EXPIRED las vencidas
+        Promotion notYetExpired = new Promotion();
+        notYetExpired.setPromotionId(2);
+        notYetExpired.setPromotionName("Pending Transition");
+        notYetExpired.setStartDate(LocalDate.now().minusDays(20));
+        notYetExpired.setEndDate(LocalDate.now().minusDays(1));
+        notYetExpired.setDiscountValue(10.0);
+
+        List<Promotion> activePromotions = Arrays.asList(testPromotion, notYetExpired);
         when(promotionRepository.findActivePromotions()).thenReturn(activePromotions);
 
         // When
         List<PromotionDTO> result = promotionService.getAllActivePromotions();
 
         // Then
-        assertEquals(1, result.size());
-        assertEquals("Test Promotion", result.get(0).getPromotionName());
+        assertEquals(2, result.size());
     }
 
     @Test
     void getAllPromotions_ShouldReturnAllPromotions() {
         // Given
         List<Promotion> allPromotions = Arrays.asList(testPromotion);
-        when(promotionRepository.findAll()).thenReturn(allPromotions);
+        when(promotionRepository.findAllWithStatusAndCategory()).thenReturn(allPromotions);
 
         // When
         List<PromotionDTO> result = promotionService.getAllPromotions();
@@ -163,7 +190,7 @@ class PromotionServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Promotion", result.get(0).getPromotionName());
-        verify(promotionRepository).findAll();
+        verify(promotionRepository).findAllWithStatusAndCategory();
     }
 
     @Test
@@ -196,7 +223,7 @@ class PromotionServiceTest {
         assertNotNull(result);
         assertEquals(1, result.size());
         assertEquals("Test Promotion", result.get(0).getPromotionName());
-        verify(promotionRepository).findValidPromotions(any(LocalDate.class));
+        verify(promotionRepository).findValidPromotions(LocalDate.of(2025, 6, 15));
     }
 
     @Test
@@ -215,6 +242,48 @@ class PromotionServiceTest {
         verify(promotionRepository).findActivePromotions();
     }
 
+    @Test
+    void getAllActivePromotionsEntities_ShouldReuseIndexBetweenCalls() {
+        // Given
+        when(promotionRepository.findActivePromotions()).thenReturn(Arrays.asList(testPromotion));
+
+        // When
+        promotionService.getAllActivePromotionsEntities();
+        promotionService.getAllActivePromotions();
+        List<Promotion> byCategory = promotionService.getActivePromotionsByCategoryEntities(1);
+
+        // Then
+        assertEquals(1, byCategory.size());
+        assertTrue(promotionService.getActivePromotionsByCategoryEntities(2).isEmpty());
+        verify(promotionRepository, times(1)).findActivePromotions();
+    }
+
+    @Test
+    void getActivePromotionsOnDateEntities_ShouldFilterByDate() {
+        // Given
+        when(promotionRepository.findActivePromotions()).thenReturn(Arrays.asList(testPromotion));
+
+        // When / Then
+        assertEquals(1, promotionService.getActivePromotionsOnDateEntities(LocalDate.now().plusDays(10)).size());
+        assertTrue(promotionService.getActivePromotionsOnDateEntities(LocalDate.now().plusDays(11)).isEmpty());
+    }
+
+    @Test
+    void createPromotion_ShouldRebuildActiveIndex() {
+        // Given
+        when(promotionRepository.findActivePromotions()).thenReturn(Arrays.asList(testPromotion));
+        when(promotionRepository.save(any(Promotion.class))).thenReturn(testPromotion);
+        promotionService.getAllActivePromotionsEntities();
+
+        // When
+        promotionService.createPromotion("New", "Desc", LocalDate.now(), LocalDate.now().plusDays(5),
+                10.0, null, null, null);
+        promotionService.getAllActivePromotionsEntities();
+
+        // Then
+        verify(promotionRepository, times(2)).findActivePromotions();
+    }
+
     @Test
     void getAllExpiredPromotionsEntities_ShouldReturnExpiredPromotions() {
         // Given
@@ -266,7 +335,7 @@ class PromotionServiceTest {
         // Given
         Integer categoryId = 1;
         List<Promotion> promotions = Arrays.asList(testPromotion);
-        when(promotionRepository.findByCategoryCategoryId(categoryId)).thenReturn(promotions);
+        when(promotionRepository.findWithRelationsByCategoryCategoryId(categoryId)).thenReturn(promotions);
 
         // When
         List<Promotion> result = promotionService.getPromotionsByCategoryEntities(categoryId);
@@ -274,7 +343,7 @@ class PromotionServiceTest {
         // Then
         assertNotNull(result);
         assertEquals(1, result.size());
-        verify(promotionRepository).findByCategoryCategoryId(categoryId);
+        verify(promotionRepository).findWithRelationsByCategoryCategoryId(categoryId);
     }
 
     @Test
@@ -385,6 +454,40 @@ class PromotionServiceTest {
         verify(promotionRepository).save(any(Promotion.class));
     }
 
+    @Test
+    void updatePromotion_ShouldPublishActivationWhenStatusBecomesActive() {
+        // Given
+        Status scheduled = new Status();
+        scheduled.setStatusId(3);
+        scheduled.setStatusName("SCHEDULE");
+        testPromotion.setStatus(scheduled);
+        when(promotionRepository.findById(1)).thenReturn(Optional.of(testPromotion));
+        when(statusRepository.findById(1)).thenReturn(Optional.of(testStatus));
+        when(promotionRepository.save(any(Promotion.class))).thenReturn(testPromotion);
+
+        // When
+        promotionService.updatePromotion(1, null, null, null, null, null, 1, null, null);
+
+        // Then
+        ArgumentCaptor<PromotionEvent> captor = ArgumentCaptor.forClass(PromotionEvent.class);
+        verify(eventBus).publish(captor.capture());
+        PromotionEvent event = captor.getValue();
+        assertEquals(PromotionEventType.UPDATED, event.getType());
+        assertEquals("SCHEDULE", event.getPreviousStatus());
+        assertEquals("ACTIVE", event.getCurrentStatus());
+        assertTrue(event.isActivation());
+        assertFalse(event.isExpiration());
+    }
+
+    @Test
+    void updatePromotion_ShouldNotPublishWhenPromotionNotExists() {
+        when(promotionRepository.findById(999)).thenReturn(Optional.empty());
+
+        promotionService.updatePromotion(999, "New Name", null, null, null, null, null, null, null);
+
+        verifyNoInteractions(eventBus);
+    }
+
     @Test
     void updatePromotion_ShouldReturnNullWhenPromotionNotExists() {
         // Given
@@ -434,13 +537,42 @@ class PromotionServiceTest {
         verify(promotionDeletedRepository).findByDeletedByUserId(userId);
     }
 
+    @Test
+    void getDeletedPromotionSummaries_ShouldUseProjectionWithConfiguredRetention() {
+        // Given
+        PromotionDeletedDTO summary = new PromotionDeletedDTO(1, "Deleted Promotion", null, null, null, 10.0,
+                "ACTIVE", "owner", "Toys", ZonedDateTime.now(), "admin", 30);
+        when(promotionDeletedRepository.findRestorableSummaries(any(ZonedDateTime.class), eq(2_592_000L)))
+                .thenReturn(List.of(summary));
+
+        // When
+        List<PromotionDeletedDTO> result = promotionService.getDeletedPromotionSummaries();
+
+        // Then
+        assertEquals(List.of(summary), result);
+        verify(promotionDeletedRepository, never()).findRestorable(any(ZonedDateTime.class));
+    }
+
+    @Test
+    void getDeletedPromotionSummariesByUser_ShouldUseProjection() {
+        // Given
+        when(promotionDeletedRepository.findSummariesByDeletedByUserId(1, 2_592_000L)).thenReturn(List.of());
+
+        // When
+        List<PromotionDeletedDTO> result = promotionService.getDeletedPromotionSummariesByUser(1);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(promotionDeletedRepository, never()).findByDeletedByUserId(anyInt());
+    }
+
     @Test
     void restorePromotion_ShouldRestoreWhenPromotionExistsAndNotExpired() {
         // Given
         Integer promotionId = 1;
         Integer userId = 1;
         when(promotionDeletedRepository.findById(promotionId)).thenReturn(Optional.of(testPromotionDeleted));
-        when(promotionRepository.save(any(Promotion.class))).thenReturn(testPromotion);
+        when(promotionRepository.save(any(Promotion.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
         // When
         boolean result = promotionService.restorePromotion(promotionId, userId);
@@ -449,6 +581,10 @@ class PromotionServiceTest {
         assertTrue(result);
         verify(promotionDeletedRepository).findById(promotionId);
         verify(promotionRepository).save(any(Promotion.class));
+        ArgumentCaptor<PromotionEvent> event = ArgumentCaptor.forClass(PromotionEvent.class);
+        verify(eventBus).publish(event.capture());
+        assertEquals(PromotionEventType.RESTORED, event.getValue().getType());
+        assertEquals(testPromotionDeleted.getPromotionName(), event.getValue().getPromotion().getPromotionName());
         verify(promotionDeletedRepository).delete(testPromotionDeleted);
     }
 
@@ -554,34 +690,96 @@ class PromotionServiceTest {
     }
 
     @Test
-    void associateProductsToPromotion_WhenValidData_ShouldReturnTrue() {
+    void associateProductsToPromotion_WhenValidData_ShouldAssignInBulk() {
         // Given
         Integer promotionId = 1;
         List<Integer> productIds = Arrays.asList(1, 2);
         
-        Product product1 = new Product();
-        product1.setProductId(1);
-        Product product2 = new Product();
-        product2.setProductId(2);
+        when(promotionRepository.findById(promotionId)).thenReturn(Optional.of(testPromotion));
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(1, 2)))
+            .thenReturn(List.of(new Object[]{1, null}, new Object[]{2, null}));
+        when(productRepository.assignPromotion(testPromotion, List.of(1, 2))).thenReturn(2);
+
+        // When
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, productIds, true);
+
+        // Then
+        assertNotNull(result);
+        assertEquals(2, result.count(ProductAssociationResult.Status.ASSOCIATED));
+        verify(productRepository).assignPromotion(testPromotion, List.of(1, 2));
+        verify(productRepository, never()).findById(anyInt());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(eventBus).publish(any());
+    }
+
+    @Test
+    void associateProductsToPromotion_ShouldReportMissingAndMovedProducts() {
+        // Given
+        Integer promotionId = 1;
+        List<Integer> productIds = Arrays.asList(1, 2, 3, 2);
         
         when(promotionRepository.findById(promotionId)).thenReturn(Optional.of(testPromotion));
-        when(productRepository.findById(1)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2)).thenReturn(Optional.of(product2));
-        when(productRepository.save(any(Product.class))).thenReturn(product1);
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(1, 2, 3)))
+            .thenReturn(List.of(new Object[]{1, 1}, new Object[]{2, 7}));
+        when(productRepository.assignPromotion(testPromotion, List.of(2))).thenReturn(1);
 
         // When
-        boolean result = promotionService.associateProductsToPromotion(promotionId, productIds);
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, productIds, true);
 
         // Then
-        assertTrue(result);
-        verify(promotionRepository).findById(promotionId);
-        verify(productRepository).findById(1);
-        verify(productRepository).findById(2);
-        verify(productRepository, times(2)).save(any(Product.class));
+        assertEquals(3, result.getResults().size());
+        assertEquals(ProductAssociationResult.Status.ASSOCIATED, result.getResults().get(0).getStatus());
+        assertNull(result.getResults().get(0).getPreviousPromotionId());
+        assertEquals(ProductAssociationResult.Status.ASSOCIATED, result.getResults().get(1).getStatus());
+        assertEquals(7, result.getResults().get(1).getPreviousPromotionId());
+        assertEquals(ProductAssociationResult.Status.NOT_FOUND, result.getResults().get(2).getStatus());
+        // Solo se actualiza el producto que no estaba ya en la promoción
+        verify(productRepository).assignPromotion(testPromotion, List.of(2));
     }
 
     @Test
-    void associateProductsToPromotion_WhenPromotionNotFound_ShouldReturnFalse() {
+    void associateProductsToPromotion_WithoutReassign_ShouldSkipProductsOfOtherPromotions() {
+        // Given
+        Integer promotionId = 1;
+        List<Integer> productIds = Arrays.asList(1, 2);
+
+        when(promotionRepository.findById(promotionId)).thenReturn(Optional.of(testPromotion));
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(1, 2)))
+            .thenReturn(List.of(new Object[]{1, null}, new Object[]{2, 7}));
+        when(productRepository.assignPromotionIfUnowned(testPromotion, List.of(1))).thenReturn(1);
+
+        // When
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, productIds, false);
+
+        // Then
+        assertEquals(ProductAssociationResult.Status.ASSOCIATED, result.getResults().get(0).getStatus());
+        assertEquals(ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, result.getResults().get(1).getStatus());
+        assertEquals(7, result.getResults().get(1).getPreviousPromotionId());
+        verify(productRepository).assignPromotionIfUnowned(testPromotion, List.of(1));
+        verify(productRepository, never()).assignPromotion(any(), any());
+    }
+
+    @Test
+    void associateProductsToPromotion_WhenAnotherPromotionTakesAProductFirst_ShouldReportItsOwner() {
+        // Given: el producto 2 estaba libre al leer, pero otra solicitud lo asigna antes del UPDATE
+        Integer promotionId = 1;
+        when(promotionRepository.findById(promotionId)).thenReturn(Optional.of(testPromotion));
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(1, 2)))
+            .thenReturn(List.of(new Object[]{1, null}, new Object[]{2, null}))
+            .thenReturn(List.of(new Object[]{1, 1}, new Object[]{2, 7}));
+        when(productRepository.assignPromotionIfUnowned(testPromotion, List.of(1, 2))).thenReturn(1);
+
+        // When
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, List.of(1, 2), false);
+
+        // Then
+        assertEquals(ProductAssociationResult.Status.ASSOCIATED, result.getResults().get(0).getStatus());
+        assertEquals(ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, result.getResults().get(1).getStatus());
+        assertEquals(7, result.getResults().get(1).getPreviousPromotionId());
+    }
+
+    @Test
+    void associateProductsToPromotion_WhenPromotionNotFound_ShouldReturnNull() {
         // Given
         Integer promotionId = 999;
         List<Integer> productIds = Arrays.asList(1, 2);
@@ -589,65 +787,137 @@ class PromotionServiceTest {
         when(promotionRepository.findById(promotionId)).thenReturn(Optional.empty());
 
         // When
-        boolean result = promotionService.associateProductsToPromotion(promotionId, productIds);
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(promotionId, productIds, true);
 
         // Then
-        assertFalse(result);
+        assertNull(result);
         verify(promotionRepository).findById(promotionId);
-        verify(productRepository, never()).findById(anyInt());
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).findPromotionIdsByProductIdIn(any());
+        verify(productRepository, never()).assignPromotion(any(), any());
     }
 
     @Test
-    void associateProductsToPromotion_WhenExceptionThrown_ShouldReturnFalse() {
+    void associateProductsToPromotion_WhenEmptyProductIds_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> promotionService.associateProductsToPromotion(1, List.of(), true));
+        verify(promotionRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    void associateProductsToPromotion_WhenTooManyProductIds_ShouldThrowException() {
+        // Given
+        List<Integer> productIds = new ArrayList<>();
+        for (int i = 1; i <= PromotionService.MAX_BULK_PRODUCT_IDS + 1; i++) {
+            productIds.add(i);
+        }
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> promotionService.associateProductsToPromotion(1, productIds, true));
+    }
+
+    @Test
+    void associateProductsToPromotion_WhenManyProductIds_ShouldQueryInChunks() {
+        // Given
+        List<Integer> productIds = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            productIds.add(i);
+        }
+        when(promotionRepository.findById(1)).thenReturn(Optional.of(testPromotion));
+        when(productRepository.findPromotionIdsByProductIdIn(any())).thenAnswer(invocation -> {
+            Collection<Integer> chunk = invocation.getArgument(0);
+            return chunk.stream().map(id -> new Object[]{id, null}).toList();
+        });
+        when(productRepository.assignPromotion(eq(testPromotion), any()))
+            .thenAnswer(invocation -> invocation.<Collection<Integer>>getArgument(1).size());
+
+        // When
+        ProductAssociationResult result = promotionService.associateProductsToPromotion(1, productIds, true);
+
+        // Then
+        assertEquals(2500, result.count(ProductAssociationResult.Status.ASSOCIATED));
+        verify(productRepository, times(3)).findPromotionIdsByProductIdIn(any());
+        verify(productRepository, times(3)).assignPromotion(eq(testPromotion), any());
+    }
+
+    @Test
+    void associateProductsToPromotion_WhenExceptionThrown_ShouldPropagate() {
         // Given
         Integer promotionId = 1;
         List<Integer> productIds = Arrays.asList(1, 2);
         
         when(promotionRepository.findById(promotionId)).thenThrow(new RuntimeException("Database error"));
 
+        // When & Then
+        assertThrows(RuntimeException.class,
+            () -> promotionService.associateProductsToPromotion(promotionId, productIds, true));
+        verify(productRepository, never()).assignPromotion(any(), any());
+    }
+
+    @Test
+    void removeProductsFromPromotion_WhenValidData_ShouldClearInBulk() {
+        // Given
+        Integer promotionId = 1;
+        List<Integer> productIds = Arrays.asList(1, 2);
+        
+        when(promotionRepository.findById(promotionId)).thenReturn(Optional.of(testPromotion));
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(1, 2)))
+            .thenReturn(List.of(new Object[]{1, 1}, new Object[]{2, 1}));
+        when(productRepository.clearPromotion(promotionId, List.of(1, 2))).thenReturn(2);
+
         // When
-        boolean result = promotionService.associateProductsToPromotion(promotionId, productIds);
+        ProductAssociationResult result = promotionService.removeProductsFromPromotion(promotionId, productIds);
 
         // Then
-        assertFalse(result);
-        verify(promotionRepository).findById(promotionId);
+        assertNotNull(result);
+        assertEquals(2, result.count(ProductAssociationResult.Status.REMOVED));
+        verify(productRepository).clearPromotion(promotionId, List.of(1, 2));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(eventBus).publish(any());
     }
 
     @Test
-    void removeProductsFromPromotion_WhenValidData_ShouldReturnTrue() {
+    void removeProductsFromPromotion_ShouldNotTouchProductsOfOtherPromotions() {
         // Given
         Integer promotionId = 1;
-        List<Integer> productIds = Arrays.asList(1, 2);
-        
-        Product product1 = new Product();
-        product1.setProductId(1);
-        product1.setPromotion(testPromotion);
-        
-        Product product2 = new Product();
-        product2.setProductId(2);
-        product2.setPromotion(testPromotion);
+        List<Integer> productIds = Arrays.asList(1, 2, 3, 4);
         
         when(promotionRepository.findById(promotionId)).thenReturn(Optional.of(testPromotion));
-        when(productRepository.findById(1)).thenReturn(Optional.of(product1));
-        when(productRepository.findById(2)).thenReturn(Optional.of(product2));
-        when(productRepository.save(any(Product.class))).thenReturn(product1);
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(1, 2, 3, 4)))
+            .thenReturn(List.of(new Object[]{1, 1}, new Object[]{2, 5}, new Object[]{3, null}));
+        when(productRepository.clearPromotion(promotionId, List.of(1))).thenReturn(1);
 
         // When
-        boolean result = promotionService.removeProductsFromPromotion(promotionId, productIds);
+        ProductAssociationResult result = promotionService.removeProductsFromPromotion(promotionId, productIds);
 
         // Then
-        assertTrue(result);
-        verify(promotionRepository).findById(promotionId);
-        verify(productRepository).findById(1);
-        verify(productRepository).findById(2);
-        verify(productRepository, times(2)).save(any(Product.class));
-        assertNull(product1.getPromotion());
-        assertNull(product2.getPromotion());
+        assertEquals(ProductAssociationResult.Status.REMOVED, result.getResults().get(0).getStatus());
+        assertEquals(ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION, result.getResults().get(1).getStatus());
+        assertEquals(5, result.getResults().get(1).getPreviousPromotionId());
+        assertEquals(ProductAssociationResult.Status.NOT_ASSOCIATED, result.getResults().get(2).getStatus());
+        assertEquals(ProductAssociationResult.Status.NOT_FOUND, result.getResults().get(3).getStatus());
+        verify(productRepository).clearPromotion(promotionId, List.of(1));
+    }
+
+    @Test
+    void removeProductsFromPromotion_WhenNothingToRemove_ShouldNotUpdateNorPublish() {
+        // Given
+        when(promotionRepository.findById(1)).thenReturn(Optional.of(testPromotion));
+        when(productRepository.findPromotionIdsByProductIdIn(List.of(2)))
+            .thenReturn(List.<Object[]>of(new Object[]{2, 5}));
+
+        // When
+        ProductAssociationResult result = promotionService.removeProductsFromPromotion(1, List.of(2));
+
+        // Then
+        assertEquals(1, result.count(ProductAssociationResult.Status.OWNED_BY_OTHER_PROMOTION));
+        verify(productRepository, never()).clearPromotion(anyInt(), any());
+        verify(eventBus, never()).publish(any());
     }
 
     @Test
-    void removeProductsFromPromotion_WhenPromotionNotFound_ShouldReturnFalse() {
+    void removeProductsFromPromotion_WhenPromotionNotFound_ShouldReturnNull() {
         // Given
         Integer promotionId = 999;
         List<Integer> productIds = Arrays.asList(1, 2);
@@ -655,29 +925,62 @@ class PromotionServiceTest {
         when(promotionRepository.findById(promotionId)).thenReturn(Optional.empty());
 
         // When
-        boolean result = promotionService.removeProductsFromPromotion(promotionId, productIds);
+        ProductAssociationResult result = promotionService.removeProductsFromPromotion(promotionId, productIds);
 
         // Then
-        assertFalse(result);
+        assertNull(result);
         verify(promotionRepository).findById(promotionId);
-        verify(productRepository, never()).findById(anyInt());
-        verify(productRepository, never()).save(any(Product.class));
+        verify(productRepository, never()).clearPromotion(anyInt(), any());
     }
 
     @Test
-    void removeProductsFromPromotion_WhenExceptionThrown_ShouldReturnFalse() {
+    void removeProductsFromPromotion_WhenExceptionThrown_ShouldPropagate() {
         // Given
         Integer promotionId = 1;
         List<Integer> productIds = Arrays.asList(1, 2);
         
         when(promotionRepository.findById(promotionId)).thenThrow(new RuntimeException("Database error"));
 
+        // When & Then
+        assertThrows(RuntimeException.class,
+            () -> promotionService.removeProductsFromPromotion(promotionId, productIds));
+        verify(productRepository, never()).clearPromotion(anyInt(), any());
+    }
+
+    @Test
+    void restorePromotions_WhenIdsEmpty_ShouldThrowException() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> promotionService.restorePromotions(List.of(), 1));
+        verifyNoInteractions(promotionDeletedRepository);
+    }
+
+    @Test
+    void permanentDeletePromotions_WhenNoneInTrash_ShouldNotDelete() {
+        // Given
+        when(promotionDeletedRepository.findDeletedAtByPromotionIdIn(List.of(5, 6))).thenReturn(List.of());
+
         // When
-        boolean result = promotionService.removeProductsFromPromotion(promotionId, productIds);
+        PromotionTrashBulkResult result = promotionService.permanentDeletePromotions(Arrays.asList(5, 6, 5), 1);
 
         // Then
-        assertFalse(result);
-        verify(promotionRepository).findById(promotionId);
+        assertEquals(2, result.count(PromotionTrashBulkResult.Status.NOT_FOUND));
+        verify(promotionDeletedRepository, never()).deleteByPromotionIdIn(any());
+    }
+
+    @Test
+    void permanentDeletePromotions_ShouldSetActorBeforeDeleting() {
+        // Given
+        when(promotionDeletedRepository.findDeletedAtByPromotionIdIn(List.of(5, 6)))
+                .thenReturn(List.<Object[]>of(new Object[]{5, ZonedDateTime.now()}));
+
+        // When
+        PromotionTrashBulkResult result = promotionService.permanentDeletePromotions(List.of(5, 6), 7);
+
+        // Then
+        assertEquals(1, result.count(PromotionTrashBulkResult.Status.DELETED));
+        InOrder inOrder = inOrder(promotionRepository, promotionDeletedRepository);
+        inOrder.verify(promotionRepository).setActor(7);
+        inOrder.verify(promotionDeletedRepository).deleteByPromotionIdIn(List.of(5));
     }
 
     @Test
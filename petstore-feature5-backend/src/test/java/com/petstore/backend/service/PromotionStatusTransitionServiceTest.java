@@ -0,0 +1,140 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.event.PromotionEvent;
+import com.petstore.backend.event.PromotionEventBus;
+import com.petstore.backend.event.PromotionEventType;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+@ExtendWith(MockitoExtension.class)
+class PromotionStatusTransitionServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Mock
+    private PromotionRepository promotionRepository;
+
+    @Mock
+    private StatusRepository statusRepository;
+
+    @Mock
+    private PromotionService promotionService;
+
+    @Mock
+    private PromotionEventBus eventBus;
+
+    @InjectMocks
+    private PromotionStatusTransitionService transitionService;
+
+    private Status scheduled;
+    private Status active;
+    private Status expired;
+
+    @BeforeEach
+    void setUp() {
+        scheduled = new Status("SCHEDULE");
+        active = new Status("ACTIVE");
+        expired = new Status("EXPIRED");
+    }
+
+    @Test
+    void applyTransitions_WhenNothingIsDue_ShouldOnlyQuery() {
+        when(promotionRepository.findDueStatusTransitions(TODAY)).thenReturn(List.of());
+
+        assertEquals(0, transitionService.applyTransitions(TODAY));
+
+        verifyNoInteractions(statusRepository, promotionService, eventBus);
+        verify(promotionRepository, never()).expirePromotions(any(), any(), any(), any());
+    }
+
+    @Test
+    void applyTransitions_ShouldPublishOneEventPerTransition() {
+        Promotion starting = promotion(1, scheduled, TODAY, TODAY.plusDays(5));
+        Promotion ending = promotion(2, active, TODAY.minusDays(5), TODAY.minusDays(1));
+        when(promotionRepository.findDueStatusTransitions(TODAY)).thenReturn(List.of(starting, ending));
+        stubStatuses();
+        when(promotionRepository.expirePromotions(expired, List.of(active), TODAY, List.of(2))).thenReturn(1);
+        when(promotionRepository.activatePromotions(active, scheduled, TODAY, List.of(1))).thenReturn(1);
+
+        assertEquals(2, transitionService.applyTransitions(TODAY));
+
+        ArgumentCaptor<PromotionEvent> events = ArgumentCaptor.forClass(PromotionEvent.class);
+        verify(eventBus, times(2)).publish(events.capture());
+        PromotionEvent activation = events.getAllValues().get(0);
+        assertEquals(PromotionEventType.STATUS_CHANGED, activation.getType());
+        assertEquals("SCHEDULE", activation.getPreviousStatus());
+        assertEquals("ACTIVE", activation.getCurrentStatus());
+        assertTrue(activation.isActivation());
+        assertTrue(events.getAllValues().get(1).isExpiration());
+        verify(promotionService).invalidateActivePromotionIndex();
+    }
+
+    @Test
+    void applyTransitions_WhenExpiredStatusIsMissing_ShouldStillActivate() {
+        Promotion starting = promotion(1, scheduled, TODAY, TODAY.plusDays(5));
+        when(promotionRepository.findDueStatusTransitions(TODAY)).thenReturn(List.of(starting));
+        when(statusRepository.findByStatusName("SCHEDULE")).thenReturn(Optional.of(scheduled));
+        when(statusRepository.findByStatusName("ACTIVE")).thenReturn(Optional.of(active));
+        when(statusRepository.findByStatusName("EXPIRED")).thenReturn(Optional.empty());
+        when(promotionRepository.activatePromotions(active, scheduled, TODAY, List.of(1))).thenReturn(1);
+
+        assertEquals(1, transitionService.applyTransitions(TODAY));
+
+        verify(promotionRepository, never()).expirePromotions(any(), any(), any(), any());
+        verify(eventBus).publish(any(PromotionEvent.class));
+    }
+
+    @Test
+    void applyTransitions_WhenAnotherTransactionChangesARowFirst_ShouldOnlyPublishTheRowsUpdated() {
+        Promotion first = promotion(1, scheduled, TODAY, TODAY.plusDays(5));
+        Promotion second = promotion(2, scheduled, TODAY, TODAY.plusDays(5));
+        when(promotionRepository.findDueStatusTransitions(TODAY)).thenReturn(List.of(first, second));
+        stubStatuses();
+        // La promoción 2 se pasó a EXPIRED a mano entre la lectura y el UPDATE
+        when(promotionRepository.activatePromotions(active, scheduled, TODAY, List.of(1, 2))).thenReturn(1);
+        when(promotionRepository.findStatusNamesByPromotionIdIn(List.of(1, 2)))
+                .thenReturn(List.of(new Object[]{1, "ACTIVE"}, new Object[]{2, "EXPIRED"}));
+
+        assertEquals(1, transitionService.applyTransitions(TODAY));
+
+        ArgumentCaptor<PromotionEvent> event = ArgumentCaptor.forClass(PromotionEvent.class);
+        verify(eventBus).publish(event.capture());
+        assertEquals(1, event.getValue().getPromotionId());
+        assertEquals("ACTIVE", event.getValue().getCurrentStatus());
+    }
+
+    private void stubStatuses() {
+        when(statusRepository.findByStatusName("SCHEDULE")).thenReturn(Optional.of(scheduled));
+        when(statusRepository.findByStatusName("ACTIVE")).thenReturn(Optional.of(active));
+        when(statusRepository.findByStatusName("EXPIRED")).thenReturn(Optional.of(expired));
+    }
+
+    private static Promotion promotion(Integer id, Status status, LocalDate start, LocalDate end) {
+        Promotion promotion = new Promotion("Promo " + id, "Desc", start, end, 10.0, status);
+        promotion.setPromotionId(id);
+        return promotion;
+    }
+}
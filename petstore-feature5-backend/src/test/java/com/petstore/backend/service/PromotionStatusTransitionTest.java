@@ -0,0 +1,112 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica en H2 las transiciones por lote SCHEDULE -> ACTIVE -> EXPIRED
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class PromotionStatusTransitionTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2025, 6, 15);
+
+    @Autowired
+    private PromotionStatusTransitionService transitionService;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Status scheduled;
+    private Status active;
+    private Status expired;
+
+    @BeforeEach
+    void setUp() {
+        scheduled = statusRepository.save(new Status("SCHEDULE"));
+        active = statusRepository.save(new Status("ACTIVE"));
+        expired = statusRepository.save(new Status("EXPIRED"));
+    }
+
+    @Test
+    void applyTransitions_ShouldMoveEveryPromotionToTheStatusOfItsDates() {
+        Integer starts = save("Starts today", scheduled, TODAY, TODAY.plusDays(5));
+        Integer notYet = save("Not yet", scheduled, TODAY.plusDays(2), TODAY.plusDays(5));
+        Integer missed = save("Missed", scheduled, TODAY.minusDays(5), TODAY.minusDays(1));
+        Integer ended = save("Ended yesterday", active, TODAY.minusDays(5), TODAY.minusDays(1));
+        Integer early = save("Activated early", active, TODAY.plusDays(3), TODAY.plusDays(5));
+        Integer running = save("Running", active, TODAY.minusDays(1), TODAY);
+        Integer closed = save("Closed by hand", expired, TODAY.minusDays(1), TODAY.plusDays(5));
+        entityManager.flush();
+        entityManager.clear();
+
+        int changed = transitionService.applyTransitions(TODAY);
+
+        assertEquals(4, changed);
+        assertEquals("ACTIVE", statusOf(starts));
+        assertEquals("SCHEDULE", statusOf(notYet));
+        assertEquals("EXPIRED", statusOf(missed));
+        assertEquals("EXPIRED", statusOf(ended));
+        assertEquals("SCHEDULE", statusOf(early));
+        assertEquals("ACTIVE", statusOf(running));
+        // EXPIRED es terminal
+        assertEquals("EXPIRED", statusOf(closed));
+    }
+
+    @Test
+    void applyTransitions_ShouldBeIdempotent() {
+        save("Ended yesterday", active, TODAY.minusDays(5), TODAY.minusDays(1));
+        entityManager.flush();
+
+        assertEquals(1, transitionService.applyTransitions(TODAY));
+        assertEquals(0, transitionService.applyTransitions(TODAY));
+    }
+
+    @Test
+    void applyTransitions_ShouldRefreshActivePromotions() {
+        Integer starts = save("Starts today", scheduled, TODAY, TODAY.plusDays(5));
+        save("Ended yesterday", active, TODAY.minusDays(5), TODAY.minusDays(1));
+        entityManager.flush();
+
+        transitionService.applyTransitions(TODAY);
+
+        List<Promotion> activePromotions = promotionService.getAllActivePromotionsEntities();
+        assertEquals(List.of(starts), activePromotions.stream().map(Promotion::getPromotionId).toList());
+    }
+
+    private Integer save(String name, Status status, LocalDate start, LocalDate end) {
+        return promotionRepository.save(new Promotion(name, "Promoción de prueba", start, end, 10.0, status))
+                .getPromotionId();
+    }
+
+    private String statusOf(Integer promotionId) {
+        return promotionRepository.findById(promotionId).orElseThrow().getStatus().getStatusName();
+    }
+}
@@ -0,0 +1,167 @@
+package com.petstore.backend.service;
+
+import static com.petstore.backend.service.TrashFixtures.deletedPromotion;
+import static com.petstore.backend.service.TrashFixtures.flushAndClear;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.tester.AutoConfigureGraphQlTester;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.graphql.test.tester.GraphQlTester;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.dto.PromotionTrashBulkResult;
+import com.petstore.backend.entity.Promotion;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.PromotionDeletedRepository;
+import com.petstore.backend.repository.PromotionRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica en H2 la restauración y la eliminación permanente masivas desde la papelera
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@AutoConfigureGraphQlTester
+@ActiveProfiles("test")
+@Transactional
+class PromotionTrashBulkTest {
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private PromotionRepository promotionRepository;
+
+    @Autowired
+    private PromotionDeletedRepository promotionDeletedRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private GraphQlTester graphQlTester;
+
+    private Status status;
+
+    @BeforeEach
+    void setUp() {
+        status = statusRepository.save(new Status("ACTIVE"));
+    }
+
+    @Test
+    void restorePromotions_ShouldRestoreWithOriginalIdsAndReportEachId() {
+        promotionDeletedRepository.save(deletedPromotion(9001, status, ZonedDateTime.now().minusDays(1)));
+        promotionDeletedRepository.save(deletedPromotion(9002, status, ZonedDateTime.now().minusDays(2)));
+        promotionDeletedRepository.save(deletedPromotion(9003, status, ZonedDateTime.now().minusDays(45)));
+        Integer existingId = promotionRepository.save(new Promotion("Live", "Viva", LocalDate.now(),
+                LocalDate.now().plusDays(5), 5.0, status)).getPromotionId();
+        promotionDeletedRepository.save(deletedPromotion(existingId, status, ZonedDateTime.now().minusDays(1)));
+        flushAndClear(entityManager);
+
+        PromotionTrashBulkResult result = promotionService.restorePromotions(
+                List.of(9001, 9002, 9003, 9999, existingId, 9001), null);
+
+        assertEquals(List.of(PromotionTrashBulkResult.Status.RESTORED, PromotionTrashBulkResult.Status.RESTORED,
+                PromotionTrashBulkResult.Status.RETENTION_EXPIRED, PromotionTrashBulkResult.Status.NOT_FOUND,
+                PromotionTrashBulkResult.Status.ALREADY_EXISTS),
+                result.getResults().stream().map(PromotionTrashBulkResult.Outcome::getStatus).toList());
+        assertEquals("Deleted 9001", promotionRepository.findById(9001).orElseThrow().getPromotionName());
+        assertTrue(promotionRepository.existsById(9002));
+        assertFalse(promotionDeletedRepository.existsById(9001));
+        assertTrue(promotionDeletedRepository.existsById(9003));
+    }
+
+    @Test
+    void restorePromotions_ShouldUseAFixedNumberOfStatements() {
+        List<Integer> ids = new ArrayList<>();
+        for (int id = 9100; id < 9300; id++) {
+            promotionDeletedRepository.save(deletedPromotion(id, status, ZonedDateTime.now().minusDays(1)));
+            ids.add(id);
+        }
+        flushAndClear(entityManager);
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        PromotionTrashBulkResult result = promotionService.restorePromotions(ids, null);
+
+        assertEquals(200, result.count(PromotionTrashBulkResult.Status.RESTORED));
+        // Papelera + existentes + INSERT ... SELECT + DELETE + relaciones para los eventos
+        assertTrue(statistics.getPrepareStatementCount() <= 6,
+                "Statements: " + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void permanentDeletePromotions_ShouldDeleteOnlyTrashRows() {
+        promotionDeletedRepository.save(deletedPromotion(9001, status, ZonedDateTime.now().minusDays(1)));
+        promotionDeletedRepository.save(deletedPromotion(9002, status, ZonedDateTime.now().minusDays(40)));
+        flushAndClear(entityManager);
+
+        PromotionTrashBulkResult result = promotionService.permanentDeletePromotions(List.of(9001, 9002, 9999), null);
+
+        assertEquals(2, result.count(PromotionTrashBulkResult.Status.DELETED));
+        assertEquals(1, result.count(PromotionTrashBulkResult.Status.NOT_FOUND));
+        assertEquals(0, promotionDeletedRepository.count());
+    }
+
+    @Test
+    void restoreEndpoint_ShouldReturnResultsPerId() throws Exception {
+        promotionDeletedRepository.save(deletedPromotion(9001, status, ZonedDateTime.now().minusDays(1)));
+        flushAndClear(entityManager);
+
+        mockMvc.perform(post("/api/promotions/trash/restore").param("ids", "9001", "9999"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[0].status").value("RESTORED"))
+                .andExpect(jsonPath("$.results[1].status").value("NOT_FOUND"));
+    }
+
+    @Test
+    void bulkEndpoints_WithEmptyIds_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(post("/api/promotions/trash/restore").param("ids", ""))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(delete("/api/promotions/trash").param("ids", ""))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(username = "admin@petstore.com")
+    void permanentDeleteMutation_ShouldReturnResultsPerId() {
+        promotionDeletedRepository.save(deletedPromotion(9001, status, ZonedDateTime.now().minusDays(1)));
+        flushAndClear(entityManager);
+
+        graphQlTester.document("""
+                mutation { permanentDeletePromotions(ids: [9001, 9999]) { results { promotionId status } } }
+                """)
+                .execute()
+                .path("permanentDeletePromotions.results[*].status").entityList(String.class)
+                .containsExactly("DELETED", "NOT_FOUND");
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.petstore.backend.service;
+
+import static com.petstore.backend.service.TrashFixtures.deletedPromotion;
+import static com.petstore.backend.service.TrashFixtures.flushAndClear;
+import static org.hamcrest.Matchers.hasKey;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.ZonedDateTime;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.dto.PromotionDeletedDTO;
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.PromotionDeleted;
+import com.petstore.backend.entity.Role;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.entity.User;
+import com.petstore.backend.repository.CategoryRepository;
+import com.petstore.backend.repository.PromotionDeletedRepository;
+import com.petstore.backend.repository.RoleRepository;
+import com.petstore.backend.repository.StatusRepository;
+import com.petstore.backend.repository.UserRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica en H2 que el listado REST de la papelera sale de una sola consulta de proyección
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class PromotionTrashProjectionTest {
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private PromotionDeletedRepository promotionDeletedRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Status status;
+    private Category category;
+    private User owner;
+    private User deleter;
+
+    @BeforeEach
+    void setUp() {
+        status = statusRepository.save(new Status("ACTIVE"));
+        category = categoryRepository.save(new Category("Papelera", "Categoría de prueba"));
+        Role role = roleRepository.save(new Role("Marketing Admin"));
+        owner = userRepository.save(new User("owner_trash", "owner.trash@petstore.com", "secret-owner", role));
+        deleter = userRepository.save(new User("deleter_trash", "deleter.trash@petstore.com", "secret-deleter", role));
+    }
+
+    @Test
+    void getDeletedPromotionSummaries_ShouldUseOneQueryAndComputeDaysInSql() {
+        for (int i = 0; i < 10; i++) {
+            trash(9500 + i, ZonedDateTime.now().minusDays(i).minusHours(1), i % 2 == 0 ? deleter : null);
+        }
+        trash(9600, ZonedDateTime.now().minusDays(45), deleter);
+        flushAndClear(entityManager);
+        Statistics statistics = statistics();
+
+        List<PromotionDeletedDTO> summaries = promotionService.getDeletedPromotionSummaries();
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+        assertEquals(10, summaries.size());
+        PromotionDeletedDTO newest = summaries.get(0);
+        assertEquals(9500, newest.getPromotionId());
+        assertEquals("ACTIVE", newest.getStatusName());
+        assertEquals("owner_trash", newest.getUserName());
+        assertEquals("Papelera", newest.getCategoryName());
+        assertEquals("deleter_trash", newest.getDeletedByUserName());
+        assertNull(newest.getUser());
+        assertNull(summaries.get(1).getDeletedByUserName());
+        // Mismo cálculo que la política de retención: días completos restantes
+        for (PromotionDeletedDTO summary : summaries) {
+            PromotionDeleted entity = promotionDeletedRepository.findById(summary.getPromotionId()).orElseThrow();
+            assertEquals(new TrashRetentionPolicy(TrashRetentionPolicy.DEFAULT_RETENTION_DAYS)
+                    .daysUntilPurge(entity.getDeletedAt()), summary.getDaysUntilPurge());
+        }
+    }
+
+    @Test
+    void getDeletedPromotionSummariesByUser_ShouldFilterByDeleter() {
+        trash(9501, ZonedDateTime.now().minusDays(1), deleter);
+        trash(9502, ZonedDateTime.now().minusDays(2), owner);
+        trash(9503, ZonedDateTime.now().minusDays(40), deleter);
+        flushAndClear(entityManager);
+        Statistics statistics = statistics();
+
+        List<PromotionDeletedDTO> summaries = promotionService.getDeletedPromotionSummariesByUser(deleter.getUserId());
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(List.of(9501, 9503), summaries.stream().map(PromotionDeletedDTO::getPromotionId).toList());
+        assertEquals(0, summaries.get(1).getDaysUntilPurge());
+    }
+
+    @Test
+    void trashEndpoint_ShouldNotExposeUserEntities() throws Exception {
+        // Lejos del borde entre 28 y 29 días restantes
+        trash(9501, ZonedDateTime.now().minusDays(1).plusHours(1), deleter);
+        flushAndClear(entityManager);
+
+        mockMvc.perform(get("/api/promotions/trash"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].promotionId").value(9501))
+                .andExpect(jsonPath("$[0].userName").value("owner_trash"))
+                .andExpect(jsonPath("$[0].deletedByUserName").value("deleter_trash"))
+                .andExpect(jsonPath("$[0].daysUntilPurge").value(29))
+                .andExpect(jsonPath("$[0]", not(hasKey("user"))))
+                .andExpect(jsonPath("$[0]", not(hasKey("deletedBy"))));
+
+        mockMvc.perform(get("/api/promotions/trash/user/{userId}", deleter.getUserId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].categoryName").value("Papelera"));
+    }
+
+    private void trash(int promotionId, ZonedDateTime deletedAt, User deletedBy) {
+        promotionDeletedRepository.save(deletedPromotion(promotionId, status, deletedAt, category, owner, deletedBy));
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
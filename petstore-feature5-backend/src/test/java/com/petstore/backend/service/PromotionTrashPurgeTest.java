@@ -0,0 +1,116 @@
+package com.petstore.backend.service;
+
+import static com.petstore.backend.service.TrashFixtures.deletedPromotion;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.repository.PromotionDeletedRepository;
+import com.petstore.backend.repository.StatusRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Verifica en H2 la purga por lotes de la papelera de promociones
+ */
+@SpringBootTest(properties = {
+        "app.promotions.trash.retention-days=10",
+        "app.promotions.trash.purge.chunk-size=2",
+        "app.promotions.trash.purge.max-chunks-per-run=10"
+})
+@ActiveProfiles("test")
+@Transactional
+class PromotionTrashPurgeTest {
+
+    @Autowired
+    private PromotionTrashPurgeService purgeService;
+
+    @Autowired
+    private PromotionService promotionService;
+
+    @Autowired
+    private PromotionDeletedRepository promotionDeletedRepository;
+
+    @Autowired
+    private StatusRepository statusRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Status status;
+
+    @BeforeEach
+    void setUp() {
+        status = statusRepository.save(new Status("ACTIVE"));
+        // 5 vencidas (más de 10 días) y 2 todavía restaurables
+        for (int i = 1; i <= 5; i++) {
+            promotionDeletedRepository.save(deletedPromotion(100 + i, status, ZonedDateTime.now().minusDays(10 + i)));
+        }
+        promotionDeletedRepository.save(deletedPromotion(200, status, ZonedDateTime.now().minusDays(9)));
+        promotionDeletedRepository.save(deletedPromotion(201, status, ZonedDateTime.now().minusHours(1)));
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void purgeExpired_ShouldDeleteExpiredRowsInChunks() {
+        double purgedBefore = purgedCount();
+
+        PromotionTrashPurgeService.PurgeResult result = purgeService.purgeExpired(false);
+
+        assertEquals(5, result.candidates());
+        assertEquals(5, result.purged());
+        // 2 + 2 + 1: el lote incompleto cierra la corrida
+        assertEquals(3, result.chunks());
+        assertEquals(2, promotionDeletedRepository.count());
+        assertTrue(promotionDeletedRepository.existsById(200));
+        assertEquals(0, purgeService.getPending());
+        assertEquals(5, purgedCount() - purgedBefore);
+    }
+
+    @Test
+    void purgeExpired_InDryRun_ShouldOnlyCount() {
+        PromotionTrashPurgeService.PurgeResult result = purgeService.purgeExpired(true);
+
+        assertTrue(result.dryRun());
+        assertEquals(5, result.candidates());
+        assertEquals(0, result.purged());
+        assertEquals(7, promotionDeletedRepository.count());
+        assertEquals(5, meterRegistry.get(PromotionTrashPurgeService.PENDING_METRIC).gauge().value());
+    }
+
+    @Test
+    void purgeExpired_WhenNothingExpired_ShouldNotRunChunks() {
+        purgeService.purgeExpired(false);
+
+        PromotionTrashPurgeService.PurgeResult second = purgeService.purgeExpired(false);
+
+        assertEquals(0, second.candidates());
+        assertEquals(0, second.chunks());
+    }
+
+    @Test
+    void trash_ShouldUseConfiguredRetention() {
+        assertEquals(2, promotionService.getDeletedPromotions().size());
+        assertFalse(promotionService.restorePromotion(101, null));
+    }
+
+
+    private double purgedCount() {
+        return meterRegistry.get(PromotionTrashPurgeService.PURGED_METRIC).counter().count();
+    }
+}
@@ -0,0 +1,52 @@
+package com.petstore.backend.service;
+
+import java.time.LocalDate;
+import java.time.ZonedDateTime;
+
+import com.petstore.backend.entity.Category;
+import com.petstore.backend.entity.PromotionDeleted;
+import com.petstore.backend.entity.Status;
+import com.petstore.backend.entity.User;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Datos de prueba compartidos por las pruebas de la papelera de promociones
+ */
+final class TrashFixtures {
+
+    private TrashFixtures() {
+    }
+
+    /**
+     * Promoción en la papelera (vigencia de los últimos 30 días), sin guardar
+     */
+    static PromotionDeleted deletedPromotion(int promotionId, Status status, ZonedDateTime deletedAt) {
+        PromotionDeleted deleted = new PromotionDeleted();
+        deleted.setPromotionId(promotionId);
+        deleted.setPromotionName("Deleted " + promotionId);
+        deleted.setStartDate(LocalDate.now().minusDays(30));
+        deleted.setEndDate(LocalDate.now());
+        deleted.setDiscountValue(10.0);
+        deleted.setStatus(status);
+        deleted.setDeletedAt(deletedAt);
+        return deleted;
+    }
+
+    /**
+     * Promoción en la papelera con sus relaciones, sin guardar
+     */
+    static PromotionDeleted deletedPromotion(int promotionId, Status status, ZonedDateTime deletedAt,
+                                             Category category, User owner, User deletedBy) {
+        PromotionDeleted deleted = deletedPromotion(promotionId, status, deletedAt);
+        deleted.setCategory(category);
+        deleted.setUser(owner);
+        deleted.setDeletedBy(deletedBy);
+        return deleted;
+    }
+
+    static void flushAndClear(EntityManager entityManager) {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,32 @@
+package com.petstore.backend.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZonedDateTime;
+
+import org.junit.jupiter.api.Test;
+
+class TrashRetentionPolicyTest {
+
+    private final TrashRetentionPolicy policy = new TrashRetentionPolicy(7);
+
+    @Test
+    void isRestorable_ShouldFollowConfiguredRetention() {
+        assertTrue(policy.isRestorable(ZonedDateTime.now().minusDays(6)));
+        assertFalse(policy.isRestorable(ZonedDateTime.now().minusDays(8)));
+    }
+
+    @Test
+    void daysUntilPurge_ShouldNeverBeNegative() {
+        assertEquals(4, policy.daysUntilPurge(ZonedDateTime.now().minusDays(2).minusHours(1)));
+        assertEquals(0, policy.daysUntilPurge(ZonedDateTime.now().minusDays(30)));
+    }
+
+    @Test
+    void constructor_ShouldRejectNonPositiveRetention() {
+        assertThrows(IllegalArgumentException.class, () -> new TrashRetentionPolicy(0));
+    }
+}
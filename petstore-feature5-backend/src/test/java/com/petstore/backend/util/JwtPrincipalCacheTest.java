@@ -0,0 +1,95 @@
+package com.petstore.backend.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwtPrincipalCacheTest {
+
+    private MutableClock clock;
+    private JwtPrincipalCache cache;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new JwtPrincipalCache(2, Duration.ofMinutes(5), clock);
+    }
+
+    @Test
+    void get_ShouldReturnCachedPrincipal() {
+        JwtPrincipal principal = principal(null);
+        cache.put("token-a", principal);
+
+        assertSame(principal, cache.get("token-a"));
+        assertNull(cache.get("token-b"));
+    }
+
+    @Test
+    void get_AfterTtl_ShouldReturnNull() {
+        cache.put("token-a", principal(null));
+
+        clock.advance(Duration.ofMinutes(5));
+
+        assertNull(cache.get("token-a"));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_WhenTokenExpiresBeforeTtl_ShouldUseTokenExpiration() {
+        cache.put("token-a", principal(clock.instant().plusSeconds(30)));
+
+        clock.advance(Duration.ofSeconds(30));
+
+        assertNull(cache.get("token-a"));
+    }
+
+    @Test
+    void put_WhenFull_ShouldStayBounded() {
+        cache.put("token-a", principal(null));
+        cache.put("token-b", principal(null));
+        cache.put("token-c", principal(null));
+
+        assertEquals(2, cache.size());
+    }
+
+    private JwtPrincipal principal(Instant expiresAt) {
+        return new JwtPrincipal("admin@petstore.com", 1, "Marketing Admin", expiresAt);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        private MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -57,6 +57,24 @@ class JwtUtilTest {
         assertEquals(testEmail, extractedEmail);
     }
 
+    @Test
+    void generateToken_WithClaims_ShouldSignUserIdAndRole() {
+        // When
+        String token = jwtUtil.generateToken(testEmail, 7, "Marketing Admin");
+        var claims = jwtUtil.parseClaims(token);
+
+        // Then
+        assertEquals(testEmail, claims.getSubject());
+        assertEquals(7, claims.get(JwtUtil.CLAIM_USER_ID, Integer.class));
+        assertEquals("Marketing Admin", claims.get(JwtUtil.CLAIM_ROLE, String.class));
+    }
+
+    @Test
+    void parseClaimsIfValid_WithInvalidToken_ShouldReturnNull() {
+        assertNull(jwtUtil.parseClaimsIfValid("invalid.token.here"));
+        assertNull(jwtUtil.parseClaimsIfValid(validToken + "x"));
+    }
+
     @Test
     void validateToken_WithValidToken_ShouldReturnTrue() {
         // When